@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -55,6 +56,14 @@ import java.lang.annotation.Target;
  * (mainly if you want to keep some runtime state in your bean).
  * </p>
  * <p>
+ * Singleton beans can be created ahead of time by setting {@link #warmUp()} to
+ * true. They are then listed in a generated <code>EBeanSingletons_</code>
+ * class, in the application package, which has a <code>warmUp(Context)</code>
+ * method creating all of them, and a <code>warmUpInBackground(Context)</code>
+ * method doing the same on a background thread. Creating a singleton is thread
+ * safe, so it does not matter which thread asks for it first.
+ * </p>
+ * <p>
  * The enhanced bean can also be injected in any enhanced class by using
  * {@link Bean} annotation.
  * </p>
@@ -120,4 +129,14 @@ public @interface EBean {
 	 */
 	Scope scope() default Scope.Default;
 
+	/**
+	 * Whether the singleton should be created by the generated
+	 * <code>EBeanSingletons_</code> warm up methods. Only allowed with
+	 * {@link Scope#Singleton}.
+	 * 
+	 * @return <b>true</b> to add the bean to the warm up registry,
+	 *         <b>false</b> otherwise
+	 */
+	boolean warmUp() default false;
+
 }
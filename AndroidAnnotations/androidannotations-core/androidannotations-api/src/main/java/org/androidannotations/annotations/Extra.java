@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -46,6 +47,15 @@ import java.lang.annotation.Target;
  * Calling {@link android.app.Activity#setIntent(android.content.Intent)
  * Activity#setIntent(Intent)} will automatically update the annotated extras.
  * </p>
+ * <p>
+ * Extras which are expensive to unmarshal (big lists of Parcelable or
+ * Serializable objects) can be read lazily by setting {@link #lazy()} to true
+ * on a method with no parameter, which returns the extra. The generated
+ * activity overrides this method and reads the extra from the intent the first
+ * time the method is called. The body of the annotated method is only called
+ * when the intent does not contain the extra, so it can return a default
+ * value.
+ * </p>
  * <blockquote>
  *
  * Example :
@@ -76,6 +86,11 @@ import java.lang.annotation.Target;
  * 	void multiInjection(&#064;Extra String myMessage, &#064;Extra String myMessage2) {
  * 		// do stuff
  * 	}
+ *
+ * 	&#064;Extra(lazy = true)
+ * 	ArrayList&lt;Item&gt; items() {
+ * 		return new ArrayList&lt;&gt;();
+ * 	}
  * 
  * 	&#064;AfterInject
  * 	void init() {
@@ -99,4 +114,13 @@ public @interface Extra {
 	 * @return the key of the extra
 	 */
 	String value() default "";
+
+	/**
+	 * Whether the extra should be read the first time the annotated method is
+	 * called instead of when the activity is created. Can only be used on a
+	 * method with no parameter returning the extra.
+	 * 
+	 * @return <b>true</b> if the extra is read lazily, <b>false</b> otherwise
+	 */
+	boolean lazy() default false;
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -45,8 +46,18 @@ import java.lang.annotation.Target;
  * <li><i>allowAllHostnames</i>: boolean, if true, authorizes any TLS/SSL
  * hostname (default <code>true</code>) If false, Hostname in certificate (DN)
  * must match the URL.</li>
+ * 
+ * <li><i>preload</i>: boolean, if true, starts loading the key stores on a
+ * background thread when the component is initialized (default
+ * <code>false</code>)</li>
  * </ul>
  * 
+ * <p>
+ * The key stores are read the first time the client opens a connection. They
+ * are then cached for the whole process, so clients with the same
+ * configuration share them.
+ * </p>
+ * 
  * <b>Note</b>:
  * <tt>Prior to ICS, Android accepts [Key|Trust]store only in BKS format
  * (Bouncycastle Key Store)</tt>
@@ -147,4 +158,14 @@ public @interface HttpsClient {
 	 *         otherwise.
 	 */
 	boolean allowAllHostnames() default true;
+
+	/**
+	 * Whether to load the key stores on a background thread as soon as the
+	 * component is initialized, instead of when the first connection is
+	 * opened. Has no effect if neither a key store nor a trust store is set.
+	 * 
+	 * @return <b>true</b> if the key stores should be preloaded, <b>false</b>
+	 *         otherwise.
+	 */
+	boolean preload() default false;
 }
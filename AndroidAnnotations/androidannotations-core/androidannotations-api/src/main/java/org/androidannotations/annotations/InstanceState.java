@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -34,6 +35,11 @@ import java.lang.annotation.Target;
  * automatically marshaled using a {@link android.os.Parcelable Parcelable}
  * through the Parcels utility class.
  * </p>
+ * <p>
+ * Annotate the class with {@link ParcelableInstanceState} to save its fields in
+ * a single generated {@link android.os.Parcelable Parcelable} instead of one
+ * <code>Bundle</code> entry per field.
+ * </p>
  *
  * <blockquote>
  * 
@@ -52,6 +58,8 @@ import java.lang.annotation.Target;
  * </pre>
  * 
  * </blockquote>
+ * 
+ * @see ParcelableInstanceState
  */
 @Retention(RetentionPolicy.CLASS)
 @Target(ElementType.FIELD)
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Use on a simple POJO to generate a {@link android.os.Parcelable Parcelable}
+ * adapter for it, named after the class with a trailing underscore.
+ * </p>
+ * <p>
+ * {@link Extra}, {@link FragmentArg} and {@link InstanceState} fields of the
+ * annotated type, or of a <code>List</code> or <code>ArrayList</code> of it,
+ * are then put in the <code>Bundle</code> through the generated adapter
+ * instead of {@link java.io.Serializable Serializable}.
+ * </p>
+ * <p>
+ * The class must be a top level, non generic and non abstract class with a
+ * non private empty constructor. Its non static and non transient fields must
+ * not be private nor final, and must be a primitive, <code>String</code>,
+ * <code>Bundle</code>, {@link android.os.Parcelable Parcelable}, a primitive or
+ * <code>String</code> array, another &#064;ParcelableAdapter type or a
+ * <code>List</code> of it. Fields of the super classes are not written.
+ * </p>
+ *
+ * <blockquote>
+ * 
+ * Example :
+ * 
+ * <pre>
+ * &#064;ParcelableAdapter
+ * public class User {
+ * 
+ * 	String name;
+ * 
+ * 	int age;
+ * }
+ * 
+ * &#064;EActivity
+ * public class MyActivity extends Activity {
+ * 
+ * 	&#064;Extra
+ * 	ArrayList&lt;User&gt; users;
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ParcelableAdapter {
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Use on {@link EActivity}, {@link EFragment}, {@link EView} or
+ * {@link EViewGroup} classes to save all their {@link InstanceState} fields in
+ * a single generated {@link android.os.Parcelable Parcelable}, stored under
+ * one key of the state <code>Bundle</code>.
+ * </p>
+ * <p>
+ * The generated class writes each field with a typed
+ * {@link android.os.Parcel Parcel} call, which avoids one
+ * <code>Bundle</code> entry per field and the
+ * {@link java.io.Serializable Serializable} fallback. Primitives,
+ * <code>String</code>, <code>Bundle</code>, {@link android.os.Parcelable
+ * Parcelable}, primitive or <code>String</code> arrays and
+ * {@link ParcelableAdapter} types are supported; any other
+ * {@link InstanceState} field of the class keeps its own <code>Bundle</code>
+ * entry.
+ * </p>
+ *
+ * <blockquote>
+ * 
+ * Example :
+ * 
+ * <pre>
+ * &#064;ParcelableInstanceState
+ * &#064;EActivity
+ * public class MyActivity extends Activity {
+ * 
+ * 	&#064;InstanceState
+ * 	int someId;
+ * 
+ * 	&#064;InstanceState
+ * 	String query;
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @see InstanceState
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ParcelableInstanceState {
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -39,7 +40,19 @@ import android.util.Log;
  * name)</li>
  * <li><i>level</i>: the log level used for the log message. (default :
  * LOG.INFO).</li>
+ * <li><i>systrace</i>: emit a systrace section instead of log messages.
+ * (default: false)</li>
  * </ul>
+ * <p>
+ * When <i>systrace</i> is enabled, the method body is wrapped in
+ * <code>android.os.Trace.beginSection()</code> /
+ * <code>endSection()</code> calls named after the tag and the method, so the
+ * method shows up in systrace and Perfetto captures without formatting any log
+ * message. The section is only emitted on API 18+ devices, and the
+ * <code>android.os.Trace</code> class must be available at compile time. The
+ * <code>traceSystrace</code> processor option switches every traced method to
+ * this mode.
+ * </p>
  *
  * <blockquote>
  * 
@@ -91,4 +104,13 @@ public @interface Trace {
 	 */
 	int level() default Log.INFO;
 
+	/**
+	 * Whether to emit an <code>android.os.Trace</code> section around the
+	 * method instead of log messages.
+	 * 
+	 * @return <b>true</b> to trace the method with systrace, <b>false</b> to
+	 *         log its execution time
+	 */
+	boolean systrace() default false;
+
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -28,6 +29,20 @@ import java.lang.annotation.Target;
  * May be used on methods with @Background or @UiThread.
  * </p>
  * <p>
+ * The WakeLock is created once per component for each combination of tag,
+ * level and flags, and reused by the following calls. As WakeLocks are
+ * reference counted, methods running concurrently share the same lock, which
+ * is only released by the last one. A {@link #holdOver()} window keeps it held
+ * for a while after a call, so methods running in quick bursts do not release
+ * and acquire it again each time.
+ * </p>
+ * <p>
+ * Methods using a {@link #timeout()} or a {@link #holdOver()} share the same
+ * reference counted lock. Each call releases its own acquisition exactly once,
+ * when the timeout elapses or when the hold-over following the method ends,
+ * so overlapping calls never release each other's lock.
+ * </p>
+ * <p>
  * <b>NOTE</b>: To use WakeLocks you need the
  * <i>android.permission.WAKE_LOCK</i> permission.
  * </p>
@@ -86,6 +101,22 @@ public @interface WakeLock {
 	 */
 	Flag[] flags() default {};
 
+	/**
+	 * The maximum time in milliseconds a call holds the WakeLock, or 0 to hold
+	 * it until the method returns.
+	 * 
+	 * @return the acquisition timeout
+	 */
+	long timeout() default 0;
+
+	/**
+	 * The time in milliseconds the WakeLock stays held after the method
+	 * returns, or 0 to release it immediately.
+	 * 
+	 * @return the hold-over window
+	 */
+	long holdOver() default 0;
+
 	/**
 	 * A convenience wrapper enum for the
 	 * {@link android.os.PowerManager.WakeLock WakeLock} level integer values.
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -31,6 +32,11 @@ import org.androidannotations.annotations.ResId;
  * The annotation value must be one of R.color.* fields. If the value is not
  * set, the field or method name will be used as the R.color.* field name.
  * </p>
+ * <p>
+ * Declare the field as a {@link org.androidannotations.api.Lazy
+ * Lazy&lt;ColorStateList&gt;} to load the color state list only when it is
+ * first used.
+ * </p>
  */
 @Retention(RetentionPolicy.CLASS)
 @Target({ ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER })
@@ -125,4 +125,15 @@ public @interface SharedPref {
 	 * @return the operating mode
 	 */
 	int mode() default Context.MODE_PRIVATE;
+
+	/**
+	 * Whether to generate <code>snapshot()</code>, which returns an immutable
+	 * snapshot of the pref values, and typed
+	 * <code>add&lt;Pref&gt;ChangeListener()</code> /
+	 * <code>remove&lt;Pref&gt;ChangeListener()</code> methods. No pref may then
+	 * be named <code>snapshot</code>.
+	 *
+	 * @return whether the prefs can be observed
+	 */
+	boolean observable() default false;
 }
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+/**
+ * A value which is created on the first call to {@link #get()} and then
+ * reused. Resource annotations such as
+ * {@link org.androidannotations.annotations.res.DrawableRes DrawableRes} can be
+ * used on a field of this type to delay loading the resource until it is
+ * actually needed, instead of loading it while the component is initialized.
+ *
+ * @param <T>
+ *            the type of the value
+ */
+public abstract class Lazy<T> {
+
+	private volatile T value;
+
+	/**
+	 * Returns the value, creating it if this is the first call.
+	 *
+	 * @return the value
+	 */
+	public final T get() {
+		T result = value;
+		if (result == null) {
+			synchronized (this) {
+				result = value;
+				if (result == null) {
+					result = create();
+					value = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates the value. Called at most once unless it returns
+	 * <code>null</code>.
+	 *
+	 * @return the value
+	 */
+	protected abstract T create();
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+/**
+ * Holds the monitor used by generated
+ * {@link org.androidannotations.annotations.EBean.Scope#Singleton Singleton}
+ * beans while they are being created. A single monitor is shared by all the
+ * singletons, so cyclic singletons created from different threads cannot
+ * deadlock. This class is used by AndroidAnnotations and not intended to be
+ * used by clients.
+ */
+public final class SingletonLock {
+
+	/**
+	 * The monitor guarding the creation of singleton beans.
+	 */
+	public static final Object LOCK = new Object();
+
+	private SingletonLock() {
+		// should not be instantiated
+	}
+
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.conn.ssl.SSLSocketFactory;
+
+import android.content.res.Resources;
+import android.util.Log;
+
+/**
+ * Loads the key stores of
+ * {@link org.androidannotations.annotations.HttpsClient HttpsClient} and keeps
+ * the resulting {@link SSLSocketFactory} for the lifetime of the process, so
+ * the stores are read and parsed once per configuration instead of once per
+ * client. This class is used by AndroidAnnotations and not intended to be used
+ * by clients.
+ */
+@SuppressWarnings("deprecation")
+public final class SslSocketFactoryCache {
+
+	/**
+	 * The resource id to pass when no key store or trust store is configured.
+	 */
+	public static final int NO_STORE = 0;
+
+	private static final String TAG = "SslSocketFactoryCache";
+
+	private static final String SYSTEM_TRUST_STORE = "/system/etc/security/cacerts.bks";
+
+	private static final ConcurrentMap<Configuration, SSLSocketFactory> FACTORIES = new ConcurrentHashMap<>();
+
+	private SslSocketFactoryCache() {
+		// should not be instantiated
+	}
+
+	/**
+	 * Returns the socket factory of the given configuration, loading the key
+	 * stores if it is not in the cache yet.
+	 *
+	 * @param resources
+	 *            the resources used to open the raw key stores
+	 * @param keyStoreResId
+	 *            the raw resource id of the key store, or {@link #NO_STORE}
+	 * @param keyStorePwd
+	 *            the key store password
+	 * @param trustStoreResId
+	 *            the raw resource id of the trust store, or {@link #NO_STORE}
+	 *            to use the system trust store
+	 * @param trustStorePwd
+	 *            the trust store password
+	 * @param allowAllHostnames
+	 *            whether the factory accepts any host name
+	 * @return the shared socket factory
+	 * @throws GeneralSecurityException
+	 *             if a key store cannot be loaded
+	 * @throws IOException
+	 *             if a key store cannot be read
+	 */
+	public static SSLSocketFactory getSocketFactory(Resources resources, int keyStoreResId, String keyStorePwd, int trustStoreResId, String trustStorePwd, boolean allowAllHostnames)
+			throws GeneralSecurityException, IOException {
+		Configuration configuration = new Configuration(keyStoreResId, keyStorePwd, trustStoreResId, trustStorePwd, allowAllHostnames);
+		SSLSocketFactory socketFactory = FACTORIES.get(configuration);
+		if (socketFactory == null) {
+			socketFactory = createSocketFactory(resources, configuration);
+			SSLSocketFactory previous = FACTORIES.putIfAbsent(configuration, socketFactory);
+			if (previous != null) {
+				socketFactory = previous;
+			}
+		}
+		return socketFactory;
+	}
+
+	/**
+	 * Loads the socket factory of the given configuration on a background
+	 * thread, so it is already cached when the first connection is opened.
+	 *
+	 * @param resources
+	 *            the resources used to open the raw key stores
+	 * @param keyStoreResId
+	 *            the raw resource id of the key store, or {@link #NO_STORE}
+	 * @param keyStorePwd
+	 *            the key store password
+	 * @param trustStoreResId
+	 *            the raw resource id of the trust store, or {@link #NO_STORE}
+	 *            to use the system trust store
+	 * @param trustStorePwd
+	 *            the trust store password
+	 * @param allowAllHostnames
+	 *            whether the factory accepts any host name
+	 */
+	public static void preload(final Resources resources, final int keyStoreResId, final String keyStorePwd, final int trustStoreResId, final String trustStorePwd,
+			final boolean allowAllHostnames) {
+		if (FACTORIES.containsKey(new Configuration(keyStoreResId, keyStorePwd, trustStoreResId, trustStorePwd, allowAllHostnames))) {
+			return;
+		}
+		BackgroundExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					getSocketFactory(resources, keyStoreResId, keyStorePwd, trustStoreResId, trustStorePwd, allowAllHostnames);
+				} catch (GeneralSecurityException | IOException e) {
+					// the client loads it again and reports the error
+					Log.w(TAG, "Could not preload the key stores", e);
+				}
+			}
+		});
+	}
+
+	private static SSLSocketFactory createSocketFactory(Resources resources, Configuration configuration) throws GeneralSecurityException, IOException {
+		KeyStore keyStore = null;
+		if (configuration.keyStoreResId != NO_STORE) {
+			keyStore = loadKeyStore(resources.openRawResource(configuration.keyStoreResId), configuration.keyStorePwd);
+		}
+
+		InputStream trustStoreStream;
+		if (configuration.trustStoreResId != NO_STORE) {
+			trustStoreStream = resources.openRawResource(configuration.trustStoreResId);
+		} else {
+			trustStoreStream = new FileInputStream(SYSTEM_TRUST_STORE);
+		}
+		KeyStore trustStore = loadKeyStore(trustStoreStream, configuration.trustStorePwd);
+
+		SSLSocketFactory socketFactory = new SSLSocketFactory(keyStore, configuration.keyStorePwd, trustStore);
+		if (configuration.allowAllHostnames) {
+			socketFactory.setHostnameVerifier(SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+		}
+		return socketFactory;
+	}
+
+	private static KeyStore loadKeyStore(InputStream stream, String password) throws GeneralSecurityException, IOException {
+		try {
+			KeyStore keyStore = KeyStore.getInstance("BKS");
+			keyStore.load(stream, password.toCharArray());
+			return keyStore;
+		} finally {
+			stream.close();
+		}
+	}
+
+	private static final class Configuration {
+
+		private final int keyStoreResId;
+		private final String keyStorePwd;
+		private final int trustStoreResId;
+		private final String trustStorePwd;
+		private final boolean allowAllHostnames;
+
+		Configuration(int keyStoreResId, String keyStorePwd, int trustStoreResId, String trustStorePwd, boolean allowAllHostnames) {
+			this.keyStoreResId = keyStoreResId;
+			this.keyStorePwd = keyStorePwd;
+			this.trustStoreResId = trustStoreResId;
+			this.trustStorePwd = trustStorePwd;
+			this.allowAllHostnames = allowAllHostnames;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Configuration)) {
+				return false;
+			}
+			Configuration other = (Configuration) o;
+			return keyStoreResId == other.keyStoreResId && trustStoreResId == other.trustStoreResId && allowAllHostnames == other.allowAllHostnames
+					&& keyStorePwd.equals(other.keyStorePwd) && trustStorePwd.equals(other.trustStorePwd);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = keyStoreResId;
+			result = 31 * result + keyStorePwd.hashCode();
+			result = 31 * result + trustStoreResId;
+			result = 31 * result + trustStorePwd.hashCode();
+			result = 31 * result + (allowAllHostnames ? 1 : 0);
+			return result;
+		}
+	}
+}
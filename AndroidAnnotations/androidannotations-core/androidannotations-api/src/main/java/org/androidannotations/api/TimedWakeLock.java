@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager.WakeLock;
+
+/**
+ * One acquisition of a shared, reference counted {@link WakeLock} made by a
+ * {@link org.androidannotations.annotations.WakeLock WakeLock} method using a
+ * timeout or a hold-over. The acquisition is released exactly once, either
+ * when its timeout elapses or after the hold-over following the end of the
+ * method, so overlapping calls never release each other's lock. This class is
+ * used by AndroidAnnotations and not intended to be used by clients.
+ */
+public final class TimedWakeLock implements Runnable {
+
+	private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+	private final WakeLock wakeLock;
+
+	private final AtomicBoolean held = new AtomicBoolean(true);
+
+	private TimedWakeLock(WakeLock wakeLock) {
+		this.wakeLock = wakeLock;
+	}
+
+	/**
+	 * Acquires the given lock once and schedules the matching release after
+	 * the timeout.
+	 *
+	 * @param wakeLock
+	 *            the reference counted lock to acquire
+	 * @param timeout
+	 *            the delay in milliseconds after which the acquisition is
+	 *            released, or zero to keep it until {@link #release(long)}
+	 * @return the acquisition, to be released by {@link #release(long)}
+	 */
+	public static TimedWakeLock acquire(WakeLock wakeLock, long timeout) {
+		TimedWakeLock acquisition = new TimedWakeLock(wakeLock);
+		wakeLock.acquire();
+		if (timeout > 0) {
+			HANDLER.postDelayed(acquisition, timeout);
+		}
+		return acquisition;
+	}
+
+	/**
+	 * Releases this acquisition after the hold-over, unless its timeout
+	 * already released it.
+	 *
+	 * @param holdOver
+	 *            the delay in milliseconds to keep the lock held, or zero to
+	 *            release it immediately
+	 */
+	public void release(long holdOver) {
+		HANDLER.removeCallbacks(this);
+		if (holdOver > 0) {
+			HANDLER.postDelayed(this, holdOver);
+		} else {
+			run();
+		}
+	}
+
+	/**
+	 * Releases this acquisition if it is still held.
+	 */
+	@Override
+	public void run() {
+		if (held.compareAndSet(true, false)) {
+			wakeLock.release();
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,23 +16,32 @@
  */
 package org.androidannotations.api;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import android.app.Activity;
@@ -110,6 +120,14 @@ import android.view.ViewDebug;
  * 	}
  * }
  * </pre>
+ * 
+ * <p>
+ * A single thread accepts the connections and answers the cheap commands
+ * through non-blocking channels, including the notifications sent to the
+ * clients listening for window changes. The view hierarchy dumps run on a
+ * small pool of threads and are streamed to the client through a fixed size
+ * buffer.
+ * </p>
  */
 @SuppressWarnings("checkstyle:finalclass")
 public class ViewServer implements Runnable {
@@ -118,6 +136,11 @@ public class ViewServer implements Runnable {
 	 */
 	private static final int VIEW_SERVER_DEFAULT_PORT = 4939;
 	private static final int VIEW_SERVER_MAX_CONNECTIONS = 10;
+	private static final int VIEW_SERVER_COMMAND_THREADS = 2;
+	private static final int REQUEST_BUFFER_SIZE = 1024;
+	private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+	private static final long WRITE_TIMEOUT = 30 * 1000;
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
 	private static final String BUILD_TYPE_USER = "user";
 
 	// Debug facility
@@ -138,13 +161,14 @@ public class ViewServer implements Runnable {
 	// Returns the focused window
 	private static final String COMMAND_WINDOW_MANAGER_GET_FOCUS = "GET_FOCUS";
 
-	private ServerSocket mServer;
+	private volatile Selector mSelector;
 	private final int mPort;
 
-	private Thread mThread;
-	private ExecutorService mThreadPool;
+	private volatile Thread mThread;
+	private ExecutorService mCommandExecutor;
 
 	private final List<WindowListener> mListeners = new CopyOnWriteArrayList<>();
+	private final Set<ViewServerConnection> mConnections = Collections.newSetFromMap(new ConcurrentHashMap<ViewServerConnection, Boolean>());
 
 	private final Map<View, String> mWindows = new HashMap<>();
 	private final ReentrantReadWriteLock mWindowsLock = new ReentrantReadWriteLock();
@@ -153,6 +177,7 @@ public class ViewServer implements Runnable {
 	private final ReentrantReadWriteLock mFocusLock = new ReentrantReadWriteLock();
 
 	private static ViewServer sServer;
+	private static Method sDispatchCommand;
 
 	/**
 	 * Returns a unique instance of the ViewServer. This method should only be
@@ -224,14 +249,15 @@ public class ViewServer implements Runnable {
 		}
 
 		mThread = new Thread(this, "Local View Server [port=" + mPort + "]");
-		mThreadPool = Executors.newFixedThreadPool(VIEW_SERVER_MAX_CONNECTIONS);
+		mCommandExecutor = Executors.newFixedThreadPool(VIEW_SERVER_COMMAND_THREADS);
 		mThread.start();
 
 		return true;
 	}
 
 	/**
-	 * Stops the server.
+	 * Stops the server. The server socket is closed when this method returns,
+	 * so the server can be started again on the same port right away.
 	 * 
 	 * @return True if the server was stopped, false if an error occurred or if
 	 *         the server wasn't started.
@@ -240,26 +266,34 @@ public class ViewServer implements Runnable {
 	 * @see #isRunning() see WindowManagerService#stopViewServer()
 	 */
 	public boolean stop() {
-		if (mThread != null) {
-			mThread.interrupt();
-			if (mThreadPool != null) {
+		Thread thread = mThread;
+		if (thread != null) {
+			thread.interrupt();
+			if (mCommandExecutor != null) {
 				try {
-					mThreadPool.shutdownNow();
+					mCommandExecutor.shutdownNow();
 				} catch (SecurityException e) {
 					Log.w(LOG_TAG, "Could not stop all view server threads");
 				}
 			}
 
-			mThreadPool = null;
+			mCommandExecutor = null;
 			mThread = null;
 
-			try {
-				mServer.close();
-				mServer = null;
-				return true;
-			} catch (IOException e) {
-				Log.w(LOG_TAG, "Could not close the view server");
+			// the server thread closes the channels when it wakes up, wait for
+			// it so the port is free once this method returns
+			Selector selector = mSelector;
+			if (selector != null) {
+				selector.wakeup();
 			}
+			if (thread != Thread.currentThread()) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return true;
 		}
 
 		mWindowsLock.writeLock().lock();
@@ -404,53 +438,99 @@ public class ViewServer implements Runnable {
 	 */
 	@Override
 	public void run() {
+		Selector selector;
+		ServerSocketChannel server;
 		try {
-			mServer = new ServerSocket(mPort, VIEW_SERVER_MAX_CONNECTIONS, InetAddress.getLocalHost());
+			selector = Selector.open();
+			server = ServerSocketChannel.open();
+			server.socket().bind(new InetSocketAddress(InetAddress.getLocalHost(), mPort), VIEW_SERVER_MAX_CONNECTIONS);
+			server.configureBlocking(false);
+			server.register(selector, SelectionKey.OP_ACCEPT);
 		} catch (Exception e) {
 			Log.w(LOG_TAG, "Starting ServerSocket error: ", e);
+			return;
 		}
+		mSelector = selector;
 
-		while (mServer != null && Thread.currentThread() == mThread) {
-			// Any uncaught exception will crash the system process
-			try {
-				Socket client = mServer.accept();
-				if (mThreadPool != null) {
-					mThreadPool.submit(new ViewServerWorker(client));
-				} else {
+		try {
+			while (Thread.currentThread() == mThread && !Thread.currentThread().isInterrupted()) {
+				selector.select();
+				sendWindowUpdates();
+
+				Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+				while (selectedKeys.hasNext()) {
+					SelectionKey key = selectedKeys.next();
+					selectedKeys.remove();
+					// Any uncaught exception will crash the system process
 					try {
-						client.close();
-					} catch (IOException e) {
-						e.printStackTrace();
+						if (key.isValid() && key.isAcceptable()) {
+							accept(server, selector);
+						} else if (key.isValid()) {
+							ViewServerConnection connection = (ViewServerConnection) key.attachment();
+							if (key.isReadable()) {
+								connection.read();
+							}
+							if (key.isValid() && key.isWritable()) {
+								connection.write();
+							}
+						}
+					} catch (Exception e) {
+						Log.w(LOG_TAG, "Connection error: ", e);
+						if (key.attachment() != null) {
+							((ViewServerConnection) key.attachment()).close();
+						}
 					}
 				}
-			} catch (Exception e) {
-				Log.w(LOG_TAG, "Connection error: ", e);
 			}
+		} catch (IOException | ClosedSelectorException e) {
+			Log.w(LOG_TAG, "Connection error: ", e);
+		} finally {
+			mSelector = null;
+			for (ViewServerConnection connection : mConnections) {
+				connection.close();
+			}
+			closeQuietly(server);
+			try {
+				selector.close();
+			} catch (IOException e) {
+				Log.w(LOG_TAG, "Could not close the view server");
+			}
+		}
+	}
+
+	private void accept(ServerSocketChannel server, Selector selector) throws IOException {
+		SocketChannel channel = server.accept();
+		if (channel == null) {
+			return;
 		}
+		channel.configureBlocking(false);
+		SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+		ViewServerConnection connection = new ViewServerConnection(channel, key);
+		key.attach(connection);
+		mConnections.add(connection);
 	}
 
-	private static boolean writeValue(Socket client, String value) {
-		boolean result;
-		BufferedWriter out = null;
+	private void sendWindowUpdates() {
+		for (ViewServerConnection connection : mConnections) {
+			connection.sendWindowUpdates();
+		}
+	}
+
+	private static synchronized Method getDispatchCommandMethod() throws NoSuchMethodException {
+		if (sDispatchCommand == null) {
+			Method dispatch = ViewDebug.class.getDeclaredMethod("dispatchCommand", View.class, String.class, String.class, OutputStream.class);
+			dispatch.setAccessible(true);
+			sDispatchCommand = dispatch;
+		}
+		return sDispatchCommand;
+	}
+
+	private static void closeQuietly(Closeable closeable) {
 		try {
-			OutputStream clientStream = client.getOutputStream();
-			out = new BufferedWriter(new OutputStreamWriter(clientStream), 8 * 1024);
-			out.write(value);
-			out.write("\n");
-			out.flush();
-			result = true;
-		} catch (Exception e) {
-			result = false;
-		} finally {
-			if (out != null) {
-				try {
-					out.close();
-				} catch (IOException e) {
-					result = false;
-				}
-			}
+			closeable.close();
+		} catch (IOException e) {
+			// Ignore
 		}
-		return result;
 	}
 
 	private void fireWindowsChangedEvent() {
@@ -481,51 +561,84 @@ public class ViewServer implements Runnable {
 		void focusChanged();
 	}
 
-	private static class UncloseableOutputStream extends OutputStream {
-		private final OutputStream mStream;
+	/**
+	 * Writes to a non-blocking channel through a fixed size buffer, waiting for
+	 * the channel to become writable when the client is slower than the
+	 * producer. Closing the stream only flushes it.
+	 */
+	private static final class ChannelOutputStream extends OutputStream {
+		private final SocketChannel mChannel;
+		private final ByteBuffer mBuffer = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+		private Selector mWriteSelector;
 
-		UncloseableOutputStream(OutputStream stream) {
-			mStream = stream;
+		ChannelOutputStream(SocketChannel channel) {
+			mChannel = channel;
 		}
 
 		@Override
-		public void close() throws IOException {
-			// Don't close the stream
+		public void write(int oneByte) throws IOException {
+			if (!mBuffer.hasRemaining()) {
+				flushBuffer();
+			}
+			mBuffer.put((byte) oneByte);
 		}
 
 		@Override
-		public boolean equals(Object o) {
-			return mStream.equals(o);
+		public void write(byte[] buffer, int offset, int count) throws IOException {
+			while (count > 0) {
+				if (!mBuffer.hasRemaining()) {
+					flushBuffer();
+				}
+				int length = Math.min(count, mBuffer.remaining());
+				mBuffer.put(buffer, offset, length);
+				offset += length;
+				count -= length;
+			}
 		}
 
 		@Override
 		public void flush() throws IOException {
-			mStream.flush();
-		}
-
-		@Override
-		public int hashCode() {
-			return mStream.hashCode();
+			flushBuffer();
 		}
 
 		@Override
-		public String toString() {
-			return mStream.toString();
+		public void close() throws IOException {
+			// Don't close the channel
+			flushBuffer();
 		}
 
-		@Override
-		public void write(byte[] buffer, int offset, int count) throws IOException {
-			mStream.write(buffer, offset, count);
+		void release() {
+			if (mWriteSelector != null) {
+				try {
+					mWriteSelector.close();
+				} catch (IOException e) {
+					// Ignore
+				}
+			}
 		}
 
-		@Override
-		public void write(byte[] buffer) throws IOException {
-			mStream.write(buffer);
+		private void flushBuffer() throws IOException {
+			mBuffer.flip();
+			try {
+				while (mBuffer.hasRemaining()) {
+					if (mChannel.write(mBuffer) == 0) {
+						awaitWritable();
+					}
+				}
+			} finally {
+				mBuffer.clear();
+			}
 		}
 
-		@Override
-		public void write(int oneByte) throws IOException {
-			mStream.write(oneByte);
+		private void awaitWritable() throws IOException {
+			if (mWriteSelector == null) {
+				mWriteSelector = Selector.open();
+				mChannel.register(mWriteSelector, SelectionKey.OP_WRITE);
+			}
+			if (mWriteSelector.select(WRITE_TIMEOUT) == 0) {
+				throw new IOException("Timed out while writing to the client");
+			}
+			mWriteSelector.selectedKeys().clear();
 		}
 	}
 
@@ -577,81 +690,161 @@ public class ViewServer implements Runnable {
 		}
 	}
 
-	private class ViewServerWorker implements Runnable, WindowListener {
-		private Socket mClient;
-		private boolean mNeedWindowListUpdate;
-		private boolean mNeedFocusedWindowUpdate;
+	private final class ViewServerConnection implements WindowListener {
+		private final SocketChannel mChannel;
+		private final SelectionKey mKey;
+		private final ByteBuffer mInput = ByteBuffer.allocate(REQUEST_BUFFER_SIZE);
+		private ByteBuffer mOutput;
+		private boolean mCloseAfterWrite;
+		private boolean mAutolist;
+		private final AtomicBoolean mNeedWindowListUpdate = new AtomicBoolean();
+		private final AtomicBoolean mNeedFocusedWindowUpdate = new AtomicBoolean();
+
+		private ViewServerConnection(SocketChannel channel, SelectionKey key) {
+			mChannel = channel;
+			mKey = key;
+		}
+
+		private void read() throws IOException {
+			int count = mChannel.read(mInput);
+			if (mAutolist) {
+				// Nothing is expected from the client anymore
+				mInput.clear();
+				if (count == -1) {
+					close();
+				}
+				return;
+			}
 
-		private final Object[] mLock = new Object[0];
+			String request = extractRequest(count == -1);
+			if (request == null) {
+				if (count == -1 || !mInput.hasRemaining()) {
+					close();
+				}
+				return;
+			}
 
-		private ViewServerWorker(Socket client) {
-			mClient = client;
-			mNeedWindowListUpdate = false;
-			mNeedFocusedWindowUpdate = false;
+			mKey.interestOps(0);
+			handleRequest(request);
 		}
 
-		@Override
-		public void run() {
-			BufferedReader in = null;
-			try {
-				in = new BufferedReader(new InputStreamReader(mClient.getInputStream()), 1024);
+		private String extractRequest(boolean endOfStream) {
+			byte[] input = mInput.array();
+			int length = mInput.position();
+			for (int i = 0; i < length; i++) {
+				if (input[i] == '\n') {
+					int end = i > 0 && input[i - 1] == '\r' ? i - 1 : i;
+					return new String(input, 0, end, UTF_8);
+				}
+			}
+			if (endOfStream && length > 0) {
+				return new String(input, 0, length, UTF_8);
+			}
+			return null;
+		}
 
-				final String request = in.readLine();
+		private void handleRequest(String request) throws IOException {
+			String command;
+			String parameters;
 
-				String command;
-				String parameters;
+			int index = request.indexOf(' ');
+			if (index == -1) {
+				command = request;
+				parameters = "";
+			} else {
+				command = request.substring(0, index);
+				parameters = request.substring(index + 1);
+			}
 
-				int index = request.indexOf(' ');
-				if (index == -1) {
-					command = request;
-					parameters = "";
-				} else {
-					command = request.substring(0, index);
-					parameters = request.substring(index + 1);
-				}
+			if (COMMAND_PROTOCOL_VERSION.equalsIgnoreCase(command)) {
+				respond(VALUE_PROTOCOL_VERSION + "\n");
+			} else if (COMMAND_SERVER_VERSION.equalsIgnoreCase(command)) {
+				respond(VALUE_SERVER_VERSION + "\n");
+			} else if (COMMAND_WINDOW_MANAGER_LIST.equalsIgnoreCase(command)) {
+				respond(listWindows());
+			} else if (COMMAND_WINDOW_MANAGER_GET_FOCUS.equalsIgnoreCase(command)) {
+				respond(getFocusedWindow());
+			} else if (COMMAND_WINDOW_MANAGER_AUTOLIST.equalsIgnoreCase(command)) {
+				mAutolist = true;
+				mKey.interestOps(SelectionKey.OP_READ);
+				addWindowListener(this);
+			} else {
+				executeWindowCommand(command, parameters);
+			}
+		}
 
-				boolean result;
-				if (COMMAND_PROTOCOL_VERSION.equalsIgnoreCase(command)) {
-					result = writeValue(mClient, VALUE_PROTOCOL_VERSION);
-				} else if (COMMAND_SERVER_VERSION.equalsIgnoreCase(command)) {
-					result = writeValue(mClient, VALUE_SERVER_VERSION);
-				} else if (COMMAND_WINDOW_MANAGER_LIST.equalsIgnoreCase(command)) {
-					result = listWindows(mClient);
-				} else if (COMMAND_WINDOW_MANAGER_GET_FOCUS.equalsIgnoreCase(command)) {
-					result = getFocusedWindow(mClient);
-				} else if (COMMAND_WINDOW_MANAGER_AUTOLIST.equalsIgnoreCase(command)) {
-					result = windowManagerAutolistLoop();
-				} else {
-					result = windowCommand(mClient, command, parameters);
-				}
+		private void respond(String value) throws IOException {
+			mOutput = ByteBuffer.wrap(value.getBytes(UTF_8));
+			mCloseAfterWrite = true;
+			write();
+		}
 
-				if (!result) {
-					Log.w(LOG_TAG, "An error occurred with the command: " + command);
-				}
-			} catch (IOException e) {
-				Log.w(LOG_TAG, "Connection error: ", e);
-			} finally {
-				if (in != null) {
-					try {
-						in.close();
+		private void write() throws IOException {
+			if (mOutput == null) {
+				mKey.interestOps(mKey.interestOps() & ~SelectionKey.OP_WRITE);
+				return;
+			}
 
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-				}
-				if (mClient != null) {
-					try {
-						mClient.close();
-					} catch (IOException e) {
-						e.printStackTrace();
+			mChannel.write(mOutput);
+			if (mOutput.hasRemaining()) {
+				mKey.interestOps(mKey.interestOps() | SelectionKey.OP_WRITE);
+				return;
+			}
+
+			mOutput = null;
+			if (mCloseAfterWrite) {
+				close();
+			} else {
+				mKey.interestOps(mKey.interestOps() & ~SelectionKey.OP_WRITE);
+				sendWindowUpdates();
+			}
+		}
+
+		private void sendWindowUpdates() {
+			if (!mAutolist || mOutput != null || !mKey.isValid()) {
+				return;
+			}
+
+			StringBuilder updates = new StringBuilder();
+			if (mNeedWindowListUpdate.getAndSet(false)) {
+				updates.append("LIST UPDATE\n");
+			}
+			if (mNeedFocusedWindowUpdate.getAndSet(false)) {
+				updates.append("FOCUS UPDATE\n");
+			}
+			if (updates.length() > 0) {
+				mOutput = ByteBuffer.wrap(updates.toString().getBytes(UTF_8));
+				mKey.interestOps(mKey.interestOps() | SelectionKey.OP_WRITE);
+			}
+		}
+
+		private void executeWindowCommand(final String command, final String parameters) {
+			ExecutorService commandExecutor = mCommandExecutor;
+			if (commandExecutor == null) {
+				close();
+				return;
+			}
+			try {
+				commandExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							if (!windowCommand(command, parameters)) {
+								Log.w(LOG_TAG, "An error occurred with the command: " + command);
+							}
+						} finally {
+							close();
+						}
 					}
-				}
+				});
+			} catch (RejectedExecutionException e) {
+				close();
 			}
 		}
 
-		private boolean windowCommand(Socket client, String command, String parameters) {
+		private boolean windowCommand(String command, String parameters) {
 			boolean success = true;
-			BufferedWriter out = null;
+			ChannelOutputStream out = new ChannelOutputStream(mChannel);
 
 			try {
 				// Find the hash code of the window
@@ -675,27 +868,15 @@ public class ViewServer implements Runnable {
 				}
 
 				// call stuff
-				final Method dispatch = ViewDebug.class.getDeclaredMethod("dispatchCommand", View.class, String.class, String.class, OutputStream.class);
-				dispatch.setAccessible(true);
-				dispatch.invoke(null, window, command, parameters, new UncloseableOutputStream(client.getOutputStream()));
-
-				if (!client.isOutputShutdown()) {
-					out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream()));
-					out.write("DONE\n");
-					out.flush();
-				}
+				getDispatchCommandMethod().invoke(null, window, command, parameters, out);
 
+				out.write("DONE\n".getBytes(UTF_8));
+				out.flush();
 			} catch (Exception e) {
 				Log.w(LOG_TAG, "Could not send command " + command + " with parameters " + parameters, e);
 				success = false;
 			} finally {
-				if (out != null) {
-					try {
-						out.close();
-					} catch (IOException e) {
-						success = false;
-					}
-				}
+				out.release();
 			}
 
 			return success;
@@ -704,11 +885,11 @@ public class ViewServer implements Runnable {
 		private View findWindow(int hashCode) {
 			if (hashCode == -1) {
 				View window = null;
-				mWindowsLock.readLock().lock();
+				mFocusLock.readLock().lock();
 				try {
 					window = mFocusedWindow;
 				} finally {
-					mWindowsLock.readLock().unlock();
+					mFocusLock.readLock().unlock();
 				}
 				return window;
 			}
@@ -727,148 +908,78 @@ public class ViewServer implements Runnable {
 			return null;
 		}
 
-		private boolean listWindows(Socket client) {
-			boolean result = true;
-			BufferedWriter out = null;
+		private String listWindows() {
+			StringBuilder out = new StringBuilder();
 
+			mWindowsLock.readLock().lock();
 			try {
-				mWindowsLock.readLock().lock();
-
-				OutputStream clientStream = client.getOutputStream();
-				out = new BufferedWriter(new OutputStreamWriter(clientStream), 8 * 1024);
-
 				for (Entry<View, String> entry : mWindows.entrySet()) {
-					out.write(Integer.toHexString(System.identityHashCode(entry.getKey())));
-					out.write(' ');
+					out.append(Integer.toHexString(System.identityHashCode(entry.getKey())));
+					out.append(' ');
 					out.append(entry.getValue());
-					out.write('\n');
+					out.append('\n');
 				}
-
-				out.write("DONE.\n");
-				out.flush();
-			} catch (Exception e) {
-				result = false;
 			} finally {
 				mWindowsLock.readLock().unlock();
-
-				if (out != null) {
-					try {
-						out.close();
-					} catch (IOException e) {
-						result = false;
-					}
-				}
 			}
 
-			return result;
+			out.append("DONE.\n");
+			return out.toString();
 		}
 
-		private boolean getFocusedWindow(Socket client) {
-			boolean result = true;
-			String focusName = null;
+		private String getFocusedWindow() {
+			StringBuilder out = new StringBuilder();
 
-			BufferedWriter out = null;
-			try {
-				OutputStream clientStream = client.getOutputStream();
-				out = new BufferedWriter(new OutputStreamWriter(clientStream), 8 * 1024);
+			View focusedWindow = null;
 
-				View focusedWindow = null;
+			mFocusLock.readLock().lock();
+			try {
+				focusedWindow = mFocusedWindow;
+			} finally {
+				mFocusLock.readLock().unlock();
+			}
 
-				mFocusLock.readLock().lock();
+			if (focusedWindow != null) {
+				String focusName = null;
+				mWindowsLock.readLock().lock();
 				try {
-					focusedWindow = mFocusedWindow;
+					focusName = mWindows.get(focusedWindow);
 				} finally {
-					mFocusLock.readLock().unlock();
+					mWindowsLock.readLock().unlock();
 				}
 
-				if (focusedWindow != null) {
-					mWindowsLock.readLock().lock();
-					try {
-						focusName = mWindows.get(mFocusedWindow);
-					} finally {
-						mWindowsLock.readLock().unlock();
-					}
-
-					out.write(Integer.toHexString(System.identityHashCode(focusedWindow)));
-					out.write(' ');
-					out.append(focusName);
-				}
-				out.write('\n');
-				out.flush();
-			} catch (Exception e) {
-				result = false;
-			} finally {
-				if (out != null) {
-					try {
-						out.close();
-					} catch (IOException e) {
-						result = false;
-					}
-				}
+				out.append(Integer.toHexString(System.identityHashCode(focusedWindow)));
+				out.append(' ');
+				out.append(focusName);
 			}
-
-			return result;
+			out.append('\n');
+			return out.toString();
 		}
 
 		@Override
 		public void windowsChanged() {
-			synchronized (mLock) {
-				mNeedWindowListUpdate = true;
-				mLock.notifyAll();
-			}
+			mNeedWindowListUpdate.set(true);
+			wakeUpSelector();
 		}
 
 		@Override
 		public void focusChanged() {
-			synchronized (mLock) {
-				mNeedFocusedWindowUpdate = true;
-				mLock.notifyAll();
-			}
+			mNeedFocusedWindowUpdate.set(true);
+			wakeUpSelector();
 		}
 
-		private boolean windowManagerAutolistLoop() {
-			addWindowListener(this);
-			BufferedWriter out = null;
-			try {
-				out = new BufferedWriter(new OutputStreamWriter(mClient.getOutputStream()));
-				while (!Thread.interrupted()) {
-					boolean needWindowListUpdate = false;
-					boolean needFocusedWindowUpdate = false;
-					synchronized (mLock) {
-						while (!mNeedWindowListUpdate && !mNeedFocusedWindowUpdate) {
-							mLock.wait();
-						}
-						if (mNeedWindowListUpdate) {
-							mNeedWindowListUpdate = false;
-							needWindowListUpdate = true;
-						}
-						if (mNeedFocusedWindowUpdate) {
-							mNeedFocusedWindowUpdate = false;
-							needFocusedWindowUpdate = true;
-						}
-					}
-					if (needWindowListUpdate) {
-						out.write("LIST UPDATE\n");
-						out.flush();
-					}
-					if (needFocusedWindowUpdate) {
-						out.write("FOCUS UPDATE\n");
-						out.flush();
-					}
-				}
-			} catch (Exception e) {
-				Log.w(LOG_TAG, "Connection error: ", e);
-			} finally {
-				if (out != null) {
-					try {
-						out.close();
-					} catch (IOException e) {
-						// Ignore
-					}
-				}
-				removeWindowListener(this);
+		private void wakeUpSelector() {
+			Selector selector = mSelector;
+			if (selector != null) {
+				selector.wakeup();
 			}
-			return true;
+		}
+
+		private void close() {
+			removeWindowListener(this);
+			mConnections.remove(this);
+			mKey.cancel();
+			closeQuietly(mChannel);
 		}
 	}
 }
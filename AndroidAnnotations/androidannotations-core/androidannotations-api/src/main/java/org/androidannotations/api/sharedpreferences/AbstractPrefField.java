@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -25,6 +26,8 @@ public abstract class AbstractPrefField<T> {
 	protected final SharedPreferences sharedPreferences;
 	protected final String key;
 
+	SharedPreferencesHelper helper;
+
 	public AbstractPrefField(SharedPreferences sharedPreferences, String key, T defaultValue) {
 		this.sharedPreferences = sharedPreferences;
 		this.key = key;
@@ -61,6 +64,9 @@ public abstract class AbstractPrefField<T> {
 
 	protected final void apply(Editor editor) {
 		SharedPreferencesCompat.apply(editor);
+		if (helper != null) {
+			helper.prefsWritten();
+		}
 	}
 
 }
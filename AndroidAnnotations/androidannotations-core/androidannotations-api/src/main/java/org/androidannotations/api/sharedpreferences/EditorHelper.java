@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -22,6 +23,8 @@ public abstract class EditorHelper<T extends EditorHelper<T>> {
 
 	private final Editor editor;
 
+	SharedPreferencesHelper helper;
+
 	public EditorHelper(SharedPreferences sharedPreferences) {
 		editor = sharedPreferences.edit();
 	}
@@ -37,6 +40,9 @@ public abstract class EditorHelper<T extends EditorHelper<T>> {
 
 	public final void apply() {
 		SharedPreferencesCompat.apply(editor);
+		if (helper != null) {
+			helper.prefsWritten();
+		}
 	}
 
 	protected IntPrefEditorField<T> intField(String key) {
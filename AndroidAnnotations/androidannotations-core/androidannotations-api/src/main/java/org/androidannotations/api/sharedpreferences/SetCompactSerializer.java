@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import android.util.Log;
+
+/**
+ * Encodes string sets in a single string, for platforms which cannot store
+ * them natively.
+ * <p>
+ * The encoding starts with a version marker, followed by each string prefixed
+ * by its length and a colon, for example {@code AA_set1:3:foo5:hello}. Strings
+ * encoded by {@link SetXmlSerializer} in previous versions are still decoded,
+ * and are written in this encoding the next time the set is saved.
+ * </p>
+ */
+public final class SetCompactSerializer {
+
+	private static final String VERSION_MARKER = "AA_set1:";
+	private static final char LENGTH_SEPARATOR = ':';
+
+	private SetCompactSerializer() {
+
+	}
+
+	public static String serialize(Set<String> set) {
+		if (set == null) {
+			set = Collections.emptySet();
+		}
+
+		int capacity = VERSION_MARKER.length();
+		for (String string : set) {
+			capacity += string.length() + 4;
+		}
+
+		StringBuilder builder = new StringBuilder(capacity).append(VERSION_MARKER);
+		for (String string : set) {
+			builder.append(string.length()).append(LENGTH_SEPARATOR).append(string);
+		}
+		return builder.toString();
+	}
+
+	public static Set<String> deserialize(String data) {
+		if (!data.startsWith(VERSION_MARKER)) {
+			return SetXmlSerializer.deserialize(data);
+		}
+
+		Set<String> stringSet = new TreeSet<>();
+		int index = VERSION_MARKER.length();
+		try {
+			while (index < data.length()) {
+				int separator = data.indexOf(LENGTH_SEPARATOR, index);
+				int end = separator + 1 + Integer.parseInt(data.substring(index, separator));
+				stringSet.add(data.substring(separator + 1, end));
+				index = end;
+			}
+		} catch (IndexOutOfBoundsException | NumberFormatException e) {
+			Log.w("getStringSet", "Invalid serialized set at index " + index, e);
+			return null;
+		}
+		return stringSet;
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,61 +18,92 @@ package org.androidannotations.api.sharedpreferences;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import android.annotation.TargetApi;
 import android.content.SharedPreferences;
+import android.os.Build;
 
 /**
- * Reflection utils to call most efficient methods of SharedPreferences and
- * SharedPreferences$Editor or fall back to another implementations.
+ * Calls the most efficient methods of SharedPreferences and
+ * SharedPreferences$Editor available on the running platform, or falls back
+ * to other implementations on older ones.
  */
 public abstract class SharedPreferencesCompat {
 
+	/**
+	 * Sets decoded on platforms without native string sets, keyed by
+	 * preference key. An entry is only reused while the stored string is
+	 * unchanged.
+	 */
+	private static final ConcurrentMap<String, DecodedSet> DECODED_SETS = new ConcurrentHashMap<>();
+
 	private SharedPreferencesCompat() {
 	}
 
-	private static final Method APPLY_METHOD = findMethod(SharedPreferences.Editor.class, "apply");
-	private static final Method GET_STRING_SET_METHOD = findMethod(SharedPreferences.class, "getStringSet", String.class, Set.class);
-	private static final Method PUT_STRING_SET_METHOD = findMethod(SharedPreferences.Editor.class, "putStringSet", String.class, Set.class);
-
 	public static void apply(SharedPreferences.Editor editor) {
-		try {
-			invoke(APPLY_METHOD, editor);
-			return;
-		} catch (NoSuchMethodException e) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+			GingerbreadImpl.apply(editor);
+		} else {
 			editor.commit();
 		}
 	}
 
 	public static Set<String> getStringSet(SharedPreferences preferences, String key, Set<String> defValues) {
-		try {
-			return invoke(GET_STRING_SET_METHOD, preferences, key, defValues);
-		} catch (NoSuchMethodException e) {
-			String serializedSet = preferences.getString(key, null);
-			if (serializedSet == null) {
-				return defValues;
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+			try {
+				return HoneycombImpl.getStringSet(preferences, key, defValues);
+			} catch (ClassCastException e) {
+				// the set was serialized before the platform was upgraded
 			}
-			return SetXmlSerializer.deserialize(serializedSet);
 		}
-	}
 
-	public static void putStringSet(SharedPreferences.Editor editor, String key, Set<String> values) {
-		try {
-			invoke(PUT_STRING_SET_METHOD, editor, key, values);
-		} catch (NoSuchMethodException e1) {
-			editor.putString(key, SetXmlSerializer.serialize(values));
+		String serializedSet = preferences.getString(key, null);
+		if (serializedSet == null) {
+			return defValues;
+		}
+
+		DecodedSet decodedSet = DECODED_SETS.get(key);
+		if (decodedSet == null || !decodedSet.serializedSet.equals(serializedSet)) {
+			Set<String> set = SetCompactSerializer.deserialize(serializedSet);
+			if (set == null) {
+				return null;
+			}
+			decodedSet = new DecodedSet(serializedSet, Collections.unmodifiableSet(set));
+			DECODED_SETS.put(key, decodedSet);
 		}
+		return decodedSet.set;
 	}
 
-	private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
-		try {
-			return clazz.getMethod(name, parameterTypes);
-		} catch (NoSuchMethodException unused) {
-			// fall through
+	public static void putStringSet(SharedPreferences.Editor editor, String key, Set<String> values) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+			HoneycombImpl.putStringSet(editor, key, values);
+		} else {
+			editor.putString(key, SetCompactSerializer.serialize(values));
 		}
-		return null;
 	}
 
+	/**
+	 * Invokes the given method, reporting any failure as a missing method.
+	 *
+	 * @param <T>
+	 *            the return type of the method
+	 * @param method
+	 *            the method to invoke, may be <code>null</code>
+	 * @param obj
+	 *            the object the method is invoked on
+	 * @param args
+	 *            the arguments of the call
+	 * @return the value returned by the method
+	 * @throws NoSuchMethodException
+	 *             if the method is <code>null</code> or could not be invoked
+	 * @deprecated the platform methods are now called directly, this method
+	 *             is kept for compatibility only
+	 */
+	@Deprecated
 	@SuppressWarnings("unchecked")
 	public static <T> T invoke(Method method, Object obj, Object... args) throws NoSuchMethodException {
 		if (method == null) {
@@ -86,4 +118,45 @@ public abstract class SharedPreferencesCompat {
 
 		throw new NoSuchMethodException(method.getName());
 	}
+
+	/*
+	 * The platform calls live in nested classes so that they are only
+	 * verified on platforms which have them.
+	 */
+	@TargetApi(Build.VERSION_CODES.GINGERBREAD)
+	private static final class GingerbreadImpl {
+
+		private GingerbreadImpl() {
+		}
+
+		static void apply(SharedPreferences.Editor editor) {
+			editor.apply();
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+	private static final class HoneycombImpl {
+
+		private HoneycombImpl() {
+		}
+
+		static Set<String> getStringSet(SharedPreferences preferences, String key, Set<String> defValues) {
+			return preferences.getStringSet(key, defValues);
+		}
+
+		static void putStringSet(SharedPreferences.Editor editor, String key, Set<String> values) {
+			editor.putStringSet(key, values);
+		}
+	}
+
+	private static final class DecodedSet {
+
+		private final String serializedSet;
+		private final Set<String> set;
+
+		DecodedSet(String serializedSet, Set<String> set) {
+			this.serializedSet = serializedSet;
+			this.set = set;
+		}
+	}
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,14 +16,36 @@
  */
 package org.androidannotations.api.sharedpreferences;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 
 public abstract class SharedPreferencesHelper {
 
 	private final SharedPreferences sharedPreferences;
 
+	private final Map<String, List<FieldListener<?>>> fieldListeners = new HashMap<>();
+	private final AtomicInteger version = new AtomicInteger();
+	private volatile boolean watchingChanges;
+
+	/*
+	 * SharedPreferences only keeps weak references to its listeners, so this
+	 * one is held for the lifetime of the helper.
+	 */
+	private final OnSharedPreferenceChangeListener changeListener = new OnSharedPreferenceChangeListener() {
+		@Override
+		public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+			onPrefChanged(key);
+		}
+	};
+
 	public SharedPreferencesHelper(SharedPreferences sharedPreferences) {
 		this.sharedPreferences = sharedPreferences;
 	}
@@ -33,29 +56,147 @@ public abstract class SharedPreferencesHelper {
 
 	public final void clear() {
 		SharedPreferencesCompat.apply(sharedPreferences.edit().clear());
+		prefsWritten();
+	}
+
+	/**
+	 * Tells whether the given snapshot still holds the current pref values.
+	 *
+	 * @param snapshot
+	 *            the last snapshot, may be <code>null</code>
+	 * @return <code>true</code> if the prefs did not change since the snapshot
+	 *         was created
+	 */
+	protected final boolean isCurrent(SharedPreferencesSnapshot snapshot) {
+		return snapshot != null && snapshot.getVersion() == snapshotVersion();
+	}
+
+	/**
+	 * Makes the given editor invalidate the snapshots when its changes are
+	 * applied, so the writing thread does not have to wait for the change
+	 * notification posted on the main thread.
+	 *
+	 * @param <E>
+	 *            the type of the editor
+	 * @param editor
+	 *            the editor to track
+	 * @return the editor
+	 */
+	protected final <E extends EditorHelper<E>> E trackWrites(E editor) {
+		editor.helper = this;
+		return editor;
+	}
+
+	int snapshotVersion() {
+		watchChanges();
+		return version.get();
+	}
+
+	void prefsWritten() {
+		version.incrementAndGet();
+	}
+
+	protected final <T> void addOnChangeListener(AbstractPrefField<T> field, OnPrefChangeListener<T> listener) {
+		watchChanges();
+		synchronized (fieldListeners) {
+			List<FieldListener<?>> listeners = fieldListeners.get(field.key());
+			if (listeners == null) {
+				listeners = new ArrayList<>();
+				fieldListeners.put(field.key(), listeners);
+			}
+			listeners.add(new FieldListener<>(field, listener));
+		}
+	}
+
+	protected final void removeOnChangeListener(String key, OnPrefChangeListener<?> listener) {
+		synchronized (fieldListeners) {
+			List<FieldListener<?>> listeners = fieldListeners.get(key);
+			if (listeners == null) {
+				return;
+			}
+			for (Iterator<FieldListener<?>> iterator = listeners.iterator(); iterator.hasNext();) {
+				if (iterator.next().listener == listener) {
+					iterator.remove();
+					break;
+				}
+			}
+			if (listeners.isEmpty()) {
+				fieldListeners.remove(key);
+			}
+		}
+	}
+
+	private void watchChanges() {
+		if (!watchingChanges) {
+			synchronized (fieldListeners) {
+				if (!watchingChanges) {
+					sharedPreferences.registerOnSharedPreferenceChangeListener(changeListener);
+					watchingChanges = true;
+				}
+			}
+		}
+	}
+
+	private void onPrefChanged(String key) {
+		prefsWritten();
+
+		List<FieldListener<?>> listeners = new ArrayList<>();
+		synchronized (fieldListeners) {
+			if (key == null) {
+				// the prefs were cleared
+				for (List<FieldListener<?>> keyListeners : fieldListeners.values()) {
+					listeners.addAll(keyListeners);
+				}
+			} else if (fieldListeners.containsKey(key)) {
+				listeners.addAll(fieldListeners.get(key));
+			}
+		}
+		for (FieldListener<?> listener : listeners) {
+			listener.dispatch();
+		}
 	}
 
 	protected IntPrefField intField(String key, int defaultValue) {
-		return new IntPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new IntPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected StringPrefField stringField(String key, String defaultValue) {
-		return new StringPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new StringPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected StringSetPrefField stringSetField(String key, Set<String> defaultValue) {
-		return new StringSetPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new StringSetPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected BooleanPrefField booleanField(String key, boolean defaultValue) {
-		return new BooleanPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new BooleanPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected FloatPrefField floatField(String key, float defaultValue) {
-		return new FloatPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new FloatPrefField(sharedPreferences, key, defaultValue));
 	}
 
 	protected LongPrefField longField(String key, long defaultValue) {
-		return new LongPrefField(sharedPreferences, key, defaultValue);
+		return tracked(new LongPrefField(sharedPreferences, key, defaultValue));
+	}
+
+	private <F extends AbstractPrefField<?>> F tracked(F field) {
+		field.helper = this;
+		return field;
+	}
+
+	private static final class FieldListener<T> {
+
+		private final AbstractPrefField<T> field;
+		private final OnPrefChangeListener<T> listener;
+
+		FieldListener(AbstractPrefField<T> field, OnPrefChangeListener<T> listener) {
+			this.field = field;
+			this.listener = listener;
+		}
+
+		void dispatch() {
+			listener.onPrefChanged(field.get());
+		}
 	}
 }
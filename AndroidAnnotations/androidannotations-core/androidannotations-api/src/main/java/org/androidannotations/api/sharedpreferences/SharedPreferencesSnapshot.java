@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.api.sharedpreferences;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Base class of the immutable snapshots of pref values generated for
+ * {@link org.androidannotations.annotations.sharedpreferences.SharedPref
+ * SharedPref} interfaces. A snapshot is replaced by a new one once the
+ * underlying {@link android.content.SharedPreferences} change.
+ */
+public abstract class SharedPreferencesSnapshot {
+
+	private final int version;
+
+	/**
+	 * Reads the version of the prefs before the subclass reads their values,
+	 * so a change made meanwhile makes this snapshot stale instead of lost.
+	 *
+	 * @param prefs
+	 *            the prefs this snapshot is taken from
+	 */
+	protected SharedPreferencesSnapshot(SharedPreferencesHelper prefs) {
+		version = prefs.snapshotVersion();
+	}
+
+	/**
+	 * Wraps a set value so the snapshot cannot be modified through it.
+	 *
+	 * @param set
+	 *            the pref value, may be <code>null</code>
+	 * @return an unmodifiable view of the set, or <code>null</code>
+	 */
+	protected static Set<String> unmodifiable(Set<String> set) {
+		return set == null ? null : Collections.unmodifiableSet(set);
+	}
+
+	final int getVersion() {
+		return version;
+	}
+}
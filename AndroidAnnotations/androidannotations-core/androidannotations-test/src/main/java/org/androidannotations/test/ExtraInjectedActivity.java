@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -67,6 +68,11 @@ public class ExtraInjectedActivity extends Activity {
 		this.multiInjectedExtra = multiInjectedExtra;
 	}
 
+	@Extra(value = "lazyStringExtra", lazy = true)
+	String lazyStringExtra() {
+		return "default";
+	}
+
 	@Override
 	protected void onNewIntent(Intent intent) {
 		setIntent(intent);
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -37,6 +38,9 @@ public class SSLConnection extends Activity {
 	@HttpsClient(trustStoreResName = "cacerts", keyStoreResName = "cacerts")
 	HttpClient mHttpsClientTest4;
 
+	@HttpsClient(trustStore = R.raw.cacerts, preload = true)
+	HttpClient mHttpsClientTest5;
+
 	HttpClient methodInjectedHttpsClient;
 	HttpClient multiInjectedHttpsClient;
 
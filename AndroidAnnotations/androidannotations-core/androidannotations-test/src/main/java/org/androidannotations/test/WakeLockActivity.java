@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -57,6 +58,35 @@ public class WakeLockActivity extends Activity {
 		
 	}
 
+	@WakeLock(tag = "HelloWakeLock")
+	public void useWakeLockSameCustomTag() {
+
+	}
+
+	@WakeLock(holdOver = 60000)
+	public void useWakeLockHoldOver() {
+
+	}
+
+	@WakeLock(tag = "Overlapping")
+	public void useOverlappingWakeLock(Callback callback) {
+		callback.onCall();
+	}
+
+	@WakeLock(tag = "Overlapping", timeout = 1000)
+	public void useOverlappingWakeLockWithTimeout(Callback callback) {
+		if (callback != null) {
+			callback.onCall();
+		}
+	}
+
+	@WakeLock(tag = "Overlapping", holdOver = 1000)
+	public void useOverlappingWakeLockHoldOver(Callback callback) {
+		if (callback != null) {
+			callback.onCall();
+		}
+	}
+
 	public interface Callback {
 		void onCall();
 	}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -24,7 +25,7 @@ import org.androidannotations.annotations.ViewById;
 import android.content.Context;
 import android.view.View;
 
-@EBean(scope = Scope.Singleton)
+@EBean(scope = Scope.Singleton, warmUp = true)
 public class SomeSingleton {
 
 	@RootContext
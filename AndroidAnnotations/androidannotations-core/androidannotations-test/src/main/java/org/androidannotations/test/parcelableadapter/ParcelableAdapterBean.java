@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.parcelableadapter;
+
+import java.util.List;
+
+import org.androidannotations.annotations.ParcelableAdapter;
+
+@ParcelableAdapter
+public class ParcelableAdapterBean {
+
+	String name;
+	int age;
+	boolean admin;
+	long[] ids;
+	ParcelableAdapterAddress address;
+	List<ParcelableAdapterAddress> previousAddresses;
+	transient int cachedHash;
+
+	public ParcelableAdapterBean() {
+	}
+
+	public ParcelableAdapterBean(String name, int age) {
+		this.name = name;
+		this.age = age;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+}
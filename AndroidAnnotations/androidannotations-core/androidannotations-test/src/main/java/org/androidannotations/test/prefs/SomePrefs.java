@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -28,7 +29,7 @@ import org.androidannotations.annotations.sharedpreferences.SharedPref;
 import org.androidannotations.annotations.sharedpreferences.SharedPref.Scope;
 import org.androidannotations.test.R;
 
-@SharedPref(Scope.UNIQUE)
+@SharedPref(value = Scope.UNIQUE, observable = true)
 public interface SomePrefs {
 	
 	@DefaultString("John")
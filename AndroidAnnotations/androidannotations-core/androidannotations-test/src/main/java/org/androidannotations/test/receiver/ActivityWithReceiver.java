@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -34,6 +35,7 @@ public class ActivityWithReceiver extends Activity {
 	public boolean wifiChangeIntentReceived = false;
 	public boolean action1Fired = false;
 	public boolean action2Fired = false;
+	public int sharedFilterCount = 0;
 
 	public String wifiSsid = null;
 
@@ -71,4 +73,9 @@ public class ActivityWithReceiver extends Activity {
 		this.originalIntent = originalIntent;
 		this.extraIntent = extraIntent;
 	}
+
+	@Receiver(actions = ACTION_1)
+	protected void onBroadcastSharingIntentFilter() {
+		sharedFilterCount++;
+	}
 }
@@ -21,6 +21,7 @@ import org.androidannotations.annotations.res.AnimationRes;
 import org.androidannotations.annotations.res.DrawableRes;
 import org.androidannotations.annotations.res.HtmlRes;
 import org.androidannotations.annotations.res.StringRes;
+import org.androidannotations.api.Lazy;
 import org.androidannotations.test.R;
 
 import android.app.Activity;
@@ -55,6 +56,12 @@ public class ResActivity extends Activity {
 	@HtmlRes(R.string.hello_html)
 	CharSequence htmlInjected;
 
+	@StringRes(R.string.injected_string)
+	Lazy<String> lazyString;
+
+	@DrawableRes(R.drawable.icon)
+	Lazy<Drawable> lazyIcon;
+
 	String methodInjectedString;
 	String multiInjectedString;
 	Drawable methodInjectedDrawable;
@@ -51,6 +51,27 @@ public class InjectExtraTest {
 		assertThat(activity.stringExtra).isEqualTo("Hello!");
 	}
 
+	@Test
+	public void lazyStringExtraInjected() {
+		controller.withIntent(ExtraInjectedActivity_.intent(context).lazyStringExtra("Hello!").get()).create();
+		assertThat(activity.lazyStringExtra()).isEqualTo("Hello!");
+	}
+
+	@Test
+	public void lazyExtraDefaultsToMethodBody() {
+		controller.create();
+		assertThat(activity.lazyStringExtra()).isEqualTo("default");
+	}
+
+	@Test
+	public void lazyExtraUpdatedOnSetIntent() {
+		controller.withIntent(ExtraInjectedActivity_.intent(context).lazyStringExtra("Hello!").get()).create();
+		assertThat(activity.lazyStringExtra()).isEqualTo("Hello!");
+
+		activity.setIntent(ExtraInjectedActivity_.intent(context).lazyStringExtra("Hello again!").get());
+		assertThat(activity.lazyStringExtra()).isEqualTo("Hello again!");
+	}
+
 	@Test
 	public void arrayExtraInjected() {
 		CustomData[] customData = { new CustomData("42") };
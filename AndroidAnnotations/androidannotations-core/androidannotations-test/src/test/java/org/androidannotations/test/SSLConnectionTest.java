@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,10 +18,12 @@ package org.androidannotations.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.security.Security;
 
+import org.apache.http.client.HttpClient;
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.scheme.Scheme;
 import org.apache.http.conn.scheme.SocketFactory;
@@ -76,6 +79,14 @@ public class SSLConnectionTest {
 		assertEquals(SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER, socketFactHttps.getHostnameVerifier());
 	}
 
+	@Test
+	public void socketFactoryIsSharedBySameConfiguration() {
+		SSLConnection_ otherActivity = Robolectric.buildActivity(SSLConnection_.class).create().get();
+
+		assertSame(getHttpsSocketFactory(activity.mHttpsClientTest1), getHttpsSocketFactory(otherActivity.mHttpsClientTest1));
+		assertSame(getHttpsSocketFactory(activity.mHttpsClientTest1), getHttpsSocketFactory(activity.mHttpsClientTest5));
+	}
+
 	@Test
 	public void noOptions() {
 		assertNotNull(activity.mHttpsClientTest3);
@@ -96,4 +107,8 @@ public class SSLConnectionTest {
 		ClientConnectionManager ccm = activity.multiInjectedHttpsClient.getConnectionManager();
 		assertNotNull(ccm);
 	}
+
+	private SocketFactory getHttpsSocketFactory(HttpClient client) {
+		return client.getConnectionManager().getSchemeRegistry().getScheme("https").getSocketFactory();
+	}
 }
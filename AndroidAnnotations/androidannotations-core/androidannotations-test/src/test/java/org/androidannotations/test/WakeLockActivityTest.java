@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -26,6 +27,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
 import org.robolectric.shadows.ShadowPowerManager;
 
 import android.os.PowerManager;
@@ -107,4 +109,66 @@ public class WakeLockActivityTest {
 		activity.useWakeLockCustomLevelAndFlag();
 		assertThat(CustomShadowPowerManager.lastFlags).isEqualTo(PowerManager.FULL_WAKE_LOCK | PowerManager.ACQUIRE_CAUSES_WAKEUP);
 	}
+
+	@Test
+	public void testWakeLockIsReused() {
+		activity.useWakeLockDefaultValues(null);
+		WakeLock wakeLock = ShadowPowerManager.getLatestWakeLock();
+
+		activity.useWakeLockDefaultValues(null);
+		assertThat(ShadowPowerManager.getLatestWakeLock()).isSameAs(wakeLock);
+	}
+
+	@Test
+	public void testWakeLockIsSharedBySameTag() {
+		activity.useWakeLockCustomTag();
+		WakeLock wakeLock = ShadowPowerManager.getLatestWakeLock();
+
+		activity.useWakeLockSameCustomTag();
+		assertThat(ShadowPowerManager.getLatestWakeLock()).isSameAs(wakeLock);
+	}
+
+	@Test
+	public void testWakeLockIsHeldOver() {
+		activity.useWakeLockHoldOver();
+		WakeLock wakeLock = ShadowPowerManager.getLatestWakeLock();
+		assertThat(wakeLock.isHeld()).isTrue();
+	}
+
+	@Test
+	public void testTimeoutDoesNotReleaseOverlappingCall() {
+		activity.useOverlappingWakeLock(new Callback() {
+
+			@Override
+			public void onCall() {
+				activity.useOverlappingWakeLockWithTimeout(new Callback() {
+
+					@Override
+					public void onCall() {
+						ShadowLooper.idleMainLooper(1000);
+						assertThat(ShadowPowerManager.getLatestWakeLock().isHeld()).isTrue();
+					}
+				});
+				assertThat(ShadowPowerManager.getLatestWakeLock().isHeld()).isTrue();
+			}
+		});
+		assertThat(ShadowPowerManager.getLatestWakeLock().isHeld()).isFalse();
+	}
+
+	@Test
+	public void testOverlappingCallsAreHeldOver() {
+		activity.useOverlappingWakeLockHoldOver(new Callback() {
+
+			@Override
+			public void onCall() {
+				activity.useOverlappingWakeLockHoldOver(null);
+				assertThat(ShadowPowerManager.getLatestWakeLock().isHeld()).isTrue();
+			}
+		});
+		WakeLock wakeLock = ShadowPowerManager.getLatestWakeLock();
+		assertThat(wakeLock.isHeld()).isTrue();
+
+		ShadowLooper.idleMainLooper(1000);
+		assertThat(wakeLock.isHeld()).isFalse();
+	}
 }
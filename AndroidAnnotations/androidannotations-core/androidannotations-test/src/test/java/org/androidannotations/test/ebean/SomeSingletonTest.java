@@ -24,6 +24,7 @@ import java.lang.reflect.Field;
 
 import org.androidannotations.api.view.HasViews;
 import org.androidannotations.api.view.OnViewChangedNotifier;
+import org.androidannotations.test.EBeanSingletons_;
 import org.androidannotations.test.EmptyActivityWithoutLayout_;
 import org.junit.Before;
 import org.junit.Test;
@@ -49,6 +50,14 @@ public class SomeSingletonTest {
 		assertThat(firstInstance).isSameAs(secondInstance);
 	}
 
+	@Test
+	public void warmUpCreatesInstance() throws Exception {
+		EmptyActivityWithoutLayout_ context = setupActivity(EmptyActivityWithoutLayout_.class);
+		EBeanSingletons_.warmUp(context);
+		assertThat(getSingletonField()).isNotNull();
+		assertThat(SomeSingleton_.getInstance_(context)).isSameAs(getSingletonField());
+	}
+
 	@Test
 	public void viewsAreNotInjected() throws Exception {
 		Context context = mock(Context.class);
@@ -73,4 +82,10 @@ public class SomeSingletonTest {
 		instanceField.set(null, null);
 	}
 
+	private Object getSingletonField() throws IllegalAccessException, NoSuchFieldException {
+		Field instanceField = SomeSingleton_.class.getDeclaredField("instance_");
+		instanceField.setAccessible(true);
+		return instanceField.get(null);
+	}
+
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.instancestate;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Bundle;
+import android.os.Parcel;
+
+@RunWith(RobolectricTestRunner.class)
+public class ParcelableInstanceStateActivityTest {
+
+	@Test
+	public void fieldsAreSavedUnderOneKey() {
+		ParcelableInstanceStateActivity_ activity = Robolectric.buildActivity(ParcelableInstanceStateActivity_.class).create().get();
+		activity.count = 42;
+
+		Bundle bundle = new Bundle();
+		activity.onSaveInstanceState(bundle);
+
+		assertThat(bundle.getParcelable("instanceState_")).isInstanceOf(ParcelableInstanceStateActivity_.InstanceState_.class);
+		assertThat(bundle.containsKey("count")).isFalse();
+		assertThat(bundle.containsKey("lastUpdate")).isTrue();
+	}
+
+	@Test
+	public void fieldsAreRestoredFromParcel() {
+		ParcelableInstanceStateActivity_ activity = Robolectric.buildActivity(ParcelableInstanceStateActivity_.class).create().get();
+		activity.count = 42;
+		activity.checked = true;
+		activity.query = "query";
+		activity.ids = new long[] { 1, 2 };
+		activity.extras = new Bundle();
+		activity.extras.putString("key", "value");
+		activity.lastUpdate = new Date(1000);
+
+		Bundle bundle = new Bundle();
+		activity.onSaveInstanceState(bundle);
+
+		Parcel parcel = Parcel.obtain();
+		bundle.writeToParcel(parcel, 0);
+		parcel.setDataPosition(0);
+		Bundle restoredBundle = parcel.readBundle(getClass().getClassLoader());
+		parcel.recycle();
+
+		ParcelableInstanceStateActivity_ restored = Robolectric.buildActivity(ParcelableInstanceStateActivity_.class).create(restoredBundle).get();
+
+		assertThat(restored.count).isEqualTo(42);
+		assertThat(restored.checked).isTrue();
+		assertThat(restored.query).isEqualTo("query");
+		assertThat(restored.ids).isEqualTo(new long[] { 1, 2 });
+		assertThat(restored.extras.getString("key")).isEqualTo("value");
+		assertThat(restored.lastUpdate).isEqualTo(new Date(1000));
+	}
+}
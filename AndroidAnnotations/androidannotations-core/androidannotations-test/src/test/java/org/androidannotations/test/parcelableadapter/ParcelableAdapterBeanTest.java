@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.test.parcelableadapter;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.os.Parcel;
+
+@RunWith(RobolectricTestRunner.class)
+public class ParcelableAdapterBeanTest {
+
+	@Test
+	public void fieldsSurviveParcel() {
+		ParcelableAdapterBean bean = new ParcelableAdapterBean("john", 42);
+		bean.admin = true;
+		bean.ids = new long[] { 1, 2 };
+		bean.address = new ParcelableAdapterAddress("Paris");
+		bean.previousAddresses = Arrays.asList(new ParcelableAdapterAddress("Lyon"), new ParcelableAdapterAddress("Nice"));
+		bean.cachedHash = 7;
+
+		ParcelableAdapterBean restored = writeAndRead(bean);
+
+		assertThat(restored.getName()).isEqualTo("john");
+		assertThat(restored.getAge()).isEqualTo(42);
+		assertThat(restored.admin).isTrue();
+		assertThat(restored.ids).isEqualTo(new long[] { 1, 2 });
+		assertThat(restored.address.getCity()).isEqualTo("Paris");
+		assertThat(restored.previousAddresses).hasSize(2);
+		assertThat(restored.previousAddresses.get(1).getCity()).isEqualTo("Nice");
+		assertThat(restored.cachedHash).isZero();
+	}
+
+	@Test
+	public void nullValueSurvivesParcel() {
+		assertThat(writeAndRead(null)).isNull();
+	}
+
+	@Test
+	public void listIsWrappedAndUnwrapped() {
+		List<ParcelableAdapterBean> beans = Arrays.asList(new ParcelableAdapterBean("john", 42), new ParcelableAdapterBean("jane", 24));
+
+		ArrayList<ParcelableAdapterBean_> wrapped = ParcelableAdapterBean_.wrapList(beans);
+		ArrayList<ParcelableAdapterBean> unwrapped = ParcelableAdapterBean_.unwrapList(wrapped);
+
+		assertThat(unwrapped).containsExactly(beans.get(0), beans.get(1));
+	}
+
+	private ParcelableAdapterBean writeAndRead(ParcelableAdapterBean bean) {
+		Parcel parcel = Parcel.obtain();
+		new ParcelableAdapterBean_(bean).writeToParcel(parcel, 0);
+		parcel.setDataPosition(0);
+		ParcelableAdapterBean restored = ParcelableAdapterBean_.CREATOR.createFromParcel(parcel).getValue();
+		parcel.recycle();
+		return restored;
+	}
+}
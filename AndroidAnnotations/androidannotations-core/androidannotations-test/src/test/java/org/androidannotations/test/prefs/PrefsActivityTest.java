@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,11 +18,15 @@ package org.androidannotations.test.prefs;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.androidannotations.api.sharedpreferences.OnPrefChangeListener;
+import org.androidannotations.api.sharedpreferences.SetCompactSerializer;
 import org.androidannotations.api.sharedpreferences.SetXmlSerializer;
 import org.androidannotations.test.R;
 import org.junit.Before;
@@ -192,6 +197,15 @@ public class PrefsActivityTest {
 		assertThat(somePrefs.types().get()).isEqualTo(values);
 	}
 
+	@Test
+	public void getStringSetCompactCompat() {
+		Set<String> values = new TreeSet<String>(Arrays.asList("", "1:2", "3"));
+
+		sharedPref.edit().putString("types", SetCompactSerializer.serialize(values)).commit();
+
+		assertThat(somePrefs.types().get()).isEqualTo(values);
+	}
+
 	@Test
 	public void getStringSet() {
 		Set<String> values = new TreeSet<String>(Arrays.asList("1", "2", "3"));
@@ -201,6 +215,61 @@ public class PrefsActivityTest {
 		assertThat(somePrefs.types().get()).isEqualTo(values);
 	}
 
+	@Test
+	public void snapshotFollowsChanges() {
+		somePrefs.age().put(30);
+		SomePrefs_.SomePrefsSnapshot_ snapshot = somePrefs.snapshot();
+		assertThat(snapshot.age).isEqualTo(30);
+		assertThat(somePrefs.snapshot()).isSameAs(snapshot);
+
+		somePrefs.age().put(31);
+		assertThat(somePrefs.snapshot().age).isEqualTo(31);
+	}
+
+	@Test
+	public void snapshotFollowsEditorWriteFromBackgroundThread() throws InterruptedException {
+		assertThat(somePrefs.snapshot().age).isEqualTo(42);
+
+		final int[] ageSeenByWriter = new int[1];
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				somePrefs.edit().age().put(43).apply();
+				ageSeenByWriter[0] = somePrefs.snapshot().age;
+			}
+		};
+		writer.start();
+		writer.join();
+
+		assertThat(ageSeenByWriter[0]).isEqualTo(43);
+		assertThat(somePrefs.snapshot().age).isEqualTo(43);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void snapshotSetCannotBeModified() {
+		somePrefs.setWithDefault().put(new HashSet<String>(Arrays.asList("a")));
+		somePrefs.snapshot().setWithDefault.add("b");
+	}
+
+	@Test
+	public void changeListenerOnlyReceivesItsKey() {
+		final List<Integer> ages = new ArrayList<Integer>();
+		OnPrefChangeListener<Integer> listener = new OnPrefChangeListener<Integer>() {
+			@Override
+			public void onPrefChanged(Integer value) {
+				ages.add(value);
+			}
+		};
+		somePrefs.addAgeChangeListener(listener);
+
+		somePrefs.name().put("Smith");
+		somePrefs.age().put(40);
+		somePrefs.removeAgeChangeListener(listener);
+		somePrefs.age().put(41);
+
+		assertThat(ages).containsExactly(40);
+	}
+
 	@Test
 	public void defaultValue() {
 		assertThat(somePrefs.name().get()).isEqualTo("John");
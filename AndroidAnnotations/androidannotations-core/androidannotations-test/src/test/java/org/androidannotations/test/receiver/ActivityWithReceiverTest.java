@@ -106,4 +106,14 @@ public class ActivityWithReceiverTest {
 		assertEquals(extraIntent, activity.extraIntent);
 	}
 
+	@Test
+	public void onBroadcastSharingIntentFilterTest() {
+		Intent intent = new Intent(ActivityWithReceiver.ACTION_1);
+
+		activity.sendBroadcast(intent);
+
+		assertEquals(intent, activity.originalIntent);
+		assertEquals(1, activity.sharedFilterCount);
+	}
+
 }
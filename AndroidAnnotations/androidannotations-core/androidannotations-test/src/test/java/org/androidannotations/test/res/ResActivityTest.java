@@ -59,6 +59,17 @@ public class ResActivityTest {
 		assertNotNull(activity.multiInjectedString);
 	}
 
+	@Test
+	public void lazyStringLoadedOnFirstUse() {
+		assertThat(activity.lazyString.get()).isEqualTo("test");
+	}
+
+	@Test
+	public void lazyDrawableIsMemoized() {
+		assertThat(activity.lazyIcon.get()).isNotNull();
+		assertThat(activity.lazyIcon.get()).isSameAs(activity.lazyIcon.get());
+	}
+
 	@Test
 	public void animNotNull() {
 		assertThat(activity.fadein).isNotNull();
@@ -55,6 +55,7 @@ import org.androidannotations.annotations.EBean;
 import org.androidannotations.holder.EBeanHolder;
 import org.androidannotations.holder.GeneratedClassHolder;
 import org.androidannotations.internal.helper.AnnotationParamExtractor;
+import org.androidannotations.internal.process.ProcessHolder.Classes;
 
 import com.helger.jcodemodel.AbstractJAnnotationValue;
 import com.helger.jcodemodel.AbstractJClass;
@@ -69,6 +70,7 @@ import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JCodeModel;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JFormatter;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
@@ -447,6 +449,35 @@ public class APTCodeModelHelper {
 		return anonymousRunnableClass;
 	}
 
+	/**
+	 * Adds the <code>CREATOR</code> field to a generated
+	 * {@link android.os.Parcelable Parcelable} class, which instantiates it
+	 * through its constructor taking a {@link android.os.Parcel Parcel}.
+	 *
+	 * @param parcelableClass
+	 *            the generated class
+	 * @return the <code>CREATOR</code> field
+	 */
+	public JFieldVar addParcelableCreator(JDefinedClass parcelableClass) {
+		JCodeModel codeModel = environment.getCodeModel();
+		Classes classes = environment.getClasses();
+
+		AbstractJClass creatorClass = classes.PARCELABLE_CREATOR.narrow(parcelableClass);
+		JDefinedClass creator = codeModel.anonymousClass(creatorClass);
+
+		JMethod createFromParcel = creator.method(JMod.PUBLIC, parcelableClass, "createFromParcel");
+		createFromParcel.annotate(Override.class);
+		JVar source = createFromParcel.param(classes.PARCEL, "source");
+		createFromParcel.body()._return(_new(parcelableClass).arg(source));
+
+		JMethod newArray = creator.method(JMod.PUBLIC, parcelableClass.array(), "newArray");
+		newArray.annotate(Override.class);
+		JVar size = newArray.param(codeModel.INT, "size");
+		newArray.body()._return(JExpr.newArray(parcelableClass, size));
+
+		return parcelableClass.field(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, creatorClass, "CREATOR", _new(creator));
+	}
+
 	/**
 	 * Gets all of the methods of the class and includes the methods of any
 	 * implemented interfaces.
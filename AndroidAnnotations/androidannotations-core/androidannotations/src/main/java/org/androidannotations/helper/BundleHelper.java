@@ -86,6 +86,8 @@ public class BundleHelper {
 	private boolean restoreCallNeedCastStatement = false;
 	private boolean restoreCallNeedsSuppressWarning = false;
 	private boolean parcelerBean = false;
+	private AbstractJClass parcelableAdapterClass;
+	private boolean parcelableAdapterList = false;
 
 	private String methodNameToSave;
 	private String methodNameToRestore;
@@ -96,6 +98,7 @@ public class BundleHelper {
 		this.environment = environment;
 		annotationHelper = new AnnotationHelper(environment);
 		codeModelHelper = new APTCodeModelHelper(environment);
+		ParcelableAdapterHelper parcelableAdapterHelper = new ParcelableAdapterHelper(environment);
 
 		String typeString = element.toString();
 		TypeMirror type = element;
@@ -105,6 +108,15 @@ public class BundleHelper {
 			methodNameToSave = "put" + METHOD_SUFFIX_BY_TYPE_NAME.get(typeString);
 			methodNameToRestore = "get" + METHOD_SUFFIX_BY_TYPE_NAME.get(typeString);
 
+		} else if (parcelableAdapterHelper.hasParcelableAdapter(element)) {
+			methodNameToSave = "put" + "Parcelable";
+			methodNameToRestore = "get" + "Parcelable";
+			parcelableAdapterClass = parcelableAdapterHelper.getAdapterClass(element);
+		} else if (parcelableAdapterHelper.isParcelableAdapterList(element)) {
+			methodNameToSave = "put" + "ParcelableArrayList";
+			methodNameToRestore = "get" + "ParcelableArrayList";
+			parcelableAdapterClass = parcelableAdapterHelper.getAdapterClass(element);
+			parcelableAdapterList = true;
 		} else if (element.getKind() == TypeKind.ARRAY) {
 
 			ArrayType arrayType = (ArrayType) element;
@@ -227,6 +239,10 @@ public class BundleHelper {
 			expressionToRestore = environment.getJClass(CanonicalNameConstants.PARCELS_UTILITY_CLASS).staticInvoke("unwrap").arg(expressionToRestore);
 		}
 
+		if (parcelableAdapterClass != null) {
+			expressionToRestore = parcelableAdapterClass.staticInvoke(parcelableAdapterList ? "unwrapList" : "unwrap").arg(expressionToRestore);
+		}
+
 		if (restoreCallNeedCastStatement) {
 			expressionToRestore = JExpr.cast(variableClass, expressionToRestore);
 
@@ -241,6 +257,10 @@ public class BundleHelper {
 		IJExpression refExpression = variableRef;
 		if (parcelerBean) {
 			refExpression = environment.getJClass(CanonicalNameConstants.PARCELS_UTILITY_CLASS).staticInvoke("wrap").arg(refExpression);
+		} else if (parcelableAdapterList) {
+			refExpression = parcelableAdapterClass.staticInvoke("wrapList").arg(refExpression);
+		} else if (parcelableAdapterClass != null) {
+			refExpression = JExpr._new(parcelableAdapterClass).arg(refExpression);
 		}
 		return JExpr.invoke(saveStateBundleParam, methodNameToSave).arg(fieldName).arg(refExpression);
 	}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -58,6 +59,8 @@ public final class CanonicalNameConstants {
 	 */
 	public static final String LOG = "android.util.Log";
 	public static final String PARCELABLE = "android.os.Parcelable";
+	public static final String PARCELABLE_CREATOR = "android.os.Parcelable.Creator";
+	public static final String PARCEL = "android.os.Parcel";
 	public static final String INTENT = "android.content.Intent";
 	public static final String INTENT_FILTER = "android.content.IntentFilter";
 	public static final String COMPONENT_NAME = "android.content.ComponentName";
@@ -114,9 +117,11 @@ public final class CanonicalNameConstants {
 	public static final String KEY_STORE = "java.security.KeyStore";
 	public static final String SQLITE_OPEN_HELPER = "android.database.sqlite.SQLiteOpenHelper";
 	public static final String VIEW_SERVER = "org.androidannotations.api.ViewServer";
+	public static final String LAZY = "org.androidannotations.api.Lazy";
 	public static final String LOOPER = "android.os.Looper";
 	public static final String POWER_MANAGER = "android.os.PowerManager";
 	public static final String WAKE_LOCK = "android.os.PowerManager.WakeLock";
+	public static final String TRACE = "android.os.Trace";
 	public static final String BUILD_VERSION = "android.os.Build.VERSION";
 	public static final String BUILD_VERSION_CODES = "android.os.Build.VERSION_CODES";
 	public static final String PREFERENCE_ACTIVITY = "android.preference.PreferenceActivity";
@@ -154,6 +159,7 @@ public final class CanonicalNameConstants {
 	public static final String CLIENT_CONNECTION_MANAGER = "org.apache.http.conn.ClientConnectionManager";
 	public static final String DEFAULT_HTTP_CLIENT = "org.apache.http.impl.client.DefaultHttpClient";
 	public static final String SSL_SOCKET_FACTORY = "org.apache.http.conn.ssl.SSLSocketFactory";
+	public static final String SSL_SOCKET_FACTORY_CACHE = "org.androidannotations.api.SslSocketFactoryCache";
 	public static final String PLAIN_SOCKET_FACTORY = "org.apache.http.conn.scheme.PlainSocketFactory";
 	public static final String SCHEME = "org.apache.http.conn.scheme.Scheme";
 	public static final String SCHEME_REGISTRY = "org.apache.http.conn.scheme.SchemeRegistry";
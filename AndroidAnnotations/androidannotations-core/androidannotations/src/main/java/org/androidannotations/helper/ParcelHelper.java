@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import static org.androidannotations.helper.CanonicalNameConstants.BUNDLE;
+import static org.androidannotations.helper.CanonicalNameConstants.STRING;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.IJExpression;
+import com.helger.jcodemodel.IJStatement;
+import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JInvocation;
+
+/**
+ * Generates typed {@link android.os.Parcel} calls to write and read a value,
+ * for the types which do not need any reflection or Serializable fallback,
+ * including the types having a generated
+ * {@link org.androidannotations.annotations.ParcelableAdapter} and lists of
+ * them.
+ */
+public class ParcelHelper {
+	public static final Map<String, String> METHOD_SUFFIX_BY_TYPE_NAME = new HashMap<>();
+	public static final Map<String, String> ARRAY_METHOD_SUFFIX_BY_TYPE_NAME = new HashMap<>();
+
+	static {
+		METHOD_SUFFIX_BY_TYPE_NAME.put("byte", "Byte");
+		METHOD_SUFFIX_BY_TYPE_NAME.put("double", "Double");
+		METHOD_SUFFIX_BY_TYPE_NAME.put("float", "Float");
+		METHOD_SUFFIX_BY_TYPE_NAME.put("int", "Int");
+		METHOD_SUFFIX_BY_TYPE_NAME.put("long", "Long");
+		METHOD_SUFFIX_BY_TYPE_NAME.put(STRING, "String");
+
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("boolean[]", "BooleanArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("byte[]", "ByteArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("char[]", "CharArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("double[]", "DoubleArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("float[]", "FloatArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("int[]", "IntArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("long[]", "LongArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("java.lang.String[]", "StringArray");
+		ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.put("java.util.ArrayList<java.lang.String>", "StringArrayList");
+	}
+
+	private enum Kind {
+		UNSUPPORTED, SIMPLE, ARRAY, BOOLEAN, INT_CAST, BUNDLE, PARCELABLE, ADAPTER, ADAPTER_LIST
+	}
+
+	private AnnotationHelper annotationHelper;
+	private ParcelableAdapterHelper parcelableAdapterHelper;
+
+	private Kind kind = Kind.UNSUPPORTED;
+	private String methodSuffix;
+	private TypeMirror type;
+
+	public ParcelHelper(AndroidAnnotationsEnvironment environment, TypeMirror type) {
+		annotationHelper = new AnnotationHelper(environment);
+		parcelableAdapterHelper = new ParcelableAdapterHelper(environment);
+		this.type = type;
+
+		String typeString = type.toString();
+
+		if (METHOD_SUFFIX_BY_TYPE_NAME.containsKey(typeString)) {
+			kind = Kind.SIMPLE;
+			methodSuffix = METHOD_SUFFIX_BY_TYPE_NAME.get(typeString);
+		} else if (ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.containsKey(typeString)) {
+			kind = Kind.ARRAY;
+			methodSuffix = ARRAY_METHOD_SUFFIX_BY_TYPE_NAME.get(typeString);
+		} else if (type.getKind() == TypeKind.BOOLEAN) {
+			kind = Kind.BOOLEAN;
+		} else if (type.getKind() == TypeKind.CHAR || type.getKind() == TypeKind.SHORT) {
+			kind = Kind.INT_CAST;
+		} else if (BUNDLE.equals(typeString)) {
+			kind = Kind.BUNDLE;
+		} else if (parcelableAdapterHelper.hasParcelableAdapter(type)) {
+			kind = Kind.ADAPTER;
+		} else if (parcelableAdapterHelper.isParcelableAdapterList(type)) {
+			kind = Kind.ADAPTER_LIST;
+		} else if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty() && isTypeParcelable(type)) {
+			kind = Kind.PARCELABLE;
+		}
+	}
+
+	private boolean isTypeParcelable(TypeMirror typeMirror) {
+		TypeMirror parcelableType = annotationHelper.typeElementFromQualifiedName(CanonicalNameConstants.PARCELABLE).asType();
+		return annotationHelper.isSubtype(typeMirror, parcelableType);
+	}
+
+	/**
+	 * @return whether the type can be written with a typed {@link android.os.Parcel}
+	 *         call
+	 */
+	public boolean isSupported() {
+		return kind != Kind.UNSUPPORTED;
+	}
+
+	public IJStatement getStatementToWrite(IJExpression parcel, IJExpression flags, IJExpression value) {
+		switch (kind) {
+		case SIMPLE:
+		case ARRAY:
+			return JExpr.invoke(parcel, "write" + methodSuffix).arg(value);
+		case BOOLEAN:
+			return JExpr.invoke(parcel, "writeInt").arg(JExpr.cond(value, JExpr.lit(1), JExpr.lit(0)));
+		case INT_CAST:
+			return JExpr.invoke(parcel, "writeInt").arg(value);
+		case BUNDLE:
+			return JExpr.invoke(parcel, "writeBundle").arg(value);
+		case PARCELABLE:
+			return JExpr.invoke(parcel, "writeParcelable").arg(value).arg(flags);
+		case ADAPTER:
+			return JExpr._new(parcelableAdapterHelper.getAdapterClass(type)).arg(value).invoke("writeToParcel").arg(parcel).arg(flags);
+		case ADAPTER_LIST:
+			return JExpr.invoke(parcel, "writeTypedList").arg(parcelableAdapterHelper.getAdapterClass(type).staticInvoke("wrapList").arg(value));
+		default:
+			throw new IllegalStateException("Type cannot be written to a Parcel");
+		}
+	}
+
+	public IJExpression getExpressionToRead(AbstractJClass variableClass, IJExpression parcel, IJExpression classLoader) {
+		switch (kind) {
+		case SIMPLE:
+			return JExpr.invoke(parcel, "read" + methodSuffix);
+		case ARRAY:
+			return JExpr.invoke(parcel, "create" + methodSuffix);
+		case BOOLEAN:
+			return JExpr.invoke(parcel, "readInt").ne(JExpr.lit(0));
+		case INT_CAST:
+			return JExpr.cast(variableClass, JExpr.invoke(parcel, "readInt"));
+		case BUNDLE:
+			return JExpr.invoke(parcel, "readBundle").arg(classLoader);
+		case PARCELABLE:
+			JInvocation readParcelable = JExpr.invoke(parcel, "readParcelable").arg(classLoader);
+			return JExpr.cast(variableClass, readParcelable);
+		case ADAPTER:
+			return parcelableAdapterHelper.getAdapterClass(type).staticRef("CREATOR").invoke("createFromParcel").arg(parcel).invoke("getValue");
+		case ADAPTER_LIST:
+			AbstractJClass adapterClass = parcelableAdapterHelper.getAdapterClass(type);
+			return adapterClass.staticInvoke("unwrapList").arg(JExpr.invoke(parcel, "createTypedArrayList").arg(adapterClass.staticRef("CREATOR")));
+		default:
+			throw new IllegalStateException("Type cannot be read from a Parcel");
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.helper;
+
+import static org.androidannotations.helper.ModelConstants.classSuffix;
+
+import java.util.List;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.annotations.ParcelableAdapter;
+
+import com.helger.jcodemodel.AbstractJClass;
+
+public class ParcelableAdapterHelper extends AnnotationHelper {
+
+	public ParcelableAdapterHelper(AndroidAnnotationsEnvironment environment) {
+		super(environment);
+	}
+
+	/**
+	 * @param type
+	 *            the type to check
+	 * @return whether the type is a class annotated with
+	 *         {@link ParcelableAdapter}
+	 */
+	public boolean hasParcelableAdapter(TypeMirror type) {
+		return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getAnnotation(ParcelableAdapter.class) != null;
+	}
+
+	/**
+	 * @param type
+	 *            the type to check
+	 * @return whether the type is a <code>List</code> or an
+	 *         <code>ArrayList</code> of a {@link ParcelableAdapter} type
+	 */
+	public boolean isParcelableAdapterList(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+
+		DeclaredType declaredType = (DeclaredType) type;
+		String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+		List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+
+		return (CanonicalNameConstants.LIST.equals(name) || CanonicalNameConstants.ARRAYLIST.equals(name)) //
+				&& typeArguments.size() == 1 && hasParcelableAdapter(typeArguments.get(0));
+	}
+
+	/**
+	 * @param type
+	 *            a {@link ParcelableAdapter} type, or a list of them as
+	 *            accepted by {@link #isParcelableAdapterList(TypeMirror)}
+	 * @return the generated adapter class of a {@link ParcelableAdapter} type,
+	 *         or of the element type of a list of them
+	 */
+	public AbstractJClass getAdapterClass(TypeMirror type) {
+		DeclaredType declaredType = (DeclaredType) type;
+		if (isParcelableAdapterList(declaredType)) {
+			declaredType = (DeclaredType) declaredType.getTypeArguments().get(0);
+		}
+		TypeElement element = (TypeElement) declaredType.asElement();
+		return getEnvironment().getJClass(element.getQualifiedName().toString() + classSuffix());
+	}
+}
@@ -77,6 +77,7 @@ public class ValidatorHelper {
 
 	protected final TargetAnnotationHelper annotationHelper;
 	private final ParcelerHelper parcelerHelper;
+	private final ParcelableAdapterHelper parcelableAdapterHelper;
 
 	public final ValidatorParameterHelper param;
 
@@ -84,6 +85,7 @@ public class ValidatorHelper {
 		annotationHelper = targetAnnotationHelper;
 		param = new ValidatorParameterHelper(annotationHelper);
 		parcelerHelper = new ParcelerHelper(environment());
+		parcelableAdapterHelper = new ParcelableAdapterHelper(environment());
 	}
 
 	protected AndroidAnnotationsEnvironment environment() {
@@ -118,6 +120,18 @@ public class ValidatorHelper {
 		}
 	}
 
+	public void isNotAbstract(Element element, ElementValidation valid) {
+		if (annotationHelper.isAbstract(element)) {
+			valid.addError("%s cannot be used on an abstract element");
+		}
+	}
+
+	public void isNotGeneric(TypeElement element, ElementValidation valid) {
+		if (!element.getTypeParameters().isEmpty()) {
+			valid.addError("%s cannot be used on a generic type");
+		}
+	}
+
 	public void isTopLevel(TypeElement element, ElementValidation valid) {
 		if (!annotationHelper.isTopLevel(element)) {
 			valid.addError("%s can only be used on a top level type");
@@ -202,6 +216,11 @@ public class ValidatorHelper {
 		hasOneOfAnnotations(element, element, validAnnotations, valid);
 	}
 
+	public void hasEActivityOrEFragmentOrEViewOrEViewGroup(Element element, ElementValidation valid) {
+		List<Class<? extends Annotation>> validAnnotations = asList(EActivity.class, EFragment.class, EView.class, EViewGroup.class);
+		hasOneOfAnnotations(element, element, validAnnotations, valid);
+	}
+
 	public void enclosingElementHasEnhancedViewSupportAnnotation(Element element, ElementValidation valid) {
 		enclosingElementHasOneOfAnnotations(element, VALID_ENHANCED_VIEW_SUPPORT_ANNOTATIONS, valid);
 	}
@@ -600,6 +619,15 @@ public class ValidatorHelper {
 		}
 	}
 
+	public void hasNotPrivateEmptyConstructor(Element element, ElementValidation valid) {
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !annotationHelper.isPrivate(constructor)) {
+				return;
+			}
+		}
+		valid.addError("%s annotated element should have a non private empty constructor");
+	}
+
 	public void hasValidLogLevel(Element element, ElementValidation valid) {
 
 		Trace annotation = element.getAnnotation(Trace.class);
@@ -612,13 +640,16 @@ public class ValidatorHelper {
 	}
 
 	public void canBePutInABundle(Element element, ElementValidation valid) {
-		TypeMirror typeMirror = element.asType();
-		String typeString = element.asType().toString();
+		canBePutInABundle(element.asType(), valid);
+	}
 
-		if (!isKnownBundleCompatibleType(typeString)) {
+	public void canBePutInABundle(TypeMirror typeMirror, ElementValidation valid) {
+		String typeString = typeMirror.toString();
+
+		if (!isKnownBundleCompatibleType(typeString) && !parcelableAdapterHelper.hasParcelableAdapter(typeMirror) && !parcelableAdapterHelper.isParcelableAdapterList(typeMirror)) {
 
 			if (typeMirror instanceof ArrayType) {
-				ArrayType arrayType = (ArrayType) element.asType();
+				ArrayType arrayType = (ArrayType) typeMirror;
 				typeMirror = arrayType.getComponentType();
 			}
 
@@ -633,7 +664,7 @@ public class ValidatorHelper {
 						valid.addError("Unrecognized type. The type argument of SparseArray should implement Parcelable.");
 					}
 				} else if (!annotationHelper.isSubtype(typeMirror, parcelableType) && !annotationHelper.isSubtype(typeMirror, serializableType) && !parcelerHelper.isParcelType(typeMirror)) {
-					valid.addError("Unrecognized type. Please let your attribute be primitive or implement Serializable or Parcelable or an annotated Parceler bean.");
+					valid.addError("Unrecognized type. Please let your attribute be primitive or implement Serializable or Parcelable or an annotated Parceler bean or @ParcelableAdapter class.");
 				}
 			}
 		}
@@ -743,6 +774,12 @@ public class ValidatorHelper {
 		}
 	}
 
+	public void isSystraceClassPresent(ElementValidation validation) {
+		if (!isClassPresent(CanonicalNameConstants.TRACE)) {
+			validation.addError("The class " + CanonicalNameConstants.TRACE + " cannot be found. You have to use at least API 18 to trace with systrace");
+		}
+	}
+
 	public void isViewPagerClassPresent(ElementValidation validation) {
 		if (!isClassPresent(CanonicalNameConstants.VIEW_PAGER)) {
 			validation.addError("The class " + CanonicalNameConstants.VIEW_PAGER + " cannot be found. You have to include support v4 library");
@@ -70,6 +70,7 @@ public class EActivityHolder extends EComponentWithViewSupportHolder implements
 	private JMethod injectExtrasMethod;
 	private JBlock injectExtrasBlock;
 	private JVar injectExtras;
+	private JFieldVar lazyExtrasField;
 	private JBlock onCreateOptionsMenuMethodBody;
 	private JVar onCreateOptionsMenuMenuInflaterVar;
 	private JVar onCreateOptionsMenuMenuParam;
@@ -447,6 +448,14 @@ public class EActivityHolder extends EComponentWithViewSupportHolder implements
 		getInitBodyInjectionBlock().invoke(injectExtrasMethod);
 	}
 
+	public JFieldVar getLazyExtrasField() {
+		if (lazyExtrasField == null) {
+			lazyExtrasField = generatedClass.field(PRIVATE, getClasses().BUNDLE, "lazyExtras" + generationSuffix());
+			getInjectExtrasMethod().body().assign(lazyExtrasField, getInjectExtras());
+		}
+		return lazyExtrasField;
+	}
+
 	public JBlock getOnNewIntentAfterSuperBlock() {
 		if (onNewIntentAfterSuperBlock == null) {
 			setOnNewIntent();
@@ -479,6 +488,11 @@ public class EActivityHolder extends EComponentWithViewSupportHolder implements
 		return instanceStateDelegate.getRestoreStateBundleParam();
 	}
 
+	@Override
+	public InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException {
+		return instanceStateDelegate.getInstanceStateParcelHolder();
+	}
+
 	@Override
 	public JBlock getOnCreateOptionsMenuMethodBody() {
 		if (onCreateOptionsMenuMethodBody == null) {
@@ -727,6 +741,11 @@ public class EActivityHolder extends EComponentWithViewSupportHolder implements
 		return receiverRegistrationDelegate.getIntentFilterField(intentFilterData);
 	}
 
+	@Override
+	public JMethod getOnReceiveMethod(IntentFilterData intentFilterData, boolean local) {
+		return receiverRegistrationDelegate.getOnReceiveMethod(intentFilterData, local);
+	}
+
 	@Override
 	public JBlock getIntentFilterInitializationBlock(IntentFilterData intentFilterData) {
 		return getInitBodyInjectionBlock();
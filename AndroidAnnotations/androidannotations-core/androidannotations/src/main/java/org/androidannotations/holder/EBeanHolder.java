@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,9 +18,12 @@ package org.androidannotations.holder;
 
 import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JExpr.lit;
+import static com.helger.jcodemodel.JMod.FINAL;
 import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 import static com.helger.jcodemodel.JMod.STATIC;
+import static com.helger.jcodemodel.JMod.VOLATILE;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.List;
@@ -29,16 +33,26 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.api.BackgroundExecutor;
+import org.androidannotations.api.SingletonLock;
 
 import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.IJStatement;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JCatchBlock;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JTryBlock;
 import com.helger.jcodemodel.JVar;
 
 public class EBeanHolder extends EComponentWithViewSupportHolder {
 
 	public static final String GET_INSTANCE_METHOD_NAME = "getInstance" + generationSuffix();
+	public static final String SINGLETON_REGISTRY_NAME = "EBeanSingletons" + generationSuffix();
+	public static final String WARM_UP_METHOD_NAME = "warmUp";
+	public static final String WARM_UP_IN_BACKGROUND_METHOD_NAME = "warmUpInBackground";
 
 	private JFieldVar contextField;
 	private JMethod constructor;
@@ -95,18 +109,34 @@ public class EBeanHolder extends EComponentWithViewSupportHolder {
 		JBlock factoryMethodBody = factoryMethod.body();
 
 		/*
-		 * Singletons are bound to the application context
+		 * Singletons are bound to the application context. The instance is
+		 * only published once fully initialized, the pending instance is
+		 * returned to cyclic dependencies asking for it during its own init.
 		 */
 		if (hasSingletonScope) {
 
-			JFieldVar instanceField = generatedClass.field(PRIVATE | STATIC, generatedClass, "instance" + generationSuffix());
+			JFieldVar instanceField = generatedClass.field(PRIVATE | STATIC | VOLATILE, generatedClass, "instance" + generationSuffix());
+			JFieldVar pendingInstanceField = generatedClass.field(PRIVATE | STATIC, generatedClass, "pendingInstance" + generationSuffix());
 
-			JBlock creationBlock = factoryMethodBody //
+			JBlock lockedBlock = factoryMethodBody //
+					._if(instanceField.eq(_null())) //
+					._then() //
+					.synchronizedBlock(getJClass(SingletonLock.class).staticRef("LOCK")) //
+					.body();
+
+			JBlock creationBlock = lockedBlock //
 					._if(instanceField.eq(_null())) //
 					._then();
+
+			creationBlock._if(pendingInstanceField.ne(_null()))._then()._return(pendingInstanceField);
+
 			JVar previousNotifier = viewNotifierHelper.replacePreviousNotifierWithNull(creationBlock);
-			creationBlock.assign(instanceField, _new(narrowedGeneratedClass).arg(factoryMethodContextParam.invoke("getApplicationContext")));
-			creationBlock.invoke(instanceField, getInit());
+			JVar instance = creationBlock.decl(generatedClass, "instance", _new(narrowedGeneratedClass).arg(factoryMethodContextParam.invoke("getApplicationContext")));
+			creationBlock.assign(pendingInstanceField, instance);
+			JTryBlock initTry = creationBlock._try();
+			initTry.body().invoke(instance, getInit());
+			initTry._finally().assign(pendingInstanceField, _null());
+			creationBlock.assign(instanceField, instance);
 			viewNotifierHelper.resetPreviousNotifier(creationBlock, previousNotifier);
 
 			factoryMethodBody._return(instanceField);
@@ -115,6 +145,50 @@ public class EBeanHolder extends EComponentWithViewSupportHolder {
 		}
 	}
 
+	public void addToWarmUpRegistry() {
+		String registryName = getEnvironment().getAndroidManifest().getApplicationPackage() + "." + SINGLETON_REGISTRY_NAME;
+		JDefinedClass registryClass = getEnvironment().getDefinedClass(registryName);
+
+		JMethod warmUpMethod = registryClass.getMethod(WARM_UP_METHOD_NAME, new AbstractJType[] { getClasses().CONTEXT });
+		if (warmUpMethod == null) {
+			warmUpMethod = createWarmUpMethods(registryClass);
+		}
+
+		JVar contextParam = warmUpMethod.params().get(0);
+		warmUpMethod.body().staticInvoke(generatedClass, GET_INSTANCE_METHOD_NAME).arg(contextParam);
+	}
+
+	private JMethod createWarmUpMethods(JDefinedClass registryClass) {
+		registryClass.mods().setFinal(true);
+		registryClass.constructor(PRIVATE);
+
+		JMethod warmUpMethod = registryClass.method(PUBLIC | STATIC, getCodeModel().VOID, WARM_UP_METHOD_NAME);
+		warmUpMethod.param(getClasses().CONTEXT, "context");
+
+		JMethod warmUpInBackgroundMethod = registryClass.method(PUBLIC | STATIC, getCodeModel().VOID, WARM_UP_IN_BACKGROUND_METHOD_NAME);
+		JVar contextParam = warmUpInBackgroundMethod.param(FINAL, getClasses().CONTEXT, "context");
+
+		JDefinedClass anonymousTaskClass = getCodeModel().anonymousClass(BackgroundExecutor.Task.class);
+		JMethod executeMethod = anonymousTaskClass.method(PUBLIC, getCodeModel().VOID, "execute");
+		executeMethod.annotate(Override.class);
+
+		JTryBlock tryBlock = executeMethod.body()._try();
+		tryBlock.body().staticInvoke(registryClass, WARM_UP_METHOD_NAME).arg(contextParam);
+		JCatchBlock catchBlock = tryBlock._catch(getClasses().THROWABLE);
+		JVar caughtException = catchBlock.param("e");
+		IJStatement uncaughtExceptionCall = getClasses().THREAD //
+				.staticInvoke("getDefaultUncaughtExceptionHandler") //
+				.invoke("uncaughtException") //
+				.arg(getClasses().THREAD.staticInvoke("currentThread")) //
+				.arg(caughtException);
+		catchBlock.body().add(uncaughtExceptionCall);
+
+		AbstractJClass backgroundExecutorClass = getJClass(BackgroundExecutor.class);
+		warmUpInBackgroundMethod.body().add(backgroundExecutorClass.staticInvoke("execute").arg(_new(anonymousTaskClass).arg(lit("")).arg(lit(0L)).arg(lit(""))));
+
+		return warmUpMethod;
+	}
+
 	public void createRebindMethod() {
 		JMethod rebindMethod = generatedClass.method(PUBLIC, getCodeModel().VOID, "rebind");
 		JVar contextParam = rebindMethod.param(getClasses().CONTEXT, "context");
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,13 +16,20 @@
  */
 package org.androidannotations.holder;
 
+import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JMod.PRIVATE;
+import static com.helger.jcodemodel.JMod.SYNCHRONIZED;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.lang.model.element.TypeElement;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.helper.CaseHelper;
 
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
@@ -39,6 +47,7 @@ public abstract class EComponentHolder extends BaseGeneratedClassHolder {
 	private JBlock initBodyAfterInjectionBlock;
 	private JVar resourcesRef;
 	private JFieldVar powerManagerRef;
+	private Map<String, JMethod> wakeLockGetters = new HashMap<>();
 
 	public EComponentHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement) throws Exception {
 		super(environment, annotatedElement);
@@ -122,4 +131,26 @@ public abstract class EComponentHolder extends BaseGeneratedClassHolder {
 		powerManagerRef = getGeneratedClass().field(PRIVATE, getClasses().POWER_MANAGER, "powerManager" + generationSuffix());
 		methodBody.assign(powerManagerRef, cast(getClasses().POWER_MANAGER, getContextRef().invoke("getSystemService").arg(serviceRef)));
 	}
+
+	public JMethod getWakeLockGetter(String tag, IJExpression levelAndFlags, String levelAndFlagsKey) {
+		String key = tag + "|" + levelAndFlagsKey;
+		JMethod wakeLockGetter = wakeLockGetters.get(key);
+		if (wakeLockGetter == null) {
+			wakeLockGetter = createWakeLockGetter(tag, levelAndFlags);
+			wakeLockGetters.put(key, wakeLockGetter);
+		}
+		return wakeLockGetter;
+	}
+
+	private JMethod createWakeLockGetter(String tag, IJExpression levelAndFlags) {
+		String name = "wakeLock" + wakeLockGetters.size() + generationSuffix();
+		JFieldVar wakeLockField = getGeneratedClass().field(PRIVATE, getClasses().WAKE_LOCK, name);
+
+		JMethod wakeLockGetter = getGeneratedClass().method(PRIVATE | SYNCHRONIZED, getClasses().WAKE_LOCK, "get" + CaseHelper.upperCaseFirst(name));
+		JBlock body = wakeLockGetter.body();
+		JBlock createBlock = body._if(wakeLockField.eq(_null()))._then();
+		createBlock.assign(wakeLockField, getPowerManagerRef().invoke("newWakeLock").arg(levelAndFlags).arg(lit(tag)));
+		body._return(wakeLockField);
+		return wakeLockGetter;
+	}
 }
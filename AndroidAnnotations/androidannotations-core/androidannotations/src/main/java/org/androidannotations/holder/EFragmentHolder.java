@@ -411,6 +411,11 @@ public class EFragmentHolder extends EComponentWithViewSupportHolder implements
 		return instanceStateDelegate.getRestoreStateBundleParam();
 	}
 
+	@Override
+	public InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException {
+		return instanceStateDelegate.getInstanceStateParcelHolder();
+	}
+
 	@Override
 	public JBlock getOnCreateOptionsMenuMethodBody() {
 		if (onCreateOptionsMenuMethodBody == null) {
@@ -484,6 +489,11 @@ public class EFragmentHolder extends EComponentWithViewSupportHolder implements
 		return receiverRegistrationDelegate.getIntentFilterField(intentFilterData);
 	}
 
+	@Override
+	public JMethod getOnReceiveMethod(IntentFilterData intentFilterData, boolean local) {
+		return receiverRegistrationDelegate.getOnReceiveMethod(intentFilterData, local);
+	}
+
 	@Override
 	public JBlock getOnCreateAfterSuperBlock() {
 		if (onCreateAfterSuperBlock == null) {
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,17 +16,24 @@
  */
 package org.androidannotations.holder;
 
+import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.lang.model.element.TypeElement;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.helper.AndroidManifest;
 
+import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JCase;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JSwitch;
 import com.helger.jcodemodel.JVar;
 
 public class EIntentServiceHolder extends EServiceHolder {
@@ -34,6 +42,8 @@ public class EIntentServiceHolder extends EServiceHolder {
 	private JMethod onHandleIntentMethod;
 	private JBlock onHandleIntentBody;
 	private JVar onHandleIntentIntentAction;
+	private JSwitch onHandleIntentActionSwitch;
+	private final Map<String, JBlock> onHandleIntentActionBlocks = new HashMap<>();
 
 	public EIntentServiceHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement, AndroidManifest androidManifest) throws Exception {
 		super(environment, annotatedElement, androidManifest);
@@ -67,6 +77,33 @@ public class EIntentServiceHolder extends EServiceHolder {
 		return onHandleIntentIntentAction;
 	}
 
+	public JSwitch getOnHandleIntentActionSwitch() {
+		if (onHandleIntentActionSwitch == null) {
+			createOnHandleIntentActionSwitch();
+		}
+		return onHandleIntentActionSwitch;
+	}
+
+	public JBlock getOnHandleIntentActionBlock(String action, IJExpression actionLabel) {
+		if (onHandleIntentActionBlocks.containsKey(action)) {
+			return null;
+		}
+		JCase actionCase = getOnHandleIntentActionSwitch()._case(actionLabel);
+		JBlock actionBlock = actionCase.body();
+		actionBlock._break();
+		// next statements go before the break
+		actionBlock.pos(0);
+		onHandleIntentActionBlocks.put(action, actionBlock);
+		return actionBlock;
+	}
+
+	private void createOnHandleIntentActionSwitch() {
+		JVar action = getOnHandleIntentIntentAction();
+		JBlock body = getOnHandleIntentBody();
+		body._if(action.eq(_null()))._then()._return();
+		onHandleIntentActionSwitch = body._switch(action);
+	}
+
 	private void createOnHandleIntent() {
 		onHandleIntentMethod = generatedClass.method(PUBLIC, getCodeModel().VOID, "onHandleIntent");
 		onHandleIntentIntent = onHandleIntentMethod.param(getClasses().INTENT, "intent");
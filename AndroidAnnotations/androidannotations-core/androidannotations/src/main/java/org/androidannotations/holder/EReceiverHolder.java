@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,23 +16,35 @@
  */
 package org.androidannotations.holder;
 
+import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import javax.lang.model.element.TypeElement;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JCase;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JSwitch;
 import com.helger.jcodemodel.JVar;
 
 public class EReceiverHolder extends EComponentHolder {
 
 	private JBlock onReceiveBody;
+	private JBlock onReceiveDeclarationsBlock;
+	private JSwitch onReceiveActionSwitch;
+	private final Map<String, JBlock> onReceiveActionBlocks = new HashMap<>();
+	private final Set<String> onReceiveHandledActions = new HashSet<>();
 	private JVar onReceiveIntentAction;
 	private JVar onReceiveIntentDataScheme;
 	private JVar onReceiveIntent;
@@ -66,16 +79,24 @@ public class EReceiverHolder extends EComponentHolder {
 		onReceiveBody = onReceiveMethod.body();
 		onReceiveBody.invoke(getInit()).arg(onReceiveContext);
 		onReceiveBody.invoke(JExpr._super(), onReceiveMethod).arg(onReceiveContext).arg(onReceiveIntent);
+		onReceiveDeclarationsBlock = onReceiveBody.blockVirtual();
+	}
+
+	private void createOnReceiveActionSwitch() {
+		JVar action = getOnReceiveIntentAction();
+		JBlock body = getOnReceiveBody();
+		body._if(action.eq(_null()))._then()._return();
+		onReceiveActionSwitch = body._switch(action);
 	}
 
 	private void setOnReceiveIntentAction() {
 		JInvocation getActionInvocation = JExpr.invoke(getOnReceiveIntent(), "getAction");
-		onReceiveIntentAction = getOnReceiveBody().decl(getClasses().STRING, "action", getActionInvocation);
+		onReceiveIntentAction = getOnReceiveDeclarationsBlock().decl(getClasses().STRING, "action", getActionInvocation);
 	}
 
 	private void setOnReceiveIntentDataScheme() {
 		JInvocation getDataSchemeInvocation = JExpr.invoke(getOnReceiveIntent(), "getScheme");
-		onReceiveIntentDataScheme = getOnReceiveBody().decl(getClasses().STRING, "dataScheme", getDataSchemeInvocation);
+		onReceiveIntentDataScheme = getOnReceiveDeclarationsBlock().decl(getClasses().STRING, "dataScheme", getDataSchemeInvocation);
 	}
 
 	public JMethod getOnReceiveMethod() {
@@ -92,6 +113,41 @@ public class EReceiverHolder extends EComponentHolder {
 		return onReceiveBody;
 	}
 
+	private JBlock getOnReceiveDeclarationsBlock() {
+		if (onReceiveDeclarationsBlock == null) {
+			createOnReceive();
+		}
+		return onReceiveDeclarationsBlock;
+	}
+
+	public JSwitch getOnReceiveActionSwitch() {
+		if (onReceiveActionSwitch == null) {
+			createOnReceiveActionSwitch();
+		}
+		return onReceiveActionSwitch;
+	}
+
+	public JBlock getOnReceiveActionBlock(String action) {
+		JBlock actionBlock = onReceiveActionBlocks.get(action);
+		if (actionBlock == null) {
+			JCase actionCase = getOnReceiveActionSwitch()._case(JExpr.lit(action));
+			actionBlock = actionCase.body();
+			actionBlock._break();
+			// next statements go before the break
+			actionBlock.pos(0);
+			onReceiveActionBlocks.put(action, actionBlock);
+		}
+		return actionBlock;
+	}
+
+	public boolean isOnReceiveActionHandled(String action) {
+		return onReceiveHandledActions.contains(action);
+	}
+
+	public void setOnReceiveActionHandled(String action) {
+		onReceiveHandledActions.add(action);
+	}
+
 	public JVar getOnReceiveIntent() {
 		if (onReceiveIntent == null) {
 			createOnReceive();
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -95,6 +96,11 @@ public class EServiceHolder extends EComponentHolder implements HasIntentBuilder
 		return receiverRegistrationDelegate.getIntentFilterField(intentFilterData);
 	}
 
+	@Override
+	public JMethod getOnReceiveMethod(IntentFilterData intentFilterData, boolean local) {
+		return receiverRegistrationDelegate.getOnReceiveMethod(intentFilterData, local);
+	}
+
 	@Override
 	public JBlock getIntentFilterInitializationBlock(IntentFilterData intentFilterData) {
 		return getInitBodyInjectionBlock();
@@ -36,6 +36,7 @@ import org.androidannotations.AndroidAnnotationsEnvironment;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
@@ -212,6 +213,11 @@ public class EViewHolder extends EComponentWithViewSupportHolder implements HasI
 		return receiverRegistrationDelegate.getIntentFilterField(intentFilterData);
 	}
 
+	@Override
+	public JMethod getOnReceiveMethod(ReceiverRegistrationDelegate.IntentFilterData intentFilterData, boolean local) {
+		return receiverRegistrationDelegate.getOnReceiveMethod(intentFilterData, local);
+	}
+
 	@Override
 	public JBlock getIntentFilterInitializationBlock(ReceiverRegistrationDelegate.IntentFilterData intentFilterData) {
 		return getInitBodyInjectionBlock();
@@ -275,4 +281,9 @@ public class EViewHolder extends EComponentWithViewSupportHolder implements HasI
 	public JVar getRestoreStateBundleParam() {
 		return instanceStateDelegate.getRestoreStateBundleParam();
 	}
+
+	@Override
+	public InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException {
+		return instanceStateDelegate.getInstanceStateParcelHolder();
+	}
 }
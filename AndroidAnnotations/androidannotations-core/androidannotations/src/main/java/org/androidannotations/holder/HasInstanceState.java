@@ -17,6 +17,7 @@
 package org.androidannotations.holder;
 
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JVar;
 
@@ -30,4 +31,6 @@ public interface HasInstanceState extends GeneratedClassHolder {
 	JBlock getRestoreStateMethodBody();
 
 	JVar getRestoreStateBundleParam();
+
+	InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException;
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -20,6 +21,7 @@ import org.androidannotations.holder.ReceiverRegistrationDelegate.IntentFilterDa
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JMethod;
 
 public interface HasReceiverRegistration extends HasLifecycleMethods {
 
@@ -27,5 +29,7 @@ public interface HasReceiverRegistration extends HasLifecycleMethods {
 
 	JFieldVar getIntentFilterField(IntentFilterData intentFilterData);
 
+	JMethod getOnReceiveMethod(IntentFilterData intentFilterData, boolean local);
+
 	JBlock getIntentFilterInitializationBlock(IntentFilterData intentFilterData);
 }
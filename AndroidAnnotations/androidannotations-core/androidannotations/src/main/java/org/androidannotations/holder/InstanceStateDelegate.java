@@ -23,6 +23,7 @@ import static com.helger.jcodemodel.JMod.PUBLIC;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JVar;
@@ -34,6 +35,7 @@ public class InstanceStateDelegate extends GeneratedClassHolderDelegate<ECompone
 	private JMethod restoreStateMethod;
 	private JBlock restoreStateMethodBody;
 	private JVar restoreStateBundleParam;
+	private InstanceStateParcelHolder instanceStateParcelHolder;
 
 	public InstanceStateDelegate(EComponentHolder holder) {
 		super(holder);
@@ -99,4 +101,12 @@ public class InstanceStateDelegate extends GeneratedClassHolderDelegate<ECompone
 				._if(ref("savedInstanceState").eq(_null())) //
 				._then()._return();
 	}
+
+	@Override
+	public InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException {
+		if (instanceStateParcelHolder == null) {
+			instanceStateParcelHolder = new InstanceStateParcelHolder(this);
+		}
+		return instanceStateParcelHolder;
+	}
 }
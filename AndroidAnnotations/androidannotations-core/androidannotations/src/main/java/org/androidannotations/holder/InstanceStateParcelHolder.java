@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.holder;
+
+import static com.helger.jcodemodel.JExpr._new;
+import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JExpr.lit;
+import static com.helger.jcodemodel.JMod.FINAL;
+import static com.helger.jcodemodel.JMod.NONE;
+import static com.helger.jcodemodel.JMod.PUBLIC;
+import static com.helger.jcodemodel.JMod.STATIC;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
+
+import org.androidannotations.helper.APTCodeModelHelper;
+import org.androidannotations.internal.process.ProcessHolder.Classes;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.IJExpression;
+import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JVar;
+
+public class InstanceStateParcelHolder {
+
+	private JDefinedClass generatedClass;
+	private JBlock writeToParcelBody;
+	private JVar writeToParcelDestParam;
+	private JVar writeToParcelFlagsParam;
+	private JBlock parcelConstructorBody;
+	private JVar parcelConstructorParam;
+	private JVar saveStateVar;
+	private JBlock saveStateBlock;
+	private JVar restoreStateVar;
+	private JBlock restoreStateBlock;
+
+	public InstanceStateParcelHolder(HasInstanceState holder) throws JClassAlreadyExistsException {
+		setGeneratedClass(holder);
+		setSaveState(holder);
+		setRestoreState(holder);
+	}
+
+	private void setGeneratedClass(HasInstanceState holder) throws JClassAlreadyExistsException {
+		JCodeModel codeModel = holder.getEnvironment().getCodeModel();
+		Classes classes = holder.getEnvironment().getClasses();
+
+		generatedClass = holder.getGeneratedClass()._class(PUBLIC | STATIC | FINAL, "InstanceState" + generationSuffix());
+		generatedClass._implements(classes.PARCELABLE);
+
+		new APTCodeModelHelper(holder.getEnvironment()).addParcelableCreator(generatedClass);
+
+		generatedClass.constructor(NONE);
+
+		JMethod parcelConstructor = generatedClass.constructor(NONE);
+		parcelConstructorParam = parcelConstructor.param(classes.PARCEL, "parcel" + generationSuffix());
+		parcelConstructorBody = parcelConstructor.body();
+
+		JMethod describeContents = generatedClass.method(PUBLIC, codeModel.INT, "describeContents");
+		describeContents.annotate(Override.class);
+		describeContents.body()._return(lit(0));
+
+		JMethod writeToParcel = generatedClass.method(PUBLIC, codeModel.VOID, "writeToParcel");
+		writeToParcel.annotate(Override.class);
+		writeToParcelDestParam = writeToParcel.param(classes.PARCEL, "dest" + generationSuffix());
+		writeToParcelFlagsParam = writeToParcel.param(codeModel.INT, "flags" + generationSuffix());
+		writeToParcelBody = writeToParcel.body();
+	}
+
+	private void setSaveState(HasInstanceState holder) {
+		JBlock saveStateBody = holder.getSaveStateMethodBody();
+		saveStateVar = saveStateBody.decl(generatedClass, "instanceState" + generationSuffix(), _new(generatedClass));
+		saveStateBlock = saveStateBody.blockSimple();
+		saveStateBody.invoke(holder.getSaveStateBundleParam(), "putParcelable").arg(getKey()).arg(saveStateVar);
+	}
+
+	private void setRestoreState(HasInstanceState holder) {
+		JBlock restoreStateBody = holder.getRestoreStateMethodBody();
+		restoreStateVar = restoreStateBody.decl(generatedClass, "instanceState" + generationSuffix(), holder.getRestoreStateBundleParam().invoke("getParcelable").arg(getKey()));
+		restoreStateBlock = restoreStateBody._if(restoreStateVar.ne(_null()))._then();
+	}
+
+	private IJExpression getKey() {
+		return lit("instanceState" + generationSuffix());
+	}
+
+	public JDefinedClass getGeneratedClass() {
+		return generatedClass;
+	}
+
+	public JFieldVar createField(String fieldName, AbstractJClass fieldType) {
+		return generatedClass.field(NONE, fieldType, fieldName);
+	}
+
+	public IJExpression getClassLoader() {
+		return generatedClass.dotclass().invoke("getClassLoader");
+	}
+
+	public JBlock getWriteToParcelBody() {
+		return writeToParcelBody;
+	}
+
+	public JVar getWriteToParcelDestParam() {
+		return writeToParcelDestParam;
+	}
+
+	public JVar getWriteToParcelFlagsParam() {
+		return writeToParcelFlagsParam;
+	}
+
+	public JBlock getParcelConstructorBody() {
+		return parcelConstructorBody;
+	}
+
+	public JVar getParcelConstructorParam() {
+		return parcelConstructorParam;
+	}
+
+	public JVar getSaveStateVar() {
+		return saveStateVar;
+	}
+
+	public JBlock getSaveStateBlock() {
+		return saveStateBlock;
+	}
+
+	public JVar getRestoreStateVar() {
+		return restoreStateVar;
+	}
+
+	public JBlock getRestoreStateBlock() {
+		return restoreStateBlock;
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.holder;
+
+import static com.helger.jcodemodel.JExpr._new;
+import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.lit;
+import static com.helger.jcodemodel.JMod.NONE;
+import static com.helger.jcodemodel.JMod.PRIVATE;
+import static com.helger.jcodemodel.JMod.PUBLIC;
+import static com.helger.jcodemodel.JMod.STATIC;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
+
+import javax.lang.model.element.TypeElement;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JForEach;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JVar;
+
+public class ParcelableAdapterHolder extends BaseGeneratedClassHolder {
+
+	private JFieldVar valueField;
+	private JMethod unwrapMethod;
+	private JBlock parcelConstructorBody;
+	private JVar parcelConstructorParam;
+	private JBlock writeToParcelBody;
+	private JVar writeToParcelDestParam;
+	private JVar writeToParcelFlagsParam;
+
+	public ParcelableAdapterHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement) throws Exception {
+		super(environment, annotatedElement);
+		createValueField();
+		createConstructors();
+		createDescribeContents();
+		createWriteToParcel();
+		createGetValue();
+		createUnwrap();
+		createWrapList();
+		createUnwrapList();
+	}
+
+	@Override
+	protected void setExtends() {
+		generatedClass._implements(getClasses().PARCELABLE);
+	}
+
+	private void createValueField() {
+		valueField = generatedClass.field(PRIVATE, getAnnotatedClass(), "value" + generationSuffix());
+	}
+
+	private void createConstructors() {
+		JMethod constructor = generatedClass.constructor(PUBLIC);
+		JVar value = constructor.param(getAnnotatedClass(), "value");
+		constructor.body().assign(valueField, value);
+
+		codeModelHelper.addParcelableCreator(generatedClass);
+
+		JMethod parcelConstructor = generatedClass.constructor(NONE);
+		parcelConstructorParam = parcelConstructor.param(getClasses().PARCEL, "parcel" + generationSuffix());
+		parcelConstructorBody = parcelConstructor.body()._if(parcelConstructorParam.invoke("readInt").ne(lit(0)))._then();
+		parcelConstructorBody.assign(valueField, _new(getAnnotatedClass()));
+	}
+
+	private void createDescribeContents() {
+		JMethod describeContents = generatedClass.method(PUBLIC, getCodeModel().INT, "describeContents");
+		describeContents.annotate(Override.class);
+		describeContents.body()._return(lit(0));
+	}
+
+	private void createWriteToParcel() {
+		JMethod writeToParcel = generatedClass.method(PUBLIC, getCodeModel().VOID, "writeToParcel");
+		writeToParcel.annotate(Override.class);
+		writeToParcelDestParam = writeToParcel.param(getClasses().PARCEL, "dest" + generationSuffix());
+		writeToParcelFlagsParam = writeToParcel.param(getCodeModel().INT, "flags" + generationSuffix());
+
+		writeToParcelBody = writeToParcel.body();
+		JBlock ifNull = writeToParcelBody._if(valueField.eq(_null()))._then();
+		ifNull.invoke(writeToParcelDestParam, "writeInt").arg(lit(0));
+		ifNull._return();
+		writeToParcelBody.invoke(writeToParcelDestParam, "writeInt").arg(lit(1));
+	}
+
+	private void createGetValue() {
+		JMethod getValue = generatedClass.method(PUBLIC, getAnnotatedClass(), "getValue");
+		getValue.body()._return(valueField);
+	}
+
+	private void createUnwrap() {
+		unwrapMethod = generatedClass.method(PUBLIC | STATIC, getAnnotatedClass(), "unwrap");
+		JVar adapter = unwrapMethod.param(getClasses().PARCELABLE, "adapter");
+
+		JBlock body = unwrapMethod.body();
+		body._if(adapter.eq(_null()))._then()._return(_null());
+		body._return(cast(generatedClass, adapter).ref(valueField));
+	}
+
+	private void createWrapList() {
+		AbstractJClass adapterListClass = getClasses().ARRAY_LIST.narrow(generatedClass);
+
+		JMethod wrapList = generatedClass.method(PUBLIC | STATIC, adapterListClass, "wrapList");
+		JVar values = wrapList.param(getClasses().LIST.narrow(getAnnotatedClass()), "values");
+
+		JBlock body = wrapList.body();
+		body._if(values.eq(_null()))._then()._return(_null());
+		JVar adapters = body.decl(adapterListClass, "adapters", _new(adapterListClass).arg(values.invoke("size")));
+		JForEach forEach = body.forEach(getAnnotatedClass(), "value", values);
+		forEach.body().invoke(adapters, "add").arg(_new(generatedClass).arg(forEach.var()));
+		body._return(adapters);
+	}
+
+	private void createUnwrapList() {
+		AbstractJClass valueListClass = getClasses().ARRAY_LIST.narrow(getAnnotatedClass());
+
+		JMethod unwrapList = generatedClass.method(PUBLIC | STATIC, valueListClass, "unwrapList");
+		JVar adapters = unwrapList.param(getClasses().LIST.narrow(getClasses().PARCELABLE.wildcard()), "adapters");
+
+		JBlock body = unwrapList.body();
+		body._if(adapters.eq(_null()))._then()._return(_null());
+		JVar values = body.decl(valueListClass, "values", _new(valueListClass).arg(adapters.invoke("size")));
+		JForEach forEach = body.forEach(getClasses().PARCELABLE, "adapter", adapters);
+		forEach.body().invoke(values, "add").arg(generatedClass.staticInvoke(unwrapMethod).arg(forEach.var()));
+		body._return(values);
+	}
+
+	public JFieldVar getValueField() {
+		return valueField;
+	}
+
+	public JBlock getParcelConstructorBody() {
+		return parcelConstructorBody;
+	}
+
+	public JVar getParcelConstructorParam() {
+		return parcelConstructorParam;
+	}
+
+	public JBlock getWriteToParcelBody() {
+		return writeToParcelBody;
+	}
+
+	public JVar getWriteToParcelDestParam() {
+		return writeToParcelDestParam;
+	}
+
+	public JVar getWriteToParcelFlagsParam() {
+		return writeToParcelFlagsParam;
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -18,6 +19,7 @@ package org.androidannotations.holder;
 import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JMod.FINAL;
 import static com.helger.jcodemodel.JMod.PRIVATE;
+import static com.helger.jcodemodel.JMod.PUBLIC;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.Arrays;
@@ -30,11 +32,15 @@ import org.androidannotations.annotations.Receiver.RegisterAt;
 
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JMethod;
 
 public class ReceiverRegistrationDelegate<T extends EComponentHolder & HasReceiverRegistration> extends GeneratedClassHolderDelegate<T> {
 
 	private Map<IntentFilterData, JFieldVar> intentFilterFields = new HashMap<>();
+	private Map<IntentFilterData, JMethod> onReceiveMethods = new HashMap<>();
+	private Map<IntentFilterData, JMethod> localOnReceiveMethods = new HashMap<>();
 	private IllegalStateException illegalStateException = new IllegalStateException("This shouldn't happen unless the validation is bad");
 
 	public ReceiverRegistrationDelegate(T holder) {
@@ -66,6 +72,64 @@ public class ReceiverRegistrationDelegate<T extends EComponentHolder & HasReceiv
 		return intentFilterField;
 	}
 
+	public JMethod getOnReceiveMethod(IntentFilterData intentFilterData, boolean local) {
+		Map<IntentFilterData, JMethod> methods = local ? localOnReceiveMethods : onReceiveMethods;
+		JMethod onReceiveMethod = methods.get(intentFilterData);
+		if (onReceiveMethod == null) {
+			onReceiveMethod = createReceiver(intentFilterData, local);
+			methods.put(intentFilterData, onReceiveMethod);
+		}
+		return onReceiveMethod;
+	}
+
+	private JMethod createReceiver(IntentFilterData intentFilterData, boolean local) {
+		JFieldVar intentFilterField = getIntentFilterField(intentFilterData);
+
+		JDefinedClass anonymousReceiverClass = codeModel().anonymousClass(getClasses().BROADCAST_RECEIVER);
+		JMethod onReceiveMethod = anonymousReceiverClass.method(PUBLIC, codeModel().VOID, "onReceive");
+		onReceiveMethod.param(getClasses().CONTEXT, "context");
+		onReceiveMethod.param(getClasses().INTENT, "intent");
+
+		String receiverName = "receiver" + (onReceiveMethods.size() + localOnReceiveMethods.size() + 1) + generationSuffix();
+		JFieldVar receiverField = getGeneratedClass().field(PRIVATE | FINAL, getClasses().BROADCAST_RECEIVER, receiverName, _new(anonymousReceiverClass));
+
+		registerAndUnregisterReceiver(intentFilterData.getRegisterAt(), intentFilterField, receiverField, local);
+
+		return onReceiveMethod;
+	}
+
+	private void registerAndUnregisterReceiver(RegisterAt registerAt, JFieldVar intentFilterField, JFieldVar receiverField, boolean local) {
+		JBlock registerBlock = null;
+		JBlock unregisterBlock = null;
+		switch (registerAt) {
+		case OnCreateOnDestroy:
+			registerBlock = holder.getOnCreateAfterSuperBlock();
+			unregisterBlock = holder.getOnDestroyBeforeSuperBlock();
+			break;
+		case OnStartOnStop:
+			registerBlock = holder.getOnStartAfterSuperBlock();
+			unregisterBlock = holder.getOnStopBeforeSuperBlock();
+			break;
+		case OnResumeOnPause:
+			registerBlock = holder.getOnResumeAfterSuperBlock();
+			unregisterBlock = holder.getOnPauseBeforeSuperBlock();
+			break;
+		case OnAttachOnDetach:
+			registerBlock = holder.getOnAttachAfterSuperBlock();
+			unregisterBlock = holder.getOnDetachBeforeSuperBlock();
+		}
+
+		IJExpression broadcastManager;
+		if (local) {
+			broadcastManager = getClasses().LOCAL_BROADCAST_MANAGER.staticInvoke("getInstance").arg(holder.getContextRef());
+		} else {
+			broadcastManager = holder.getContextRef();
+		}
+
+		registerBlock.invoke(broadcastManager, "registerReceiver").arg(receiverField).arg(intentFilterField);
+		unregisterBlock.invoke(broadcastManager, "unregisterReceiver").arg(receiverField);
+	}
+
 	public JBlock getOnStartAfterSuperBlock() {
 		throw illegalStateException;
 	}
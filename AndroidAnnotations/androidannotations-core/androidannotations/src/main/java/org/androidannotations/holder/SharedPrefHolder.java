@@ -17,6 +17,7 @@
 package org.androidannotations.holder;
 
 import static com.helger.jcodemodel.JMod.FINAL;
+import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 import static com.helger.jcodemodel.JMod.STATIC;
 import static org.androidannotations.helper.ModelConstants.classSuffix;
@@ -27,18 +28,24 @@ import java.util.Map;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.annotations.sharedpreferences.SharedPref;
 import org.androidannotations.api.sharedpreferences.BooleanPrefEditorField;
 import org.androidannotations.api.sharedpreferences.EditorHelper;
 import org.androidannotations.api.sharedpreferences.FloatPrefEditorField;
 import org.androidannotations.api.sharedpreferences.IntPrefEditorField;
 import org.androidannotations.api.sharedpreferences.LongPrefEditorField;
+import org.androidannotations.api.sharedpreferences.OnPrefChangeListener;
 import org.androidannotations.api.sharedpreferences.SharedPreferencesHelper;
+import org.androidannotations.api.sharedpreferences.SharedPreferencesSnapshot;
 import org.androidannotations.api.sharedpreferences.StringPrefEditorField;
 import org.androidannotations.api.sharedpreferences.StringPrefField;
 import org.androidannotations.api.sharedpreferences.StringSetPrefEditorField;
 import org.androidannotations.helper.CanonicalNameConstants;
+import org.androidannotations.helper.CaseHelper;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
@@ -84,11 +91,20 @@ public class SharedPrefHolder extends BaseGeneratedClassHolder {
 	private JFieldVar editorContextField;
 	private JMethod editorConstructor;
 	private JInvocation editMethodEditorInvocation;
+	private final boolean observable;
+	private JDefinedClass snapshotClass;
+	private JVar snapshotConstructorPrefsParam;
+	private JBlock snapshotConstructorBody;
 
 	public SharedPrefHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement) throws Exception {
 		super(environment, annotatedElement);
+		observable = annotatedElement.getAnnotation(SharedPref.class).observable();
 		createEditorClass();
 		createEditMethod();
+		if (observable) {
+			createSnapshotClass();
+			createSnapshotMethod();
+		}
 	}
 
 	@Override
@@ -114,7 +130,39 @@ public class SharedPrefHolder extends BaseGeneratedClassHolder {
 	private void createEditMethod() {
 		JMethod editMethod = generatedClass.method(PUBLIC, editorClass, "edit");
 		editMethodEditorInvocation = JExpr._new(editorClass).arg(JExpr.invoke("getSharedPreferences"));
-		editMethod.body()._return(editMethodEditorInvocation);
+		if (observable) {
+			editMethod.body()._return(JExpr.invoke("trackWrites").arg(editMethodEditorInvocation));
+		} else {
+			editMethod.body()._return(editMethodEditorInvocation);
+		}
+	}
+
+	private void createSnapshotClass() throws JClassAlreadyExistsException {
+		String interfaceSimpleName = annotatedElement.getSimpleName().toString();
+		snapshotClass = generatedClass._class(PUBLIC | STATIC | FINAL, interfaceSimpleName + "Snapshot" + classSuffix());
+		snapshotClass._extends(SharedPreferencesSnapshot.class);
+
+		JMethod snapshotConstructor = snapshotClass.constructor(JMod.NONE);
+		snapshotConstructorPrefsParam = snapshotConstructor.param(generatedClass, "prefs");
+		snapshotConstructorBody = snapshotConstructor.body();
+		snapshotConstructorBody.invoke("super").arg(snapshotConstructorPrefsParam);
+	}
+
+	private void createSnapshotMethod() {
+		JFieldVar snapshotField = generatedClass.field(PRIVATE | JMod.VOLATILE, snapshotClass, "snapshot" + generationSuffix());
+
+		JMethod snapshotMethod = generatedClass.method(PUBLIC, snapshotClass, "snapshot");
+		snapshotMethod.javadoc().addReturn().append("an immutable snapshot of the pref values, replaced once they change");
+		JBlock body = snapshotMethod.body();
+		JVar snapshot = body.decl(snapshotClass, "snapshot", snapshotField);
+		JBlock staleBlock = body._if(JExpr.invoke("isCurrent").arg(snapshot).not())._then();
+		staleBlock.assign(snapshot, JExpr._new(snapshotClass).arg(JExpr._this()));
+		staleBlock.assign(snapshotField, snapshot);
+		body._return(snapshot);
+	}
+
+	public boolean isObservable() {
+		return observable;
 	}
 
 	public void createFieldMethod(Class<?> prefFieldHelperClass, IJExpression keyExpression, String fieldName, String fieldHelperMethodName, IJExpression defaultValue,
@@ -149,6 +197,38 @@ public class SharedPrefHolder extends BaseGeneratedClassHolder {
 		editorFieldMethod.body()._return(JExpr.invoke(editorFieldHolder.fieldMethodName).arg(keyExpression));
 	}
 
+	public void createSnapshotField(ExecutableElement method) {
+		String fieldName = method.getSimpleName().toString();
+		AbstractJClass fieldClass = getJClass(method.getReturnType().toString());
+		if (!method.getReturnType().getKind().isPrimitive()) {
+			fieldClass = codeModelHelper.typeMirrorToJClass(method.getReturnType());
+		}
+		JFieldVar snapshotField = snapshotClass.field(PUBLIC | FINAL, fieldClass, fieldName);
+		IJExpression value = snapshotConstructorPrefsParam.invoke(fieldName).invoke("get");
+		if (CanonicalNameConstants.STRING_SET.equals(method.getReturnType().toString())) {
+			value = JExpr.invoke("unmodifiable").arg(value);
+		}
+		snapshotConstructorBody.assign(JExpr._this().ref(snapshotField), value);
+	}
+
+	public void createChangeListenerMethods(ExecutableElement method) {
+		String fieldName = method.getSimpleName().toString();
+		String capitalizedFieldName = CaseHelper.upperCaseFirst(fieldName);
+		TypeMirror valueType = method.getReturnType();
+		if (valueType.getKind().isPrimitive()) {
+			valueType = getProcessingEnvironment().getTypeUtils().boxedClass((PrimitiveType) valueType).asType();
+		}
+		AbstractJClass listenerClass = getJClass(OnPrefChangeListener.class).narrow(codeModelHelper.typeMirrorToJClass(valueType));
+
+		JMethod addMethod = generatedClass.method(PUBLIC, getCodeModel().VOID, "add" + capitalizedFieldName + "ChangeListener");
+		JVar addListenerParam = addMethod.param(listenerClass, "listener");
+		addMethod.body().invoke("addOnChangeListener").arg(JExpr.invoke(fieldName)).arg(addListenerParam);
+
+		JMethod removeMethod = generatedClass.method(PUBLIC, getCodeModel().VOID, "remove" + capitalizedFieldName + "ChangeListener");
+		JVar removeListenerParam = removeMethod.param(listenerClass, "listener");
+		removeMethod.body().invoke("removeOnChangeListener").arg(JExpr.invoke(fieldName).invoke("key")).arg(removeListenerParam);
+	}
+
 	public JBlock getConstructorSuperBlock() {
 		if (constructorSuperBlock == null) {
 			setConstructor();
@@ -26,6 +26,7 @@ import static com.helger.jcodemodel.JMod.STATIC;
 import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JVar;
 
@@ -37,6 +38,7 @@ public class ViewInstanceStateDelegate extends GeneratedClassHolderDelegate<ECom
 	private JMethod restoreStateMethod;
 	private JBlock restoreStateMethodBody;
 	private JVar restoreStateBundleParam;
+	private InstanceStateParcelHolder instanceStateParcelHolder;
 
 	public ViewInstanceStateDelegate(EComponentHolder holder) {
 		super(holder);
@@ -121,4 +123,12 @@ public class ViewInstanceStateDelegate extends GeneratedClassHolderDelegate<ECom
 		}
 		return instanceStateKey;
 	}
+
+	@Override
+	public InstanceStateParcelHolder getInstanceStateParcelHolder() throws JClassAlreadyExistsException {
+		if (instanceStateParcelHolder == null) {
+			instanceStateParcelHolder = new InstanceStateParcelHolder(this);
+		}
+		return instanceStateParcelHolder;
+	}
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -79,6 +80,8 @@ import org.androidannotations.internal.core.handler.OptionsMenuItemHandler;
 import org.androidannotations.internal.core.handler.PageScrollStateChangedHandler;
 import org.androidannotations.internal.core.handler.PageScrolledHandler;
 import org.androidannotations.internal.core.handler.PageSelectedHandler;
+import org.androidannotations.internal.core.handler.ParcelableAdapterHandler;
+import org.androidannotations.internal.core.handler.ParcelableInstanceStateHandler;
 import org.androidannotations.internal.core.handler.PrefHandler;
 import org.androidannotations.internal.core.handler.PreferenceByKeyHandler;
 import org.androidannotations.internal.core.handler.PreferenceChangeHandler;
@@ -120,7 +123,7 @@ public class CorePlugin extends AndroidAnnotationsPlugin {
 
 	@Override
 	public List<Option> getSupportedOptions() {
-		return Arrays.asList(TraceHandler.OPTION_TRACE, SupposeThreadHandler.OPTION_THREAD_CONTROL);
+		return Arrays.asList(TraceHandler.OPTION_TRACE, TraceHandler.OPTION_TRACE_SYSTRACE, SupposeThreadHandler.OPTION_THREAD_CONTROL);
 	}
 
 	@Override
@@ -137,6 +140,7 @@ public class CorePlugin extends AndroidAnnotationsPlugin {
 		annotationHandlers.add(new EViewGroupHandler(androidAnnotationEnv));
 		annotationHandlers.add(new EViewHandler(androidAnnotationEnv));
 		annotationHandlers.add(new SharedPrefHandler(androidAnnotationEnv));
+		annotationHandlers.add(new ParcelableAdapterHandler(androidAnnotationEnv));
 		annotationHandlers.add(new PrefHandler(androidAnnotationEnv));
 		annotationHandlers.add(new ViewByIdHandler(androidAnnotationEnv));
 		annotationHandlers.add(new ViewsByIdHandler(androidAnnotationEnv));
@@ -194,6 +198,7 @@ public class CorePlugin extends AndroidAnnotationsPlugin {
 		annotationHandlers.add(new KeyUpHandler(androidAnnotationEnv));
 		annotationHandlers.add(new ServiceActionHandler(androidAnnotationEnv));
 		annotationHandlers.add(new InstanceStateHandler(androidAnnotationEnv));
+		annotationHandlers.add(new ParcelableInstanceStateHandler(androidAnnotationEnv));
 		annotationHandlers.add(new HttpsClientHandler(androidAnnotationEnv));
 		annotationHandlers.add(new HierarchyViewerSupportHandler(androidAnnotationEnv));
 		annotationHandlers.add(new WindowFeatureHandler(androidAnnotationEnv));
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,29 +16,46 @@
  */
 package org.androidannotations.internal.core.handler;
 
+import static com.helger.jcodemodel.JExpr._new;
+import static com.helger.jcodemodel.JMod.PROTECTED;
+
+import java.util.List;
+
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.handler.BaseAnnotationHandler;
 import org.androidannotations.handler.MethodInjectionHandler;
+import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.IdValidatorHelper;
 import org.androidannotations.helper.InjectHelper;
 import org.androidannotations.holder.EComponentHolder;
 import org.androidannotations.internal.core.model.AndroidRes;
 import org.androidannotations.rclass.IRClass;
 
+import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJAssignmentTarget;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldRef;
+import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JVar;
 
 public abstract class AbstractResHandler extends BaseAnnotationHandler<EComponentHolder>implements MethodInjectionHandler<EComponentHolder> {
 
 	private final InjectHelper<EComponentHolder> injectHelper;
 	protected AndroidRes androidRes;
+	private IJExpression lazyContextRef;
 
 	public AbstractResHandler(AndroidRes androidRes, AndroidAnnotationsEnvironment environment) {
 		super(androidRes.getAnnotationClass(), environment);
@@ -52,7 +70,15 @@ public abstract class AbstractResHandler extends BaseAnnotationHandler<EComponen
 			return;
 		}
 
-		validatorHelper.allowedType(element, androidRes.getAllowedTypes(), validation);
+		TypeMirror lazyResourceType = getLazyResourceType(getInjectedElement(element).asType());
+		if (lazyResourceType == null) {
+			validatorHelper.allowedType(element, androidRes.getAllowedTypes(), validation);
+		} else {
+			List<String> allowedTypes = androidRes.getAllowedTypes();
+			if (!allowedTypes.contains(lazyResourceType.toString())) {
+				validation.addError("%s can only be used on a Lazy of " + allowedTypes.toString() + ", not " + lazyResourceType);
+			}
+		}
 
 		validatorHelper.resIdsExist(element, androidRes.getRInnerClass(), IdValidatorHelper.FallbackStrategy.USE_ELEMENT_NAME, validation);
 
@@ -79,6 +105,13 @@ public abstract class AbstractResHandler extends BaseAnnotationHandler<EComponen
 		IRClass.Res resInnerClass = androidRes.getRInnerClass();
 
 		JFieldRef idRef = annotationHelper.extractOneAnnotationFieldRef(element, resInnerClass, true);
+
+		TypeMirror lazyResourceType = getLazyResourceType(param.asType());
+		if (lazyResourceType != null) {
+			targetBlock.add(fieldRef.assign(createLazyResource(holder, idRef, lazyResourceType)));
+			return;
+		}
+
 		IJExpression resourceInstance = getInstanceInvocation(holder, idRef, fieldRef, targetBlock);
 		if (resourceInstance != null) {
 			targetBlock.add(fieldRef.assign(resourceInstance));
@@ -90,5 +123,72 @@ public abstract class AbstractResHandler extends BaseAnnotationHandler<EComponen
 		validatorHelper.enclosingElementHasEnhancedComponentAnnotation(element, valid);
 	}
 
+	private IJExpression createLazyResource(EComponentHolder holder, JFieldRef idRef, TypeMirror resourceType) {
+		AbstractJClass resourceClass = codeModelHelper.typeMirrorToJClass(resourceType);
+		JDefinedClass lazyClass = getCodeModel().anonymousClass(getClasses().LAZY.narrow(resourceClass));
+		JMethod createMethod = lazyClass.method(PROTECTED, resourceClass, "create");
+		createMethod.annotate(Override.class);
+		JBlock createBody = createMethod.body();
+		JVar resource = createBody.decl(resourceClass, "resource");
+
+		// the resource is loaded from the anonymous class, so the context
+		// must be referenced from there
+		lazyContextRef = getEnclosingContextRef(holder);
+		try {
+			IJExpression resourceInstance = getInstanceInvocation(holder, idRef, resource, createBody);
+			if (resourceInstance != null) {
+				resource.init(resourceInstance);
+			}
+		} finally {
+			lazyContextRef = null;
+		}
+		createBody._return(resource);
+		return _new(lazyClass);
+	}
+
+	private IJExpression getEnclosingContextRef(EComponentHolder holder) {
+		IJExpression contextRef = holder.getContextRef();
+		if (contextRef == JExpr._this()) {
+			return holder.getGeneratedClass().staticRef("this");
+		}
+		if (contextRef instanceof JVar && !(contextRef instanceof JFieldVar)) {
+			((JVar) contextRef).mods().setFinal(true);
+		}
+		return contextRef;
+	}
+
+	private Element getInjectedElement(Element element) {
+		if (element instanceof ExecutableElement) {
+			return ((ExecutableElement) element).getParameters().get(0);
+		}
+		return element;
+	}
+
+	private TypeMirror getLazyResourceType(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		DeclaredType declaredType = (DeclaredType) type;
+		String typeName = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+		if (!CanonicalNameConstants.LAZY.equals(typeName) || declaredType.getTypeArguments().size() != 1) {
+			return null;
+		}
+		return declaredType.getTypeArguments().get(0);
+	}
+
+	protected IJExpression getContextRef(EComponentHolder holder) {
+		if (lazyContextRef != null) {
+			return lazyContextRef;
+		}
+		return holder.getContextRef();
+	}
+
+	protected IJExpression getResourcesRef(EComponentHolder holder) {
+		if (lazyContextRef != null) {
+			return lazyContextRef.invoke("getResources");
+		}
+		return holder.getResourcesRef();
+	}
+
 	protected abstract IJExpression getInstanceInvocation(EComponentHolder holder, JFieldRef idRef, IJAssignmentTarget fieldRef, JBlock targetBlock);
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -29,7 +30,6 @@ import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JFieldRef;
-import com.helger.jcodemodel.JVar;
 
 abstract class ContextCompatAwareResHandler extends AbstractResHandler {
 
@@ -46,13 +46,13 @@ abstract class ContextCompatAwareResHandler extends AbstractResHandler {
 	@Override
 	protected IJExpression getInstanceInvocation(EComponentHolder holder, JFieldRef idRef, IJAssignmentTarget fieldRef, JBlock targetBlock) {
 		if (hasTargetMethodInContextCompat()) {
-			return getClasses().CONTEXT_COMPAT.staticInvoke(androidRes.getResourceMethodName()).arg(holder.getContextRef()).arg(idRef);
+			return getClasses().CONTEXT_COMPAT.staticInvoke(androidRes.getResourceMethodName()).arg(getContextRef(holder)).arg(idRef);
 		} else if (shouldUseContextMethod()) {
-			return holder.getContextRef().invoke(androidRes.getResourceMethodName()).arg(idRef);
+			return getContextRef(holder).invoke(androidRes.getResourceMethodName()).arg(idRef);
 		} else if (!shouldUseContextMethod() && hasTargetMethodInContext()) {
 			return createCallWithIfGuard(holder, idRef, fieldRef, targetBlock);
 		} else {
-			return invoke(holder.getResourcesRef(), androidRes.getResourceMethodName()).arg(idRef);
+			return invoke(getResourcesRef(holder), androidRes.getResourceMethodName()).arg(idRef);
 		}
 	}
 
@@ -73,11 +73,11 @@ abstract class ContextCompatAwareResHandler extends AbstractResHandler {
 	}
 
 	private IJExpression createCallWithIfGuard(EComponentHolder holder, JFieldRef idRef, IJAssignmentTarget fieldRef, JBlock targetBlock) {
-		JVar resourcesRef = holder.getResourcesRef();
+		IJExpression resourcesRef = getResourcesRef(holder);
 		IJExpression buildVersionCondition = getClasses().BUILD_VERSION.staticRef("SDK_INT").gte(getClasses().BUILD_VERSION_CODES.staticRef(minSdkPlatformName));
 
 		JConditional conditional = targetBlock._if(buildVersionCondition);
-		conditional._then().add(fieldRef.assign(holder.getContextRef().invoke(androidRes.getResourceMethodName()).arg(idRef)));
+		conditional._then().add(fieldRef.assign(getContextRef(holder).invoke(androidRes.getResourceMethodName()).arg(idRef)));
 		conditional._else().add(fieldRef.assign(resourcesRef.invoke(androidRes.getResourceMethodName()).arg(idRef)));
 
 		return null;
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -44,6 +45,11 @@ public class EBeanHandler extends BaseGeneratingAnnotationHandler<EBeanHolder> {
 		validatorHelper.isNotPrivate(element, valid);
 
 		validatorHelper.isAbstractOrHasEmptyOrContextConstructor(element, valid);
+
+		EBean eBeanAnnotation = element.getAnnotation(EBean.class);
+		if (eBeanAnnotation.warmUp() && eBeanAnnotation.scope() != EBean.Scope.Singleton) {
+			valid.addError("warmUp can only be used with the Singleton scope");
+		}
 	}
 
 	@Override
@@ -57,6 +63,8 @@ public class EBeanHandler extends BaseGeneratingAnnotationHandler<EBeanHolder> {
 		if (!hasSingletonScope) {
 			holder.invokeInitInConstructor();
 			holder.createRebindMethod();
+		} else if (eBeanAnnotation.warmUp()) {
+			holder.addToWarmUpRegistry();
 		}
 	}
 }
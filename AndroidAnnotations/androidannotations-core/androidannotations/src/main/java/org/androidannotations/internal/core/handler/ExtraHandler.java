@@ -16,10 +16,16 @@
  */
 package org.androidannotations.internal.core.handler;
 
+import static com.helger.jcodemodel.JExpr.FALSE;
+import static com.helger.jcodemodel.JExpr.TRUE;
+import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JExpr._super;
 import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JMod.FINAL;
+import static com.helger.jcodemodel.JMod.PRIVATE;
 import static com.helger.jcodemodel.JMod.PUBLIC;
 import static com.helger.jcodemodel.JMod.STATIC;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +50,7 @@ import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJAssignmentTarget;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JMethod;
@@ -65,6 +72,11 @@ public class ExtraHandler extends BaseAnnotationHandler<EActivityHolder>implemen
 		 * setIntent() method can be overridden
 		 */
 
+		if (isLazy(element)) {
+			validateLazyExtra(element, validation);
+			return;
+		}
+
 		injectHelper.validate(Extra.class, element, validation);
 		if (!validation.isValid()) {
 			return;
@@ -76,9 +88,68 @@ public class ExtraHandler extends BaseAnnotationHandler<EActivityHolder>implemen
 		validatorHelper.canBePutInABundle(param, validation);
 	}
 
+	private void validateLazyExtra(Element element, ElementValidation validation) {
+		if (element.getKind() != ElementKind.METHOD) {
+			validation.addError("%s(lazy = true) can only be used on a method with no parameter returning the extra");
+			return;
+		}
+
+		ExecutableElement executableElement = (ExecutableElement) element;
+
+		validateEnclosingElement(element, validation);
+
+		validatorHelper.isNotPrivate(element, validation);
+
+		validatorHelper.isNotFinal(element, validation);
+
+		validatorHelper.param.noParam().validate(executableElement, validation);
+
+		validatorHelper.returnTypeIsNotVoid(executableElement, validation);
+
+		validatorHelper.canBePutInABundle(executableElement.getReturnType(), validation);
+	}
+
 	@Override
 	public void process(Element element, EActivityHolder holder) {
-		injectHelper.process(element, holder);
+		if (isLazy(element)) {
+			processLazyExtra((ExecutableElement) element, holder);
+		} else {
+			injectHelper.process(element, holder);
+		}
+	}
+
+	private void processLazyExtra(ExecutableElement element, EActivityHolder holder) {
+		String methodName = element.getSimpleName().toString();
+		String extraKey = extractExtraKey(element, methodName);
+		TypeMirror returnType = element.getReturnType();
+
+		JFieldVar extraKeyStaticField = getOrCreateStaticExtraField(holder, extraKey, methodName);
+		holder.getIntentBuilder().getPutExtraMethod(element, new IntentBuilder.IntentExtra(returnType, methodName, extraKeyStaticField));
+
+		AbstractJClass extraClass = codeModelHelper.typeMirrorToJClass(returnType);
+		JFieldVar lazyExtras = holder.getLazyExtrasField();
+		JFieldVar valueField = holder.getGeneratedClass().field(PRIVATE, extraClass, methodName + generationSuffix());
+		JFieldVar loadedField = holder.getGeneratedClass().field(PRIVATE, getCodeModel().BOOLEAN, methodName + "Loaded" + generationSuffix());
+
+		holder.getInjectExtrasMethod().body().assign(loadedField, FALSE);
+
+		JMethod method = codeModelHelper.overrideAnnotatedMethod(element, holder);
+		codeModelHelper.removeBody(method);
+
+		BundleHelper bundleHelper = new BundleHelper(getEnvironment(), returnType);
+		IJExpression restoreMethodCall = bundleHelper.getExpressionToRestoreFromBundle(extraClass, lazyExtras, extraKeyStaticField, method);
+
+		JBlock loadBlock = method.body()._if(loadedField.not())._then();
+		JConditional ifContainsKey = loadBlock._if(lazyExtras.ne(_null()).cand(lazyExtras.invoke("containsKey").arg(extraKeyStaticField)));
+		ifContainsKey._then().assign(valueField, restoreMethodCall);
+		ifContainsKey._else().assign(valueField, _super().invoke(method));
+		loadBlock.assign(loadedField, TRUE);
+		method.body()._return(valueField);
+	}
+
+	private boolean isLazy(Element element) {
+		Extra annotation = element.getAnnotation(Extra.class);
+		return annotation != null && annotation.lazy();
 	}
 
 	@Override
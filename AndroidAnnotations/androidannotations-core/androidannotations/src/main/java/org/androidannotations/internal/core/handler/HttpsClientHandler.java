@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -16,7 +17,6 @@
 package org.androidannotations.internal.core.handler;
 
 import static com.helger.jcodemodel.JExpr._new;
-import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._super;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.invoke;
@@ -101,64 +101,8 @@ public class HttpsClientHandler extends BaseAnnotationHandler<EComponentHolder>i
 		method.annotate(Override.class);
 
 		JTryBlock jTryBlock = method.body()._try();
-		JVar jVarTrusted = null;
-		JVar jVarKeystore = null;
 
-		if (useCustomKeyStore) {
-			jVarKeystore = jTryBlock.body().decl(classes.KEY_STORE, "keystore");
-			jVarKeystore.init(classes.KEY_STORE.staticInvoke("getInstance").arg("BKS"));
-		}
-
-		if (useCustomTrustStore || useCustomKeyStore) {
-			/*
-			 * use default trust store
-			 */
-			jVarTrusted = jTryBlock.body().decl(classes.KEY_STORE, "trusted");
-			jVarTrusted.init(classes.KEY_STORE.staticInvoke("getInstance").arg("BKS"));
-
-		}
-
-		JVar jVarRes = null;
-		JVar jVarTrstFile = null;
-		JVar jVarKeyFile = null;
-
-		if (useCustomKeyStore || useCustomTrustStore) {
-			jVarRes = jTryBlock.body().decl(classes.RESOURCES, "res", invoke("getResources"));
-		}
-
-		if (useCustomKeyStore) {
-			JInvocation jInvRawKey = jVarRes.invoke("openRawResource").arg(keyStoreRawIdRef);
-			jVarKeyFile = jTryBlock.body().decl(classes.INPUT_STREAM, "inKeystore", jInvRawKey);
-		}
-
-		if (useCustomTrustStore) {
-			JInvocation jInvRawTrust = jVarRes.invoke("openRawResource").arg(trustStoreRawIdRef);
-			jVarTrstFile = jTryBlock.body().decl(classes.INPUT_STREAM, "inTrustStore", jInvRawTrust);
-
-		} else if (useCustomKeyStore) {
-			jVarTrstFile = jTryBlock.body().decl(classes.INPUT_STREAM, "inTrustStore", _new(classes.FILE_INPUT_STREAM).arg("/system/etc/security/cacerts.bks"));
-		}
-
-		// try load
-		if (useCustomKeyStore || useCustomTrustStore) {
-			JTryBlock jTryLoad = jTryBlock.body()._try();
-
-			if (useCustomKeyStore) {
-				jTryLoad.body().add(invoke(jVarKeystore, "load").arg(jVarKeyFile).arg(invoke(lit(keyStorePwd), "toCharArray")));
-			}
-
-			jTryLoad.body().add(invoke(jVarTrusted, "load").arg(jVarTrstFile).arg(invoke(lit(trustStorePwd), "toCharArray")));
-
-			// finally load
-			JBlock jFinally = jTryLoad._finally();
-			if (useCustomKeyStore) {
-				jFinally.add(invoke(jVarKeyFile, "close"));
-			}
-
-			jFinally.add(invoke(jVarTrstFile, "close"));
-		}
-
-		if (null == jVarKeystore && null == jVarTrusted) {
+		if (!useCustomKeyStore && !useCustomTrustStore) {
 			JVar jVarCcm = jTryBlock.body().decl(classes.CLIENT_CONNECTION_MANAGER, "ccm");
 			jVarCcm.init(_super().invoke("createClientConnectionManager"));
 
@@ -170,12 +114,14 @@ public class HttpsClientHandler extends BaseAnnotationHandler<EComponentHolder>i
 			jTryBlock.body()._return(jVarCcm);
 
 		} else {
-			JVar jVarSslFact = jTryBlock.body().decl(classes.SSL_SOCKET_FACTORY, "newSslSocketFactory");
-			jVarSslFact.init(_new(classes.SSL_SOCKET_FACTORY).arg(null == jVarKeystore ? _null() : jVarKeystore).arg(keyStorePwd).arg(jVarTrusted));
+			// the key stores are loaded once per configuration and shared by
+			// all the clients
+			IJExpression keyStoreRef = useCustomKeyStore ? keyStoreRawIdRef : classes.SSL_SOCKET_FACTORY_CACHE.staticRef("NO_STORE");
+			IJExpression trustStoreRef = useCustomTrustStore ? trustStoreRawIdRef : classes.SSL_SOCKET_FACTORY_CACHE.staticRef("NO_STORE");
 
-			if (allowAllHostnames) {
-				jTryBlock.body().add(invoke(jVarSslFact, "setHostnameVerifier").arg(classes.SSL_SOCKET_FACTORY.staticRef("ALLOW_ALL_HOSTNAME_VERIFIER")));
-			}
+			JInvocation getSocketFactory = classes.SSL_SOCKET_FACTORY_CACHE.staticInvoke("getSocketFactory").arg(invoke("getResources"));
+			getSocketFactory.arg(keyStoreRef).arg(keyStorePwd).arg(trustStoreRef).arg(trustStorePwd).arg(lit(allowAllHostnames));
+			JVar jVarSslFact = jTryBlock.body().decl(classes.SSL_SOCKET_FACTORY, "newSslSocketFactory", getSocketFactory);
 
 			JVar jVarSchemeReg = jTryBlock.body().decl(classes.SCHEME_REGISTRY, "registry");
 			jVarSchemeReg.init(_new(classes.SCHEME_REGISTRY));
@@ -185,6 +131,12 @@ public class HttpsClientHandler extends BaseAnnotationHandler<EComponentHolder>i
 			JVar jVarCcm = jTryBlock.body().decl(classes.CLIENT_CONNECTION_MANAGER, "ccm");
 			jVarCcm.init(_new(classes.SINGLE_CLIENT_CONN_MANAGER).arg(invoke("getParams")).arg(jVarSchemeReg));
 			jTryBlock.body()._return(jVarCcm);
+
+			if (annotation.preload()) {
+				JInvocation preload = classes.SSL_SOCKET_FACTORY_CACHE.staticInvoke("preload").arg(holder.getContextRef().invoke("getResources"));
+				preload.arg(keyStoreRef).arg(keyStorePwd).arg(trustStoreRef).arg(trustStorePwd).arg(lit(allowAllHostnames));
+				targetBlock.add(preload);
+			}
 		}
 
 		// catch block
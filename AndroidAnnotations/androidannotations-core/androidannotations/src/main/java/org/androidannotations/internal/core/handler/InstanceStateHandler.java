@@ -24,15 +24,20 @@ import javax.lang.model.type.TypeMirror;
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.annotations.InstanceState;
+import org.androidannotations.annotations.ParcelableInstanceState;
 import org.androidannotations.handler.BaseAnnotationHandler;
 import org.androidannotations.helper.BundleHelper;
+import org.androidannotations.helper.ParcelHelper;
 import org.androidannotations.holder.HasInstanceState;
+import org.androidannotations.holder.InstanceStateParcelHolder;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldRef;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JVar;
 
@@ -52,18 +57,26 @@ public class InstanceStateHandler extends BaseAnnotationHandler<HasInstanceState
 	}
 
 	@Override
-	public void process(Element element, HasInstanceState holder) {
+	public void process(Element element, HasInstanceState holder) throws JClassAlreadyExistsException {
 		AbstractJClass elementClass = codeModelHelper.typeMirrorToJClass(element.asType());
 		String fieldName = element.getSimpleName().toString();
 
+		TypeMirror type = codeModelHelper.getActualType(element, holder);
+
+		if (holder.getAnnotatedElement().getAnnotation(ParcelableInstanceState.class) != null) {
+			ParcelHelper parcelHelper = new ParcelHelper(getEnvironment(), type);
+			if (parcelHelper.isSupported()) {
+				saveInParcel(fieldName, codeModelHelper.typeMirrorToJClass(type), parcelHelper, holder.getInstanceStateParcelHolder());
+				return;
+			}
+		}
+
 		JBlock saveStateBody = holder.getSaveStateMethodBody();
 		JVar saveStateBundleParam = holder.getSaveStateBundleParam();
 		JMethod restoreStateMethod = holder.getRestoreStateMethod();
 		JBlock restoreStateBody = holder.getRestoreStateMethodBody();
 		JVar restoreStateBundleParam = holder.getRestoreStateBundleParam();
 
-		TypeMirror type = codeModelHelper.getActualType(element, holder);
-
 		BundleHelper bundleHelper = new BundleHelper(getEnvironment(), type);
 
 		JFieldRef ref = ref(fieldName);
@@ -72,4 +85,15 @@ public class InstanceStateHandler extends BaseAnnotationHandler<HasInstanceState
 		IJExpression restoreMethodCall = bundleHelper.getExpressionToRestoreFromBundle(elementClass, restoreStateBundleParam, JExpr.lit(fieldName), restoreStateMethod);
 		restoreStateBody.assign(ref, restoreMethodCall);
 	}
+
+	private void saveInParcel(String fieldName, AbstractJClass fieldClass, ParcelHelper parcelHelper, InstanceStateParcelHolder parcelHolder) {
+		JFieldVar parcelField = parcelHolder.createField(fieldName, fieldClass);
+
+		parcelHolder.getWriteToParcelBody().add(parcelHelper.getStatementToWrite(parcelHolder.getWriteToParcelDestParam(), parcelHolder.getWriteToParcelFlagsParam(), parcelField));
+		parcelHolder.getParcelConstructorBody().assign(parcelField, parcelHelper.getExpressionToRead(fieldClass, parcelHolder.getParcelConstructorParam(), parcelHolder.getClassLoader()));
+
+		JFieldRef ref = ref(fieldName);
+		parcelHolder.getSaveStateBlock().assign(parcelHolder.getSaveStateVar().ref(parcelField), ref);
+		parcelHolder.getRestoreStateBlock().assign(ref, parcelHolder.getRestoreStateVar().ref(parcelField));
+	}
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.internal.core.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.ElementValidation;
+import org.androidannotations.annotations.ParcelableAdapter;
+import org.androidannotations.helper.ParcelHelper;
+import org.androidannotations.holder.ParcelableAdapterHolder;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.JFieldRef;
+
+public class ParcelableAdapterHandler extends CoreBaseGeneratingAnnotationHandler<ParcelableAdapterHolder> {
+
+	public ParcelableAdapterHandler(AndroidAnnotationsEnvironment environment) {
+		super(ParcelableAdapter.class, environment);
+	}
+
+	@Override
+	public ParcelableAdapterHolder createGeneratedClassHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement) throws Exception {
+		return new ParcelableAdapterHolder(environment, annotatedElement);
+	}
+
+	@Override
+	public void validate(Element element, ElementValidation validation) {
+		TypeElement typeElement = (TypeElement) element;
+
+		validatorHelper.isTopLevel(typeElement, validation);
+
+		validatorHelper.isNotInterface(typeElement, validation);
+
+		validatorHelper.isNotAbstract(typeElement, validation);
+
+		validatorHelper.isNotGeneric(typeElement, validation);
+
+		validatorHelper.hasNotPrivateEmptyConstructor(typeElement, validation);
+
+		for (VariableElement field : getWrittenFields(typeElement)) {
+			coreValidatorHelper.isParcelableAdapterField(field, validation);
+		}
+	}
+
+	@Override
+	public void process(Element element, ParcelableAdapterHolder holder) {
+		for (VariableElement field : getWrittenFields((TypeElement) element)) {
+			AbstractJClass fieldClass = codeModelHelper.typeMirrorToJClass(field.asType());
+			ParcelHelper parcelHelper = new ParcelHelper(getEnvironment(), field.asType());
+			JFieldRef valueFieldRef = holder.getValueField().ref(field.getSimpleName().toString());
+
+			holder.getWriteToParcelBody().add(parcelHelper.getStatementToWrite(holder.getWriteToParcelDestParam(), holder.getWriteToParcelFlagsParam(), valueFieldRef));
+			holder.getParcelConstructorBody().assign(valueFieldRef,
+					parcelHelper.getExpressionToRead(fieldClass, holder.getParcelConstructorParam(), holder.getGeneratedClass().dotclass().invoke("getClassLoader")));
+		}
+	}
+
+	private List<VariableElement> getWrittenFields(TypeElement typeElement) {
+		List<VariableElement> fields = new ArrayList<>();
+		for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+			if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.TRANSIENT)) {
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+}
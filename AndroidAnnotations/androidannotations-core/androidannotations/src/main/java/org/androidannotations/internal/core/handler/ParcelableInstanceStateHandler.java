@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.internal.core.handler;
+
+import javax.lang.model.element.Element;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.ElementValidation;
+import org.androidannotations.annotations.ParcelableInstanceState;
+import org.androidannotations.handler.BaseAnnotationHandler;
+import org.androidannotations.holder.HasInstanceState;
+
+public class ParcelableInstanceStateHandler extends BaseAnnotationHandler<HasInstanceState> {
+
+	public ParcelableInstanceStateHandler(AndroidAnnotationsEnvironment environment) {
+		super(ParcelableInstanceState.class, environment);
+	}
+
+	@Override
+	public void validate(Element element, ElementValidation validation) {
+		validatorHelper.hasEActivityOrEFragmentOrEViewOrEViewGroup(element, validation);
+	}
+
+	@Override
+	public void process(Element element, HasInstanceState holder) {
+		// The @InstanceState fields are written by InstanceStateHandler.
+	}
+}
@@ -88,9 +88,9 @@ public class ReceiverActionHandler extends BaseAnnotationHandler<EReceiverHolder
 		String[] dataSchemes = annotation.dataSchemes();
 		String[] actions = annotation.actions();
 
-		JFieldVar actionKeyField = createStaticField(holder, "actions", methodName, actions);
+		createStaticField(holder, "actions", methodName, actions);
 		JFieldVar dataSchemesField = createStaticField(holder, "dataSchemes", methodName, dataSchemes);
-		addActionInOnReceive(holder, executableElement, methodName, actionKeyField, dataSchemesField);
+		addActionInOnReceive(holder, executableElement, methodName, actions, dataSchemesField);
 	}
 
 	private JFieldVar createStaticField(EReceiverHolder holder, String prefix, String methodName, String[] values) {
@@ -111,15 +111,29 @@ public class ReceiverActionHandler extends BaseAnnotationHandler<EReceiverHolder
 		return holder.getGeneratedClass().field(PUBLIC | STATIC | FINAL, listOfStrings, staticFieldName, asListInvoke);
 	}
 
-	private void addActionInOnReceive(EReceiverHolder holder, ExecutableElement executableElement, String methodName, JFieldVar actionsField, JFieldVar dataSchemesField) {
-		String actionsInvoke = getInvocationName(actionsField);
-		IJExpression filterCondition = actionsField.invoke(actionsInvoke).arg(holder.getOnReceiveIntentAction());
-		if (dataSchemesField != null) {
-			String dataSchemesInvoke = getInvocationName(dataSchemesField);
-			filterCondition = filterCondition.cand(dataSchemesField.invoke(dataSchemesInvoke).arg(holder.getOnReceiveIntentDataScheme()));
+	private void addActionInOnReceive(EReceiverHolder holder, ExecutableElement executableElement, String methodName, String[] actions, JFieldVar dataSchemesField) {
+		for (String action : actions) {
+			// A method handling every data scheme makes the next ones
+			// unreachable for this action
+			if (holder.isOnReceiveActionHandled(action)) {
+				continue;
+			}
+
+			JBlock callActionBlock = holder.getOnReceiveActionBlock(action);
+			if (dataSchemesField != null) {
+				String dataSchemesInvoke = getInvocationName(dataSchemesField);
+				IJExpression filterCondition = dataSchemesField.invoke(dataSchemesInvoke).arg(holder.getOnReceiveIntentDataScheme());
+				callActionBlock = callActionBlock._if(filterCondition)._then();
+				addActionCall(holder, executableElement, methodName, callActionBlock);
+				callActionBlock._return();
+			} else {
+				addActionCall(holder, executableElement, methodName, callActionBlock);
+				holder.setOnReceiveActionHandled(action);
+			}
 		}
+	}
 
-		JBlock callActionBlock = holder.getOnReceiveBody()._if(filterCondition)._then();
+	private void addActionCall(EReceiverHolder holder, ExecutableElement executableElement, String methodName, JBlock callActionBlock) {
 		IJExpression receiverRef = holder.getGeneratedClass().staticRef("this");
 		JInvocation callActionInvocation = receiverRef.invoke(methodName);
 
@@ -143,7 +157,6 @@ public class ReceiverActionHandler extends BaseAnnotationHandler<EReceiverHolder
 			}
 		}
 		callActionBlock.add(callActionInvocation);
-		callActionBlock._return();
 	}
 
 	private String getInvocationName(JFieldVar field) {
@@ -18,10 +18,6 @@ package org.androidannotations.internal.core.handler;
 
 import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
-import static com.helger.jcodemodel.JMod.FINAL;
-import static com.helger.jcodemodel.JMod.PRIVATE;
-import static com.helger.jcodemodel.JMod.PUBLIC;
-import static org.androidannotations.helper.ModelConstants.generationSuffix;
 
 import java.util.Collections;
 import java.util.List;
@@ -42,8 +38,6 @@ import org.androidannotations.holder.ReceiverRegistrationDelegate.IntentFilterDa
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
-import com.helger.jcodemodel.JDefinedClass;
-import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JOp;
@@ -89,7 +83,6 @@ public class ReceiverHandler extends CoreBaseAnnotationHandler<HasReceiverRegist
 	public void process(Element element, HasReceiverRegistration holder) throws Exception {
 
 		String methodName = element.getSimpleName().toString();
-		String receiverName = methodName + "Receiver" + generationSuffix();
 
 		Receiver annotation = element.getAnnotation(Receiver.class);
 		String[] actions = annotation.actions();
@@ -97,18 +90,19 @@ public class ReceiverHandler extends CoreBaseAnnotationHandler<HasReceiverRegist
 		Receiver.RegisterAt registerAt = annotation.registerAt();
 		boolean local = annotation.local();
 
-		JFieldVar intentFilterField = holder.getIntentFilterField(new IntentFilterData(actions, dataSchemes, registerAt));
-		JFieldVar receiverField = createReceiverField(holder, receiverName, methodName, (ExecutableElement) element);
-		registerAndUnregisterReceiver(holder, registerAt, intentFilterField, receiverField, local);
+		/*
+		 * Methods listening to the same intent filter share a single receiver,
+		 * so it is only registered once.
+		 */
+		JMethod onReceiveMethod = holder.getOnReceiveMethod(new IntentFilterData(actions, dataSchemes, registerAt), local);
+		addMethodCall(holder, onReceiveMethod, methodName, (ExecutableElement) element);
 	}
 
-	private JFieldVar createReceiverField(HasReceiverRegistration holder, String receiverName, String methodName, ExecutableElement executableElement) {
-		JDefinedClass anonymousReceiverClass = getCodeModel().anonymousClass(getClasses().BROADCAST_RECEIVER);
-		JMethod onReceiveMethod = anonymousReceiverClass.method(PUBLIC, getCodeModel().VOID, "onReceive");
-		JVar contextVar = onReceiveMethod.param(getClasses().CONTEXT, "context");
-		JVar intentVar = onReceiveMethod.param(getClasses().INTENT, "intent");
+	private void addMethodCall(HasReceiverRegistration holder, JMethod onReceiveMethod, String methodName, ExecutableElement executableElement) {
+		JVar contextVar = onReceiveMethod.params().get(0);
+		JVar intentVar = onReceiveMethod.params().get(1);
 
-		JBlock body = onReceiveMethod.body();
+		JBlock body = onReceiveMethod.body().block();
 
 		IJExpression receiverRef = holder.getGeneratedClass().staticRef("this");
 		JInvocation methodCall = receiverRef.invoke(methodName);
@@ -126,45 +120,11 @@ public class ReceiverHandler extends CoreBaseAnnotationHandler<HasReceiverRegist
 				if (extras == null) {
 					extras = body.decl(getClasses().BUNDLE, "extras_", JOp.cond(intentVar.invoke("getExtras").ne(_null()), intentVar.invoke("getExtras"), _new(getClasses().BUNDLE)));
 				}
-				methodCall.arg(extraHandler.getExtraValue(param, extras, body, onReceiveMethod, anonymousReceiverClass));
+				methodCall.arg(extraHandler.getExtraValue(param, extras, body, onReceiveMethod, onReceiveMethod.owningClass()));
 			}
 		}
 
 		body.add(methodCall);
-		IJExpression receiverInit = _new(anonymousReceiverClass);
-		return holder.getGeneratedClass().field(PRIVATE | FINAL, getClasses().BROADCAST_RECEIVER, receiverName, receiverInit);
-	}
-
-	private void registerAndUnregisterReceiver(HasReceiverRegistration holder, Receiver.RegisterAt registerAt, JFieldVar intentFilterField, JFieldVar receiverField, boolean local) {
-		JBlock registerBlock = null;
-		JBlock unregisterBlock = null;
-		switch (registerAt) {
-		case OnCreateOnDestroy:
-			registerBlock = holder.getOnCreateAfterSuperBlock();
-			unregisterBlock = holder.getOnDestroyBeforeSuperBlock();
-			break;
-		case OnStartOnStop:
-			registerBlock = holder.getOnStartAfterSuperBlock();
-			unregisterBlock = holder.getOnStopBeforeSuperBlock();
-			break;
-		case OnResumeOnPause:
-			registerBlock = holder.getOnResumeAfterSuperBlock();
-			unregisterBlock = holder.getOnPauseBeforeSuperBlock();
-			break;
-		case OnAttachOnDetach:
-			registerBlock = holder.getOnAttachAfterSuperBlock();
-			unregisterBlock = holder.getOnDetachBeforeSuperBlock();
-		}
-
-		IJExpression broadcastManager;
-		if (local) {
-			broadcastManager = getClasses().LOCAL_BROADCAST_MANAGER.staticInvoke("getInstance").arg(holder.getContextRef());
-		} else {
-			broadcastManager = holder.getContextRef();
-		}
-
-		registerBlock.invoke(broadcastManager, "registerReceiver").arg(receiverField).arg(intentFilterField);
-		unregisterBlock.invoke(broadcastManager, "unregisterReceiver").arg(receiverField);
 	}
 
 	private static class ExtraHandler extends ExtraParameterHandler {
@@ -74,7 +74,7 @@ public class ServiceActionHandler extends BaseAnnotationHandler<EIntentServiceHo
 		}
 
 		JFieldVar actionKeyField = createStaticActionField(holder, extraKey, methodName);
-		addActionInOnHandleIntent(holder, executableElement, methodName, actionKeyField);
+		addActionInOnHandleIntent(holder, executableElement, extraKey, methodName, actionKeyField);
 		addActionToIntentBuilder(holder, executableElement, methodName, actionKeyField);
 	}
 
@@ -83,12 +83,15 @@ public class ServiceActionHandler extends BaseAnnotationHandler<EIntentServiceHo
 		return holder.getGeneratedClass().field(PUBLIC | STATIC | FINAL, getClasses().STRING, staticFieldName, lit(extraKey));
 	}
 
-	private void addActionInOnHandleIntent(EIntentServiceHolder holder, ExecutableElement executableElement, String methodName, JFieldVar actionKeyField) {
+	private void addActionInOnHandleIntent(EIntentServiceHolder holder, ExecutableElement executableElement, String extraKey, String methodName, JFieldVar actionKeyField) {
 		JMethod onHandleIntentMethod = holder.getOnHandleIntentMethod();
 
-		// If action match, call the method
-		JInvocation actionCondition = actionKeyField.invoke("equals").arg(holder.getOnHandleIntentIntentAction());
-		JBlock callActionBlock = holder.getOnHandleIntentBody()._if(actionCondition)._then();
+		// If action match, call the method. Only the first method declaring
+		// an action handles it
+		JBlock callActionBlock = holder.getOnHandleIntentActionBlock(extraKey, actionKeyField);
+		if (callActionBlock == null) {
+			return;
+		}
 		JInvocation callActionInvocation = JExpr._super().invoke(methodName);
 
 		// For each method params, we get back value from extras and put it
@@ -116,7 +119,6 @@ public class ServiceActionHandler extends BaseAnnotationHandler<EIntentServiceHo
 			}
 		}
 		callActionBlock.add(callActionInvocation);
-		callActionBlock._return();
 	}
 
 	private void addActionToIntentBuilder(EIntentServiceHolder holder, ExecutableElement executableElement, String methodName, JFieldVar actionKeyField) {
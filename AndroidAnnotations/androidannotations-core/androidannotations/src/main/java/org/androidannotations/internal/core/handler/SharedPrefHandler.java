@@ -55,6 +55,7 @@ import org.androidannotations.api.sharedpreferences.LongPrefField;
 import org.androidannotations.api.sharedpreferences.StringPrefField;
 import org.androidannotations.api.sharedpreferences.StringSetPrefField;
 import org.androidannotations.helper.CanonicalNameConstants;
+import org.androidannotations.helper.CaseHelper;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.helper.IdValidatorHelper;
 import org.androidannotations.helper.IdValidatorHelper.FallbackStrategy;
@@ -154,6 +155,23 @@ public class SharedPrefHandler extends CoreBaseGeneratingAnnotationHandler<Share
 		if (hasCustomName && !allowedScopes.contains(scope)) {
 			validation.addError("SharedPref#name() is only supported for Scope.ACTIVITY and Scope.UNIQUE.");
 		}
+
+		if (sharedPrefAnnotation.observable()) {
+			validateObservableNames(element, validation);
+		}
+	}
+
+	private void validateObservableNames(Element element, ElementValidation validation) {
+		Set<String> listenerNames = new HashSet<>();
+		for (ExecutableElement method : getValidMethods(element)) {
+			String fieldName = method.getSimpleName().toString();
+			if (fieldName.equals("snapshot")) {
+				validation.addError(method, "An observable SharedPref cannot have a pref named snapshot, it would clash with the generated snapshot() method.");
+			}
+			if (!listenerNames.add(CaseHelper.upperCaseFirst(fieldName))) {
+				validation.addError(method, "The pref " + fieldName + " would generate the same change listener methods as another pref of this observable SharedPref.");
+			}
+		}
 	}
 
 	@Override
@@ -240,6 +258,10 @@ public class SharedPrefHandler extends CoreBaseGeneratingAnnotationHandler<Share
 		for (ExecutableElement method : getValidMethods(element)) {
 			IJExpression keyExpression = generateFieldMethod(sharedPrefHolder, method);
 			sharedPrefHolder.createEditorFieldMethods(method, keyExpression);
+			if (sharedPrefHolder.isObservable()) {
+				sharedPrefHolder.createSnapshotField(method);
+				sharedPrefHolder.createChangeListenerMethods(method);
+			}
 		}
 	}
 
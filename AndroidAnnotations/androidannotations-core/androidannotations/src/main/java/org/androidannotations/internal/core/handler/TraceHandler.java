@@ -53,6 +53,11 @@ import com.helger.jcodemodel.JVar;
 public class TraceHandler extends BaseAnnotationHandler<EComponentHolder> {
 
 	public static final Option OPTION_TRACE = new Option("trace", "false");
+	public static final Option OPTION_TRACE_SYSTRACE = new Option("traceSystrace", "false");
+
+	private static final int SYSTRACE_MIN_SDK_VERSION = 18;
+	private static final int MAX_SECTION_NAME_LEN = 127;
+	private static final long NANOS_PER_MILLI = 1000000L;
 
 	public TraceHandler(AndroidAnnotationsEnvironment environment) {
 		super(Trace.class, environment);
@@ -70,19 +75,53 @@ public class TraceHandler extends BaseAnnotationHandler<EComponentHolder> {
 		validatorHelper.isNotPrivate(element, validation);
 
 		validatorHelper.hasValidLogLevel(element, validation);
+
+		if (isSystrace(element)) {
+			validatorHelper.isSystraceClassPresent(validation);
+		}
 	}
 
 	@Override
 	public void process(Element element, EComponentHolder holder) throws Exception {
 		ExecutableElement executableElement = (ExecutableElement) element;
 
-		String tag = extractTag(executableElement);
-		int level = executableElement.getAnnotation(Trace.class).level();
-
 		JMethod method = codeModelHelper.overrideAnnotatedMethod(executableElement, holder);
 
 		JBlock previousMethodBody = codeModelHelper.removeBody(method);
 
+		if (isSystrace(executableElement)) {
+			addSystraceSection(executableElement, holder, method, previousMethodBody);
+		} else {
+			addLogTrace(executableElement, holder, method, previousMethodBody);
+		}
+	}
+
+	private boolean isSystrace(Element element) {
+		return getEnvironment().getOptionBooleanValue(OPTION_TRACE_SYSTRACE) || element.getAnnotation(Trace.class).systrace();
+	}
+
+	private void addSystraceSection(ExecutableElement executableElement, EComponentHolder holder, JMethod method, JBlock previousMethodBody) {
+		JBlock methodBody = method.body();
+
+		IJExpression isTraceAvailable = getClasses().BUILD_VERSION.staticRef("SDK_INT").gte(JExpr.lit(SYSTRACE_MIN_SDK_VERSION));
+
+		JInvocation beginSectionInvoke = getClasses().TRACE.staticInvoke("beginSection").arg(extractSectionName(executableElement));
+		methodBody._if(isTraceAvailable)._then().add(beginSectionInvoke);
+
+		JTryBlock tryBlock = methodBody._try();
+		if (method.type().fullName().equals("void")) {
+			tryBlock.body().add(previousMethodBody);
+		} else {
+			tryBlock.body()._return(codeModelHelper.getSuperCall(holder, method));
+		}
+
+		tryBlock._finally()._if(isTraceAvailable)._then().add(getClasses().TRACE.staticInvoke("endSection"));
+	}
+
+	private void addLogTrace(ExecutableElement executableElement, EComponentHolder holder, JMethod method, JBlock previousMethodBody) throws ClassNotFoundException {
+		String tag = extractTag(executableElement);
+		int level = executableElement.getAnnotation(Trace.class).level();
+
 		JBlock methodBody = method.body();
 
 		JInvocation isLoggableInvocation = getClasses().LOG.staticInvoke("isLoggable");
@@ -90,7 +129,7 @@ public class TraceHandler extends BaseAnnotationHandler<EComponentHolder> {
 
 		JConditional ifStatement = methodBody._if(isLoggableInvocation);
 
-		JInvocation currentTimeInvoke = getClasses().SYSTEM.staticInvoke("currentTimeMillis");
+		JInvocation currentTimeInvoke = getClasses().SYSTEM.staticInvoke("nanoTime");
 		JBlock thenBody = ifStatement._then();
 
 		// Log In
@@ -118,7 +157,7 @@ public class TraceHandler extends BaseAnnotationHandler<EComponentHolder> {
 
 		JBlock finallyBlock = tryBlock._finally();
 
-		JVar durationDeclaration = finallyBlock.decl(getCodeModel().LONG, "traceDuration" + generationSuffix(), currentTimeInvoke.minus(startDeclaration));
+		JVar durationDeclaration = finallyBlock.decl(getCodeModel().LONG, "traceDuration" + generationSuffix(), currentTimeInvoke.minus(startDeclaration).div(JExpr.lit(NANOS_PER_MILLI)));
 
 		JInvocation logExitInvoke = getClasses().LOG.staticInvoke(logMethodName);
 		logExitInvoke.arg(tag);
@@ -241,11 +280,23 @@ public class TraceHandler extends BaseAnnotationHandler<EComponentHolder> {
 	}
 
 	private String extractTag(Element element) {
+		return trimLogTag(extractUntrimmedTag(element));
+	}
+
+	private String extractSectionName(Element element) {
+		String sectionName = extractUntrimmedTag(element) + "." + element.getSimpleName();
+		if (sectionName.length() > MAX_SECTION_NAME_LEN) {
+			return sectionName.substring(0, MAX_SECTION_NAME_LEN);
+		}
+		return sectionName;
+	}
+
+	private String extractUntrimmedTag(Element element) {
 		Trace annotation = element.getAnnotation(Trace.class);
 		String tag = annotation.tag();
 		if (Trace.DEFAULT_TAG.equals(tag)) {
 			tag = element.getEnclosingElement().getSimpleName().toString();
 		}
-		return trimLogTag(tag);
+		return tag;
 	}
 }
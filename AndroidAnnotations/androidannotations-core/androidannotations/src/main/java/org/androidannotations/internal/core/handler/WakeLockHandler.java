@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -23,13 +24,13 @@ import org.androidannotations.ElementValidation;
 import org.androidannotations.annotations.WakeLock;
 import org.androidannotations.annotations.WakeLock.Flag;
 import org.androidannotations.annotations.WakeLock.Level;
+import org.androidannotations.api.TimedWakeLock;
 import org.androidannotations.holder.EComponentHolder;
 
+import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
-import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JExpr;
-import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JTryBlock;
 import com.helger.jcodemodel.JVar;
@@ -49,6 +50,8 @@ public class WakeLockHandler extends CoreBaseAnnotationHandler<EComponentHolder>
 
 		coreValidatorHelper.doesNotUseFlagsWithPartialWakeLock(element, valid);
 
+		coreValidatorHelper.hasValidWakeLockDurations(element, valid);
+
 		validatorHelper.hasWakeLockPermission(getEnvironment().getAndroidManifest(), valid);
 
 		validatorHelper.isNotPrivate(element, valid);
@@ -72,24 +75,36 @@ public class WakeLockHandler extends CoreBaseAnnotationHandler<EComponentHolder>
 		JBlock methodBody = method.body();
 
 		IJExpression levelAndFlags = getClasses().POWER_MANAGER.staticRef(level.name());
+		StringBuilder levelAndFlagsKey = new StringBuilder(level.name());
 		if (flags.length > 0) {
 			for (Flag flag : flags) {
 				levelAndFlags = levelAndFlags.bor(getClasses().POWER_MANAGER.staticRef(flag.name()));
+				levelAndFlagsKey.append('|').append(flag.name());
 			}
 		}
 
-		JInvocation newWakeLock = holder.getPowerManagerRef().invoke("newWakeLock").arg(levelAndFlags).arg(JExpr.lit(tag));
+		long timeout = annotation.timeout();
+		long holdOver = annotation.holdOver();
+		JMethod wakeLockGetter = holder.getWakeLockGetter(tag, levelAndFlags, levelAndFlagsKey.toString());
+
+		JVar wakeLock = methodBody.decl(getClasses().WAKE_LOCK, "wakeLock", JExpr.invoke(wakeLockGetter));
 
-		JVar wakeLock = methodBody.decl(getClasses().WAKE_LOCK, "wakeLock", JExpr._null());
+		if (timeout > 0 || holdOver > 0) {
+			// the lock is shared and reference counted, each call schedules
+			// the release of its own acquisition
+			AbstractJClass timedWakeLockClass = getJClass(TimedWakeLock.class);
+			JVar timedWakeLock = methodBody.decl(timedWakeLockClass, "timedWakeLock", timedWakeLockClass.staticInvoke("acquire").arg(wakeLock).arg(JExpr.lit(timeout)));
 
-		JTryBlock tryBlock = methodBody._try();
-		tryBlock.body().assign(wakeLock, newWakeLock);
-		tryBlock.body().add(wakeLock.invoke("acquire"));
-		tryBlock.body().add(previousMethodBody);
+			JTryBlock tryBlock = methodBody._try();
+			tryBlock.body().add(previousMethodBody);
+			tryBlock._finally().add(timedWakeLock.invoke("release").arg(JExpr.lit(holdOver)));
+		} else {
+			methodBody.add(wakeLock.invoke("acquire"));
 
-		JBlock finallyBlock = tryBlock._finally();
-		JConditional ifStatement = finallyBlock._if(wakeLock.ne(JExpr._null()));
-		ifStatement._then().add(wakeLock.invoke("release"));
+			JTryBlock tryBlock = methodBody._try();
+			tryBlock.body().add(previousMethodBody);
+			tryBlock._finally().add(wakeLock.invoke("release"));
+		}
 	}
 
 	private String extractTag(Element element) {
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -54,6 +55,7 @@ import org.androidannotations.helper.AndroidManifest;
 import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.helper.IdValidatorHelper;
+import org.androidannotations.helper.ParcelHelper;
 import org.androidannotations.helper.TargetAnnotationHelper;
 
 public class CoreValidatorHelper extends IdValidatorHelper {
@@ -86,6 +88,16 @@ public class CoreValidatorHelper extends IdValidatorHelper {
 		}
 	}
 
+	public void hasValidWakeLockDurations(Element element, ElementValidation valid) {
+		WakeLock annotation = element.getAnnotation(WakeLock.class);
+		if (annotation.timeout() < 0) {
+			valid.addError("%s timeout() must not be negative");
+		}
+		if (annotation.holdOver() < 0) {
+			valid.addError("%s holdOver() must not be negative");
+		}
+	}
+
 	public void applicationRegistered(Element element, AndroidManifest manifest, ElementValidation valid) {
 
 		if (manifest.isLibraryProject()) {
@@ -183,6 +195,17 @@ public class CoreValidatorHelper extends IdValidatorHelper {
 		valid.invalidate();
 	}
 
+	public void isParcelableAdapterField(VariableElement field, ElementValidation valid) {
+		String fieldName = field.getSimpleName().toString();
+		Set<Modifier> modifiers = field.getModifiers();
+
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+			valid.addError(field, "Field " + fieldName + " should not be private nor final in an %s annotated class");
+		} else if (!new ParcelHelper(environment(), field.asType()).isSupported()) {
+			valid.addError(field, "Field " + fieldName + " has a type which cannot be written by an %s");
+		}
+	}
+
 	public void hasCorrectDefaultAnnotation(ExecutableElement method, ElementValidation valid) {
 		checkDefaultAnnotation(method, DefaultBoolean.class, "boolean", new TypeKindAnnotationCondition(TypeKind.BOOLEAN), valid);
 		checkDefaultAnnotation(method, DefaultFloat.class, "float", new TypeKindAnnotationCondition(TypeKind.FLOAT), valid);
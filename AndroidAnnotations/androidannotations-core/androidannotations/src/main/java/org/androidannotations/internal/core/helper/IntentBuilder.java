@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -42,6 +43,7 @@ import org.androidannotations.helper.AndroidManifest;
 import org.androidannotations.helper.AnnotationHelper;
 import org.androidannotations.helper.BundleHelper;
 import org.androidannotations.helper.CanonicalNameConstants;
+import org.androidannotations.helper.ParcelableAdapterHelper;
 import org.androidannotations.helper.ParcelerHelper;
 import org.androidannotations.holder.HasIntentBuilder;
 import org.androidannotations.internal.process.ProcessHolder;
@@ -73,6 +75,7 @@ public abstract class IntentBuilder {
 	protected APTCodeModelHelper codeModelHelper;
 	protected AnnotationHelper annotationHelper;
 	protected ParcelerHelper parcelerHelper;
+	protected ParcelableAdapterHelper parcelableAdapterHelper;
 
 	public IntentBuilder(HasIntentBuilder holder, AndroidManifest androidManifest) {
 		this.environment = holder.getEnvironment();
@@ -80,6 +83,7 @@ public abstract class IntentBuilder {
 		this.androidManifest = androidManifest;
 		this.annotationHelper = new AnnotationHelper(environment);
 		this.parcelerHelper = new ParcelerHelper(environment);
+		this.parcelableAdapterHelper = new ParcelableAdapterHelper(environment);
 		codeModelHelper = new APTCodeModelHelper(environment);
 		elementUtils = environment.getProcessingEnvironment().getElementUtils();
 		typeUtils = environment.getProcessingEnvironment().getTypeUtils();
@@ -147,8 +151,15 @@ public abstract class IntentBuilder {
 
 	public JInvocation getSuperPutExtraInvocation(TypeMirror elementType, JVar extraParam, JFieldVar extraKeyField) {
 		IJExpression extraParameterArg = extraParam;
-		// Cast to Parcelable, wrap with Parcels.wrap or cast Serializable if needed
-		if (elementType.getKind() == TypeKind.DECLARED) {
+		if (parcelableAdapterHelper.isParcelableAdapterList(elementType)) {
+			AbstractJClass adapterClass = parcelableAdapterHelper.getAdapterClass(elementType);
+			return _super().invoke("parcelableArrayListExtra").arg(extraKeyField).arg(adapterClass.staticInvoke("wrapList").arg(extraParameterArg));
+		}
+		// Cast to Parcelable, wrap with Parcels.wrap or the generated adapter,
+		// or cast Serializable if needed
+		if (parcelableAdapterHelper.hasParcelableAdapter(elementType)) {
+			extraParameterArg = _new(parcelableAdapterHelper.getAdapterClass(elementType)).arg(extraParameterArg);
+		} else if (elementType.getKind() == TypeKind.DECLARED) {
 			Elements elementUtils = environment.getProcessingEnvironment().getElementUtils();
 			TypeMirror parcelableType = elementUtils.getTypeElement(PARCELABLE).asType();
 			if (typeUtils.isSubtype(elementType, parcelableType)) {
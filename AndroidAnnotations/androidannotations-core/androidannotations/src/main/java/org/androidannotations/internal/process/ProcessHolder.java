@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -19,6 +20,7 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +63,7 @@ public class ProcessHolder {
 		public final AbstractJClass THREAD = refClass(Thread.class);
 		public final AbstractJClass HASH_MAP = refClass(HashMap.class);
 		public final AbstractJClass LIST = refClass(List.class);
+		public final AbstractJClass ARRAY_LIST = refClass(ArrayList.class);
 		public final AbstractJClass OBJECT = refClass(Object.class);
 		public final AbstractJClass ARRAYS = refClass(Arrays.class);
 		public final AbstractJClass HASH_SET = refClass(HashSet.class);
@@ -114,10 +117,14 @@ public class ProcessHolder {
 		public final AbstractJClass HANDLER = refClass(CanonicalNameConstants.HANDLER);
 		public final AbstractJClass KEY_STORE = refClass(CanonicalNameConstants.KEY_STORE);
 		public final AbstractJClass VIEW_SERVER = refClass(CanonicalNameConstants.VIEW_SERVER);
+		public final AbstractJClass LAZY = refClass(CanonicalNameConstants.LAZY);
 		public final AbstractJClass PARCELABLE = refClass(CanonicalNameConstants.PARCELABLE);
+		public final AbstractJClass PARCELABLE_CREATOR = refClass(CanonicalNameConstants.PARCELABLE_CREATOR);
+		public final AbstractJClass PARCEL = refClass(CanonicalNameConstants.PARCEL);
 		public final AbstractJClass LOOPER = refClass(CanonicalNameConstants.LOOPER);
 		public final AbstractJClass POWER_MANAGER = refClass(CanonicalNameConstants.POWER_MANAGER);
 		public final AbstractJClass WAKE_LOCK = refClass(CanonicalNameConstants.WAKE_LOCK);
+		public final AbstractJClass TRACE = refClass(CanonicalNameConstants.TRACE);
 		public final AbstractJClass BUILD_VERSION = refClass(CanonicalNameConstants.BUILD_VERSION);
 		public final AbstractJClass BUILD_VERSION_CODES = refClass(CanonicalNameConstants.BUILD_VERSION_CODES);
 		public final AbstractJClass ACTIVITY_COMPAT = refClass(CanonicalNameConstants.ACTIVITY_COMPAT);
@@ -140,6 +147,7 @@ public class ProcessHolder {
 		public final AbstractJClass CLIENT_CONNECTION_MANAGER = refClass(CanonicalNameConstants.CLIENT_CONNECTION_MANAGER);
 		public final AbstractJClass DEFAULT_HTTP_CLIENT = refClass(CanonicalNameConstants.DEFAULT_HTTP_CLIENT);
 		public final AbstractJClass SSL_SOCKET_FACTORY = refClass(CanonicalNameConstants.SSL_SOCKET_FACTORY);
+		public final AbstractJClass SSL_SOCKET_FACTORY_CACHE = refClass(CanonicalNameConstants.SSL_SOCKET_FACTORY_CACHE);
 		public final AbstractJClass PLAIN_SOCKET_FACTORY = refClass(CanonicalNameConstants.PLAIN_SOCKET_FACTORY);
 		public final AbstractJClass SCHEME = refClass(CanonicalNameConstants.SCHEME);
 		public final AbstractJClass SCHEME_REGISTRY = refClass(CanonicalNameConstants.SCHEME_REGISTRY);
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.action;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ActionDispatchTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(ActionDispatchTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void serviceActionsAreDispatchedWithSwitch() {
+		assertCompilationSuccessful(compileFiles(IntentServiceWithActions.class));
+
+		// CHECKSTYLE:OFF
+		String[] dispatch = { //
+				"        String action = intent.getAction();", //
+				"        if (action == null) {", //
+				"            return;", //
+				"        }", //
+				"        switch (action) {", //
+				"            case ACTION_REFRESH:", //
+				"            {", //
+				"                super.refresh();", //
+				"                break;", //
+				"            }", //
+				"            case ACTION_SYNC:", //
+				"            {", //
+				"                Bundle extras = intent.getExtras();", //
+				"                if (extras!= null) {", //
+				"                    String accountExtra = extras.getString(ACCOUNT_EXTRA);", //
+				"                    int attemptsExtra = extras.getInt(ATTEMPTS_EXTRA);", //
+				"                    super.sync(accountExtra, attemptsExtra);", //
+				"                }", //
+				"                break;", //
+				"            }", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(IntentServiceWithActions.class), dispatch);
+	}
+
+	@Test
+	public void receiverActionsAreDispatchedWithSwitch() {
+		assertCompilationSuccessful(compileFiles(ReceiverWithActions.class));
+
+		// CHECKSTYLE:OFF
+		String[] dispatch = { //
+				"        String action = intent.getAction();", //
+				"        String dataScheme = intent.getScheme();", //
+				"", //
+				"        if (action == null) {", //
+				"            return;", //
+				"        }", //
+				"        switch (action) {", //
+				"            case \"screenOn\":", //
+				"            {", //
+				"                ReceiverWithActions_.this.onScreenChanged(context);", //
+				"                break;", //
+				"            }", //
+				"            case \"screenOff\":", //
+				"            {", //
+				"                ReceiverWithActions_.this.onScreenChanged(context);", //
+				"                break;", //
+				"            }", //
+				"            case \"view\":", //
+				"            {", //
+				"                if (DATA_SCHEMES_ON_VIEW_HTTP.equals(dataScheme)) {", //
+		};
+		String[] fallback = { //
+				"                    return;", //
+				"                }", //
+				"                ReceiverWithActions_.this.onView();", //
+				"                break;", //
+				"            }", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ReceiverWithActions.class), dispatch);
+		assertGeneratedClassContains(toGeneratedFile(ReceiverWithActions.class), fallback);
+	}
+}
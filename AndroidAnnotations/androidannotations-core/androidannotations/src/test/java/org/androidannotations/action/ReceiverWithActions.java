@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.action;
+
+import org.androidannotations.annotations.EReceiver;
+import org.androidannotations.annotations.ReceiverAction;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+@EReceiver
+public class ReceiverWithActions extends BroadcastReceiver {
+
+	@Override
+	public void onReceive(Context context, Intent intent) {
+	}
+
+	@ReceiverAction(actions = { "screenOn", "screenOff" })
+	void onScreenChanged(Context context) {
+	}
+
+	@ReceiverAction(actions = "view", dataSchemes = "http")
+	void onViewHttp(@ReceiverAction.Extra String url) {
+	}
+
+	@ReceiverAction(actions = "view")
+	void onView() {
+	}
+
+	@ReceiverAction(actions = "screenOn")
+	void onScreenOnAgain() {
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,6 +16,8 @@
  */
 package org.androidannotations.ebean;
 
+import java.io.File;
+
 import org.androidannotations.internal.AndroidAnnotationProcessor;
 import org.androidannotations.testutils.AAProcessorTestHelper;
 import org.junit.Before;
@@ -22,6 +25,21 @@ import org.junit.Test;
 
 public class EBeanTest extends AAProcessorTestHelper {
 
+	private static final String[] SINGLETON_LOCKED_CREATION = new String[] {
+		"            synchronized (SingletonLock.LOCK)",
+		"            {",
+		"                if (instance_ == null) {",
+		"                    if (pendingInstance_!= null) {",
+		"                        return pendingInstance_;",
+		"                    }",
+	};
+
+	private static final String[] WARM_UP_REGISTRY = new String[] {
+		"    public static void warmUp(Context context) {",
+		"        WarmUpSingletonBean_.getInstance_(context);",
+		"    }",
+	};
+
 	@Before
 	public void setUp() {
 		addManifestProcessorParameter(EBeanTest.class);
@@ -38,6 +56,28 @@ public class EBeanTest extends AAProcessorTestHelper {
 				SomeGenericBeanExt.class));
 	}
 
+	@Test
+	public void singletonIsCreatedUnderLock() {
+		CompileResult result = compileFiles(SingletonBean.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(toGeneratedFile(SingletonBean.class), SINGLETON_LOCKED_CREATION);
+	}
+
+	@Test
+	public void warmUpSingletonIsAddedToRegistry() {
+		CompileResult result = compileFiles(WarmUpSingletonBean.class);
+		File registryFile = toGeneratedFile(org.androidannotations.testprocessor.R.class, "EBeanSingletons");
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(registryFile, WARM_UP_REGISTRY);
+	}
+
+	@Test
+	public void warmUpOnDefaultScopeDoesNotCompile() {
+		assertCompilationError(compileFiles(WarmUpDefaultScopeBean.class));
+	}
+
 	@Test
 	public void eBeanOnInterfaceDoesNotCompile() {
 		assertCompilationError(compileFiles(InterfaceWithEBean.class));
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -16,6 +17,7 @@
 package org.androidannotations.generation;
 
 import java.io.File;
+import java.io.IOException;
 
 import org.androidannotations.internal.AndroidAnnotationProcessor;
 import org.androidannotations.testutils.AAProcessorTestHelper;
@@ -35,6 +37,27 @@ public class ContextCompatDrawableTest extends AAProcessorTestHelper {
 		"        }",
 	};
 
+	private static final String[] LAZY_DRAWABLE = new String[] {
+		"        this.myDrawable = new Lazy<Drawable>() {",
+		"",
+		"            @Override",
+		"            protected Drawable create() {",
+		"                Drawable resource = ActivityWithLazyDrawable_.this.getResources().getDrawable(R.drawable.myDrawable);",
+		"                return resource;",
+		"            }",
+		"        }",
+		"        ;",
+	};
+	private static final String[] LAZY_DRAWABLE_CONDITIONAL_WITHOUT_CONTEXT_COMPAT = new String[] {
+		"                Drawable resource;",
+		"                if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {",
+		"                    resource = ActivityWithLazyDrawable_.this.getDrawable(R.drawable.myDrawable);",
+		"                } else {",
+		"                    resource = ActivityWithLazyDrawable_.this.getResources().getDrawable(R.drawable.myDrawable);",
+		"                }",
+		"                return resource;",
+	};
+
 	@Before
 	public void setUp() {
 		addProcessor(AndroidAnnotationProcessor.class);
@@ -86,4 +109,36 @@ public class ContextCompatDrawableTest extends AAProcessorTestHelper {
 		assertGeneratedClassContains(generatedFile, DRAWABLE_CONDITIONAL_WITHOUT_CONTEXT_COMPAT);
 	}
 
+	@Test
+	public void lazyDrawableIsLoadedOnFirstUse() {
+		addManifestProcessorParameter(ContextCompatDrawableTest.class, "AndroidManifestForDrawable.xml");
+
+		CompileResult result = compileFiles(ActivityWithLazyDrawable.class);
+		File generatedFile = toGeneratedFile(ActivityWithLazyDrawable.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(generatedFile, LAZY_DRAWABLE);
+	}
+
+	@Test
+	public void lazyDrawableOnMinSdkLower21CompileSdkHigher21WithoutContextCompat() {
+		addManifestProcessorParameter(ContextCompatDrawableTest.class, "AndroidManifestForDrawableMinSdk20.xml");
+
+		CompileResult result = compileFiles(toPath(ContextCompatDrawableTest.class, "Context.java"), toPath(ContextCompatDrawableTest.class, "Build.java"), ActivityWithLazyDrawable.class);
+		File generatedFile = toGeneratedFile(ActivityWithLazyDrawable.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(generatedFile, LAZY_DRAWABLE_CONDITIONAL_WITHOUT_CONTEXT_COMPAT);
+	}
+
+	@Test
+	public void lazyDrawableOfWrongTypeDoesNotCompile() throws IOException {
+		addManifestProcessorParameter(ContextCompatDrawableTest.class, "AndroidManifestForDrawable.xml");
+
+		CompileResult result = compileFiles(ActivityWithInvalidLazyDrawable.class);
+
+		assertCompilationErrorOn(ActivityWithInvalidLazyDrawable.class, "@DrawableRes", result);
+		assertCompilationErrorCount(1, result);
+	}
+
 }
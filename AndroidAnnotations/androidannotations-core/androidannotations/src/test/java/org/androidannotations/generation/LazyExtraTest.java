@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.generation;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyExtraTest extends AAProcessorTestHelper {
+
+	private static final String[] LAZY_EXTRA_ACCESSOR = new String[] {
+		"        if (!lazyListLoaded_) {",
+		"            if ((lazyExtras_!= null)&&lazyExtras_.containsKey(LAZY_LIST_EXTRA)) {",
+		"                lazyList_ = lazyExtras_.getStringArrayList(LAZY_LIST_EXTRA);",
+		"            } else {",
+		"                lazyList_ = super.lazyList();",
+		"            }",
+		"            lazyListLoaded_ = true;",
+		"        }",
+		"        return lazyList_;",
+	};
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(ActivityWithLazyExtra.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+		ensureOutputDirectoryIsEmpty();
+	}
+
+	@Test
+	public void lazyExtraIsReadOnFirstAccess() {
+		CompileResult result = compileFiles(ActivityWithLazyExtra.class);
+		File generatedFile = toGeneratedFile(ActivityWithLazyExtra.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(generatedFile, LAZY_EXTRA_ACCESSOR);
+	}
+
+	@Test
+	public void lazyExtraOnFieldOrSetterDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ActivityWithInvalidLazyExtra.class);
+
+		assertCompilationErrorOn(ActivityWithInvalidLazyExtra.class, "@Extra(lazy = true)", result);
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.httpsclient;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpsClientTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(HttpsClientTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void keyStoresAreLoadedFromCache() {
+		assertCompilationSuccessful(compileFiles(ActivityWithHttpsClient.class));
+
+		// CHECKSTYLE:OFF
+		String[] preload = { //
+				"    private void init_(Bundle savedInstanceState) {", //
+				"        SslSocketFactoryCache.preload(this.getResources(), SslSocketFactoryCache.NO_STORE, \"changeit\", R.raw.cacerts, \"changeit\", true);", //
+				"        this.httpsClient = new DefaultHttpClient() {", //
+		};
+		String[] connectionManager = { //
+				"                try {", //
+				"                    SSLSocketFactory newSslSocketFactory = SslSocketFactoryCache.getSocketFactory(getResources(), SslSocketFactoryCache.NO_STORE, \"changeit\", R.raw.cacerts, \"changeit\", true);", //
+				"                    SchemeRegistry registry = new SchemeRegistry();", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithHttpsClient.class), preload);
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithHttpsClient.class), connectionManager);
+	}
+}
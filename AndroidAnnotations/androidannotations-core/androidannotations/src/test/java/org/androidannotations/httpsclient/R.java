@@ -0,0 +1,7 @@
+package org.androidannotations.httpsclient;
+
+public class R {
+	public static final class raw {
+		public static final int cacerts = 0x7f050000;
+	}
+}
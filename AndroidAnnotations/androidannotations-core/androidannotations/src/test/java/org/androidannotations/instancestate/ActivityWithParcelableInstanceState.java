@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.instancestate;
+
+import java.util.Date;
+
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.InstanceState;
+import org.androidannotations.annotations.ParcelableInstanceState;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+
+@ParcelableInstanceState
+@EActivity
+public class ActivityWithParcelableInstanceState extends Activity {
+
+	@InstanceState
+	int count;
+
+	@InstanceState
+	boolean checked;
+
+	@InstanceState
+	char initial;
+
+	@InstanceState
+	String query;
+
+	@InstanceState
+	long[] ids;
+
+	@InstanceState
+	Bundle extras;
+
+	@InstanceState
+	Intent pendingIntent;
+
+	@InstanceState
+	Date lastUpdate;
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.instancestate;
+
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParcelableInstanceStateTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(ParcelableInstanceStateTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void activityFieldsAreWrittenToParcel() {
+		assertCompilationSuccessful(compileFiles(ActivityWithParcelableInstanceState.class));
+
+		// CHECKSTYLE:OFF
+		String[] write = { //
+				"        public void writeToParcel(Parcel dest_, int flags_) {", //
+				"            dest_.writeInt(count);", //
+				"            dest_.writeInt((checked? 1 : 0));", //
+				"            dest_.writeInt(initial);", //
+				"            dest_.writeString(query);", //
+				"            dest_.writeLongArray(ids);", //
+				"            dest_.writeBundle(extras);", //
+				"            dest_.writeParcelable(pendingIntent, flags_);", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithParcelableInstanceState.class), write);
+	}
+
+	@Test
+	public void activityFieldsAreReadFromParcel() {
+		assertCompilationSuccessful(compileFiles(ActivityWithParcelableInstanceState.class));
+
+		// CHECKSTYLE:OFF
+		String[] read = { //
+				"            count = parcel_.readInt();", //
+				"            checked = (parcel_.readInt()!= 0);", //
+				"            initial = ((char) parcel_.readInt());", //
+				"            query = parcel_.readString();", //
+				"            ids = parcel_.createLongArray();", //
+				"            extras = parcel_.readBundle(ActivityWithParcelableInstanceState_.InstanceState_.class.getClassLoader());", //
+				"            pendingIntent = ((Intent) parcel_.readParcelable(ActivityWithParcelableInstanceState_.InstanceState_.class.getClassLoader()));", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithParcelableInstanceState.class), read);
+	}
+
+	@Test
+	public void activityStateIsSavedUnderOneKey() {
+		assertCompilationSuccessful(compileFiles(ActivityWithParcelableInstanceState.class));
+
+		// CHECKSTYLE:OFF
+		String[] save = { //
+				"        ActivityWithParcelableInstanceState_.InstanceState_ instanceState_ = new ActivityWithParcelableInstanceState_.InstanceState_();", //
+				"        instanceState_.count = count;", //
+		};
+		String[] put = { //
+				"        bundle_.putParcelable(\"instanceState_\", instanceState_);", //
+				"        bundle_.putSerializable(\"lastUpdate\", lastUpdate);", //
+		};
+		String[] restore = { //
+				"        ActivityWithParcelableInstanceState_.InstanceState_ instanceState_ = savedInstanceState.getParcelable(\"instanceState_\");", //
+				"        if (instanceState_!= null) {", //
+				"            count = instanceState_.count;", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithParcelableInstanceState.class), save);
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithParcelableInstanceState.class), put);
+		assertGeneratedClassContains(toGeneratedFile(ActivityWithParcelableInstanceState.class), restore);
+		assertGeneratedClassDoesNotContain(toGeneratedFile(ActivityWithParcelableInstanceState.class), new String[] { "        bundle_.putInt(\"count\", count);" });
+	}
+
+	@Test
+	public void fragmentFieldsAreWrittenToParcel() {
+		assertCompilationSuccessful(compileFiles(FragmentWithParcelableInstanceState.class));
+		assertGeneratedClassContains(toGeneratedFile(FragmentWithParcelableInstanceState.class), new String[] { "            dest_.writeInt(position);" });
+	}
+
+	@Test
+	public void parcelableInstanceStateOnBeanFails() throws IOException {
+		CompileResult result = compileFiles(BeanWithParcelableInstanceState.class);
+		assertCompilationErrorOn(BeanWithParcelableInstanceState.class, "@ParcelableInstanceState", result);
+		assertCompilationErrorCount(1, result);
+	}
+}
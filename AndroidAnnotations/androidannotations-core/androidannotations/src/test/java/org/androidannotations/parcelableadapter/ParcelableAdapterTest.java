@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.parcelableadapter;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParcelableAdapterTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(ParcelableAdapterTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void adapterWritesFieldsWithTypedCalls() {
+		assertCompilationSuccessful(compileFiles(User.class, Address.class));
+
+		// CHECKSTYLE:OFF
+		String[] write = { //
+				"        dest_.writeInt(1);", //
+				"        dest_.writeString(value_.name);", //
+				"        dest_.writeInt(value_.age);", //
+				"        dest_.writeInt((value_.admin? 1 : 0));", //
+				"        new Address_(value_.address).writeToParcel(dest_, flags_);", //
+				"        dest_.writeTypedList(Address_.wrapList(value_.previousAddresses));", //
+				"    }" //
+		};
+		String[] read = { //
+				"        if (parcel_.readInt()!= 0) {", //
+				"            value_ = new User();", //
+				"            value_.name = parcel_.readString();", //
+				"            value_.age = parcel_.readInt();", //
+				"            value_.admin = (parcel_.readInt()!= 0);", //
+				"            value_.address = Address_.CREATOR.createFromParcel(parcel_).getValue();", //
+				"            value_.previousAddresses = Address_.unwrapList(parcel_.createTypedArrayList(Address_.CREATOR));", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(User.class), write);
+		assertGeneratedClassContains(toGeneratedFile(User.class), read);
+		assertGeneratedClassDoesNotContain(toGeneratedFile(User.class), new String[] { "cachedHash" });
+		assertGeneratedClassDoesNotContain(toGeneratedFile(User.class), new String[] { "MAX_AGE" });
+	}
+
+	@Test
+	public void bundleValuesUseAdapter() {
+		assertCompilationSuccessful(compileFiles(User.class, Address.class, ActivityWithParcelableAdapterExtras.class));
+
+		// CHECKSTYLE:OFF
+		String[] injectExtras = { //
+				"                this.user = User_.unwrap(extras_.getParcelable(USER_EXTRA));", //
+				"            }", //
+				"            if (extras_.containsKey(USERS_EXTRA)) {", //
+				"                this.users = User_.unwrapList(extras_.getParcelableArrayList(USERS_EXTRA));", //
+		};
+		// CHECKSTYLE:ON
+
+		File generatedFile = toGeneratedFile(ActivityWithParcelableAdapterExtras.class);
+		assertGeneratedClassContains(generatedFile, injectExtras);
+		assertGeneratedClassContains(generatedFile, new String[] { "            return super.extra(USER_EXTRA, new User_(user));" });
+		assertGeneratedClassContains(generatedFile, new String[] { "            return super.parcelableArrayListExtra(USERS_EXTRA, User_.wrapList(users));" });
+		assertGeneratedClassContains(generatedFile, new String[] { "        bundle_.putParcelableArrayList(\"history\", Address_.wrapList(history));" });
+		assertGeneratedClassContains(generatedFile, new String[] { "        history = Address_.unwrapList(savedInstanceState.getParcelableArrayList(\"history\"));" });
+	}
+
+	@Test
+	public void privateFieldFails() throws IOException {
+		CompileResult result = compileFiles(UserWithPrivateField.class);
+		assertCompilationErrorOn(UserWithPrivateField.class, "private String name;", result);
+		assertCompilationErrorCount(1, result);
+	}
+
+	@Test
+	public void unsupportedFieldFails() throws IOException {
+		CompileResult result = compileFiles(UserWithUnsupportedField.class);
+		assertCompilationErrorOn(UserWithUnsupportedField.class, "Date birthday;", result);
+		assertCompilationErrorCount(1, result);
+	}
+
+	@Test
+	public void genericClassFails() throws IOException {
+		CompileResult result = compileFiles(GenericUser.class);
+		assertCompilationErrorOn(GenericUser.class, "@ParcelableAdapter", result);
+		assertCompilationErrorCount(1, result);
+	}
+
+	@Test
+	public void classWithoutEmptyConstructorFails() throws IOException {
+		CompileResult result = compileFiles(UserWithoutEmptyConstructor.class);
+		assertCompilationErrorOn(UserWithoutEmptyConstructor.class, "@ParcelableAdapter", result);
+		assertCompilationErrorCount(1, result);
+	}
+}
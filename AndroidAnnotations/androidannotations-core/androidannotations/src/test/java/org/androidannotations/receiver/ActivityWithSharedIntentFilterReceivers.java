@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.receiver;
+
+import org.androidannotations.annotations.EActivity;
+import org.androidannotations.annotations.Receiver;
+
+import android.app.Activity;
+import android.content.Intent;
+
+@EActivity
+public class ActivityWithSharedIntentFilterReceivers extends Activity {
+
+	@Receiver(actions = "org.androidannotations.ACTION_1")
+	protected void onAction1() {
+
+	}
+
+	@Receiver(actions = "org.androidannotations.ACTION_1")
+	protected void onAction1WithExtra(@Receiver.Extra String value, Intent intent) {
+
+	}
+
+	@Receiver(actions = "org.androidannotations.ACTION_1")
+	protected void onAction1WithOtherExtra(@Receiver.Extra String value) {
+
+	}
+
+	@Receiver(actions = "org.androidannotations.ACTION_1", registerAt = Receiver.RegisterAt.OnStartOnStop)
+	protected void onAction1OnStart() {
+
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,6 +16,7 @@
  */
 package org.androidannotations.receiver;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.androidannotations.internal.AndroidAnnotationProcessor;
@@ -24,6 +26,11 @@ import org.junit.Test;
 
 public class ReceiverRegistrationTest extends AAProcessorTestHelper {
 
+	private static final String[] SHARED_RECEIVER_REGISTRATION = new String[] {
+		"        this.registerReceiver(receiver1_, intentFilter1_);",
+		"    }",
+	};
+
 	@Before
 	public void setUp() {
 		addManifestProcessorParameter(ActivityWithValidReceiver.class);
@@ -36,6 +43,16 @@ public class ReceiverRegistrationTest extends AAProcessorTestHelper {
 		assertCompilationSuccessful(result);
 	}
 
+	@Test
+	public void activityWithSameIntentFilterRegistersOneReceiver() throws IOException {
+		CompileResult result = compileFiles(ActivityWithSharedIntentFilterReceivers.class);
+		File generatedFile = toGeneratedFile(ActivityWithSharedIntentFilterReceivers.class);
+
+		assertCompilationSuccessful(result);
+		assertGeneratedClassContains(generatedFile, SHARED_RECEIVER_REGISTRATION);
+		assertGeneratedClassDoesNotContain(generatedFile, new String[] { "receiver3_" });
+	}
+
 	@Test
 	public void activityWithInvalidRegisterAtDoesNotCompile() throws IOException {
 		CompileResult result = compileFiles(ActivityWithInvalidRegisterAt.class);
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.sharedprefs;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedPrefObservationTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(ActivityInManifest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+		ensureOutputDirectoryIsEmpty();
+	}
+
+	@Test
+	public void testSnapshotGeneration() throws IOException {
+		CompileResult result = compileFiles(ObservedPrefs.class);
+		File generatedFile = toGeneratedFile(ObservedPrefs.class);
+
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] snapshotConstructor = { //
+				"        ObservedPrefsSnapshot_(ObservedPrefs_ prefs) {", //
+				"            super(prefs);", //
+				"            this.age = prefs.age().get();", //
+				"            this.name = prefs.name().get();", //
+				"            this.tags = unmodifiable(prefs.tags().get());", //
+				"        }" //
+		};
+		String[] snapshotMethod = { //
+				"    public ObservedPrefs_.ObservedPrefsSnapshot_ snapshot() {", //
+				"        ObservedPrefs_.ObservedPrefsSnapshot_ snapshot = snapshot_;", //
+				"        if (!isCurrent(snapshot)) {", //
+				"            snapshot = new ObservedPrefs_.ObservedPrefsSnapshot_(this);", //
+				"            snapshot_ = snapshot;", //
+				"        }", //
+				"        return snapshot;", //
+				"    }" //
+		};
+		String[] editMethod = { //
+				"    public ObservedPrefs_.ObservedPrefsEditor_ edit() {", //
+				"        return trackWrites(new ObservedPrefs_.ObservedPrefsEditor_(getSharedPreferences()));", //
+				"    }" //
+		};
+		// CHECKSTYLE:ON
+		assertGeneratedClassContains(generatedFile, snapshotConstructor);
+		assertGeneratedClassContains(generatedFile, snapshotMethod);
+		assertGeneratedClassContains(generatedFile, editMethod);
+	}
+
+	@Test
+	public void testNoSnapshotUnlessObservable() throws IOException {
+		CompileResult result = compileFiles(UnobservedPrefs.class);
+		File generatedFile = toGeneratedFile(UnobservedPrefs.class);
+
+		assertCompilationSuccessful(result);
+
+		assertGeneratedClassDoesNotContain(generatedFile, new String[] { "    public UnobservedPrefs_.UnobservedPrefsSnapshot_ snapshot() {" });
+		assertGeneratedClassDoesNotContain(generatedFile, new String[] { "    public void addAgeChangeListener(OnPrefChangeListener<Integer> listener) {" });
+		assertGeneratedClassContains(generatedFile, new String[] { "        return new UnobservedPrefs_.UnobservedPrefsEditor_(getSharedPreferences());" });
+	}
+
+	@Test
+	public void testObservableNameClashes() throws IOException {
+		CompileResult result = compileFiles(ObservedPrefsWithError.class);
+
+		assertCompilationErrorCount(2, result);
+		assertCompilationErrorOn(ObservedPrefsWithError.class, "int snapshot();", result);
+		assertCompilationErrorOn(ObservedPrefsWithError.class, "int Age();", result);
+	}
+
+	@Test
+	public void testChangeListenerGeneration() throws IOException {
+		CompileResult result = compileFiles(ObservedPrefs.class);
+		File generatedFile = toGeneratedFile(ObservedPrefs.class);
+
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] addListener = { //
+				"    public void addAgeChangeListener(OnPrefChangeListener<Integer> listener) {", //
+				"        addOnChangeListener(age(), listener);", //
+				"    }" //
+		};
+		String[] removeListener = { //
+				"    public void removeTagsChangeListener(OnPrefChangeListener<Set<String>> listener) {", //
+				"        removeOnChangeListener(tags().key(), listener);", //
+				"    }" //
+		};
+		// CHECKSTYLE:ON
+		assertGeneratedClassContains(generatedFile, addListener);
+		assertGeneratedClassContains(generatedFile, removeListener);
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.trace;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TraceTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(TraceTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+		addProcessorParameter("trace", "true");
+	}
+
+	@Test
+	public void systracedMethodIsWrappedInTraceSection() {
+		assertCompilationSuccessful(compileFiles(SystracedBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] voidMethod = { //
+				"    void systracedMethod() {", //
+				"        if (VERSION.SDK_INT >= 18) {", //
+				"            Trace.beginSection(\"SystracedBean.systracedMethod\");", //
+				"        }", //
+				"        try {", //
+				"            SystracedBean_.super.systracedMethod();", //
+				"        } finally {", //
+				"            if (VERSION.SDK_INT >= 18) {", //
+				"                Trace.endSection();", //
+				"            }", //
+				"        }", //
+				"    }", };
+
+		String[] returningMethod = { //
+				"            Trace.beginSection(\"TAGGED.systracedMethodReturningValue\");", //
+				"        }", //
+				"        try {", //
+				"            return SystracedBean_.super.systracedMethodReturningValue(param);", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(SystracedBean.class), voidMethod);
+		assertGeneratedClassContains(toGeneratedFile(SystracedBean.class), returningMethod);
+	}
+
+	@Test
+	public void loggedMethodIsTimedWithNanoTime() {
+		assertCompilationSuccessful(compileFiles(SystracedBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] loggedMethod = { //
+				"            long traceStart_ = System.nanoTime();", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(SystracedBean.class), loggedMethod);
+	}
+
+	@Test
+	public void systraceOptionAppliesToEveryTracedMethod() {
+		addProcessorParameter("traceSystrace", "true");
+		assertCompilationSuccessful(compileFiles(SystracedBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] loggedMethod = { //
+				"            Trace.beginSection(\"SystracedBean.loggedMethod\");", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(SystracedBean.class), loggedMethod);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.wakelock;
+
+import java.io.IOException;
+
+import org.androidannotations.internal.AndroidAnnotationProcessor;
+import org.androidannotations.testutils.AAProcessorTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WakeLockTest extends AAProcessorTestHelper {
+
+	@Before
+	public void setUp() {
+		addManifestProcessorParameter(WakeLockTest.class);
+		addProcessor(AndroidAnnotationProcessor.class);
+	}
+
+	@Test
+	public void wakeLockIsCreatedOncePerTag() {
+		assertCompilationSuccessful(compileFiles(WakeLockBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] getter = { //
+				"    private synchronized WakeLock getWakeLock0_() {", //
+				"        if (wakeLock0_ == null) {", //
+				"            wakeLock0_ = powerManager_.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, \"Sync\");", //
+				"        }", //
+				"        return wakeLock0_;", //
+				"    }" //
+		};
+		String[] secondMethod = { //
+				"    void syncAgain() {", //
+				"        WakeLock wakeLock = getWakeLock0_();", //
+				"        wakeLock.acquire();", //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(WakeLockBean.class), getter);
+		assertGeneratedClassContains(toGeneratedFile(WakeLockBean.class), secondMethod);
+	}
+
+	@Test
+	public void wakeLockIsAcquiredWithTimeoutAndHeldOver() {
+		assertCompilationSuccessful(compileFiles(WakeLockBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] method = { //
+				"        WakeLock wakeLock = getWakeLock1_();", //
+				"        TimedWakeLock timedWakeLock = TimedWakeLock.acquire(wakeLock, 10000L);", //
+				"        try {", //
+				"            WakeLockBean_.super.burst();", //
+				"        } finally {", //
+				"            timedWakeLock.release(500L);", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(WakeLockBean.class), method);
+		assertGeneratedClassDoesNotContain(toGeneratedFile(WakeLockBean.class), new String[] { "setReferenceCounted" });
+	}
+
+	@Test
+	public void timedWakeLockIsSharedWithCountedOne() {
+		assertCompilationSuccessful(compileFiles(WakeLockBean.class));
+
+		// CHECKSTYLE:OFF
+		String[] method = { //
+				"    void syncWithTimeout() {", //
+				"        WakeLock wakeLock = getWakeLock0_();", //
+				"        TimedWakeLock timedWakeLock = TimedWakeLock.acquire(wakeLock, 2000L);", //
+				"        try {", //
+				"            WakeLockBean_.super.syncWithTimeout();", //
+				"        } finally {", //
+				"            timedWakeLock.release(0L);", //
+				"        }" //
+		};
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(WakeLockBean.class), method);
+		assertGeneratedClassDoesNotContain(toGeneratedFile(WakeLockBean.class), new String[] { "    private synchronized WakeLock getWakeLock2_() {" });
+	}
+
+	@Test
+	public void negativeDurationsAreRejected() throws IOException {
+		CompileResult result = compileFiles(WakeLockBeanWithNegativeDurations.class);
+
+		assertCompilationErrorOn(WakeLockBeanWithNegativeDurations.class, "@WakeLock(timeout = -1)", result);
+		assertCompilationErrorOn(WakeLockBeanWithNegativeDurations.class, "@WakeLock(holdOver = -1)", result);
+		assertCompilationErrorCount(2, result);
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -40,6 +41,21 @@ import java.lang.annotation.Target;
  * the same time. So if you are using multiple database helpers, be careful with
  * {@link OrmLiteDao} annotations.
  * </p>
+ * <p>
+ * By default the helper is acquired when the component is created and released
+ * when it is destroyed, and the DAO is looked up each time. With
+ * {@link #cached()} set to true, the DAO is taken from the application scoped
+ * {@link org.androidannotations.ormlite.api.OrmLiteDaoCache OrmLiteDaoCache}
+ * instead, which keeps a single helper open and reuses the DAO instances. All
+ * the cached DAOs must therefore use the same helper class.
+ * </p>
+ * <p>
+ * The annotation can also be used on an
+ * {@link org.androidannotations.ormlite.api.OrmLiteBatchWriter
+ * OrmLiteBatchWriter}, which wraps the DAO and applies buffered writes in a
+ * single transaction once {@link #batchSize()} writes are pending or the
+ * oldest one is older than {@link #flushInterval()}.
+ * </p>
  * <blockquote>
  * 
  * Example :
@@ -55,6 +71,12 @@ import java.lang.annotation.Target;
  * 	&#064;OrmLiteDao(helper = DatabaseHelper.class)
  * 	Dao&lt;Car, Long&gt; carDao;
  *
+ * 	&#064;OrmLiteDao(helper = DatabaseHelper.class, cached = true)
+ * 	Dao&lt;Car, Long&gt; cachedCarDao;
+ *
+ * 	&#064;OrmLiteDao(helper = DatabaseHelper.class, batchSize = 500)
+ * 	OrmLiteBatchWriter&lt;Car, Long&gt; carWriter;
+ *
  * 	&#064;OrmLiteDao(helper = DatabaseHelper.class)
  * 	void singleInjection2(UserDao userDao) {
  * 		// do stuff
@@ -78,4 +100,33 @@ public @interface OrmLiteDao {
 	 * @return the helper class
 	 */
 	Class<?> helper();
+
+	/**
+	 * Whether the DAO is taken from the application scoped
+	 * {@link org.androidannotations.ormlite.api.OrmLiteDaoCache
+	 * OrmLiteDaoCache} instead of a helper bound to the component lifecycle.
+	 * 
+	 * @return <b>true</b> to share the DAO, <b>false</b> otherwise
+	 */
+	boolean cached() default false;
+
+	/**
+	 * The number of pending writes which triggers a flush of an injected
+	 * {@link org.androidannotations.ormlite.api.OrmLiteBatchWriter
+	 * OrmLiteBatchWriter}. Ignored for other DAO types.
+	 * 
+	 * @return the batch size
+	 */
+	int batchSize() default 100;
+
+	/**
+	 * The age in milliseconds of the oldest pending write after which the next
+	 * write flushes an injected
+	 * {@link org.androidannotations.ormlite.api.OrmLiteBatchWriter
+	 * OrmLiteBatchWriter}. The default value 0 disables this threshold.
+	 * Ignored for other DAO types.
+	 * 
+	 * @return the flush interval in milliseconds
+	 */
+	long flushInterval() default 0;
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.ormlite.api;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.j256.ormlite.dao.Dao;
+
+/**
+ * Buffers writes to an OrmLite {@link Dao} and applies them in a single
+ * transaction, through {@link Dao#callBatchTasks(Callable)}.
+ * <p>
+ * The buffer is flushed when it holds {@code batchSize} writes, or when a
+ * write is added more than {@code flushInterval} milliseconds after the oldest
+ * buffered one. Writes left in the buffer are only applied by {@link #flush()}
+ * or {@link #close()}, so callers must flush once they are done.
+ * </p>
+ * <p>
+ * Instances are injected by
+ * {@link org.androidannotations.ormlite.annotations.OrmLiteDao OrmLiteDao} on
+ * fields of this type, and are safe to share between threads: flushes run one
+ * at a time, so the batches are committed in the order of their writes.
+ * </p>
+ * <p>
+ * When a flush fails, its writes are put back at the head of the buffer, and
+ * the next flush tries them again. Use {@link #discardPending()} to drop them.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the entity
+ * @param <I>
+ *            the type of the entity id
+ */
+public class OrmLiteBatchWriter<T, I> {
+
+	private final Dao<T, I> dao;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final Object flushLock = new Object();
+
+	private List<Write<T, I>> pending = new ArrayList<>();
+	private long oldestPendingNanos;
+
+	public OrmLiteBatchWriter(Dao<T, I> dao, int batchSize, long flushInterval) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+		}
+		this.dao = dao;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = flushInterval * 1000000L;
+	}
+
+	/**
+	 * @return the wrapped DAO
+	 */
+	public Dao<T, I> getDao() {
+		return dao;
+	}
+
+	/**
+	 * @return the number of writes waiting for the next flush
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Buffers the creation of the given entity.
+	 *
+	 * @param entity
+	 *            the entity to create
+	 * @throws SQLException
+	 *             if this write triggered a flush which failed
+	 */
+	public void create(final T entity) throws SQLException {
+		add(new Write<T, I>() {
+			@Override
+			public void apply(Dao<T, I> dao) throws SQLException {
+				dao.create(entity);
+			}
+		});
+	}
+
+	/**
+	 * Buffers the creation or update of the given entity.
+	 *
+	 * @param entity
+	 *            the entity to create or update
+	 * @throws SQLException
+	 *             if this write triggered a flush which failed
+	 */
+	public void createOrUpdate(final T entity) throws SQLException {
+		add(new Write<T, I>() {
+			@Override
+			public void apply(Dao<T, I> dao) throws SQLException {
+				dao.createOrUpdate(entity);
+			}
+		});
+	}
+
+	/**
+	 * Buffers the update of the given entity.
+	 *
+	 * @param entity
+	 *            the entity to update
+	 * @throws SQLException
+	 *             if this write triggered a flush which failed
+	 */
+	public void update(final T entity) throws SQLException {
+		add(new Write<T, I>() {
+			@Override
+			public void apply(Dao<T, I> dao) throws SQLException {
+				dao.update(entity);
+			}
+		});
+	}
+
+	/**
+	 * Buffers the deletion of the given entity.
+	 *
+	 * @param entity
+	 *            the entity to delete
+	 * @throws SQLException
+	 *             if this write triggered a flush which failed
+	 */
+	public void delete(final T entity) throws SQLException {
+		add(new Write<T, I>() {
+			@Override
+			public void apply(Dao<T, I> dao) throws SQLException {
+				dao.delete(entity);
+			}
+		});
+	}
+
+	/**
+	 * Drops the buffered writes, for example the ones of a flush which keeps
+	 * failing.
+	 *
+	 * @return the number of dropped writes
+	 */
+	public synchronized int discardPending() {
+		int count = pending.size();
+		pending = new ArrayList<>();
+		return count;
+	}
+
+	/**
+	 * Applies the buffered writes in a single transaction. If the transaction
+	 * fails, the writes are put back in the buffer, before the ones added in
+	 * the meantime.
+	 *
+	 * @throws SQLException
+	 *             if one of the writes failed
+	 */
+	public void flush() throws SQLException {
+		synchronized (flushLock) {
+			final List<Write<T, I>> writes;
+			final long oldestWriteNanos;
+			synchronized (this) {
+				if (pending.isEmpty()) {
+					return;
+				}
+				writes = pending;
+				oldestWriteNanos = oldestPendingNanos;
+				pending = new ArrayList<>();
+			}
+
+			boolean applied = false;
+			try {
+				dao.callBatchTasks(new Callable<Void>() {
+					@Override
+					public Void call() throws SQLException {
+						for (Write<T, I> write : writes) {
+							write.apply(dao);
+						}
+						return null;
+					}
+				});
+				applied = true;
+			} catch (SQLException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new SQLException("Could not apply " + writes.size() + " batched writes", e);
+			} finally {
+				if (!applied) {
+					synchronized (this) {
+						writes.addAll(pending);
+						pending = writes;
+						oldestPendingNanos = oldestWriteNanos;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Flushes the remaining writes.
+	 *
+	 * @throws SQLException
+	 *             if one of the writes failed
+	 */
+	public void close() throws SQLException {
+		flush();
+	}
+
+	private void add(Write<T, I> write) throws SQLException {
+		boolean full;
+		synchronized (this) {
+			long now = System.nanoTime();
+			if (pending.isEmpty()) {
+				oldestPendingNanos = now;
+			}
+			pending.add(write);
+			full = pending.size() >= batchSize || (flushIntervalNanos > 0 && now - oldestPendingNanos >= flushIntervalNanos);
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	private interface Write<T, I> {
+
+		void apply(Dao<T, I> dao) throws SQLException;
+	}
+}
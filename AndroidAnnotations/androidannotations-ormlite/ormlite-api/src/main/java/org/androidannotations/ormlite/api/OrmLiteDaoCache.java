@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.ormlite.api;
+
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.j256.ormlite.android.apptools.OpenHelperManager;
+import com.j256.ormlite.android.apptools.OrmLiteSqliteOpenHelper;
+import com.j256.ormlite.dao.Dao;
+
+/**
+ * Application scoped cache of OrmLite DAOs, used by
+ * {@link org.androidannotations.ormlite.annotations.OrmLiteDao
+ * OrmLiteDao(cached = true)} injections.
+ * <p>
+ * The database helper is acquired once from the {@link OpenHelperManager} with
+ * the application context and kept open until {@link #release()} is called, so
+ * components do not open and close the database each time they are created and
+ * destroyed. DAOs are created once per entity and then shared.
+ * </p>
+ * <p>
+ * As the {@link OpenHelperManager} only manages one helper class per process,
+ * all the cached DAOs must use the same helper class. Asking for another one
+ * throws an {@link IllegalStateException}.
+ * </p>
+ * <p>
+ * Creating a DAO for the first time reads the table configuration of the
+ * entity, which can be slow. {@link #prewarm(Context, Class, Class...)} can be
+ * called at startup, for example from the {@code @EApplication} class, to build
+ * them in the background.
+ * </p>
+ */
+public final class OrmLiteDaoCache {
+
+	private static final String TAG = "OrmLiteDaoCache";
+
+	private static final ConcurrentMap<Class<?>, Dao<?, ?>> DAOS = new ConcurrentHashMap<>();
+
+	private static OrmLiteSqliteOpenHelper helper;
+
+	private OrmLiteDaoCache() {
+
+	}
+
+	/**
+	 * Returns the shared helper of the given class, acquiring it with the
+	 * application context the first time.
+	 *
+	 * @param context
+	 *            any context of the application
+	 * @param helperClass
+	 *            the class of the database helper
+	 * @param <H>
+	 *            the type of the database helper
+	 * @return the shared helper
+	 * @throws IllegalStateException
+	 *             if the shared helper is of another class
+	 */
+	public static synchronized <H extends OrmLiteSqliteOpenHelper> H getHelper(Context context, Class<H> helperClass) {
+		if (helper == null) {
+			helper = OpenHelperManager.getHelper(context.getApplicationContext(), helperClass);
+		} else if (helper.getClass() != helperClass) {
+			throw new IllegalStateException("Cached DAOs use the helper " + helper.getClass().getName() + ", they cannot use " + helperClass.getName() + " as well");
+		}
+		return helperClass.cast(helper);
+	}
+
+	/**
+	 * Returns the shared DAO of the given entity, creating it with the shared
+	 * helper the first time.
+	 *
+	 * @param context
+	 *            any context of the application
+	 * @param helperClass
+	 *            the class of the database helper
+	 * @param entityClass
+	 *            the class of the entity
+	 * @param <D>
+	 *            the type of the DAO
+	 * @param <T>
+	 *            the type of the entity
+	 * @return the shared DAO
+	 * @throws SQLException
+	 *             if the DAO could not be created
+	 * @throws IllegalStateException
+	 *             if the shared helper is of another class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <D extends Dao<T, ?>, T> D getDao(Context context, Class<? extends OrmLiteSqliteOpenHelper> helperClass, Class<T> entityClass) throws SQLException {
+		Dao<?, ?> dao = DAOS.get(entityClass);
+		if (dao == null) {
+			Dao<T, ?> created = getHelper(context, helperClass).getDao(entityClass);
+			dao = DAOS.putIfAbsent(entityClass, created);
+			if (dao == null) {
+				dao = created;
+			}
+		}
+		return (D) dao;
+	}
+
+	/**
+	 * Creates the DAOs of the given entities on a background thread, so the
+	 * first injections find them ready. Failures are logged and the DAO is
+	 * created again on first use.
+	 *
+	 * @param context
+	 *            any context of the application
+	 * @param helperClass
+	 *            the class of the database helper
+	 * @param entityClasses
+	 *            the classes of the entities
+	 */
+	public static void prewarm(Context context, final Class<? extends OrmLiteSqliteOpenHelper> helperClass, final Class<?>... entityClasses) {
+		final Context applicationContext = context.getApplicationContext();
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (Class<?> entityClass : entityClasses) {
+					try {
+						getDao(applicationContext, helperClass, entityClass);
+					} catch (SQLException | RuntimeException e) {
+						Log.w(TAG, "Could not prewarm DAO of " + entityClass.getName(), e);
+					}
+				}
+			}
+		}, TAG);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Drops the cached DAOs and releases the shared helper.
+	 */
+	public static synchronized void release() {
+		DAOS.clear();
+		if (helper != null) {
+			OpenHelperManager.releaseHelper();
+			helper = null;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -18,6 +19,7 @@ package org.androidannotations.ormlite.test;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EActivity;
 import org.androidannotations.ormlite.annotations.OrmLiteDao;
+import org.androidannotations.ormlite.api.OrmLiteBatchWriter;
 
 import android.app.Activity;
 
@@ -39,6 +41,9 @@ public class MyActivity extends Activity {
 	@OrmLiteDao(helper = DatabaseHelper.class)
 	RuntimeExceptionDao<Car, Long> runtimeExceptionDao;
 
+	@OrmLiteDao(helper = DatabaseHelper.class, batchSize = 2)
+	OrmLiteBatchWriter<Car, Long> carWriter;
+
 	@Bean
 	MyBean ormLiteBean;
 
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,6 +18,8 @@ package org.androidannotations.ormlite.test;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.sql.SQLException;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +46,24 @@ public class OrmLiteActivityTest {
 		assertThat((Object) activity.carDao).isNotNull();
 	}
 
+	@Test
+	public void batchWriterIsInjected() {
+		assertThat((Object) activity.carWriter).isNotNull();
+	}
+
+	@Test
+	public void batchWriterFlushesAtBatchSize() throws SQLException {
+		long count = activity.carDao.countOf();
+
+		activity.carWriter.create(new Car());
+		assertThat(activity.carWriter.getPendingCount()).isEqualTo(1);
+		assertThat(activity.carDao.countOf()).isEqualTo(count);
+
+		activity.carWriter.create(new Car());
+		assertThat(activity.carWriter.getPendingCount()).isEqualTo(0);
+		assertThat(activity.carDao.countOf()).isEqualTo(count + 2);
+	}
+
 	@Test
 	public void beanIsInjected() {
 		assertThat((Object) activity.ormLiteBean).isNotNull();
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.ormlite.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.androidannotations.ormlite.api.OrmLiteBatchWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+
+public class OrmLiteBatchWriterTest {
+
+	private final List<String> committed = new ArrayList<String>();
+	private List<String> transaction;
+	private boolean failing;
+
+	private OrmLiteBatchWriter<String, Long> writer;
+
+	@Before
+	public void setUp() {
+		writer = new OrmLiteBatchWriter<String, Long>(createDao(), 10, 0);
+	}
+
+	@Test
+	public void writesAreAppliedInOrder() throws SQLException {
+		writer.create("a");
+		writer.update("a");
+		writer.delete("a");
+		writer.flush();
+
+		assertThat(committed).containsExactly("create a", "update a", "delete a");
+		assertThat(writer.getPendingCount()).isZero();
+	}
+
+	@Test
+	public void failedFlushKeepsWritesForRetry() throws SQLException {
+		writer.create("a");
+		failing = true;
+		try {
+			writer.flush();
+			fail("the flush should fail");
+		} catch (SQLException e) {
+			assertThat(committed).isEmpty();
+			assertThat(writer.getPendingCount()).isEqualTo(1);
+		}
+
+		writer.delete("a");
+		failing = false;
+		writer.flush();
+
+		assertThat(committed).containsExactly("create a", "delete a");
+		assertThat(writer.getPendingCount()).isZero();
+	}
+
+	@Test
+	public void discardPendingDropsFailedWrites() throws SQLException {
+		writer.create("a");
+		failing = true;
+		try {
+			writer.flush();
+			fail("the flush should fail");
+		} catch (SQLException e) {
+			assertThat(writer.discardPending()).isEqualTo(1);
+		}
+
+		failing = false;
+		writer.flush();
+
+		assertThat(committed).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Dao<String, Long> createDao() {
+		return (Dao<String, Long>) Proxy.newProxyInstance(Dao.class.getClassLoader(), new Class<?>[] { Dao.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getName().equals("callBatchTasks")) {
+					transaction = new ArrayList<String>();
+					((Callable<?>) args[0]).call();
+					if (failing) {
+						throw new SQLException("Rolled back");
+					}
+					committed.addAll(transaction);
+					return null;
+				}
+				transaction.add(method.getName() + " " + args[0]);
+				return 1;
+			}
+		});
+	}
+}
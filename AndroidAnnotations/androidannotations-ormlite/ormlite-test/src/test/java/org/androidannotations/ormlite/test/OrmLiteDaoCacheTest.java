@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.ormlite.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import static org.fest.reflect.core.Reflection.staticField;
+
+import org.androidannotations.ormlite.api.OrmLiteDaoCache;
+import org.fest.reflect.field.Invoker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.util.ActivityController;
+
+import android.content.Context;
+
+import com.j256.ormlite.android.apptools.OpenHelperManager;
+import com.j256.ormlite.android.apptools.OrmLiteSqliteOpenHelper;
+
+@RunWith(RobolectricTestRunner.class)
+public class OrmLiteDaoCacheTest {
+
+	private Invoker<Integer> instanceCountInvoker;
+
+	@Before
+	public void setUp() {
+		staticField("helper").ofType(OrmLiteSqliteOpenHelper.class).in(OpenHelperManager.class).set(null);
+		staticField("helperClass").ofType(Class.class).in(OpenHelperManager.class).set(null);
+		staticField("wasClosed").ofType(boolean.class).in(OpenHelperManager.class).set(false);
+
+		instanceCountInvoker = staticField("instanceCount").ofType(int.class).in(OpenHelperManager.class);
+		instanceCountInvoker.set(0);
+	}
+
+	@After
+	public void tearDown() {
+		OrmLiteDaoCache.release();
+	}
+
+	@Test
+	public void cachedDaosAreInjected() {
+		OrmLiteCachedDaoActivity activity = Robolectric.buildActivity(OrmLiteCachedDaoActivity_.class).create().get();
+
+		assertThat((Object) activity.userDao).isNotNull();
+		assertThat((Object) activity.carDao).isNotNull();
+		assertThat((Object) activity.runtimeExceptionDao).isNotNull();
+	}
+
+	@Test
+	public void cachedDaosAreShared() {
+		OrmLiteCachedDaoActivity first = Robolectric.buildActivity(OrmLiteCachedDaoActivity_.class).create().get();
+		OrmLiteCachedDaoActivity second = Robolectric.buildActivity(OrmLiteCachedDaoActivity_.class).create().get();
+
+		assertThat((Object) second.userDao).isSameAs(first.userDao);
+		assertThat((Object) second.carDao).isSameAs(first.carDao);
+		assertThat(instanceCountInvoker.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void helperOutlivesComponents() {
+		ActivityController<OrmLiteCachedDaoActivity_> controller = Robolectric.buildActivity(OrmLiteCachedDaoActivity_.class).create();
+		controller.destroy();
+
+		assertThat(instanceCountInvoker.get()).isEqualTo(1);
+
+		OrmLiteDaoCache.release();
+
+		assertThat(instanceCountInvoker.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void otherHelperClassIsRejected() {
+		OrmLiteCachedDaoActivity activity = Robolectric.buildActivity(OrmLiteCachedDaoActivity_.class).create().get();
+
+		try {
+			OrmLiteDaoCache.getHelper(activity, OtherDatabaseHelper.class);
+			fail("the cache should only use one helper class");
+		} catch (IllegalStateException e) {
+			assertThat(instanceCountInvoker.get()).isEqualTo(1);
+		}
+	}
+
+	public static class OtherDatabaseHelper extends DatabaseHelper {
+
+		public OtherDatabaseHelper(Context context) {
+			super(context);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,6 +18,7 @@ package org.androidannotations.ormlite.handler;
 
 import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.lit;
 import static org.androidannotations.helper.LogHelper.logTagForClassHolder;
 
 import javax.lang.model.element.Element;
@@ -72,6 +74,8 @@ public class OrmLiteDaoHandler extends BaseAnnotationHandler<EComponentHolder>im
 		ormLiteValidatorHelper.extendsOrmLiteDao(param, validation, ormLiteHelper);
 
 		ormLiteValidatorHelper.hasASqliteOpenHelperParametrizedType(element, validation);
+
+		ormLiteValidatorHelper.hasValidBatchThresholds(element, validation);
 	}
 
 	@Override
@@ -86,8 +90,6 @@ public class OrmLiteDaoHandler extends BaseAnnotationHandler<EComponentHolder>im
 
 	@Override
 	public void assignValue(JBlock targetBlock, IJAssignmentTarget fieldRef, EComponentHolder holder, Element element, Element param) {
-		OrmLiteHolder ormLiteHolder = holder.getPluginHolder(new OrmLiteHolder(holder));
-
 		AbstractJClass modelClass = getJClass(ormLiteHelper.getEntityType(param).toString());
 		AbstractJClass idClass = getJClass(ormLiteHelper.getEntityIdType(param).toString());
 		IJExpression modelClassDotClass = modelClass.dotclass();
@@ -96,11 +98,26 @@ public class OrmLiteDaoHandler extends BaseAnnotationHandler<EComponentHolder>im
 		AbstractJClass daoImplClass = codeModelHelper.typeMirrorToJClass(param.asType());
 
 		TypeMirror databaseHelperTypeMirror = annotationHelper.extractAnnotationParameter(element, "helper");
-		JFieldVar databaseHelperRef = ormLiteHolder.getDatabaseHelperRef(databaseHelperTypeMirror);
-
-		IJExpression injectExpr = databaseHelperRef.invoke("getDao").arg(modelClassDotClass);
+		boolean cached = annotationHelper.extractAnnotationParameter(element, "cached");
+
+		IJExpression injectExpr;
+		if (cached) {
+			AbstractJClass databaseHelperClass = codeModelHelper.typeMirrorToJClass(databaseHelperTypeMirror);
+			injectExpr = getJClass(OrmLiteClasses.DAO_CACHE).staticInvoke("getDao") //
+					.arg(holder.getContextRef()) //
+					.arg(databaseHelperClass.dotclass()) //
+					.arg(modelClassDotClass);
+		} else {
+			OrmLiteHolder ormLiteHolder = holder.getPluginHolder(new OrmLiteHolder(holder));
+			JFieldVar databaseHelperRef = ormLiteHolder.getDatabaseHelperRef(databaseHelperTypeMirror);
+			injectExpr = databaseHelperRef.invoke("getDao").arg(modelClassDotClass);
+		}
 		if (elementExtendsRuntimeExceptionDao(param)) {
 			injectExpr = _new(daoImplClass).arg(cast(daoClass, injectExpr));
+		} else if (ormLiteHelper.isBatchWriter(param.asType())) {
+			int batchSize = annotationHelper.extractAnnotationParameter(element, "batchSize");
+			long flushInterval = annotationHelper.extractAnnotationParameter(element, "flushInterval");
+			injectExpr = _new(daoImplClass).arg(cast(daoClass, injectExpr)).arg(lit(batchSize)).arg(lit(flushInterval));
 		}
 
 		JTryBlock tryBlock = targetBlock._try();
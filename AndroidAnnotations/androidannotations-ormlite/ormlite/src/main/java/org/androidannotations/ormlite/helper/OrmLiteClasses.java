@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -20,6 +21,8 @@ public final class OrmLiteClasses {
 	public static final String DAO = "com.j256.ormlite.dao.Dao";
 	public static final String OPEN_HELPER_MANAGER = "com.j256.ormlite.android.apptools.OpenHelperManager";
 	public static final String RUNTIME_EXCEPTION_DAO = "com.j256.ormlite.dao.RuntimeExceptionDao";
+	public static final String BATCH_WRITER = "org.androidannotations.ormlite.api.OrmLiteBatchWriter";
+	public static final String DAO_CACHE = "org.androidannotations.ormlite.api.OrmLiteDaoCache";
 
 	private OrmLiteClasses() {
 
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -32,9 +33,11 @@ public class OrmLiteHelper {
 
 	private DeclaredType daoParametrizedType;
 	private DeclaredType runtimeExceptionDaoParametrizedType;
+	private DeclaredType batchWriterParametrizedType;
 
 	private TypeElement daoTypeElement;
 	private TypeElement runtimeExceptionDaoTypeElement;
+	private TypeElement batchWriterTypeElement;
 
 	public OrmLiteHelper(TargetAnnotationHelper helper) {
 		this.helper = helper;
@@ -73,7 +76,12 @@ public class OrmLiteHelper {
 	}
 
 	private boolean isSubtypeOfDao(TypeMirror type) {
-		return helper.isSubtype(type, daoParametrizedType) || helper.isSubtype(type, runtimeExceptionDaoParametrizedType);
+		return helper.isSubtype(type, daoParametrizedType) || helper.isSubtype(type, runtimeExceptionDaoParametrizedType) || isBatchWriter(type);
+	}
+
+	public boolean isBatchWriter(TypeMirror type) {
+		DeclaredType batchWriterType = getBatchWriterParametrizedType();
+		return batchWriterType != null && helper.isSubtype(type, batchWriterType);
 	}
 
 	public DeclaredType getDaoParametrizedType() {
@@ -90,6 +98,13 @@ public class OrmLiteHelper {
 		return runtimeExceptionDaoParametrizedType;
 	}
 
+	public DeclaredType getBatchWriterParametrizedType() {
+		if (daoParametrizedType == null) {
+			createDaoParametrizedTypes();
+		}
+		return batchWriterParametrizedType;
+	}
+
 	public DeclaredType getTypedDao(Element element) {
 		if (daoTypeElement == null) {
 			createDaoParametrizedTypes();
@@ -104,6 +119,13 @@ public class OrmLiteHelper {
 		return helper.getTypeUtils().getDeclaredType(runtimeExceptionDaoTypeElement, getEntityType(element), getEntityIdType(element));
 	}
 
+	public DeclaredType getTypedBatchWriter(Element element) {
+		if (daoTypeElement == null) {
+			createDaoParametrizedTypes();
+		}
+		return helper.getTypeUtils().getDeclaredType(batchWriterTypeElement, getEntityType(element), getEntityIdType(element));
+	}
+
 	private void createDaoParametrizedTypes() {
 		daoTypeElement = helper.typeElementFromQualifiedName(OrmLiteClasses.DAO);
 		runtimeExceptionDaoTypeElement = helper.typeElementFromQualifiedName(OrmLiteClasses.RUNTIME_EXCEPTION_DAO);
@@ -112,5 +134,10 @@ public class OrmLiteHelper {
 		TypeMirror wildcardType = typeUtils.getWildcardType(null, null);
 		daoParametrizedType = helper.getTypeUtils().getDeclaredType(daoTypeElement, wildcardType, wildcardType);
 		runtimeExceptionDaoParametrizedType = helper.getTypeUtils().getDeclaredType(runtimeExceptionDaoTypeElement, wildcardType, wildcardType);
+
+		batchWriterTypeElement = helper.typeElementFromQualifiedName(OrmLiteClasses.BATCH_WRITER);
+		if (batchWriterTypeElement != null) {
+			batchWriterParametrizedType = helper.getTypeUtils().getDeclaredType(batchWriterTypeElement, wildcardType, wildcardType);
+		}
 	}
 }
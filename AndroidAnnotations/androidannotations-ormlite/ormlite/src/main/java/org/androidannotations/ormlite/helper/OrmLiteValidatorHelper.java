@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -60,6 +61,14 @@ public class OrmLiteValidatorHelper {
 		DeclaredType daoParametrizedType = ormLiteHelper.getDaoParametrizedType();
 		DeclaredType runtimeExceptionDaoParametrizedType = ormLiteHelper.getRuntimeExceptionDaoParametrizedType();
 
+		if (ormLiteHelper.isBatchWriter(elementTypeMirror)) {
+			DeclaredType typedBatchWriter = ormLiteHelper.getTypedBatchWriter(element);
+			if (!typeUtils.isSameType(typedBatchWriter, elementTypeMirror)) {
+				valid.addError("%s can only be used on a batch writer declared as " + typedBatchWriter.toString());
+			}
+			return;
+		}
+
 		// Checks that elementType extends Dao<?, ?> or
 		// RuntimeExceptionDao<?, ?>
 		if (!annotationHelper.isSubtype(elementTypeMirror, daoParametrizedType) && !annotationHelper.isSubtype(elementTypeMirror, runtimeExceptionDaoParametrizedType)) {
@@ -89,6 +98,18 @@ public class OrmLiteValidatorHelper {
 		}
 	}
 
+	public void hasValidBatchThresholds(Element element, ElementValidation valid) {
+		int batchSize = annotationHelper.extractAnnotationParameter(element, OrmLiteDao.class.getName(), "batchSize");
+		long flushInterval = annotationHelper.extractAnnotationParameter(element, OrmLiteDao.class.getName(), "flushInterval");
+
+		if (batchSize < 1) {
+			valid.addError("%s batchSize() parameter must be at least 1");
+		}
+		if (flushInterval < 0) {
+			valid.addError("%s flushInterval() parameter must not be negative");
+		}
+	}
+
 	public void hasASqliteOpenHelperParametrizedType(Element element, ElementValidation valid) {
 		TypeMirror helperType = annotationHelper.extractAnnotationParameter(element, OrmLiteDao.class.getName(), "helper");
 
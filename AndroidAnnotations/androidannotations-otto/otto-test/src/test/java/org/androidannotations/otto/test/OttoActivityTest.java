@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -22,6 +23,10 @@ import org.junit.runner.RunWith;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
+import com.squareup.otto.Bus;
+import com.squareup.otto.GeneratedHandlerFinder_;
+import com.squareup.otto.ThreadEnforcer;
+
 @RunWith(RobolectricTestRunner.class)
 public class OttoActivityTest {
 
@@ -32,4 +37,22 @@ public class OttoActivityTest {
 		assertThat(activity.lastEvent).isNotNull();
 	}
 
+	@Test
+	public void testGeneratedHandlerFinderDispatchesEvents() {
+		OttoActivity activity = Robolectric.setupActivity(OttoActivity_.class);
+		activity.lastEvent = null;
+
+		Bus bus = GeneratedHandlerFinder_.newBus(ThreadEnforcer.ANY, "test");
+		bus.register(activity);
+		assertThat(activity.lastEvent).isNotNull();
+
+		Event event = new Event();
+		bus.post(event);
+		assertThat(activity.lastEvent).isSameAs(event);
+
+		bus.unregister(activity);
+		bus.post(new Event());
+		assertThat(activity.lastEvent).isSameAs(event);
+	}
+
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -16,10 +17,13 @@
 package org.androidannotations.otto;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.Option;
 import org.androidannotations.handler.AnnotationHandler;
+import org.androidannotations.otto.handler.AbstractOttoHandler;
 import org.androidannotations.otto.handler.ProduceHandler;
 import org.androidannotations.otto.handler.SubscribeHandler;
 import org.androidannotations.plugin.AndroidAnnotationsPlugin;
@@ -38,6 +42,11 @@ public class OttoPlugin extends AndroidAnnotationsPlugin {
 		return false;
 	}
 
+	@Override
+	public List<Option> getSupportedOptions() {
+		return Collections.singletonList(AbstractOttoHandler.OPTION_OTTO_HANDLER_FINDER);
+	}
+
 	@Override
 	public List<AnnotationHandler<?>> getHandlers(AndroidAnnotationsEnvironment androidAnnotationEnv) {
 		List<AnnotationHandler<?>> annotationHandlers = new ArrayList<>();
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -21,14 +22,18 @@ import javax.lang.model.element.ExecutableElement;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
+import org.androidannotations.Option;
 import org.androidannotations.handler.BaseAnnotationHandler;
 import org.androidannotations.helper.ValidatorParameterHelper;
 import org.androidannotations.holder.EComponentHolder;
+import org.androidannotations.otto.holder.OttoHolder;
 
 import com.helger.jcodemodel.JMethod;
 
 public abstract class AbstractOttoHandler extends BaseAnnotationHandler<EComponentHolder> {
 
+	public static final Option OPTION_OTTO_HANDLER_FINDER = new Option("ottoHandlerFinder", "false");
+
 	public AbstractOttoHandler(String target, AndroidAnnotationsEnvironment environment) {
 		super(target, environment);
 	}
@@ -68,8 +73,15 @@ public abstract class AbstractOttoHandler extends BaseAnnotationHandler<ECompone
 		JMethod method = codeModelHelper.overrideAnnotatedMethod(executableElement, holder);
 
 		addOttoAnnotation(executableElement, method);
+
+		if (getEnvironment().getOptionBooleanValue(OPTION_OTTO_HANDLER_FINDER)) {
+			OttoHolder ottoHolder = holder.getPluginHolder(new OttoHolder(holder));
+			addToHandlerFinder(executableElement, ottoHolder);
+		}
 	}
 
+	protected abstract void addToHandlerFinder(ExecutableElement executableElement, OttoHolder ottoHolder) throws Exception;
+
 	private void addOttoAnnotation(ExecutableElement element, JMethod method) {
 		for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
 			if (annotationMirror.getAnnotationType().toString().equals(getTarget())) {
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -16,11 +17,13 @@
 package org.androidannotations.otto.handler;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.helper.ValidatorParameterHelper;
 import org.androidannotations.otto.helper.OttoClasses;
+import org.androidannotations.otto.holder.OttoHolder;
 
 public class SubscribeHandler extends AbstractOttoHandler {
 
@@ -37,4 +40,10 @@ public class SubscribeHandler extends AbstractOttoHandler {
 	protected void validateReturnType(ExecutableElement executableElement, ElementValidation validation) {
 		validatorHelper.returnTypeIsVoid(executableElement, validation);
 	}
+
+	@Override
+	protected void addToHandlerFinder(ExecutableElement executableElement, OttoHolder ottoHolder) throws Exception {
+		TypeMirror eventType = executableElement.getParameters().get(0).asType();
+		ottoHolder.addSubscriber(executableElement.getSimpleName().toString(), codeModelHelper.typeMirrorToJClass(eventType).erasure());
+	}
 }
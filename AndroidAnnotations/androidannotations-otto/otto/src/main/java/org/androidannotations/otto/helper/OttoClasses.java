@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -17,8 +18,14 @@ package org.androidannotations.otto.helper;
 
 public final class OttoClasses {
 
+	public static final String OTTO_PACKAGE = "com.squareup.otto";
 	public static final String SUBSCRIBE = "com.squareup.otto.Subscribe";
 	public static final String PRODUCE = "com.squareup.otto.Produce";
+	public static final String BUS = "com.squareup.otto.Bus";
+	public static final String THREAD_ENFORCER = "com.squareup.otto.ThreadEnforcer";
+	public static final String HANDLER_FINDER = "com.squareup.otto.HandlerFinder";
+	public static final String EVENT_HANDLER = "com.squareup.otto.EventHandler";
+	public static final String EVENT_PRODUCER = "com.squareup.otto.EventProducer";
 
 	private OttoClasses() {
 
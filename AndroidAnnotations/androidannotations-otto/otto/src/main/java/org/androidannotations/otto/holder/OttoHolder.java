@@ -0,0 +1,331 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.otto.holder;
+
+import static com.helger.jcodemodel.JExpr._new;
+import static com.helger.jcodemodel.JExpr._this;
+import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.lit;
+import static com.helger.jcodemodel.JMod.ABSTRACT;
+import static com.helger.jcodemodel.JMod.FINAL;
+import static com.helger.jcodemodel.JMod.NONE;
+import static com.helger.jcodemodel.JMod.PRIVATE;
+import static com.helger.jcodemodel.JMod.PROTECTED;
+import static com.helger.jcodemodel.JMod.PUBLIC;
+import static com.helger.jcodemodel.JMod.STATIC;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.androidannotations.holder.EComponentHolder;
+import org.androidannotations.internal.process.ProcessHolder;
+import org.androidannotations.otto.helper.OttoClasses;
+import org.androidannotations.plugin.PluginClassHolder;
+
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JCatchBlock;
+import com.helger.jcodemodel.JClassAlreadyExistsException;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JTryBlock;
+import com.helger.jcodemodel.JVar;
+
+public class OttoHolder extends PluginClassHolder<EComponentHolder> {
+
+	private static final String HANDLER_FINDER_NAME = OttoClasses.OTTO_PACKAGE + ".GeneratedHandlerFinder";
+	private static final String EVENT_HANDLER_NAME = "EventHandler";
+	private static final String EVENT_PRODUCER_NAME = "EventProducer";
+	private static final String FIND_ALL_SUBSCRIBERS_METHOD_NAME = "findAllSubscribers";
+	private static final String FIND_ALL_PRODUCERS_METHOD_NAME = "findAllProducers";
+	private static final String ADD_SUBSCRIBER_METHOD_NAME = "addSubscriber";
+	private static final String PLACEHOLDER_METHOD_NAME = "PLACEHOLDER_METHOD";
+
+	private JVar subscribersTarget;
+	private JVar subscribers;
+	private JBlock subscribersBlock;
+	private JVar producersTarget;
+	private JVar producers;
+	private JBlock producersBlock;
+
+	public OttoHolder(EComponentHolder holder) {
+		super(holder);
+	}
+
+	public void addSubscriber(String methodName, AbstractJClass eventType) throws JClassAlreadyExistsException {
+		JDefinedClass finderClass = getHandlerFinderClass();
+		JBlock block = getSubscribersBlock(finderClass);
+
+		JDefinedClass anonymousHandlerClass = getCodeModel().anonymousClass(getNestedClass(finderClass, EVENT_HANDLER_NAME));
+		JMethod handleMethod = anonymousHandlerClass.method(PROTECTED, getCodeModel().VOID, "handle");
+		handleMethod.annotate(Override.class);
+		handleMethod._throws(classes().THROWABLE);
+		JVar event = handleMethod.param(classes().OBJECT, "event");
+		handleMethod.body().invoke(subscribersTarget, methodName).arg(cast(eventType, event));
+
+		block.staticInvoke(finderClass, ADD_SUBSCRIBER_METHOD_NAME).arg(subscribers).arg(eventType.dotclass()) //
+				.arg(_new(anonymousHandlerClass).arg(subscribersTarget).arg(lit(methodName)));
+	}
+
+	public void addProducer(String methodName, AbstractJClass eventType) throws JClassAlreadyExistsException {
+		JDefinedClass finderClass = getHandlerFinderClass();
+		JBlock block = getProducersBlock(finderClass);
+
+		JDefinedClass anonymousProducerClass = getCodeModel().anonymousClass(getNestedClass(finderClass, EVENT_PRODUCER_NAME));
+		JMethod produceMethod = anonymousProducerClass.method(PROTECTED, classes().OBJECT, "produce");
+		produceMethod._throws(classes().THROWABLE);
+		produceMethod.annotate(Override.class);
+		produceMethod._throws(classes().THROWABLE);
+		produceMethod.body()._return(producersTarget.invoke(methodName));
+
+		block.invoke(producers, "put").arg(eventType.dotclass()) //
+				.arg(_new(anonymousProducerClass).arg(producersTarget).arg(lit(methodName)));
+	}
+
+	private JBlock getSubscribersBlock(JDefinedClass finderClass) {
+		if (subscribersBlock == null) {
+			JMethod findMethod = finderClass.getMethod(FIND_ALL_SUBSCRIBERS_METHOD_NAME, new AbstractJType[] { classes().OBJECT });
+			subscribersBlock = createListenerBlock(findMethod);
+			subscribersTarget = subscribersBlock.decl(FINAL, getGeneratedClass(), "target", cast(getGeneratedClass(), findMethod.params().get(0)));
+			AbstractJClass subscribersType = subscribersMapType();
+			subscribers = subscribersBlock.decl(subscribersType, "subscribers", _new(hashMapType(subscribersType)));
+			closeListenerBlock(subscribersBlock, subscribers);
+		}
+		return subscribersBlock;
+	}
+
+	private JBlock getProducersBlock(JDefinedClass finderClass) {
+		if (producersBlock == null) {
+			JMethod findMethod = finderClass.getMethod(FIND_ALL_PRODUCERS_METHOD_NAME, new AbstractJType[] { classes().OBJECT });
+			producersBlock = createListenerBlock(findMethod);
+			producersTarget = producersBlock.decl(FINAL, getGeneratedClass(), "target", cast(getGeneratedClass(), findMethod.params().get(0)));
+			AbstractJClass producersType = producersMapType();
+			producers = producersBlock.decl(producersType, "producers", _new(hashMapType(producersType)));
+			closeListenerBlock(producersBlock, producers);
+		}
+		return producersBlock;
+	}
+
+	private JBlock createListenerBlock(JMethod findMethod) {
+		JVar listener = findMethod.params().get(0);
+		// the find method body ends with the reflective fallback, so each
+		// listener branch is inserted before it
+		return findMethod.body()._if(listener.invoke("getClass").eq(getGeneratedClass().dotclass()))._then();
+	}
+
+	private void closeListenerBlock(JBlock listenerBlock, JVar handlers) {
+		listenerBlock._return(handlers);
+		listenerBlock.pos(listenerBlock.size() - 1);
+	}
+
+	private JDefinedClass getHandlerFinderClass() throws JClassAlreadyExistsException {
+		JDefinedClass finderClass = environment().getDefinedClass(HANDLER_FINDER_NAME + generationSuffix());
+		if (finderClass.getMethod(FIND_ALL_SUBSCRIBERS_METHOD_NAME, new AbstractJType[] { classes().OBJECT }) == null) {
+			createHandlerFinder(finderClass);
+		}
+		return finderClass;
+	}
+
+	/*
+	 * Otto keeps HandlerFinder, EventHandler, EventProducer and the Bus
+	 * constructor taking a finder package-private, so the finder lives in
+	 * Otto's package to subclass and call them directly.
+	 */
+	private void createHandlerFinder(JDefinedClass finderClass) throws JClassAlreadyExistsException {
+		AbstractJClass handlerFinderClass = getJClass(OttoClasses.HANDLER_FINDER);
+		AbstractJClass busClass = getJClass(OttoClasses.BUS);
+		AbstractJClass threadEnforcerClass = getJClass(OttoClasses.THREAD_ENFORCER);
+
+		finderClass.mods().setFinal(true);
+		finderClass._implements(handlerFinderClass);
+
+		JFieldVar instance = finderClass.field(PRIVATE | STATIC | FINAL, finderClass, "INSTANCE" + generationSuffix(), _new(finderClass));
+		createPlaceholderMethodField(finderClass);
+		finderClass.constructor(PRIVATE);
+
+		JMethod newBusMethod = finderClass.method(PUBLIC | STATIC, busClass, "newBus");
+		newBusMethod.body()._return(_new(busClass).arg(threadEnforcerClass.staticRef("MAIN")).arg(busClass.staticRef("DEFAULT_IDENTIFIER")).arg(instance));
+
+		JMethod newBusWithEnforcerMethod = finderClass.method(PUBLIC | STATIC, busClass, "newBus");
+		JVar enforcer = newBusWithEnforcerMethod.param(threadEnforcerClass, "enforcer");
+		JVar identifier = newBusWithEnforcerMethod.param(classes().STRING, "identifier");
+		newBusWithEnforcerMethod.body()._return(_new(busClass).arg(enforcer).arg(identifier).arg(instance));
+
+		createEventHandlerClass(finderClass);
+		createEventProducerClass(finderClass);
+
+		AbstractJClass subscribersType = subscribersMapType();
+		createFindMethod(finderClass, FIND_ALL_SUBSCRIBERS_METHOD_NAME, subscribersType);
+		createFindMethod(finderClass, FIND_ALL_PRODUCERS_METHOD_NAME, producersMapType());
+
+		JMethod addSubscriberMethod = finderClass.method(PRIVATE | STATIC, getCodeModel().VOID, ADD_SUBSCRIBER_METHOD_NAME);
+		JVar subscribersParam = addSubscriberMethod.param(subscribersType, "subscribers");
+		JVar eventTypeParam = addSubscriberMethod.param(classWildcardType(), "eventType");
+		JVar handlerParam = addSubscriberMethod.param(getJClass(OttoClasses.EVENT_HANDLER), "handler");
+		JBlock addSubscriberBody = addSubscriberMethod.body();
+		AbstractJClass handlerSetType = getJClass(Set.class).narrow(getJClass(OttoClasses.EVENT_HANDLER));
+		JVar handlers = addSubscriberBody.decl(handlerSetType, "handlers", subscribersParam.invoke("get").arg(eventTypeParam));
+		JBlock createHandlersBlock = addSubscriberBody._if(handlers.eq(JExpr._null()))._then();
+		createHandlersBlock.assign(handlers, _new(getJClass(HashSet.class).narrow(getJClass(OttoClasses.EVENT_HANDLER))));
+		createHandlersBlock.invoke(subscribersParam, "put").arg(eventTypeParam).arg(handlers);
+		addSubscriberBody.invoke(handlers, "add").arg(handlerParam);
+	}
+
+	private void createPlaceholderMethodField(JDefinedClass finderClass) {
+		AbstractJClass methodClass = getJClass(Method.class);
+
+		JMethod placeholderMethod = finderClass.method(PRIVATE | STATIC, methodClass, "placeholderMethod");
+		JTryBlock tryBlock = placeholderMethod.body()._try();
+		tryBlock.body()._return(classes().OBJECT.dotclass().invoke("getMethod").arg(lit("toString")));
+		JCatchBlock catchBlock = tryBlock._catch(getJClass(NoSuchMethodException.class));
+		JVar exception = catchBlock.param("e");
+		catchBlock.body()._throw(_new(getJClass(IllegalStateException.class)).arg(exception));
+
+		finderClass.field(PRIVATE | STATIC | FINAL, methodClass, PLACEHOLDER_METHOD_NAME + generationSuffix(), JExpr.invoke(placeholderMethod));
+	}
+
+	private void createEventHandlerClass(JDefinedClass finderClass) throws JClassAlreadyExistsException {
+		JDefinedClass eventHandlerClass = createEventWrapperClass(finderClass, EVENT_HANDLER_NAME, OttoClasses.EVENT_HANDLER);
+
+		JMethod handleMethod = eventHandlerClass.method(PROTECTED | ABSTRACT, getCodeModel().VOID, "handle");
+		handleMethod._throws(classes().THROWABLE);
+		handleMethod.param(classes().OBJECT, "event");
+
+		JMethod handleEventMethod = eventHandlerClass.method(PUBLIC, getCodeModel().VOID, "handleEvent");
+		handleEventMethod.annotate(Override.class);
+		handleEventMethod._throws(InvocationTargetException.class);
+		JVar event = handleEventMethod.param(classes().OBJECT, "event");
+		JBlock body = handleEventMethod.body();
+		throwIfInvalid(body, "handle");
+		JTryBlock tryBlock = body._try();
+		tryBlock.body().invoke(handleMethod).arg(event);
+		rethrowAsInvocationTargetException(tryBlock);
+	}
+
+	private void createEventProducerClass(JDefinedClass finderClass) throws JClassAlreadyExistsException {
+		JDefinedClass eventProducerClass = createEventWrapperClass(finderClass, EVENT_PRODUCER_NAME, OttoClasses.EVENT_PRODUCER);
+
+		JMethod produceMethod = eventProducerClass.method(PROTECTED | ABSTRACT, classes().OBJECT, "produce");
+		produceMethod._throws(classes().THROWABLE);
+
+		JMethod produceEventMethod = eventProducerClass.method(PUBLIC, classes().OBJECT, "produceEvent");
+		produceEventMethod.annotate(Override.class);
+		produceEventMethod._throws(InvocationTargetException.class);
+		JBlock body = produceEventMethod.body();
+		throwIfInvalid(body, "produce");
+		produceMethod._throws(classes().THROWABLE);
+		JTryBlock tryBlock = body._try();
+		tryBlock.body()._return(JExpr.invoke(produceMethod));
+		rethrowAsInvocationTargetException(tryBlock);
+	}
+
+	private JDefinedClass createEventWrapperClass(JDefinedClass finderClass, String name, String superClassName) throws JClassAlreadyExistsException {
+		JDefinedClass wrapperClass = finderClass._class(PRIVATE | STATIC | ABSTRACT, name + generationSuffix());
+		wrapperClass._extends(getJClass(superClassName));
+
+		JFieldVar targetField = wrapperClass.field(PRIVATE | FINAL, classes().OBJECT, "target");
+		JFieldVar methodNameField = wrapperClass.field(PRIVATE | FINAL, classes().STRING, "methodName");
+
+		JMethod constructor = wrapperClass.constructor(NONE);
+		JVar targetParam = constructor.param(classes().OBJECT, "target");
+		JVar methodNameParam = constructor.param(classes().STRING, "methodName");
+		JBlock constructorBody = constructor.body();
+		constructorBody.invoke("super").arg(targetParam).arg(finderClass.staticRef(PLACEHOLDER_METHOD_NAME + generationSuffix()));
+		constructorBody.assign(_this().ref(targetField), targetParam);
+		constructorBody.assign(_this().ref(methodNameField), methodNameParam);
+
+		JMethod toStringMethod = wrapperClass.method(PUBLIC, classes().STRING, "toString");
+		toStringMethod.annotate(Override.class);
+		toStringMethod.body()._return(lit("[" + name + " ").plus(methodNameField).plus(lit("]")));
+
+		JMethod hashCodeMethod = wrapperClass.method(PUBLIC, getCodeModel().INT, "hashCode");
+		hashCodeMethod.annotate(Override.class);
+		hashCodeMethod.body()._return(lit(31).mul(methodNameField.invoke("hashCode")).plus(targetField.invoke("hashCode")));
+
+		JMethod equalsMethod = wrapperClass.method(PUBLIC, getCodeModel().BOOLEAN, "equals");
+		equalsMethod.annotate(Override.class);
+		JVar obj = equalsMethod.param(classes().OBJECT, "obj");
+		JBlock equalsBody = equalsMethod.body();
+		equalsBody._if(obj._instanceof(wrapperClass).not())._then()._return(JExpr.FALSE);
+		JVar other = equalsBody.decl(wrapperClass, "other", cast(wrapperClass, obj));
+		equalsBody._return(targetField.eq(other.ref(targetField)).cand(methodNameField.invoke("equals").arg(other.ref(methodNameField))));
+
+		return wrapperClass;
+	}
+
+	private void throwIfInvalid(JBlock body, String action) {
+		JBlock invalidBlock = body._if(JExpr.invoke("isValid").not())._then();
+		invalidBlock._throw(_new(getJClass(IllegalStateException.class)).arg(JExpr.invoke("toString").plus(lit(" has been invalidated and can no longer " + action + " events."))));
+	}
+
+	private void rethrowAsInvocationTargetException(JTryBlock tryBlock) {
+		// like Otto's reflective calls, errors are thrown as is and any other
+		// throwable is wrapped
+		JCatchBlock errorCatchBlock = tryBlock._catch(getJClass(Error.class));
+		JVar error = errorCatchBlock.param("e");
+		errorCatchBlock.body()._throw(error);
+
+		JCatchBlock catchBlock = tryBlock._catch(classes().THROWABLE);
+		JVar exception = catchBlock.param("e");
+		catchBlock.body()._throw(_new(getJClass(InvocationTargetException.class)).arg(exception));
+	}
+
+	private void createFindMethod(JDefinedClass finderClass, String methodName, AbstractJClass returnType) {
+		JMethod findMethod = finderClass.method(PUBLIC, returnType, methodName);
+		findMethod.annotate(Override.class);
+		JVar listener = findMethod.param(classes().OBJECT, "listener");
+		JBlock body = findMethod.body();
+		body._return(getJClass(OttoClasses.HANDLER_FINDER).staticRef("ANNOTATED").invoke(methodName).arg(listener));
+		body.pos(body.size() - 1);
+	}
+
+	private AbstractJClass getNestedClass(JDefinedClass finderClass, String name) {
+		for (JDefinedClass nestedClass : finderClass.classes()) {
+			if (nestedClass.name().equals(name + generationSuffix())) {
+				return nestedClass;
+			}
+		}
+		throw new IllegalStateException("Missing nested class " + name + " in " + finderClass.fullName());
+	}
+
+	private AbstractJClass subscribersMapType() {
+		return getJClass(Map.class).narrow(classWildcardType(), getJClass(Set.class).narrow(getJClass(OttoClasses.EVENT_HANDLER)));
+	}
+
+	private AbstractJClass producersMapType() {
+		return getJClass(Map.class).narrow(classWildcardType(), getJClass(OttoClasses.EVENT_PRODUCER));
+	}
+
+	private AbstractJClass hashMapType(AbstractJClass mapType) {
+		return getJClass(HashMap.class).narrow(mapType.getTypeParameters());
+	}
+
+	private AbstractJClass classWildcardType() {
+		return getJClass(Class.class).narrow(classes().OBJECT.wildcard());
+	}
+
+	private ProcessHolder.Classes classes() {
+		return environment().getClasses();
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -25,6 +26,8 @@ import org.androidannotations.testutils.AAProcessorTestHelper;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.squareup.otto.Bus;
+
 public class OttoGenerationTest extends AAProcessorTestHelper {
 
 	@Before
@@ -62,4 +65,63 @@ public class OttoGenerationTest extends AAProcessorTestHelper {
 
 		assertFalse(generatedFile.exists());
 	}
+
+	@Test
+	public void handlerFinderIsNotGeneratedByDefault() {
+		ensureOutputDirectoryIsEmpty();
+		CompileResult result = compileFiles(EnhancedBean.class);
+
+		assertCompilationSuccessful(result);
+
+		assertFalse(toGeneratedFile(Bus.class, "GeneratedHandlerFinder").exists());
+	}
+
+	@Test
+	public void handlerFinderDispatchesWithoutReflection() {
+		addProcessorParameter("ottoHandlerFinder", "true");
+		CompileResult result = compileFiles(EnhancedBean.class);
+		File generatedFile = toGeneratedFile(Bus.class, "GeneratedHandlerFinder");
+
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] subscribers = { //
+				"        if (listener.getClass() == EnhancedBean_.class) {", //
+				"            final EnhancedBean_ target = ((EnhancedBean_) listener);", //
+				"            Map<Class<?> , Set<EventHandler>> subscribers = new HashMap<Class<?> , Set<EventHandler>>();", //
+				"            GeneratedHandlerFinder_.addSubscriber(subscribers, String.class, new GeneratedHandlerFinder_.EventHandler_(target, \"subscriber\") {", //
+				"", //
+				"                @Override", //
+				"                protected void handle(Object event)", //
+				"                    throws Throwable", //
+				"                {", //
+				"                    target.subscriber(((String) event));", //
+				"                }", //
+				"            }", //
+				"            );", //
+				"            return subscribers;", //
+				"        }", //
+				"        return HandlerFinder.ANNOTATED.findAllSubscribers(listener);", };
+
+		String[] producers = { //
+				"                protected Object produce()", //
+				"                    throws Throwable", //
+				"                {", //
+				"                    return target.producer();", //
+				"                }", };
+
+		String[] handleEvent = { //
+				"            try {", //
+				"                handle(event);", //
+				"            } catch (final Error e) {", //
+				"                throw e;", //
+				"            } catch (final Throwable e) {", //
+				"                throw new InvocationTargetException(e);", //
+				"            }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(generatedFile, subscribers);
+		assertGeneratedClassContains(generatedFile, producers);
+		assertGeneratedClassContains(generatedFile, handleEvent);
+	}
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Use on {@link Get} annotated methods to keep the deserialized responses in an
+ * in-memory LRU cache shared by all the instances of the generated client.
+ * </p>
+ * <p>
+ * A cached response is returned without any network access while it is fresh.
+ * Once it is stale, the request is sent with the <code>If-None-Match</code>
+ * and <code>If-Modified-Since</code> headers built from the cached
+ * <code>ETag</code> and <code>Last-Modified</code> values, and a
+ * <code>304 Not Modified</code> answer is served from the cache, skipping the
+ * deserialization.
+ * </p>
+ * <p>
+ * The cache key is made of the method name and the expanded url. As the
+ * cookies and headers are not part of it, this annotation cannot be used with
+ * {@link RequiresHeader}, {@link RequiresCookie} or
+ * {@link RequiresAuthentication}, on the method or on its interface. Cookies
+ * required in the url with {@link RequiresCookieInUrl} are part of the key.
+ * </p>
+ * <blockquote>
+ * 
+ * <b>Example :</b>
+ * 
+ * <pre>
+ * &#064;Rest(rootUrl = &quot;http://myserver&quot;, converters = MappingJacksonHttpMessageConverter.class)
+ * public interface MyRestClient {
+ * 
+ * 	&#064;Get(&quot;/events/{id}&quot;)
+ * 	<b>&#064;Cacheable(maxAge = 60)</b>
+ * 	Event getEvent(&#064;Path long id);
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * @see Get
+ * @see org.androidannotations.rest.spring.api.RestResponseCache
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+
+	/**
+	 * Value telling the freshness lifetime should be read from the
+	 * <code>Cache-Control: max-age</code> response header.
+	 */
+	int SERVER_MAX_AGE = -1;
+
+	/**
+	 * The number of seconds a cached response is served without contacting the
+	 * server. Use <code>0</code> to always revalidate it, or
+	 * {@link #SERVER_MAX_AGE} to rely on the response headers.
+	 * 
+	 * @return the freshness lifetime in seconds
+	 */
+	int maxAge() default SERVER_MAX_AGE;
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on a
+ * {@link org.springframework.web.client.ResponseExtractor ResponseExtractor}
+ * method parameter to read the response body as a stream instead of having it
+ * converted in memory by the message converters. The method returns the value
+ * produced by the extractor, or nothing if it returns void.
+ *
+ * The extractor is called while the connection is still open, so it can parse
+ * a large payload element by element from
+ * {@link org.springframework.http.client.ClientHttpResponse#getBody()}. The
+ * response is closed once the extractor returns.
+ *
+ * <b>Example :</b>
+ *
+ * <pre>
+ * &#064;Rest(rootUrl = &quot;http://myserver&quot;, converters = MappingJacksonHttpMessageConverter.class)
+ * public interface RestClient {
+ *
+ * 	&#064;Get(&quot;/events/{year}&quot;)
+ * 	Integer countEvents(&#064;Path int year, <b>&#064;Extractor</b> ResponseExtractor&lt;Integer&gt; counter);
+ *
+ * 	&#064;Post(&quot;/events/search&quot;)
+ * 	void searchEvents(&#064;Body Query query, <b>&#064;Extractor</b> ResponseExtractor&lt;Void&gt; eventStreamer);
+ * }
+ * </pre>
+ *
+ * @see Rest
+ * @see Get
+ * @see Post
+ * @see Put
+ * @see Patch
+ * @see Delete
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Extractor {
+}
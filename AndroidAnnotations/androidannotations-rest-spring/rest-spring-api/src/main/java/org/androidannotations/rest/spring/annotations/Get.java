@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -41,6 +42,11 @@ import java.lang.annotation.Target;
  * object to instantiate while returning result.
  * </p>
  * <p>
+ * Concurrent identical calls can share a single request by setting
+ * {@link #singleFlight()}, for example when several background tasks load the
+ * same resource at the same time.
+ * </p>
+ * <p>
  * <b>Note:</b> Generics classes are also supported both for return type and
  * parameters.
  * </p>
@@ -82,4 +88,15 @@ public @interface Get {
 	 * @return the address of the web service
 	 */
 	String value();
+
+	/**
+	 * Whether concurrent identical calls of the method share a single request.
+	 * The callers arriving while a request with the same url and headers is in
+	 * flight wait for it and receive the same response instance.
+	 * 
+	 * @return <b>true</b> to share in-flight requests, <b>false</b> to always
+	 *         send a new one
+	 * @see Rest#singleFlight()
+	 */
+	boolean singleFlight() default false;
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -211,6 +212,90 @@ import java.lang.annotation.Target;
  * </pre>
  *
  * </blockquote>
+ *
+ * <h1>Shared RestTemplate</h1>
+ * <p>
+ * By default, every instance of the generated RestService creates and
+ * configures its own RestTemplate, with new converters, interceptors, request
+ * factory and error handler. Setting {@link #sharedRestTemplate()} to
+ * <b>true</b> lets every instance of the RestService reuse a single
+ * RestTemplate, created and configured once with the application context.
+ * RestTemplate is thread-safe once configured, so the configured converters,
+ * interceptors, request factory and error handler must be thread-safe too, and
+ * should not be modified through {@code getRestTemplate()} afterwards.
+ * </p>
+ * <blockquote>
+ *
+ * <b>Example :</b>
+ *
+ * <pre>
+ * &#064;Rest(converters = MappingJackson2HttpMessageConverter.class, <b>sharedRestTemplate</b> = true)
+ * public interface MyRestClient {
+ *
+ * 	&#064;Get(&quot;/events&quot;)
+ * 	EventList getEvents();
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * <h1>Asynchronous methods</h1>
+ * <p>
+ * A method returning a {@link java.util.concurrent.Future Future} does not
+ * block: the request runs on an executor dedicated to the network calls of the
+ * interface, and the future completes with the result. The executor has at
+ * most {@link #ioThreads()} threads, so waiting on sockets does not take the
+ * threads of {@link org.androidannotations.annotations.Background Background}
+ * tasks. A method with nothing to return may return a
+ * <code>Future&lt;Void&gt;</code>. At most
+ * {@link org.androidannotations.rest.spring.api.RestIoExecutor#MAX_PENDING_REQUESTS
+ * MAX_PENDING_REQUESTS} requests wait for a thread, further calls throw a
+ * {@link java.util.concurrent.RejectedExecutionException
+ * RejectedExecutionException}.
+ * </p>
+ * <blockquote>
+ *
+ * <b>Example :</b>
+ *
+ * <pre>
+ * &#064;Rest(converters = MappingJackson2HttpMessageConverter.class, <b>ioThreads</b> = 2)
+ * public interface MyRestClient {
+ *
+ * 	&#064;Get(&quot;/events&quot;)
+ * 	Future&lt;EventList&gt; getEvents();
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * <h1>Metrics</h1>
+ * <p>
+ * Setting {@link #metrics()} to <b>true</b> times every request of the
+ * RestService, and records its status code, response size and deserialization
+ * time. The metrics are reported to a
+ * {@link org.androidannotations.rest.spring.api.RestMetricsListener
+ * RestMetricsListener}, by default an in-memory
+ * {@link org.androidannotations.rest.spring.api.RestMetricsHistogram
+ * RestMetricsHistogram} which can be dumped. The interface can extend
+ * {@link org.androidannotations.rest.spring.api.RestClientMetrics
+ * RestClientMetrics} to reach the metrics and change their listener.
+ * </p>
+ * <blockquote>
+ *
+ * <b>Example :</b>
+ *
+ * <pre>
+ * &#064;Rest(converters = MappingJackson2HttpMessageConverter.class, <b>metrics</b> = true)
+ * public interface MyRestClient extends RestClientMetrics {
+ *
+ * 	&#064;Get(&quot;/events&quot;)
+ * 	EventList getEvents();
+ * }
+ *
+ * Log.d(TAG, ((RestMetricsHistogram) myRestClient.getRestMetrics().getListener()).dump());
+ * </pre>
+ *
+ * </blockquote>
  * 
  * <h1>Magic methods</h1>
  * <p>
@@ -274,6 +359,7 @@ import java.lang.annotation.Target;
  * <li><b>RestClientHeaders</b>: provide <code>getHeader()</code>,
  * <code>setHeader()</code>, <code>getCookie()</code>, <code>setCookie()</code>,
  * <code>setAuthentication()</code> and <code>setHttpBasicAuth()</code></li>
+ * <li><b>RestClientMetrics</b>: provide <code>getRestMetrics()</code></li>
  * </ul>
  * 
  * 
@@ -281,6 +367,7 @@ import java.lang.annotation.Target;
  * @see org.androidannotations.rest.spring.api.RestClientSupport
  * @see org.androidannotations.rest.spring.api.RestClientRootUrl
  * @see org.androidannotations.rest.spring.api.RestClientHeaders
+ * @see org.androidannotations.rest.spring.api.RestClientMetrics
  */
 @Retention(RetentionPolicy.CLASS)
 @Target(ElementType.TYPE)
@@ -322,4 +409,52 @@ public @interface Rest {
 	 * @return the response error handler class
 	 */
 	Class<?> responseErrorHandler() default Void.class;
+
+	/**
+	 * Whether all instances of the RestService share a single RestTemplate
+	 * and its converters, interceptors, request factory and error handler.
+	 *
+	 * @return <b>true</b> to share a single RestTemplate, <b>false</b> to
+	 *         create one for each instance
+	 */
+	boolean sharedRestTemplate() default false;
+
+	/**
+	 * Whether concurrent identical calls of the {@link Get} methods returning a
+	 * value share a single request, as if each of them had
+	 * {@link Get#singleFlight()} set.
+	 *
+	 * @return <b>true</b> to share in-flight requests of every {@link Get}
+	 *         method
+	 */
+	boolean singleFlight() default false;
+
+	/**
+	 * Whether the url templates are split at compile time, so that the
+	 * generated methods build the expanded and encoded {@link java.net.URI}
+	 * themselves instead of letting the RestTemplate parse and expand the
+	 * template on every request. The root url is prepended as is.
+	 *
+	 * @return <b>true</b> to pass a ready-made URI to the RestTemplate,
+	 *         <b>false</b> to pass the url template and its variables
+	 */
+	boolean precompileUrls() default false;
+
+	/**
+	 * The maximum number of threads running the requests of the methods
+	 * returning a {@link java.util.concurrent.Future Future}. The threads are
+	 * shared by all instances of the RestService.
+	 *
+	 * @return the maximum number of threads of the I/O executor
+	 */
+	int ioThreads() default 4;
+
+	/**
+	 * Whether the requests of the RestService are timed and reported to a
+	 * {@link org.androidannotations.rest.spring.api.RestMetricsListener
+	 * RestMetricsListener}.
+	 *
+	 * @return <b>true</b> to record the metrics of each request
+	 */
+	boolean metrics() default false;
 }
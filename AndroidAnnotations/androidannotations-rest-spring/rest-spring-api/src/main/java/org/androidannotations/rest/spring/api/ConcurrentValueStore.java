@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The thread-safe store of the cookies and headers of a generated REST client.
+ * <p>
+ * Every change bumps a version number, so that the <code>Cookie</code> header
+ * values built by {@link #cookieHeader(String...)} are only rebuilt after a
+ * cookie they use may have changed.
+ * </p>
+ */
+public class ConcurrentValueStore {
+
+	private final ConcurrentMap<String, String> values = new ConcurrentHashMap<String, String>();
+	private final AtomicInteger version = new AtomicInteger();
+
+	/**
+	 * Returns the value stored for a name.
+	 * 
+	 * @param name
+	 *            the name of the value
+	 * @return the value, or <code>null</code> if there is none
+	 */
+	public String get(String name) {
+		return values.get(name);
+	}
+
+	/**
+	 * Tells whether a value is stored for a name.
+	 * 
+	 * @param name
+	 *            the name of the value
+	 * @return <b>true</b> if a value is stored
+	 */
+	public boolean containsKey(String name) {
+		return values.containsKey(name);
+	}
+
+	/**
+	 * Stores a value.
+	 * 
+	 * @param name
+	 *            the name of the value
+	 * @param value
+	 *            the value, or <code>null</code> to remove it
+	 */
+	public void put(String name, String value) {
+		String previous = value != null ? values.put(name, value) : values.remove(name);
+		if (value == null ? previous != null : !value.equals(previous)) {
+			version.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Creates the cached <code>Cookie</code> header value made of the given
+	 * stored values.
+	 * 
+	 * @param names
+	 *            the names of the cookies to send
+	 * @return the header value, rebuilt only when the store changes
+	 */
+	public CookieHeader cookieHeader(String... names) {
+		return new CookieHeader(this, names.clone());
+	}
+
+	/**
+	 * A <code>Cookie</code> header value, cached until the store changes.
+	 */
+	public static final class CookieHeader {
+
+		private final ConcurrentValueStore store;
+		private final String[] names;
+		private volatile Snapshot snapshot;
+
+		private CookieHeader(ConcurrentValueStore store, String[] names) {
+			this.store = store;
+			this.names = names;
+		}
+
+		/**
+		 * Returns the header value, in the <code>name=value;</code> format.
+		 * 
+		 * @return the header value
+		 */
+		public String value() {
+			int currentVersion = store.version.get();
+			Snapshot current = snapshot;
+			if (current == null || current.version != currentVersion) {
+				StringBuilder builder = new StringBuilder();
+				for (String name : names) {
+					builder.append(name).append('=').append(store.get(name)).append(';');
+				}
+				current = new Snapshot(currentVersion, builder.toString());
+				snapshot = current;
+			}
+			return current.value;
+		}
+	}
+
+	private static final class Snapshot {
+		private final int version;
+		private final String value;
+
+		private Snapshot(int version, String value) {
+			this.version = version;
+			this.value = value;
+		}
+	}
+}
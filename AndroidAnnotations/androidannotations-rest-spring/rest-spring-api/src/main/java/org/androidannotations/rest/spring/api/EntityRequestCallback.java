@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Writes the headers and the body of an {@link HttpEntity} to the request, the
+ * same way the RestTemplate does for its exchange methods. It is used by
+ * generated REST methods which read their response through an
+ * {@link org.androidannotations.rest.spring.annotations.Extractor Extractor}.
+ */
+public class EntityRequestCallback implements RequestCallback {
+
+	private final HttpEntity<?> requestEntity;
+	private final List<HttpMessageConverter<?>> messageConverters;
+
+	/**
+	 * Creates a callback writing the given entity.
+	 * 
+	 * @param requestEntity
+	 *            the entity sent to the server
+	 * @param messageConverters
+	 *            the message converters of the RestTemplate, used to write the
+	 *            body
+	 */
+	public EntityRequestCallback(HttpEntity<?> requestEntity, List<HttpMessageConverter<?>> messageConverters) {
+		this.requestEntity = requestEntity;
+		this.messageConverters = messageConverters;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void doWithRequest(ClientHttpRequest request) throws IOException {
+		HttpHeaders requestHeaders = request.getHeaders();
+		HttpHeaders entityHeaders = requestEntity.getHeaders();
+		for (Map.Entry<String, List<String>> header : entityHeaders.entrySet()) {
+			requestHeaders.put(header.getKey(), header.getValue());
+		}
+
+		Object requestBody = requestEntity.getBody();
+		if (requestBody == null) {
+			if (requestHeaders.getContentLength() == -1) {
+				requestHeaders.setContentLength(0L);
+			}
+			return;
+		}
+
+		Class<?> requestType = requestBody.getClass();
+		MediaType requestContentType = entityHeaders.getContentType();
+		for (HttpMessageConverter<?> messageConverter : messageConverters) {
+			if (messageConverter.canWrite(requestType, requestContentType)) {
+				((HttpMessageConverter<Object>) messageConverter).write(requestBody, requestContentType, request);
+				return;
+			}
+		}
+		throw new RestClientException("Could not write request: no suitable HttpMessageConverter found for request type [" + requestType.getName() + "]"
+				+ (requestContentType != null ? " and content type [" + requestContentType + "]" : ""));
+	}
+}
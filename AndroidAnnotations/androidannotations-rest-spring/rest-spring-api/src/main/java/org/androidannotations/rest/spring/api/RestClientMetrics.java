@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+/**
+ * A @Rest interface implementing this interface will automatically have the
+ * implementations of this method generated. The interface must be annotated
+ * with <code>@Rest(metrics = true)</code>.
+ * 
+ * @see org.androidannotations.rest.spring.annotations.Rest#metrics()
+ */
+public interface RestClientMetrics {
+	/**
+	 * Gets the metrics recorder of the rest client, shared by all the
+	 * instances of the rest service implementation.
+	 * 
+	 * @return the {@link RestMetrics} of the rest client
+	 */
+	RestMetrics getRestMetrics();
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the requests of the generated REST methods returning a
+ * {@link java.util.concurrent.Future Future}.
+ * <p>
+ * The executor starts at most the given number of threads and queues the
+ * requests beyond that, up to {@link #MAX_PENDING_REQUESTS}. Its threads are
+ * dedicated to network calls, so that they do not compete with CPU-bound
+ * background tasks, and they stop after being idle for a while.
+ * </p>
+ * <p>
+ * Once the queue is full, new requests are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException
+ * RejectedExecutionException} instead of piling up without limit during a
+ * burst of calls. They are not run by the caller, which is often the UI
+ * thread.
+ * </p>
+ * 
+ * @see org.androidannotations.rest.spring.annotations.Rest#ioThreads()
+ */
+public class RestIoExecutor extends ThreadPoolExecutor {
+
+	/**
+	 * The maximum number of requests waiting for a thread.
+	 */
+	public static final int MAX_PENDING_REQUESTS = 128;
+
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	/**
+	 * Creates an executor for the requests of a REST client.
+	 * 
+	 * @param name
+	 *            the name of the REST client, used to name the threads
+	 * @param threads
+	 *            the maximum number of threads
+	 */
+	public RestIoExecutor(String name, int threads) {
+		super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(MAX_PENDING_REQUESTS), new IoThreadFactory(name), new AbortPolicy());
+		allowCoreThreadTimeOut(true);
+	}
+
+	private static class IoThreadFactory implements ThreadFactory {
+
+		private final String name;
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		IoThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name + "-io-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
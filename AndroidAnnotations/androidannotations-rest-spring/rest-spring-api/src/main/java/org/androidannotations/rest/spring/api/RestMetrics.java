@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Records the duration, status code, response size and deserialization time of
+ * the requests of the generated REST methods, and reports them to a
+ * {@link RestMetricsListener}.
+ * <p>
+ * The generated methods start an {@link Exchange} before calling the
+ * RestTemplate, and complete it with the result. The
+ * {@link #getInterceptor() interceptor} registered on the RestTemplate notes
+ * when the response headers arrive and counts the bytes of the body, which
+ * tells the network time from the deserialization time. If the RestTemplate is
+ * replaced by one without the interceptor, only the duration and the status
+ * code are known.
+ * </p>
+ * 
+ * @see org.androidannotations.rest.spring.annotations.Rest#metrics()
+ */
+public class RestMetrics {
+
+	private final ThreadLocal<Exchange> currentExchange = new ThreadLocal<Exchange>();
+	private final ClientHttpRequestInterceptor interceptor = new MetricsInterceptor();
+	private volatile RestMetricsListener listener = new RestMetricsHistogram();
+
+	/**
+	 * Gets the listener the metrics are reported to, a
+	 * {@link RestMetricsHistogram} by default.
+	 * 
+	 * @return the current listener
+	 */
+	public RestMetricsListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Sets the listener the metrics are reported to.
+	 * 
+	 * @param listener
+	 *            the new listener, or <code>null</code> to drop the metrics
+	 */
+	public void setListener(RestMetricsListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Gets the interceptor to add to the RestTemplate to measure the response
+	 * size and the deserialization time.
+	 * 
+	 * @return the interceptor of these metrics
+	 */
+	public ClientHttpRequestInterceptor getInterceptor() {
+		return interceptor;
+	}
+
+	/**
+	 * Starts measuring a request made by the current thread.
+	 * 
+	 * @param methodName
+	 *            the name of the rest client method
+	 * @return the started exchange
+	 */
+	public Exchange start(String methodName) {
+		Exchange exchange = new Exchange(methodName, pending(currentExchange.get()));
+		currentExchange.set(exchange);
+		return exchange;
+	}
+
+	/**
+	 * Skips the exchanges already reported, so that a new exchange never nests
+	 * under a stale one left on a pooled thread.
+	 */
+	private static Exchange pending(Exchange exchange) {
+		while (exchange != null && exchange.reported) {
+			exchange = exchange.enclosingExchange;
+		}
+		return exchange;
+	}
+
+	/**
+	 * The measures of a single request.
+	 */
+	public final class Exchange {
+
+		private final String methodName;
+		private final Exchange enclosingExchange;
+		private final long startNanos = System.nanoTime();
+		private long responseNanos = -1;
+		private int statusCode = -1;
+		private CountingInputStream responseBody;
+		private long contentLength = -1;
+		private boolean reported;
+
+		private Exchange(String methodName, Exchange enclosingExchange) {
+			this.methodName = methodName;
+			this.enclosingExchange = enclosingExchange;
+		}
+
+		/**
+		 * Reports the request as successful and returns its result.
+		 * 
+		 * @param <R>
+		 *            the type of the result
+		 * @param result
+		 *            the result of the request
+		 * @return the given result
+		 */
+		public <R> R completed(R result) {
+			if (statusCode == -1 && result instanceof ResponseEntity) {
+				statusCode = ((ResponseEntity<?>) result).getStatusCode().value();
+			}
+			report();
+			return result;
+		}
+
+		/**
+		 * Reports the request as failed and returns the exception to rethrow.
+		 * 
+		 * @param exception
+		 *            the exception thrown by the request
+		 * @return the given exception
+		 */
+		public RuntimeException failed(RuntimeException exception) {
+			if (exception instanceof HttpStatusCodeException) {
+				statusCode = ((HttpStatusCodeException) exception).getStatusCode().value();
+			}
+			report();
+			return exception;
+		}
+
+		/**
+		 * Reports the request as failed with an error and returns the error to
+		 * rethrow.
+		 * 
+		 * @param error
+		 *            the error thrown by the request
+		 * @return the given error
+		 */
+		public Error failed(Error error) {
+			report();
+			return error;
+		}
+
+		private void responseReceived(ClientHttpResponse response, CountingInputStream body) throws IOException {
+			responseNanos = System.nanoTime();
+			statusCode = response.getRawStatusCode();
+			contentLength = response.getHeaders().getContentLength();
+			responseBody = body;
+		}
+
+		private void report() {
+			if (reported) {
+				return;
+			}
+			reported = true;
+			if (currentExchange.get() == this) {
+				// an enclosing exchange may have been reported first
+				Exchange pendingExchange = pending(enclosingExchange);
+				if (pendingExchange != null) {
+					currentExchange.set(pendingExchange);
+				} else {
+					currentExchange.remove();
+				}
+			}
+
+			RestMetricsListener currentListener = listener;
+			if (currentListener != null) {
+				long endNanos = System.nanoTime();
+				long responseSize = contentLength;
+				if (responseBody != null && responseBody.isRead()) {
+					responseSize = responseBody.count;
+				}
+				long deserializationNanos = responseNanos != -1 ? endNanos - responseNanos : -1;
+				currentListener.onRequestCompleted(methodName, statusCode, responseSize, endNanos - startNanos, deserializationNanos);
+			}
+		}
+	}
+
+	private class MetricsInterceptor implements ClientHttpRequestInterceptor {
+
+		@Override
+		public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+			ClientHttpResponse response = execution.execute(request, body);
+			Exchange exchange = currentExchange.get();
+			if (exchange == null) {
+				return response;
+			}
+			CountingResponse countingResponse = new CountingResponse(response);
+			exchange.responseReceived(response, countingResponse.body);
+			return countingResponse;
+		}
+	}
+
+	private static class CountingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+		private final CountingInputStream body = new CountingInputStream();
+
+		CountingResponse(ClientHttpResponse response) {
+			this.response = response;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (!body.isRead()) {
+				InputStream responseBody = response.getBody();
+				if (responseBody == null) {
+					return null;
+				}
+				body.read(responseBody);
+			}
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public void close() {
+			response.close();
+		}
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+
+		private long count;
+
+		CountingInputStream() {
+			super(null);
+		}
+
+		void read(InputStream responseBody) {
+			in = responseBody;
+		}
+
+		boolean isRead() {
+			return in != null;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int read = super.read();
+			if (read != -1) {
+				count++;
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+}
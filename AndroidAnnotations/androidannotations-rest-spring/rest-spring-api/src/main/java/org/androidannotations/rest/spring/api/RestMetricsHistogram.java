@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default {@link RestMetricsListener}, which keeps in memory a latency
+ * histogram and counters for each method of the rest client.
+ * <p>
+ * The latencies are counted in buckets whose upper bounds grow from 1 to
+ * 10000 milliseconds, so the percentiles given by {@link #dump()} are the
+ * upper bounds of the buckets they fall in.
+ * </p>
+ */
+public class RestMetricsHistogram implements RestMetricsListener {
+
+	private static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000 };
+
+	private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<String, Endpoint>();
+
+	@Override
+	public void onRequestCompleted(String methodName, int statusCode, long responseSize, long durationNanos, long deserializationNanos) {
+		Endpoint endpoint = endpoints.get(methodName);
+		if (endpoint == null) {
+			Endpoint newEndpoint = new Endpoint();
+			endpoint = endpoints.putIfAbsent(methodName, newEndpoint);
+			if (endpoint == null) {
+				endpoint = newEndpoint;
+			}
+		}
+		endpoint.record(statusCode, responseSize, durationNanos, deserializationNanos);
+	}
+
+	/**
+	 * Gets the number of requests recorded for a method.
+	 * 
+	 * @param methodName
+	 *            the name of the rest client method
+	 * @return the number of recorded requests
+	 */
+	public long getCount(String methodName) {
+		Endpoint endpoint = endpoints.get(methodName);
+		return endpoint != null ? endpoint.getCount() : 0;
+	}
+
+	/**
+	 * Gets the number of requests recorded for a method, for each status code.
+	 * Requests which received no response are counted with the status code -1.
+	 * 
+	 * @param methodName
+	 *            the name of the rest client method
+	 * @return the number of recorded requests for each status code
+	 */
+	public SortedMap<Integer, Long> getStatusCodes(String methodName) {
+		Endpoint endpoint = endpoints.get(methodName);
+		return endpoint != null ? endpoint.getStatusCodes() : new TreeMap<Integer, Long>();
+	}
+
+	/**
+	 * Forgets all the recorded requests.
+	 */
+	public void clear() {
+		endpoints.clear();
+	}
+
+	/**
+	 * Describes the recorded requests, one line for each method.
+	 * 
+	 * @return the text description of the metrics
+	 */
+	public String dump() {
+		StringBuilder dump = new StringBuilder();
+		for (Map.Entry<String, Endpoint> endpoint : new TreeMap<String, Endpoint>(endpoints).entrySet()) {
+			dump.append(endpoint.getKey()).append(": ");
+			endpoint.getValue().appendTo(dump);
+			dump.append('\n');
+		}
+		return dump.toString();
+	}
+
+	@Override
+	public String toString() {
+		return dump();
+	}
+
+	private static final class Endpoint {
+
+		private final long[] buckets = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+		private final SortedMap<Integer, Long> statusCodes = new TreeMap<Integer, Long>();
+		private long count;
+		private long totalNanos;
+		private long maxNanos;
+		private long deserializationCount;
+		private long totalDeserializationNanos;
+		private long sizeCount;
+		private long totalSize;
+
+		synchronized void record(int statusCode, long responseSize, long durationNanos, long deserializationNanos) {
+			count++;
+			totalNanos += durationNanos;
+			maxNanos = Math.max(maxNanos, durationNanos);
+			buckets[bucketOf(durationNanos)]++;
+
+			Long statusCount = statusCodes.get(statusCode);
+			statusCodes.put(statusCode, statusCount != null ? statusCount + 1 : 1L);
+
+			if (responseSize >= 0) {
+				sizeCount++;
+				totalSize += responseSize;
+			}
+			if (deserializationNanos >= 0) {
+				deserializationCount++;
+				totalDeserializationNanos += deserializationNanos;
+			}
+		}
+
+		synchronized long getCount() {
+			return count;
+		}
+
+		synchronized SortedMap<Integer, Long> getStatusCodes() {
+			return new TreeMap<Integer, Long>(statusCodes);
+		}
+
+		synchronized void appendTo(StringBuilder dump) {
+			dump.append("count=").append(count);
+			dump.append(String.format(Locale.US, " mean=%.1fms", toMillis(totalNanos) / count));
+			dump.append(" p50<=").append(percentile(0.5));
+			dump.append(" p90<=").append(percentile(0.9));
+			dump.append(" p99<=").append(percentile(0.99));
+			dump.append(String.format(Locale.US, " max=%.1fms", toMillis(maxNanos)));
+			if (deserializationCount > 0) {
+				dump.append(String.format(Locale.US, " deserialization=%.1fms", toMillis(totalDeserializationNanos) / deserializationCount));
+			}
+			if (sizeCount > 0) {
+				dump.append(" size=").append(totalSize / sizeCount).append('B');
+			}
+			dump.append(" status=").append(statusCodes);
+		}
+
+		private String percentile(double rank) {
+			long threshold = (long) Math.ceil(count * rank);
+			long seen = 0;
+			for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+				seen += buckets[i];
+				if (seen >= threshold) {
+					return BUCKET_BOUNDS_MILLIS[i] + "ms";
+				}
+			}
+			return "inf";
+		}
+
+		private static int bucketOf(long durationNanos) {
+			long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+			for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+				if (durationMillis < BUCKET_BOUNDS_MILLIS[i]) {
+					return i;
+				}
+			}
+			return BUCKET_BOUNDS_MILLIS.length;
+		}
+
+		private static double toMillis(long nanos) {
+			return nanos / 1e6;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+/**
+ * This interface is used for collecting the metrics of the requests of a rest
+ * client created with <code>@Rest(metrics = true)</code>.
+ * 
+ * @see RestMetrics
+ * @see RestMetricsHistogram
+ */
+public interface RestMetricsListener {
+	/**
+	 * Called once a request of the rest client is over, successful or not.
+	 * 
+	 * @param methodName
+	 *            the name of the rest client method
+	 * @param statusCode
+	 *            the HTTP status code of the response, or -1 if no response
+	 *            was received
+	 * @param responseSize
+	 *            the number of bytes of the response body, or -1 if unknown
+	 * @param durationNanos
+	 *            the time spent in the method, in nanoseconds
+	 * @param deserializationNanos
+	 *            the time spent reading and converting the response body once
+	 *            its headers were received, in nanoseconds, or -1 if unknown
+	 */
+	void onRequestCompleted(String methodName, int statusCode, long responseSize, long durationNanos, long deserializationNanos);
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * An in-memory LRU cache of deserialized responses, used by the generated
+ * implementations of {@link org.androidannotations.rest.spring.annotations.Cacheable
+ * Cacheable} methods.
+ * <p>
+ * Only the parsed objects are kept. To also keep the raw responses on disk,
+ * install a disk cache on the underlying HTTP stack, for example
+ * <code>android.net.http.HttpResponseCache</code> when the RestTemplate uses
+ * <code>HttpURLConnection</code>.
+ * </p>
+ */
+public class RestResponseCache {
+
+	public static final int DEFAULT_MAX_ENTRIES = 32;
+
+	private static final String CACHE_CONTROL_MAX_AGE = "max-age=";
+	private static final String CACHE_CONTROL_NO_STORE = "no-store";
+	private static final long MILLIS_PER_SECOND = 1000L;
+
+	private final Map<String, Entry> entries;
+
+	public RestResponseCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	public RestResponseCache(final int maxEntries) {
+		entries = new LinkedHashMap<String, Entry>(maxEntries, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Builds the cache key of a request. The cache is shared by every method
+	 * of the client, so the key includes the method name: methods requesting
+	 * the same url may convert the response to different types.
+	 * 
+	 * @param method
+	 *            the name of the called method
+	 * @param url
+	 *            the url template, or the expanded url
+	 * @param urlVariables
+	 *            the values of the url variables, may be <code>null</code>
+	 * @return the key identifying the request
+	 */
+	public String key(String method, String url, Map<String, ?> urlVariables) {
+		StringBuilder key = new StringBuilder(method).append(' ').append(url);
+		if (urlVariables != null) {
+			key.append(new TreeMap<String, Object>(urlVariables));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Returns the cached response if it can be used without contacting the
+	 * server.
+	 * 
+	 * @param <T>
+	 *            the type of the response body
+	 * @param key
+	 *            the cache key of the request
+	 * @return the fresh cached response, or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> ResponseEntity<T> getFresh(String key) {
+		Entry entry = entries.get(key);
+		if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+			return (ResponseEntity<T>) entry.response;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the validators of the cached response, if any, to the request
+	 * headers.
+	 * 
+	 * @param key
+	 *            the cache key of the request
+	 * @param requestHeaders
+	 *            the headers of the request about to be sent
+	 * @return the cached entry the validators come from, to be passed to
+	 *         {@link #update(String, Entry, ResponseEntity, int)}, or
+	 *         <code>null</code>
+	 */
+	public Entry addConditionalHeaders(String key, HttpHeaders requestHeaders) {
+		Entry entry;
+		synchronized (this) {
+			entry = entries.get(key);
+		}
+		if (entry == null) {
+			return null;
+		}
+		if (entry.eTag != null) {
+			requestHeaders.setIfNoneMatch(entry.eTag);
+		}
+		if (entry.lastModified > 0) {
+			requestHeaders.setIfModifiedSince(entry.lastModified);
+		}
+		return entry;
+	}
+
+	/**
+	 * Stores a successful response, or replaces a
+	 * <code>304 Not Modified</code> response with the cached one. The cached
+	 * response is taken from the entry the validators were sent for, so it is
+	 * still served if that entry was evicted or removed meanwhile.
+	 * 
+	 * @param <T>
+	 *            the type of the response body
+	 * @param key
+	 *            the cache key of the request
+	 * @param validatedEntry
+	 *            the entry returned by
+	 *            {@link #addConditionalHeaders(String, HttpHeaders)}, may be
+	 *            <code>null</code>
+	 * @param response
+	 *            the response received from the server
+	 * @param maxAge
+	 *            the freshness lifetime in seconds, negative to read it from
+	 *            the <code>Cache-Control</code> header
+	 * @return the response to hand to the caller
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> ResponseEntity<T> update(String key, Entry validatedEntry, ResponseEntity<? extends T> response, int maxAge) {
+		HttpStatus status = response.getStatusCode();
+		if (status == HttpStatus.NOT_MODIFIED) {
+			if (validatedEntry == null) {
+				return (ResponseEntity<T>) response;
+			}
+			validatedEntry.expiresAt = expiresAt(response.getHeaders(), maxAge);
+			if (!entries.containsKey(key)) {
+				entries.put(key, validatedEntry);
+			}
+			return (ResponseEntity<T>) validatedEntry.response;
+		}
+
+		HttpHeaders headers = response.getHeaders();
+		String cacheControl = headers.getCacheControl();
+		if (status != HttpStatus.OK || cacheControl != null && cacheControl.contains(CACHE_CONTROL_NO_STORE)) {
+			entries.remove(key);
+			return (ResponseEntity<T>) response;
+		}
+
+		Entry entry = new Entry();
+		entry.response = response;
+		entry.eTag = headers.getETag();
+		entry.lastModified = headers.getLastModified();
+		entry.expiresAt = expiresAt(headers, maxAge);
+		entries.put(key, entry);
+		return (ResponseEntity<T>) response;
+	}
+
+	/**
+	 * Removes the cached response of a request.
+	 * 
+	 * @param key
+	 *            the cache key of the request
+	 */
+	public synchronized void remove(String key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes all the cached responses.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private long expiresAt(HttpHeaders headers, int maxAge) {
+		long maxAgeSeconds = maxAge >= 0 ? maxAge : serverMaxAge(headers.getCacheControl());
+		return System.currentTimeMillis() + maxAgeSeconds * MILLIS_PER_SECOND;
+	}
+
+	private long serverMaxAge(String cacheControl) {
+		if (cacheControl == null) {
+			return 0;
+		}
+		int start = cacheControl.indexOf(CACHE_CONTROL_MAX_AGE);
+		if (start == -1) {
+			return 0;
+		}
+		start += CACHE_CONTROL_MAX_AGE.length();
+		int end = start;
+		while (end < cacheControl.length() && Character.isDigit(cacheControl.charAt(end))) {
+			end++;
+		}
+		if (end == start) {
+			return 0;
+		}
+		return Long.parseLong(cacheControl.substring(start, end));
+	}
+
+	/**
+	 * A cached response and its validators.
+	 */
+	public static final class Entry {
+		private ResponseEntity<?> response;
+		private String eTag;
+		private long lastModified;
+		private long expiresAt;
+
+		private Entry() {
+		}
+	}
+}
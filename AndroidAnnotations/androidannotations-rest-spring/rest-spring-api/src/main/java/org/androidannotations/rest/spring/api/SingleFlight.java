@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Groups the concurrent identical calls of a generated REST method, so that
+ * only the first caller, the leader, performs the request while the others
+ * wait for its result.
+ * <p>
+ * Two calls are identical when they target the same method with the same
+ * expanded url and the same request headers. The followers receive the very
+ * same response instance as the leader, or the same exception or error.
+ * </p>
+ * 
+ * @see org.androidannotations.rest.spring.annotations.Get#singleFlight()
+ * @see org.androidannotations.rest.spring.annotations.Rest#singleFlight()
+ */
+public class SingleFlight {
+
+	private final Map<String, Call> calls = new HashMap<String, Call>();
+
+	/**
+	 * Joins the in-flight call identified by the given request, or starts a new
+	 * one if there is none.
+	 * 
+	 * @param <T>
+	 *            the type of the call result
+	 * @param method
+	 *            the name of the called method
+	 * @param url
+	 *            the url template
+	 * @param urlVariables
+	 *            the values of the url variables, may be <code>null</code>
+	 * @param requestEntity
+	 *            the request entity, may be <code>null</code>
+	 * @return the flight of the caller
+	 */
+	public <T> Flight<T> join(String method, String url, Map<String, ?> urlVariables, HttpEntity<?> requestEntity) {
+		StringBuilder key = new StringBuilder(method).append(' ').append(url);
+		if (urlVariables != null) {
+			key.append(new TreeMap<String, Object>(urlVariables));
+		}
+		if (requestEntity != null) {
+			key.append(requestEntity.getHeaders());
+		}
+		String callKey = key.toString();
+
+		synchronized (calls) {
+			Call call = calls.get(callKey);
+			if (call != null) {
+				return new Flight<T>(this, callKey, call, false);
+			}
+			call = new Call();
+			calls.put(callKey, call);
+			return new Flight<T>(this, callKey, call, true);
+		}
+	}
+
+	private void land(String key, Call call) {
+		synchronized (calls) {
+			if (calls.get(key) == call) {
+				calls.remove(key);
+			}
+		}
+		call.done.countDown();
+	}
+
+	/**
+	 * The view of a caller on a shared call.
+	 * 
+	 * @param <T>
+	 *            the type of the call result
+	 */
+	public static final class Flight<T> {
+
+		private final SingleFlight group;
+		private final String key;
+		private final Call call;
+		private final boolean leader;
+
+		private Flight(SingleFlight group, String key, Call call, boolean leader) {
+			this.group = group;
+			this.key = key;
+			this.call = call;
+			this.leader = leader;
+		}
+
+		/**
+		 * Tells whether this caller has to perform the request.
+		 * 
+		 * @return <b>true</b> for the leader, <b>false</b> for the followers
+		 */
+		public boolean isLeader() {
+			return leader;
+		}
+
+		/**
+		 * Waits for the leader and returns its result.
+		 * 
+		 * @return the result of the leader
+		 * @throws RuntimeException
+		 *             the exception thrown by the leader
+		 * @throws Error
+		 *             the error thrown by the leader
+		 */
+		@SuppressWarnings("unchecked")
+		public T await() {
+			try {
+				call.done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RestClientException("Interrupted while waiting for a shared request", e);
+			}
+			if (call.exception instanceof Error) {
+				throw (Error) call.exception;
+			}
+			if (call.exception != null) {
+				throw (RuntimeException) call.exception;
+			}
+			return (T) call.result;
+		}
+
+		/**
+		 * Publishes the result of the leader to the followers.
+		 * 
+		 * @param <R>
+		 *            the actual type of the result
+		 * @param result
+		 *            the result of the request
+		 * @return the given result
+		 */
+		public <R> R succeed(R result) {
+			call.result = result;
+			group.land(key, call);
+			return result;
+		}
+
+		/**
+		 * Publishes the exception thrown by the leader to the followers.
+		 * 
+		 * @param exception
+		 *            the exception thrown by the request
+		 * @return the given exception
+		 */
+		public RuntimeException fail(RuntimeException exception) {
+			land(exception);
+			return exception;
+		}
+
+		/**
+		 * Publishes the error thrown by the leader to the followers, so that
+		 * they do not wait forever for a result.
+		 * 
+		 * @param error
+		 *            the error thrown by the request
+		 * @return the given error
+		 */
+		public Error fail(Error error) {
+			land(error);
+			return error;
+		}
+
+		private void land(Throwable exception) {
+			if (call.done.getCount() == 0) {
+				return;
+			}
+			call.exception = exception;
+			group.land(key, call);
+		}
+	}
+
+	private static final class Call {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private Object result;
+		private Throwable exception;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.api;
+
+import java.io.UnsupportedEncodingException;
+
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Encodes the values of url variables in generated REST methods using
+ * precompiled urls, the same way the RestTemplate does when it expands an url
+ * template.
+ * 
+ * @see org.androidannotations.rest.spring.annotations.Rest#precompileUrls()
+ */
+public final class UriComponentEncoder {
+
+	private static final String ENCODING = "UTF-8";
+
+	private UriComponentEncoder() {
+	}
+
+	/**
+	 * Encodes a value placed in the path of an url.
+	 * 
+	 * @param value
+	 *            the value of the url variable
+	 * @return the encoded value, empty for <code>null</code>
+	 */
+	public static String encodePath(Object value) {
+		try {
+			return UriUtils.encodePath(asString(value), ENCODING);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Encodes a value placed in a query parameter of an url.
+	 * 
+	 * @param value
+	 *            the value of the url variable
+	 * @return the encoded value, empty for <code>null</code>
+	 */
+	public static String encodeQueryParam(Object value) {
+		try {
+			return UriUtils.encodeQueryParam(asString(value), ENCODING);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Encodes a value placed in the fragment of an url.
+	 * 
+	 * @param value
+	 *            the value of the url variable
+	 * @return the encoded value, empty for <code>null</code>
+	 */
+	public static String encodeFragment(Object value) {
+		try {
+			return UriUtils.encodeFragment(asString(value), ENCODING);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String asString(Object value) {
+		return value != null ? value.toString() : "";
+	}
+}
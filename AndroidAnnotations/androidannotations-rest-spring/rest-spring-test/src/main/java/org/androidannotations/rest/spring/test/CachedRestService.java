@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import org.androidannotations.rest.spring.annotations.Cacheable;
+import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Path;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+
+@Rest(rootUrl = "http://company.com/ajax/services", converters = MappingJacksonHttpMessageConverter.class, requestFactory = MyRequestFactory.class)
+public interface CachedRestService {
+
+	@Get("/events/{id}")
+	@Cacheable
+	Event getEvent(@Path int id);
+
+	@Get("/fresh/events/{id}")
+	@Cacheable(maxAge = 60)
+	Event getFreshEvent(@Path int id);
+}
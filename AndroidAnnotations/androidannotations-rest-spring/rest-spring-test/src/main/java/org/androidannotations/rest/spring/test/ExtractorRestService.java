@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import org.androidannotations.rest.spring.annotations.Body;
+import org.androidannotations.rest.spring.annotations.Extractor;
+import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Path;
+import org.androidannotations.rest.spring.annotations.Post;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.api.RestClientSupport;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+import org.springframework.web.client.ResponseExtractor;
+
+@Rest(rootUrl = "http://company.com/ajax/services", converters = MappingJacksonHttpMessageConverter.class)
+public interface ExtractorRestService extends RestClientSupport {
+
+	@Get("/events/{year}")
+	Integer countEvents(@Path int year, @Extractor ResponseExtractor<Integer> counter);
+
+	@Post("/events")
+	void addEvents(@Body Event event, @Extractor ResponseExtractor<Void> extractor);
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class AsyncRestServiceTest {
+
+	@Test
+	public void requestRunsOnIoExecutor() throws Exception {
+		final AtomicReference<String> requestThread = new AtomicReference<>();
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(eq("http://company.com/ajax/services/events/{id}"), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class),
+				anyMapOf(String.class, Object.class))).thenAnswer(new Answer<ResponseEntity<Event>>() {
+					@Override
+					public ResponseEntity<Event> answer(InvocationOnMock invocation) throws Throwable {
+						requestThread.set(Thread.currentThread().getName());
+						return new ResponseEntity<Event>(new Event(1, "event1"), HttpStatus.OK);
+					}
+				});
+
+		AsyncRestService service = new AsyncRestService_(null);
+		service.setRestTemplate(restTemplate);
+
+		Future<Event> event = service.getEvent(1);
+
+		assertThat(event.get(5, TimeUnit.SECONDS)).isEqualTo(new Event(1, "event1"));
+		assertThat(requestThread.get()).startsWith("AsyncRestService-io-");
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.androidannotations.rest.spring.api.RestResponseCache;
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.message.BasicHeader;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.httpclient.FakeHttp;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@RunWith(RobolectricTestRunner.class)
+public class CachedRestServiceTest {
+
+	private CachedRestService cachedRestService = new CachedRestService_(null);
+
+	private void addPendingResponse(HttpStatus status, String jsonResponse, Header... headers) {
+		Header[] allHeaders = new Header[headers.length + 1];
+		allHeaders[0] = new BasicHeader("content-type", "application/json");
+		System.arraycopy(headers, 0, allHeaders, 1, headers.length);
+		FakeHttp.addPendingHttpResponse(status.value(), jsonResponse.replaceAll("'", "\""), allHeaders);
+	}
+
+	@Test
+	public void notModifiedResponseIsServedFromCache() {
+		addPendingResponse(HttpStatus.OK, "{'id':1,'name':'event1'}", new BasicHeader("ETag", "\"v1\""));
+		Event event = cachedRestService.getEvent(1);
+		assertThat(event).isEqualTo(new Event(1, "event1"));
+		assertThat(FakeHttp.getLatestSentHttpRequest().containsHeader("If-None-Match")).isFalse();
+
+		addPendingResponse(HttpStatus.NOT_MODIFIED, "");
+		assertThat(cachedRestService.getEvent(1)).isSameAs(event);
+
+		HttpRequest revalidation = FakeHttp.getLatestSentHttpRequest();
+		assertThat(revalidation.getFirstHeader("If-None-Match").getValue()).isEqualTo("\"v1\"");
+	}
+
+	@Test
+	public void freshResponseDoesNotHitTheNetwork() {
+		addPendingResponse(HttpStatus.OK, "{'id':2,'name':'event2'}");
+		Event event = cachedRestService.getFreshEvent(2);
+		HttpRequest request = FakeHttp.getLatestSentHttpRequest();
+
+		assertThat(cachedRestService.getFreshEvent(2)).isSameAs(event);
+		assertThat(FakeHttp.getLatestSentHttpRequest()).isSameAs(request);
+	}
+
+	@Test
+	public void urlVariablesArePartOfTheCacheKey() {
+		addPendingResponse(HttpStatus.OK, "{'id':3,'name':'event3'}");
+		addPendingResponse(HttpStatus.OK, "{'id':4,'name':'event4'}");
+
+		assertThat(cachedRestService.getFreshEvent(3)).isEqualTo(new Event(3, "event3"));
+		assertThat(cachedRestService.getFreshEvent(4)).isEqualTo(new Event(4, "event4"));
+	}
+
+	@Test
+	public void notModifiedResponseIsServedAfterEviction() {
+		RestResponseCache cache = new RestResponseCache(1);
+		Event event = new Event(5, "event5");
+		cache.update("event5", null, okResponse(event, "\"v5\""), -1);
+
+		HttpHeaders requestHeaders = new HttpHeaders();
+		RestResponseCache.Entry cachedEntry = cache.addConditionalHeaders("event5", requestHeaders);
+		assertThat(requestHeaders.getIfNoneMatch()).containsExactly("\"v5\"");
+
+		cache.update("event6", null, okResponse(new Event(6, "event6"), "\"v6\""), -1);
+		ResponseEntity<Event> response = cache.update("event5", cachedEntry, new ResponseEntity<Event>(HttpStatus.NOT_MODIFIED), -1);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isSameAs(event);
+	}
+
+	@Test
+	public void notModifiedResponseIsServedAfterClear() {
+		RestResponseCache cache = new RestResponseCache();
+		Event event = new Event(7, "event7");
+		cache.update("event7", null, okResponse(event, "\"v7\""), -1);
+
+		RestResponseCache.Entry cachedEntry = cache.addConditionalHeaders("event7", new HttpHeaders());
+		cache.clear();
+		ResponseEntity<Event> response = cache.update("event7", cachedEntry, new ResponseEntity<Event>(HttpStatus.NOT_MODIFIED), -1);
+
+		assertThat(response.getBody()).isSameAs(event);
+	}
+
+	private static ResponseEntity<Event> okResponse(Event event, String eTag) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(eTag);
+		return new ResponseEntity<Event>(event, headers, HttpStatus.OK);
+	}
+}
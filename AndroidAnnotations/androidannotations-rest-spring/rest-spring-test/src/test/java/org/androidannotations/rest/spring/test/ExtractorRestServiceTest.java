@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+import org.androidannotations.rest.spring.api.EntityRequestCallback;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class ExtractorRestServiceTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void returnsValueOfExtractor() {
+		ResponseExtractor<Integer> counter = mock(ResponseExtractor.class);
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.execute(eq("http://company.com/ajax/services/events/{year}"), eq(HttpMethod.GET), Matchers.<RequestCallback> any(), eq(counter),
+				anyMapOf(String.class, Object.class))).thenReturn(42);
+
+		ExtractorRestService service = new ExtractorRestService_(null);
+		service.setRestTemplate(restTemplate);
+
+		assertThat(service.countEvents(2017, counter)).isEqualTo(42);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void writesBodyWithMessageConverters() throws Exception {
+		ResponseExtractor<Void> extractor = mock(ResponseExtractor.class);
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.getMessageConverters())
+				.thenReturn(Collections.<HttpMessageConverter<?>> singletonList(new MappingJacksonHttpMessageConverter()));
+
+		ExtractorRestService service = new ExtractorRestService_(null);
+		service.setRestTemplate(restTemplate);
+		service.addEvents(new Event(1, "event1"), extractor);
+
+		ArgumentCaptor<RequestCallback> callback = ArgumentCaptor.forClass(RequestCallback.class);
+		verify(restTemplate).execute(eq("http://company.com/ajax/services/events"), eq(HttpMethod.POST), callback.capture(), eq(extractor));
+		assertThat(callback.getValue()).isInstanceOf(EntityRequestCallback.class);
+
+		HttpHeaders headers = new HttpHeaders();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		ClientHttpRequest request = mock(ClientHttpRequest.class);
+		when(request.getHeaders()).thenReturn(headers);
+		when(request.getBody()).thenReturn(body);
+
+		callback.getValue().doWithRequest(request);
+
+		assertThat(headers.getContentType().includes(MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(body.toString("UTF-8")).contains("\"name\":\"event1\"");
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.androidannotations.rest.spring.api.RestMetrics;
+import org.androidannotations.rest.spring.api.RestMetricsHistogram;
+import org.androidannotations.rest.spring.api.RestMetricsListener;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class MetricsRestServiceTest {
+
+	@Test
+	public void reportsSuccessfulRequests() {
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class)))
+				.thenReturn(new ResponseEntity<Event>(new Event(1, "event1"), HttpStatus.OK));
+
+		MetricsRestService service = new MetricsRestService_(null);
+		service.setRestTemplate(restTemplate);
+		RestMetricsListener listener = mock(RestMetricsListener.class);
+		service.getRestMetrics().setListener(listener);
+		try {
+			service.getEvent(1);
+		} finally {
+			service.getRestMetrics().setListener(new RestMetricsHistogram());
+		}
+
+		verify(listener).onRequestCompleted(eq("getEvent"), eq(200), eq(-1L), anyLong(), eq(-1L));
+	}
+
+	@Test
+	public void recordsFailedRequestsInHistogram() {
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class)))
+				.thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+		MetricsRestService service = new MetricsRestService_(null);
+		service.setRestTemplate(restTemplate);
+		RestMetricsHistogram histogram = new RestMetricsHistogram();
+		service.getRestMetrics().setListener(histogram);
+		try {
+			service.getEvent(1);
+			fail("the request should fail");
+		} catch (HttpClientErrorException e) {
+			assertThat(histogram.getCount("getEvent")).isEqualTo(1);
+			assertThat(histogram.getStatusCodes("getEvent")).containsKey(404);
+			assertThat(histogram.dump()).startsWith("getEvent: count=1");
+		} finally {
+			service.getRestMetrics().setListener(new RestMetricsHistogram());
+		}
+	}
+
+	@Test
+	public void reportsRequestsFailingWithError() throws IOException {
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class)))
+				.thenThrow(new OutOfMemoryError()) //
+				.thenReturn(new ResponseEntity<Event>(new Event(1, "event1"), HttpStatus.OK));
+
+		MetricsRestService service = new MetricsRestService_(null);
+		service.setRestTemplate(restTemplate);
+		RestMetricsListener listener = mock(RestMetricsListener.class);
+		service.getRestMetrics().setListener(listener);
+		try {
+			try {
+				service.getEvent(1);
+				fail("the request should fail");
+			} catch (OutOfMemoryError e) {
+				verify(listener).onRequestCompleted(eq("getEvent"), eq(-1), eq(-1L), anyLong(), eq(-1L));
+			}
+
+			// the failed exchange is not left as the current one of the thread
+			assertNoCurrentExchange(service.getRestMetrics());
+			assertThat(service.getEvent(1)).isEqualTo(new Event(1, "event1"));
+		} finally {
+			service.getRestMetrics().setListener(new RestMetricsHistogram());
+		}
+	}
+
+	@Test
+	public void exchangeReportedOutOfOrderIsNotLeftCurrent() throws IOException {
+		RestMetrics metrics = new RestMetrics();
+		metrics.setListener(null);
+
+		RestMetrics.Exchange outer = metrics.start("outer");
+		RestMetrics.Exchange inner = metrics.start("inner");
+		outer.completed(null);
+		inner.completed(null);
+
+		assertNoCurrentExchange(metrics);
+	}
+
+	private void assertNoCurrentExchange(RestMetrics metrics) throws IOException {
+		// without a current exchange, the interceptor hands the response as is
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+		when(execution.execute(Matchers.<HttpRequest> any(), Matchers.<byte[]> any())).thenReturn(response);
+		assertThat(metrics.getInterceptor().intercept(mock(HttpRequest.class), new byte[0], execution)).isSameAs(response);
+	}
+}
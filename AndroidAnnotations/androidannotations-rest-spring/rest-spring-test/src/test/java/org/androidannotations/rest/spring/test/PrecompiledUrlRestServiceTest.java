@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class PrecompiledUrlRestServiceTest {
+
+	@Test
+	public void urlVariablesAreEncodedLikeTheRestTemplateDoes() {
+		PrecompiledUrlRestService service = new PrecompiledUrlRestService_(null);
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		service.setRestTemplate(restTemplate);
+
+		service.getEvent("New York", "a&b=c");
+
+		URI expectedUri = URI.create("http://company.com/ajax/services/events/New%20York?filter=a%26b%3Dc");
+		verify(restTemplate).exchange(eq(expectedUri), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class));
+	}
+}
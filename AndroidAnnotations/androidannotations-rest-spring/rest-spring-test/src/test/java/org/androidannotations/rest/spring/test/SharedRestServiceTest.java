@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class SharedRestServiceTest {
+
+	@Test
+	public void instancesShareTheRestTemplate() {
+		SharedRestService first = new SharedRestService_(RuntimeEnvironment.application);
+		SharedRestService second = new SharedRestService_(RuntimeEnvironment.application);
+
+		RestTemplate restTemplate = first.getRestTemplate();
+		assertThat(restTemplate).isSameAs(second.getRestTemplate());
+		assertThat(restTemplate.getMessageConverters()).hasSize(1);
+		assertThat(restTemplate.getInterceptors()).hasSize(1);
+	}
+
+	@Test
+	public void settingRestTemplateOnlyAffectsOneInstance() {
+		SharedRestService first = new SharedRestService_(RuntimeEnvironment.application);
+		SharedRestService second = new SharedRestService_(RuntimeEnvironment.application);
+
+		RestTemplate restTemplate = new RestTemplate();
+		first.setRestTemplate(restTemplate);
+
+		assertThat(first.getRestTemplate()).isSameAs(restTemplate);
+		assertThat(second.getRestTemplate()).isNotSameAs(restTemplate);
+	}
+}
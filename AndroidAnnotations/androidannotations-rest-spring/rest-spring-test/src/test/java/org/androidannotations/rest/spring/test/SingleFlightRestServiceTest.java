@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(RobolectricTestRunner.class)
+public class SingleFlightRestServiceTest {
+
+	@Test
+	public void concurrentCallsShareOneRequest() throws Exception {
+		final CountDownLatch requestStarted = new CountDownLatch(1);
+		final CountDownLatch releaseResponse = new CountDownLatch(1);
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class))) //
+				.thenAnswer(new Answer<ResponseEntity<Event>>() {
+					@Override
+					public ResponseEntity<Event> answer(InvocationOnMock invocation) throws Throwable {
+						requestStarted.countDown();
+						releaseResponse.await();
+						return new ResponseEntity<Event>(new Event(1, "event1"), HttpStatus.OK);
+					}
+				});
+
+		final SingleFlightRestService service = new SingleFlightRestService_(null);
+		service.setRestTemplate(restTemplate);
+
+		Callable<Event> call = new Callable<Event>() {
+			@Override
+			public Event call() throws Exception {
+				return service.getEvent(1);
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Event> leader = executor.submit(call);
+			requestStarted.await();
+			Future<Event> follower = executor.submit(call);
+
+			// give the follower the time to join the in-flight request
+			Thread.sleep(100);
+			releaseResponse.countDown();
+
+			assertThat(leader.get()).isEqualTo(new Event(1, "event1"));
+			assertThat(follower.get()).isSameAs(leader.get());
+		} finally {
+			executor.shutdown();
+		}
+
+		verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class));
+	}
+
+	@Test
+	public void followersReceiveErrorOfLeader() throws Exception {
+		final CountDownLatch requestStarted = new CountDownLatch(1);
+		final CountDownLatch releaseResponse = new CountDownLatch(1);
+		final StackOverflowError error = new StackOverflowError();
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class))) //
+				.thenAnswer(new Answer<ResponseEntity<Event>>() {
+					@Override
+					public ResponseEntity<Event> answer(InvocationOnMock invocation) throws Throwable {
+						requestStarted.countDown();
+						releaseResponse.await();
+						throw error;
+					}
+				});
+
+		final SingleFlightRestService service = new SingleFlightRestService_(null);
+		service.setRestTemplate(restTemplate);
+
+		Callable<Event> call = new Callable<Event>() {
+			@Override
+			public Event call() throws Exception {
+				return service.getEvent(1);
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Event> leader = executor.submit(call);
+			requestStarted.await();
+			Future<Event> follower = executor.submit(call);
+
+			// give the follower the time to join the in-flight request
+			Thread.sleep(100);
+			releaseResponse.countDown();
+
+			assertThat(getError(leader)).isSameAs(error);
+			assertThat(getError(follower)).isSameAs(error);
+
+			// the failed call is not kept, the next one performs a new request
+			assertThat(getError(executor.submit(call))).isSameAs(error);
+		} finally {
+			executor.shutdown();
+		}
+
+		verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), Matchers.<HttpEntity<?>> any(), eq(Event.class), anyMapOf(String.class, Object.class));
+	}
+
+	private Throwable getError(Future<Event> future) throws Exception {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			return e.getCause();
+		}
+		throw new AssertionError("The call should have failed");
+	}
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -23,6 +24,7 @@ import org.androidannotations.handler.AnnotationHandler;
 import org.androidannotations.plugin.AndroidAnnotationsPlugin;
 import org.androidannotations.rest.spring.handler.BodyHandler;
 import org.androidannotations.rest.spring.handler.DeleteHandler;
+import org.androidannotations.rest.spring.handler.ExtractorHandler;
 import org.androidannotations.rest.spring.handler.FieldHandler;
 import org.androidannotations.rest.spring.handler.GetHandler;
 import org.androidannotations.rest.spring.handler.HeadHandler;
@@ -61,6 +63,7 @@ public class RestSpringPlugin extends AndroidAnnotationsPlugin {
 		annotationHandlers.add(new HeadHandler(androidAnnotationEnv));
 		annotationHandlers.add(new OptionsHandler(androidAnnotationEnv));
 		annotationHandlers.add(new PathHandler(androidAnnotationEnv));
+		annotationHandlers.add(new ExtractorHandler(androidAnnotationEnv));
 		annotationHandlers.add(new HeaderHandler(androidAnnotationEnv));
 		annotationHandlers.add(new HeadersHandler(androidAnnotationEnv));
 		annotationHandlers.add(new RestServiceHandler(androidAnnotationEnv));
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring.handler;
+
+import java.util.Arrays;
+
+import javax.lang.model.element.Element;
+
+import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.ElementValidation;
+import org.androidannotations.handler.BaseAnnotationHandler;
+import org.androidannotations.holder.GeneratedClassHolder;
+import org.androidannotations.rest.spring.annotations.Delete;
+import org.androidannotations.rest.spring.annotations.Extractor;
+import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Patch;
+import org.androidannotations.rest.spring.annotations.Post;
+import org.androidannotations.rest.spring.annotations.Put;
+import org.androidannotations.rest.spring.helper.RestSpringValidatorHelper;
+
+public class ExtractorHandler extends BaseAnnotationHandler<GeneratedClassHolder> {
+
+	private RestSpringValidatorHelper restValidatorHelper;
+
+	public ExtractorHandler(AndroidAnnotationsEnvironment environment) {
+		super(Extractor.class, environment);
+		restValidatorHelper = new RestSpringValidatorHelper(environment, getTarget());
+	}
+
+	@Override
+	protected void validate(Element element, ElementValidation validation) {
+		validatorHelper.enclosingElementHasOneOfAnnotations(element, Arrays.asList(Get.class, Post.class, Put.class, Patch.class, Delete.class), validation);
+
+		restValidatorHelper.isResponseExtractor(element, validation);
+
+		restValidatorHelper.doesNotHavePathAnnotation(element, validation);
+		restValidatorHelper.doesNotHaveFieldAnnotation(element, validation);
+		restValidatorHelper.doesNotHavePartAnnotation(element, validation);
+		restValidatorHelper.doesNotHaveBodyAnnotation(element, validation);
+	}
+
+	@Override
+	public void process(Element element, GeneratedClassHolder holder) throws Exception {
+		// Don't do anything here.
+	}
+
+}
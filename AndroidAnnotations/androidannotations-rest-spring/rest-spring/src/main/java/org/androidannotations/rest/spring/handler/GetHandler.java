@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -21,6 +22,8 @@ import javax.lang.model.element.ExecutableElement;
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.holder.RestHolder;
 
 public class GetHandler extends RestMethodHandler {
 
@@ -35,6 +38,8 @@ public class GetHandler extends RestMethodHandler {
 		validatorHelper.doesNotReturnPrimitive((ExecutableElement) element, validation);
 
 		restSpringValidatorHelper.doesNotHaveRequestEntityAnnotatedParameters((ExecutableElement) element, validation);
+
+		restSpringValidatorHelper.singleFlightMethodReturnsValue((ExecutableElement) element, validation);
 	}
 
 	@Override
@@ -42,4 +47,10 @@ public class GetHandler extends RestMethodHandler {
 		Get annotation = element.getAnnotation(Get.class);
 		return annotation.value();
 	}
+
+	@Override
+	protected boolean isSingleFlight(Element element, RestHolder holder) {
+		Rest restAnnotation = holder.getAnnotatedElement().getAnnotation(Rest.class);
+		return element.getAnnotation(Get.class).singleFlight() || restAnnotation.singleFlight();
+	}
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -36,8 +37,8 @@ import org.androidannotations.rest.spring.holder.RestHolder;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.JBlock;
-import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
+import com.helger.jcodemodel.JVar;
 
 public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 
@@ -80,6 +81,10 @@ public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 		restSpringValidatorHelper.validateRequestFactory(element, validation);
 
 		restSpringValidatorHelper.validateResponseErrorHandler(element, validation);
+
+		restSpringValidatorHelper.hasValidIoThreads(element, validation);
+
+		restSpringValidatorHelper.restClientMetricsHasMetrics(typeElement, validation);
 	}
 
 	@Override
@@ -87,6 +92,7 @@ public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 		setRootUrl(element, holder);
 		setConverters(element, holder);
 		setInterceptors(element, holder);
+		setMetricsInterceptor(element, holder);
 		setRequestFactory(element, holder);
 		setResponseErrorHandler(element, holder);
 	}
@@ -99,12 +105,12 @@ public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 
 	private void setConverters(Element element, RestHolder holder) {
 		List<DeclaredType> converters = annotationHelper.extractAnnotationClassArrayParameter(element, getTarget(), "converters");
-		JFieldVar restTemplateField = holder.getRestTemplateField();
-		JBlock init = holder.getInit().body();
-		init.add(invoke(restTemplateField, "getMessageConverters").invoke("clear"));
+		JVar restTemplate = holder.getRestTemplateInitRef();
+		JBlock init = holder.getRestTemplateInitBlock();
+		init.add(invoke(restTemplate, "getMessageConverters").invoke("clear"));
 		for (DeclaredType converterType : converters) {
-			JInvocation newConverter = codeModelHelper.newBeanOrEBean(converterType, holder.getInitContextParam());
-			init.add(invoke(restTemplateField, "getMessageConverters").invoke("add").arg(newConverter));
+			JInvocation newConverter = codeModelHelper.newBeanOrEBean(converterType, holder.getRestTemplateInitContextParam());
+			init.add(invoke(restTemplate, "getMessageConverters").invoke("add").arg(newConverter));
 		}
 	}
 
@@ -114,29 +120,41 @@ public class RestHandler extends BaseGeneratingAnnotationHandler<RestHolder> {
 			AbstractJClass listClass = getJClass(ARRAYLIST);
 			AbstractJClass clientInterceptorClass = getJClass(CLIENT_HTTP_REQUEST_INTERCEPTOR);
 			listClass = listClass.narrow(clientInterceptorClass);
-			JFieldVar restTemplateField = holder.getRestTemplateField();
-			JBlock init = holder.getInit().body();
-			init.add(invoke(restTemplateField, "setInterceptors").arg(_new(listClass)));
+			JVar restTemplate = holder.getRestTemplateInitRef();
+			JBlock init = holder.getRestTemplateInitBlock();
+			init.add(invoke(restTemplate, "setInterceptors").arg(_new(listClass)));
 			for (DeclaredType interceptorType : interceptors) {
-				JInvocation newInterceptor = codeModelHelper.newBeanOrEBean(interceptorType, holder.getInitContextParam());
-				init.add(invoke(restTemplateField, "getInterceptors").invoke("add").arg(newInterceptor));
+				JInvocation newInterceptor = codeModelHelper.newBeanOrEBean(interceptorType, holder.getRestTemplateInitContextParam());
+				init.add(invoke(restTemplate, "getInterceptors").invoke("add").arg(newInterceptor));
+			}
+		}
+	}
+
+	private void setMetricsInterceptor(Element element, RestHolder holder) {
+		if (element.getAnnotation(Rest.class).metrics()) {
+			JVar restTemplate = holder.getRestTemplateInitRef();
+			JBlock init = holder.getRestTemplateInitBlock();
+			if (annotationHelper.extractAnnotationClassArrayParameter(element, getTarget(), "interceptors") == null) {
+				AbstractJClass listClass = getJClass(ARRAYLIST).narrow(getJClass(CLIENT_HTTP_REQUEST_INTERCEPTOR));
+				init.add(invoke(restTemplate, "setInterceptors").arg(_new(listClass)));
 			}
+			init.add(invoke(restTemplate, "getInterceptors").invoke("add").arg(holder.getRestMetricsField().invoke("getInterceptor")));
 		}
 	}
 
 	private void setRequestFactory(Element element, RestHolder holder) {
 		DeclaredType requestFactoryType = annotationHelper.extractAnnotationClassParameter(element, getTarget(), "requestFactory");
 		if (requestFactoryType != null) {
-			JInvocation requestFactory = codeModelHelper.newBeanOrEBean(requestFactoryType, holder.getInitContextParam());
-			holder.getInit().body().add(invoke(holder.getRestTemplateField(), "setRequestFactory").arg(requestFactory));
+			JInvocation requestFactory = codeModelHelper.newBeanOrEBean(requestFactoryType, holder.getRestTemplateInitContextParam());
+			holder.getRestTemplateInitBlock().add(invoke(holder.getRestTemplateInitRef(), "setRequestFactory").arg(requestFactory));
 		}
 	}
 
 	private void setResponseErrorHandler(Element element, RestHolder holder) {
 		DeclaredType responseErrorHandler = annotationHelper.extractAnnotationClassParameter(element, getTarget(), "responseErrorHandler");
 		if (responseErrorHandler != null) {
-			JInvocation errorHandler = codeModelHelper.newBeanOrEBean(responseErrorHandler, holder.getInitContextParam());
-			holder.getInit().body().add(invoke(holder.getRestTemplateField(), "setErrorHandler").arg(errorHandler));
+			JInvocation errorHandler = codeModelHelper.newBeanOrEBean(responseErrorHandler, holder.getRestTemplateInitContextParam());
+			holder.getRestTemplateInitBlock().add(invoke(holder.getRestTemplateInitRef(), "setErrorHandler").arg(errorHandler));
 		}
 	}
 }
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -15,6 +16,7 @@
  */
 package org.androidannotations.rest.spring.handler;
 
+import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_HEADERS;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_METHOD;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.NESTED_RUNTIME_EXCEPTION;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.RESPONSE_ENTITY;
@@ -24,15 +26,21 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
-import javax.lang.model.type.TypeKind;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.handler.BaseAnnotationHandler;
+import org.androidannotations.rest.spring.annotations.Cacheable;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.api.EntityRequestCallback;
+import org.androidannotations.rest.spring.api.RestMetrics;
+import org.androidannotations.rest.spring.api.RestResponseCache;
+import org.androidannotations.rest.spring.api.SingleFlight;
 import org.androidannotations.rest.spring.helper.RestAnnotationHelper;
 import org.androidannotations.rest.spring.helper.RestSpringValidatorHelper;
 import org.androidannotations.rest.spring.holder.RestHolder;
@@ -44,6 +52,7 @@ import com.helger.jcodemodel.JArray;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JCatchBlock;
 import com.helger.jcodemodel.JConditional;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JForEach;
 import com.helger.jcodemodel.JInvocation;
@@ -73,6 +82,9 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		Set<String> variableNames = restAnnotationHelper.extractUrlVariableNames((ExecutableElement) element);
 		restSpringValidatorHelper.urlVariableNamesExistInParameters((ExecutableElement) element, variableNames, validation);
 		restSpringValidatorHelper.hasAnnotatedAllParameters((ExecutableElement) element, validation);
+		restSpringValidatorHelper.validateCacheable((ExecutableElement) element, validation);
+		restSpringValidatorHelper.validateExtractor((ExecutableElement) element, validation);
+		restSpringValidatorHelper.validateAsync((ExecutableElement) element, validation);
 	}
 
 	@Override
@@ -80,53 +92,181 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		ExecutableElement executableElement = (ExecutableElement) element;
 		String methodName = element.getSimpleName().toString();
 		AbstractJClass methodReturnClass = getMethodReturnClass(element, holder);
-		boolean methodReturnVoid = executableElement.getReturnType().getKind() == TypeKind.VOID;
+		boolean methodReturnVoid = restAnnotationHelper.isResultVoid(executableElement);
+		boolean async = restAnnotationHelper.isAsync(executableElement);
 
 		// Creating method signature
-		JMethod method = holder.getGeneratedClass().method(JMod.PUBLIC, methodReturnClass, methodName);
+		JMethod method = holder.getGeneratedClass().method(JMod.PUBLIC, codeModelHelper.typeMirrorToJClass(executableElement.getReturnType()), methodName);
 		method.annotate(Override.class);
 		SortedMap<String, JVar> params = addMethodParams(executableElement, holder, method);
 		JBlock methodBody = new JBlock().bracesRequired(false).indentRequired(false);
+		JVar extractor = restAnnotationHelper.getExtractor(executableElement, params);
+
+		Cacheable cacheable = element.getAnnotation(Cacheable.class);
+		boolean precompileUrls = holder.getAnnotatedElement().getAnnotation(Rest.class).precompileUrls();
+		IJExpression url;
+		IJExpression urlKey;
+		IJExpression urlVariables = null;
+		if (precompileUrls) {
+			url = declareUri(executableElement, holder, methodBody, params);
+			urlKey = url.invoke("toString");
+		} else {
+			url = getUrl(element, holder);
+			urlKey = url;
+			if (cacheable != null) {
+				// the cache key needs the url variables before the request
+				// entity
+				urlVariables = getUrlVariables(element, holder, methodBody, params);
+			}
+		}
+
+		JVar cacheKey = null;
+		if (cacheable != null) {
+			cacheKey = declareCacheLookup(holder, methodBody, methodName, urlKey, urlVariables, methodReturnClass);
+		}
+
+		IJExpression requestEntity;
+		JVar cachedEntry = null;
+		if (cacheable != null) {
+			JVar httpHeaders = declareConditionalRequestHeaders(executableElement, holder, methodBody);
+			// the entry is kept so that a 304 is answered even if it is
+			// evicted before the response arrives
+			AbstractJClass entryClass = getJClass(RestResponseCache.Entry.class);
+			cachedEntry = methodBody.decl(entryClass, "cachedEntry", holder.getResponseCacheField().invoke("addConditionalHeaders").arg(cacheKey).arg(httpHeaders));
+			requestEntity = restAnnotationHelper.declareHttpEntity(methodBody, null, httpHeaders);
+		} else {
+			requestEntity = getRequestEntity(executableElement, holder, methodBody, params);
+		}
+		if (cacheable == null && !precompileUrls) {
+			urlVariables = getUrlVariables(element, holder, methodBody, params);
+		}
+
+		boolean metrics = holder.getAnnotatedElement().getAnnotation(Rest.class).metrics();
+
+		if (extractor != null) {
+			// the response is streamed to the extractor instead of being
+			// converted by exchange()
+			JInvocation executeCall = JExpr.invoke(holder.getRestTemplateField(), "execute");
+			executeCall.arg(url);
+			executeCall.arg(getHttpMethod());
+			executeCall.arg(getRequestCallback(holder, requestEntity));
+			executeCall.arg(extractor);
+			if (urlVariables != null) {
+				executeCall.arg(urlVariables);
+			}
+
+			JBlock callBody = methodBody;
+			JVar metricsExchange = null;
+			JInvocation resultCall = executeCall;
+			if (metrics) {
+				metricsExchange = declareMetricsExchange(holder, methodBody, methodName);
+				callBody = new JBlock().bracesRequired(false).indentRequired(false);
+				resultCall = metricsExchange.invoke("completed").arg(executeCall);
+			}
+			if (methodReturnVoid) {
+				callBody.add(resultCall);
+			} else {
+				callBody._return(resultCall);
+			}
+			if (metricsExchange != null) {
+				surroundWithFailureTryCatch(methodBody, callBody, metricsExchange, "failed");
+			}
+			methodBody = surroundWithRestTryCatch(holder, methodBody, methodReturnVoid);
+			copyMethodBody(holder, method, methodBody, async, methodReturnClass);
+			return;
+		}
+		IJExpression responseClass = getResponseClass(element, holder);
+
+		JBlock requestBody = methodBody;
+		JVar flight = null;
+		if (!methodReturnVoid && isSingleFlight(element, holder)) {
+			flight = declareFlight(holder, methodBody, methodName, urlKey, urlVariables, requestEntity, methodReturnClass);
+			requestBody = new JBlock().bracesRequired(false).indentRequired(false);
+		}
+
+		JBlock callBody = requestBody;
+		JVar metricsExchange = null;
+		if (metrics) {
+			metricsExchange = declareMetricsExchange(holder, requestBody, methodName);
+			callBody = new JBlock().bracesRequired(false).indentRequired(false);
+		}
 
 		// RestTemplate exchange() method call
 		JInvocation exchangeCall = JExpr.invoke(holder.getRestTemplateField(), "exchange");
-		exchangeCall.arg(getUrl(element, holder));
+		exchangeCall.arg(url);
 		exchangeCall.arg(getHttpMethod());
-		exchangeCall.arg(getRequestEntity(executableElement, holder, methodBody, params));
-		exchangeCall.arg(getResponseClass(element, holder));
-		IJExpression urlVariables = getUrlVariables(element, holder, methodBody, params);
+		exchangeCall.arg(requestEntity);
+		exchangeCall.arg(responseClass);
 		if (urlVariables != null) {
 			exchangeCall.arg(urlVariables);
 		}
 
-		IJExpression response = setCookies(executableElement, holder, methodBody, exchangeCall);
-		if (methodReturnVoid && response.equals(exchangeCall)) {
-			methodBody.add(exchangeCall);
+		JInvocation responseCall = exchangeCall;
+		if (metricsExchange != null) {
+			responseCall = metricsExchange.invoke("completed").arg(responseCall);
+		}
+		if (cacheable != null) {
+			responseCall = holder.getResponseCacheField().invoke("update").arg(cacheKey).arg(cachedEntry).arg(responseCall).arg(JExpr.lit(cacheable.maxAge()));
+		}
+		if (flight != null) {
+			responseCall = flight.invoke("succeed").arg(responseCall);
+		}
+
+		IJExpression response = setCookies(executableElement, holder, callBody, responseCall);
+		if (methodReturnVoid && response.equals(responseCall)) {
+			callBody.add(responseCall);
 		} else if (!methodReturnVoid) {
-			methodBody._return(addResultCallMethod(response, methodReturnClass));
+			callBody._return(addResultCallMethod(response, methodReturnClass));
+		}
+		if (metricsExchange != null) {
+			surroundWithFailureTryCatch(requestBody, callBody, metricsExchange, "failed");
+		}
+		if (flight != null) {
+			surroundWithFailureTryCatch(methodBody, requestBody, flight, "fail");
 		}
 		methodBody = surroundWithRestTryCatch(holder, methodBody, methodReturnVoid);
-		codeModelHelper.copy(methodBody, method.body());
+		copyMethodBody(holder, method, methodBody, async, methodReturnClass);
+	}
+
+	/**
+	 * Copies the request code into the generated method, or into a task
+	 * submitted to the I/O executor if the method returns a future.
+	 */
+	private void copyMethodBody(RestHolder holder, JMethod method, JBlock methodBody, boolean async, AbstractJClass resultClass) {
+		if (!async) {
+			codeModelHelper.copy(methodBody, method.body());
+			return;
+		}
+		JDefinedClass callableClass = getCodeModel().anonymousClass(getJClass(Callable.class).narrow(resultClass));
+		JMethod callMethod = callableClass.method(JMod.PUBLIC, resultClass, "call");
+		callMethod.annotate(Override.class);
+		codeModelHelper.copy(methodBody, callMethod.body());
+		if (resultClass.fullName().equals(Void.class.getName())) {
+			callMethod.body()._return(JExpr._null());
+		}
+		method.body()._return(holder.getIoExecutorField().invoke("submit").arg(JExpr._new(callableClass)));
 	}
 
 	protected AbstractJClass getMethodReturnClass(Element element, RestHolder holder) {
 		ExecutableElement executableElement = (ExecutableElement) element;
-		return codeModelHelper.typeMirrorToJClass(executableElement.getReturnType());
+		return codeModelHelper.typeMirrorToJClass(restAnnotationHelper.getResultType(executableElement));
 	}
 
 	protected SortedMap<String, JVar> addMethodParams(ExecutableElement executableElement, RestHolder restHolder, JMethod method) {
 		List<? extends VariableElement> params = executableElement.getParameters();
 		SortedMap<String, JVar> methodParams = new TreeMap<>();
+		// the parameters of asynchronous methods are read by the submitted task
+		int paramMods = restAnnotationHelper.isAsync(executableElement) ? JMod.FINAL : JMod.NONE;
 		for (VariableElement parameter : params) {
 			String paramName = parameter.getSimpleName().toString();
 			String paramType = parameter.asType().toString();
 
 			JVar param;
 			if (parameter.asType().getKind().isPrimitive()) {
-				param = method.param(getCodeModel().parseType(paramType), paramName);
+				param = method.param(paramMods, getCodeModel().parseType(paramType), paramName);
 			} else {
 				AbstractJClass parameterClass = codeModelHelper.typeMirrorToJClass(parameter.asType());
-				param = method.param(parameterClass, paramName);
+				param = method.param(paramMods, parameterClass, paramName);
 			}
 			methodParams.put(paramName, param);
 		}
@@ -144,6 +284,29 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 
 	protected abstract String getUrlSuffix(Element element);
 
+	/**
+	 * Declares the expanded URI of the request, built from the url template
+	 * split at compile time.
+	 * 
+	 * @param element
+	 *            the REST method
+	 * @param holder
+	 *            the holder of the generated REST client
+	 * @param methodBody
+	 *            the block the URI is declared in
+	 * @param params
+	 *            the parameters of the generated method, by name
+	 * @return the variable holding the expanded URI
+	 */
+	protected JVar declareUri(ExecutableElement element, RestHolder holder, JBlock methodBody, SortedMap<String, JVar> params) {
+		String urlSuffix = getUrlSuffix(element);
+		IJExpression rootUrl = null;
+		if (!(urlSuffix.startsWith("http://") || urlSuffix.startsWith("https://"))) {
+			rootUrl = holder.getRootUrlField();
+		}
+		return restAnnotationHelper.declareUri(element, holder, methodBody, rootUrl, urlSuffix, params);
+	}
+
 	protected IJExpression getHttpMethod() {
 		AbstractJClass httpMethod = getJClass(HTTP_METHOD);
 		String simpleName = getTarget().substring(getTarget().lastIndexOf('.') + 1);
@@ -157,6 +320,99 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 		return restAnnotationHelper.declareHttpEntity(methodBody, entitySentToServer, httpHeaders);
 	}
 
+	private IJExpression getRequestCallback(RestHolder holder, IJExpression requestEntity) {
+		if (!(requestEntity instanceof JVar)) {
+			return JExpr._null();
+		}
+		JInvocation messageConverters = holder.getRestTemplateField().invoke("getMessageConverters");
+		return JExpr._new(getJClass(EntityRequestCallback.class)).arg(requestEntity).arg(messageConverters);
+	}
+
+	/**
+	 * Declares the cache key and returns early with the cached response while
+	 * it is fresh.
+	 */
+	private JVar declareCacheLookup(RestHolder holder, JBlock methodBody, String methodName, IJExpression url, IJExpression urlVariables, AbstractJClass methodReturnClass) {
+		JInvocation key = holder.getResponseCacheField().invoke("key").arg(methodName).arg(url);
+		key.arg(urlVariables != null ? urlVariables : JExpr._null());
+		JVar cacheKey = methodBody.decl(getClasses().STRING, "cacheKey", key);
+
+		AbstractJClass responseEntityClass = getResponseEntityClass(methodReturnClass);
+		JVar cachedResponse = methodBody.decl(responseEntityClass, "cachedResponse", holder.getResponseCacheField().invoke("getFresh").arg(cacheKey));
+		methodBody._if(cachedResponse.ne(JExpr._null()))._then()._return(addResultCallMethod(cachedResponse, methodReturnClass));
+		return cacheKey;
+	}
+
+	/**
+	 * Tells whether concurrent identical calls of the method should share a
+	 * single request.
+	 * 
+	 * @param element
+	 *            the annotated method
+	 * @param holder
+	 *            the holder of the generated REST client
+	 * @return <b>true</b> if the method uses a single flight, <b>false</b>
+	 *         otherwise
+	 */
+	protected boolean isSingleFlight(Element element, RestHolder holder) {
+		return false;
+	}
+
+	/**
+	 * Joins the in-flight identical call and returns early with its result
+	 * unless this caller is the one performing the request.
+	 */
+	private JVar declareFlight(RestHolder holder, JBlock methodBody, String methodName, IJExpression url, IJExpression urlVariables, IJExpression requestEntity,
+			AbstractJClass methodReturnClass) {
+		JInvocation join = holder.getSingleFlightField().invoke("join").arg(methodName).arg(url);
+		join.arg(urlVariables != null ? urlVariables : JExpr._null()).arg(requestEntity);
+
+		AbstractJClass flightClass = getJClass(SingleFlight.Flight.class).narrow(getResponseEntityClass(methodReturnClass));
+		JVar flight = methodBody.decl(flightClass, "flight", join);
+		methodBody._if(flight.invoke("isLeader").not())._then()._return(addResultCallMethod(flight.invoke("await"), methodReturnClass));
+		return flight;
+	}
+
+	/**
+	 * Starts measuring the request, whose code is then surrounded by a
+	 * try/catch reporting its failure.
+	 */
+	private JVar declareMetricsExchange(RestHolder holder, JBlock block, String methodName) {
+		AbstractJClass exchangeClass = getJClass(RestMetrics.Exchange.class);
+		return block.decl(exchangeClass, "metricsExchange", holder.getRestMetricsField().invoke("start").arg(methodName));
+	}
+
+	/**
+	 * Adds the given code into a try/catch which hands the runtime exceptions
+	 * and the errors to the failure method of the tracker before rethrowing
+	 * them, so that the tracker is always ended.
+	 */
+	private void surroundWithFailureTryCatch(JBlock block, JBlock body, JVar tracker, String failureMethod) {
+		JTryBlock tryBlock = block._try();
+		codeModelHelper.copy(body, tryBlock.body());
+		for (AbstractJClass exceptionClass : new AbstractJClass[] { getClasses().RUNTIME_EXCEPTION, getJClass(Error.class) }) {
+			JCatchBlock catchBlock = tryBlock._catch(exceptionClass);
+			JVar exceptionParam = catchBlock.param("e");
+			catchBlock.body()._throw(tracker.invoke(failureMethod).arg(exceptionParam));
+		}
+	}
+
+	private AbstractJClass getResponseEntityClass(AbstractJClass methodReturnClass) {
+		if (methodReturnClass.fullName().startsWith(RESPONSE_ENTITY)) {
+			return methodReturnClass;
+		}
+		return getJClass(RESPONSE_ENTITY).narrow(methodReturnClass);
+	}
+
+	private JVar declareConditionalRequestHeaders(ExecutableElement element, RestHolder holder, JBlock methodBody) {
+		JVar httpHeaders = restAnnotationHelper.declareHttpHeaders(element, holder, methodBody);
+		if (httpHeaders == null) {
+			AbstractJClass httpHeadersClass = getJClass(HTTP_HEADERS);
+			httpHeaders = methodBody.decl(httpHeadersClass, "httpHeaders", JExpr._new(httpHeadersClass));
+		}
+		return httpHeaders;
+	}
+
 	protected IJExpression getResponseClass(Element element, RestHolder holder) {
 		return restAnnotationHelper.getResponseClass(element, holder);
 	}
@@ -175,9 +431,9 @@ public abstract class RestMethodHandler extends BaseAnnotationHandler<RestHolder
 	private IJExpression setCookies(ExecutableElement executableElement, RestHolder restHolder, JBlock methodBody, JInvocation exchangeCall) {
 		String[] settingCookies = restAnnotationHelper.settingCookies(executableElement);
 		if (settingCookies != null) {
-			boolean methodReturnVoid = executableElement.getReturnType().getKind() == TypeKind.VOID;
+			boolean methodReturnVoid = restAnnotationHelper.isResultVoid(executableElement);
 
-			AbstractJClass exchangeResponseClass = restAnnotationHelper.retrieveResponseClass(executableElement.getReturnType(), restHolder);
+			AbstractJClass exchangeResponseClass = restAnnotationHelper.retrieveResponseClass(restAnnotationHelper.getResultType(executableElement), restHolder);
 			AbstractJType narrowType = exchangeResponseClass == null || methodReturnVoid ? getCodeModel().VOID : exchangeResponseClass;
 			AbstractJClass responseEntityClass = getJClass(RESPONSE_ENTITY).narrow(narrowType);
 			JVar responseEntity = methodBody.decl(responseEntityClass, "response", exchangeCall);
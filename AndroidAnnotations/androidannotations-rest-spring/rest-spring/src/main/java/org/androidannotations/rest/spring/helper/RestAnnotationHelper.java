@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -21,6 +22,8 @@ import static org.androidannotations.rest.spring.helper.RestSpringClasses.MEDIA_
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.RESPONSE_ENTITY;
 
 import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -31,6 +34,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeSet;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +55,7 @@ import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.TargetAnnotationHelper;
 import org.androidannotations.rest.spring.annotations.Accept;
 import org.androidannotations.rest.spring.annotations.Body;
+import org.androidannotations.rest.spring.annotations.Extractor;
 import org.androidannotations.rest.spring.annotations.Field;
 import org.androidannotations.rest.spring.annotations.Header;
 import org.androidannotations.rest.spring.annotations.Headers;
@@ -61,6 +66,7 @@ import org.androidannotations.rest.spring.annotations.RequiresCookie;
 import org.androidannotations.rest.spring.annotations.RequiresCookieInUrl;
 import org.androidannotations.rest.spring.annotations.RequiresHeader;
 import org.androidannotations.rest.spring.annotations.SetsCookie;
+import org.androidannotations.rest.spring.api.UriComponentEncoder;
 import org.androidannotations.rest.spring.holder.RestHolder;
 
 import com.helger.jcodemodel.AbstractJClass;
@@ -81,6 +87,9 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		codeModelHelper = new APTCodeModelHelper(environment);
 	}
 
+	/** Characters, besides letters and digits, which can be used in an URI. */
+	private static final String URI_ALLOWED_SYMBOLS = "-._~:/?#[]@!$&'()*+,;=%";
+
 	/** Captures URI template variable names. */
 	private static final Pattern NAMES_PATTERN = Pattern.compile("\\{([^/]+?)\\}");
 
@@ -107,6 +116,20 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 	}
 
 	public JVar declareUrlVariables(ExecutableElement element, RestHolder holder, JBlock methodBody, SortedMap<String, JVar> methodParams) {
+		Map<String, IJExpression> urlVariableValues = getUrlVariableValues(element, holder, methodParams);
+
+		AbstractJClass hashMapClass = getEnvironment().getClasses().HASH_MAP.narrow(String.class, Object.class);
+		if (!urlVariableValues.isEmpty()) {
+			JVar hashMapVar = methodBody.decl(hashMapClass, "urlVariables", JExpr._new(hashMapClass));
+			for (Map.Entry<String, IJExpression> urlVariable : urlVariableValues.entrySet()) {
+				methodBody.invoke(hashMapVar, "put").arg(urlVariable.getKey()).arg(urlVariable.getValue());
+			}
+			return hashMapVar;
+		}
+		return null;
+	}
+
+	private Map<String, IJExpression> getUrlVariableValues(ExecutableElement element, RestHolder holder, SortedMap<String, JVar> methodParams) {
 		Map<String, String> urlNameToElementName = new HashMap<String, String>();
 		for (VariableElement variableElement : element.getParameters()) {
 			if (variableElement.getAnnotation(Path.class) != null) {
@@ -124,24 +147,110 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 			}
 		}
 
-		AbstractJClass hashMapClass = getEnvironment().getClasses().HASH_MAP.narrow(String.class, Object.class);
-		if (!urlVariables.isEmpty()) {
-			JVar hashMapVar = methodBody.decl(hashMapClass, "urlVariables", JExpr._new(hashMapClass));
-			for (String urlVariable : urlVariables) {
-				String elementName = urlNameToElementName.get(urlVariable);
-				if (elementName != null) {
-					JVar methodParam = methodParams.get(elementName);
-					methodBody.invoke(hashMapVar, "put").arg(urlVariable).arg(methodParam);
-					methodParams.remove(elementName);
-				} else {
-					// cookie from url
-					JInvocation cookieValue = holder.getAvailableCookiesField().invoke("get").arg(JExpr.lit(urlVariable));
-					methodBody.invoke(hashMapVar, "put").arg(urlVariable).arg(cookieValue);
-				}
+		Map<String, IJExpression> urlVariableValues = new LinkedHashMap<String, IJExpression>();
+		for (String urlVariable : urlVariables) {
+			String elementName = urlNameToElementName.get(urlVariable);
+			if (elementName != null) {
+				urlVariableValues.put(urlVariable, methodParams.get(elementName));
+				methodParams.remove(elementName);
+			} else {
+				// cookie from url
+				urlVariableValues.put(urlVariable, holder.getAvailableCookiesField().invoke("get").arg(JExpr.lit(urlVariable)));
 			}
-			return hashMapVar;
 		}
-		return null;
+		return urlVariableValues;
+	}
+
+	/**
+	 * Splits the url template at compile time and declares the expanded URI,
+	 * built by concatenating the literal parts of the template with the
+	 * encoded values of its variables.
+	 * 
+	 * @param element
+	 *            the REST method
+	 * @param holder
+	 *            the holder of the generated REST client
+	 * @param methodBody
+	 *            the block the URI is declared in
+	 * @param rootUrl
+	 *            the root url prepended to the template, or <code>null</code>
+	 *            if the template is absolute
+	 * @param urlTemplate
+	 *            the url template of the method
+	 * @param methodParams
+	 *            the parameters of the generated method, by name
+	 * @return the variable holding the expanded URI
+	 */
+	public JVar declareUri(ExecutableElement element, RestHolder holder, JBlock methodBody, IJExpression rootUrl, String urlTemplate, SortedMap<String, JVar> methodParams) {
+		Map<String, IJExpression> urlVariableValues = getUrlVariableValues(element, holder, methodParams);
+		AbstractJClass encoderClass = getEnvironment().getJClass(UriComponentEncoder.class);
+
+		List<IJExpression> uriParts = new ArrayList<IJExpression>();
+		if (rootUrl != null) {
+			uriParts.add(rootUrl);
+		}
+		String encodeMethod = "encodePath";
+		Matcher matcher = NAMES_PATTERN.matcher(urlTemplate);
+		int literalStart = 0;
+		while (matcher.find()) {
+			String literal = urlTemplate.substring(literalStart, matcher.start());
+			addUriLiteral(uriParts, literal);
+			encodeMethod = nextEncodeMethod(encodeMethod, literal);
+
+			IJExpression value = urlVariableValues.get(matcher.group(1));
+			uriParts.add(encoderClass.staticInvoke(encodeMethod).arg(value));
+			literalStart = matcher.end();
+		}
+		addUriLiteral(uriParts, urlTemplate.substring(literalStart));
+
+		IJExpression uriString;
+		if (uriParts.isEmpty()) {
+			uriString = JExpr.lit("");
+		} else if (uriParts.size() == 1) {
+			uriString = uriParts.get(0);
+		} else {
+			AbstractJClass stringBuilderClass = getEnvironment().getClasses().STRING_BUILDER;
+			JInvocation builder = JExpr._new(stringBuilderClass).arg(uriParts.get(0));
+			for (IJExpression uriPart : uriParts.subList(1, uriParts.size())) {
+				builder = builder.invoke("append").arg(uriPart);
+			}
+			uriString = builder.invoke("toString");
+		}
+
+		AbstractJClass uriClass = getEnvironment().getJClass(URI.class);
+		return methodBody.decl(uriClass, "uri", uriClass.staticInvoke("create").arg(uriString));
+	}
+
+	private void addUriLiteral(List<IJExpression> uriParts, String literal) {
+		if (!literal.isEmpty()) {
+			uriParts.add(JExpr.lit(encodeTemplateLiteral(literal)));
+		}
+	}
+
+	private String nextEncodeMethod(String encodeMethod, String literal) {
+		if (literal.indexOf('#') != -1) {
+			return "encodeFragment";
+		} else if (literal.indexOf('?') != -1 && !"encodeFragment".equals(encodeMethod)) {
+			return "encodeQueryParam";
+		}
+		return encodeMethod;
+	}
+
+	/**
+	 * Percent-encodes the characters of a literal part of an url template
+	 * which are not allowed anywhere in an URI.
+	 */
+	private String encodeTemplateLiteral(String literal) {
+		StringBuilder encoded = new StringBuilder(literal.length());
+		for (byte b : literal.getBytes(StandardCharsets.UTF_8)) {
+			char c = (char) (b & 0xFF);
+			if (c < 0x80 && (Character.isLetterOrDigit(c) || URI_ALLOWED_SYMBOLS.indexOf(c) != -1)) {
+				encoded.append(c);
+			} else {
+				encoded.append('%').append(String.format("%02X", b & 0xFF));
+			}
+		}
+		return encoded.toString();
 	}
 
 	public String acceptedHeaders(ExecutableElement executableElement) {
@@ -281,17 +390,9 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		}
 
 		if (requiresCookies) {
-			AbstractJClass stringBuilderClass = getEnvironment().getClasses().STRING_BUILDER;
-			JVar cookiesValueVar = body.decl(stringBuilderClass, "cookiesValue", JExpr._new(stringBuilderClass));
-			for (String cookie : cookies) {
-				JInvocation cookieValue = JExpr.invoke(holder.getAvailableCookiesField(), "get").arg(cookie);
-				JInvocation cookieFormatted = getEnvironment().getClasses().STRING.staticInvoke("format").arg(String.format("%s=%%s;", cookie)).arg(cookieValue);
-				JInvocation appendCookie = JExpr.invoke(cookiesValueVar, "append").arg(cookieFormatted);
-				body.add(appendCookie);
-			}
-
-			JInvocation cookiesToString = cookiesValueVar.invoke("toString");
-			body.add(JExpr.invoke(httpHeadersVar, "set").arg("Cookie").arg(cookiesToString));
+			// the header value is only rebuilt when a cookie changes
+			JInvocation cookieHeaderValue = holder.getCookieHeaderField(cookies).invoke("value");
+			body.add(JExpr.invoke(httpHeadersVar, "set").arg("Cookie").arg(cookieHeaderValue));
 		}
 
 		if (requiresMultipartHeader) {
@@ -330,6 +431,15 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return null;
 	}
 
+	public JVar getExtractor(ExecutableElement element, SortedMap<String, JVar> params) {
+		for (VariableElement parameter : element.getParameters()) {
+			if (parameter.getAnnotation(Extractor.class) != null) {
+				return params.get(parameter.getSimpleName().toString());
+			}
+		}
+		return null;
+	}
+
 	public String getUrlVariableCorrespondingTo(VariableElement parameter) {
 		return extractParameter(parameter, Path.class);
 	}
@@ -362,11 +472,59 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 		return body.decl(narrowedHttpEntity, "requestEntity", newHttpEntityVarCall);
 	}
 
+	/**
+	 * Tells whether the method returns a {@link Future} completed by the I/O
+	 * executor instead of blocking.
+	 * 
+	 * @param element
+	 *            the REST method
+	 * @return <b>true</b> if the method returns a {@link Future},
+	 *         <b>false</b> otherwise
+	 */
+	public boolean isAsync(ExecutableElement element) {
+		TypeMirror returnType = element.getReturnType();
+		return returnType.getKind() == TypeKind.DECLARED && getTypeUtils().erasure(returnType).toString().equals(Future.class.getName());
+	}
+
+	/**
+	 * Returns the type of the response the method gives to its caller, which
+	 * is the type argument of the {@link Future} returned by asynchronous
+	 * methods.
+	 * 
+	 * @param element
+	 *            the REST method
+	 * @return the type of the response
+	 */
+	public TypeMirror getResultType(ExecutableElement element) {
+		TypeMirror returnType = element.getReturnType();
+		if (isAsync(element)) {
+			List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+			if (!typeArguments.isEmpty()) {
+				return typeArguments.get(0);
+			}
+		}
+		return returnType;
+	}
+
+	/**
+	 * Tells whether the method has no response to give, either by returning
+	 * void or a <code>Future&lt;Void&gt;</code>.
+	 * 
+	 * @param element
+	 *            the REST method
+	 * @return <b>true</b> if the method has no response, <b>false</b>
+	 *         otherwise
+	 */
+	public boolean isResultVoid(ExecutableElement element) {
+		TypeMirror resultType = getResultType(element);
+		return resultType.getKind() == TypeKind.VOID || resultType.toString().equals(Void.class.getName());
+	}
+
 	public IJExpression getResponseClass(Element element, RestHolder holder) {
 		ExecutableElement executableElement = (ExecutableElement) element;
 		IJExpression responseClassExpr = nullCastedToNarrowedClass(holder);
-		TypeMirror returnType = executableElement.getReturnType();
-		if (returnType.getKind() != TypeKind.VOID) {
+		TypeMirror returnType = getResultType(executableElement);
+		if (!isResultVoid(executableElement)) {
 			if (getElementUtils().getTypeElement(RestSpringClasses.PARAMETERIZED_TYPE_REFERENCE) != null) {
 				if (returnType.toString().startsWith(RestSpringClasses.RESPONSE_ENTITY)) {
 
@@ -602,6 +760,6 @@ public class RestAnnotationHelper extends TargetAnnotationHelper {
 	}
 
 	public boolean hasRestApiMethodParameterAnnotation(VariableElement variableElement) {
-		return hasOneOfClassAnnotations(variableElement, Arrays.asList(Field.class, Part.class, Body.class, Path.class));
+		return hasOneOfClassAnnotations(variableElement, Arrays.asList(Field.class, Part.class, Body.class, Path.class, Extractor.class));
 	}
 }
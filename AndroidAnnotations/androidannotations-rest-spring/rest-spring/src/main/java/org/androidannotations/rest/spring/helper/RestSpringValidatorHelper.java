@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -20,6 +21,7 @@ import static org.androidannotations.rest.spring.helper.RestSpringClasses.CLIENT
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.CLIENT_HTTP_REQUEST_INTERCEPTOR;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.FORM_HTTP_MESSAGE_CONVERTER;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_MESSAGE_CONVERTER;
+import static org.androidannotations.rest.spring.helper.RestSpringClasses.RESPONSE_EXTRACTOR;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.REST_CLIENT_EXCEPTION;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.REST_TEMPLATE;
 
@@ -37,10 +39,13 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
@@ -49,7 +54,9 @@ import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.TargetAnnotationHelper;
 import org.androidannotations.helper.ValidatorHelper;
 import org.androidannotations.rest.spring.annotations.Body;
+import org.androidannotations.rest.spring.annotations.Cacheable;
 import org.androidannotations.rest.spring.annotations.Delete;
+import org.androidannotations.rest.spring.annotations.Extractor;
 import org.androidannotations.rest.spring.annotations.Field;
 import org.androidannotations.rest.spring.annotations.Get;
 import org.androidannotations.rest.spring.annotations.Head;
@@ -59,17 +66,24 @@ import org.androidannotations.rest.spring.annotations.Patch;
 import org.androidannotations.rest.spring.annotations.Path;
 import org.androidannotations.rest.spring.annotations.Post;
 import org.androidannotations.rest.spring.annotations.Put;
+import org.androidannotations.rest.spring.annotations.RequiresAuthentication;
+import org.androidannotations.rest.spring.annotations.RequiresCookie;
+import org.androidannotations.rest.spring.annotations.RequiresHeader;
 import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.annotations.SetsCookie;
 import org.androidannotations.rest.spring.api.RestClientErrorHandling;
 import org.androidannotations.rest.spring.api.RestClientHeaders;
+import org.androidannotations.rest.spring.api.RestClientMetrics;
 import org.androidannotations.rest.spring.api.RestClientRootUrl;
 import org.androidannotations.rest.spring.api.RestClientSupport;
 
 public class RestSpringValidatorHelper extends ValidatorHelper {
 
 	private static final List<String> VALID_REST_INTERFACES = asList(RestClientHeaders.class.getName(), RestClientErrorHandling.class.getName(),
-			RestClientRootUrl.class.getName(), RestClientSupport.class.getName());
+			RestClientRootUrl.class.getName(), RestClientSupport.class.getName(), RestClientMetrics.class.getName());
 	private static final List<Class<? extends Annotation>> REST_ANNOTATION_CLASSES = Arrays.asList(Get.class, Head.class, Options.class, Post.class, Put.class, Patch.class, Delete.class);
+	private static final List<Class<? extends Annotation>> CACHEABLE_EXCLUDED_REQUIREMENTS = Arrays.<Class<? extends Annotation>> asList(RequiresHeader.class, RequiresCookie.class,
+			RequiresAuthentication.class);
 
 	private static final String METHOD_NAME_SET_ROOT_URL = "setRootUrl";
 	private static final String METHOD_NAME_SET_AUTHENTICATION = "setAuthentication";
@@ -536,6 +550,118 @@ public class RestSpringValidatorHelper extends ValidatorHelper {
 		doesNotHaveBodyAnnotatedParameter(element, validation);
 	}
 
+	public void validateCacheable(ExecutableElement element, ElementValidation validation) {
+		if (element.getAnnotation(Cacheable.class) == null) {
+			return;
+		}
+		if (element.getAnnotation(Get.class) == null) {
+			validation.addError(element, "@Cacheable can only be used on a @Get annotated method");
+		} else if (restAnnotationHelper.isResultVoid(element)) {
+			validation.addError(element, "@Cacheable annotated method must not return void");
+		}
+		for (Class<? extends Annotation> requirement : CACHEABLE_EXCLUDED_REQUIREMENTS) {
+			if (element.getAnnotation(requirement) != null || element.getEnclosingElement().getAnnotation(requirement) != null) {
+				validation.addError(element, "@Cacheable annotated method cannot depend on @" + requirement.getSimpleName() + ", its cached responses would be shared across values");
+			}
+		}
+	}
+
+	public void singleFlightMethodReturnsValue(ExecutableElement element, ElementValidation validation) {
+		Get getAnnotation = element.getAnnotation(Get.class);
+		if (getAnnotation != null && getAnnotation.singleFlight() && restAnnotationHelper.isResultVoid(element)) {
+			validation.addError(element, "%s(singleFlight = true) annotated method must not return void");
+		}
+	}
+
+	public void validateExtractor(ExecutableElement element, ElementValidation validation) {
+		int extractorCount = 0;
+		VariableElement extractor = null;
+		for (VariableElement parameter : element.getParameters()) {
+			if (parameter.getAnnotation(Extractor.class) != null) {
+				extractorCount++;
+				extractor = parameter;
+			}
+		}
+		if (extractorCount == 0) {
+			return;
+		}
+		if (extractorCount > 1) {
+			validation.addError(element, "%s annotated method can only have one @Extractor annotated parameter");
+		} else {
+			extractorProducesResultType(element, extractor, validation);
+		}
+		if (element.getAnnotation(SetsCookie.class) != null) {
+			validation.addError(element, "%s annotated method with an @Extractor annotated parameter cannot be annotated with @SetsCookie");
+		}
+		if (element.getAnnotation(Cacheable.class) != null) {
+			validation.addError(element, "%s annotated method with an @Extractor annotated parameter cannot be annotated with @Cacheable");
+		}
+		Get getAnnotation = element.getAnnotation(Get.class);
+		if (getAnnotation != null && getAnnotation.singleFlight()) {
+			validation.addError(element, "%s(singleFlight = true) annotated method cannot have an @Extractor annotated parameter");
+		}
+	}
+
+	private void extractorProducesResultType(ExecutableElement element, VariableElement extractor, ElementValidation validation) {
+		if (restAnnotationHelper.isResultVoid(element) || extractor.asType().getKind() != TypeKind.DECLARED) {
+			return;
+		}
+		TypeElement responseExtractorElement = annotationHelper.typeElementFromQualifiedName(RESPONSE_EXTRACTOR);
+		Types typeUtils = annotationHelper.getTypeUtils();
+		if (!annotationHelper.isSubtype(typeUtils.erasure(extractor.asType()), typeUtils.erasure(responseExtractorElement.asType()))) {
+			// reported by the @Extractor handler
+			return;
+		}
+		ExecutableElement extractDataMethod = ElementFilter.methodsIn(responseExtractorElement.getEnclosedElements()).get(0);
+		TypeMirror extractedType = ((ExecutableType) typeUtils.asMemberOf((DeclaredType) extractor.asType(), extractDataMethod)).getReturnType();
+		if (extractedType.getKind() == TypeKind.WILDCARD) {
+			TypeMirror extendsBound = ((WildcardType) extractedType).getExtendsBound();
+			extractedType = extendsBound != null ? extendsBound : annotationHelper.typeElementFromQualifiedName(Object.class.getName()).asType();
+		}
+		TypeMirror resultType = restAnnotationHelper.getResultType(element);
+		if (!typeUtils.isAssignable(extractedType, resultType)) {
+			validation.addError(element, "%s annotated method returns " + resultType + ", but its @Extractor annotated parameter extracts " + extractedType);
+		}
+	}
+
+	public void validateAsync(ExecutableElement element, ElementValidation validation) {
+		if (!restAnnotationHelper.isAsync(element)) {
+			return;
+		}
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) element.getReturnType()).getTypeArguments();
+		TypeKind resultKind = typeArguments.isEmpty() ? TypeKind.NONE : typeArguments.get(0).getKind();
+		if (resultKind != TypeKind.DECLARED && resultKind != TypeKind.ARRAY) {
+			validation.addError(element, "%s annotated method returning a Future must declare the type of its result, not " + element.getReturnType());
+		}
+	}
+
+	public void restClientMetricsHasMetrics(TypeElement element, ElementValidation validation) {
+		if (element.getAnnotation(Rest.class).metrics()) {
+			return;
+		}
+		for (TypeMirror iface : element.getInterfaces()) {
+			if (iface.toString().equals(RestClientMetrics.class.getName())) {
+				validation.addError("%s interfaces can only extend " + RestClientMetrics.class.getName() + " if metrics is set to true");
+			}
+		}
+	}
+
+	public void hasValidIoThreads(Element element, ElementValidation validation) {
+		Rest restAnnotation = element.getAnnotation(Rest.class);
+		if (restAnnotation.ioThreads() < 1) {
+			validation.addError("%s ioThreads must be at least 1");
+		}
+	}
+
+	public void isResponseExtractor(Element element, ElementValidation validation) {
+		TypeMirror responseExtractorType = annotationHelper.typeElementFromQualifiedName(RESPONSE_EXTRACTOR).asType();
+		TypeMirror responseExtractorTypeErased = annotationHelper.getTypeUtils().erasure(responseExtractorType);
+		TypeMirror erasedParameterType = annotationHelper.getTypeUtils().erasure(element.asType());
+		if (!annotationHelper.isSubtype(erasedParameterType, responseExtractorTypeErased)) {
+			validation.addError("%s can only be used on a parameter that extends " + RESPONSE_EXTRACTOR);
+		}
+	}
+
 	public void doesNotHavePathAnnotation(Element element, ElementValidation validation) {
 		doesNotHaveAnnotation(element, Path.class, validation);
 	}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -19,11 +20,15 @@ import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.lit;
 import static org.androidannotations.helper.CanonicalNameConstants.STRING;
+import static org.androidannotations.helper.ModelConstants.generationSuffix;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_AUTHENTICATION;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.HTTP_BASIC_AUTHENTICATION;
 import static org.androidannotations.rest.spring.helper.RestSpringClasses.REST_TEMPLATE;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -31,7 +36,13 @@ import javax.lang.model.type.TypeKind;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.holder.BaseGeneratedClassHolder;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.androidannotations.rest.spring.api.ConcurrentValueStore;
 import org.androidannotations.rest.spring.api.RestErrorHandler;
+import org.androidannotations.rest.spring.api.RestIoExecutor;
+import org.androidannotations.rest.spring.api.RestMetrics;
+import org.androidannotations.rest.spring.api.RestResponseCache;
+import org.androidannotations.rest.spring.api.SingleFlight;
 
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.IJExpression;
@@ -54,6 +65,14 @@ public class RestHolder extends BaseGeneratedClassHolder {
 	private JFieldVar availableCookiesField;
 	private JFieldVar authenticationField;
 	private JFieldVar restErrorHandlerField;
+	private JFieldVar responseCacheField;
+	private JFieldVar singleFlightField;
+	private JFieldVar ioExecutorField;
+	private JFieldVar restMetricsField;
+	private final Map<List<String>, JFieldVar> cookieHeaderFields = new HashMap<>();
+	private JBlock restTemplateInitBlock;
+	private JVar restTemplateInitRef;
+	private JVar restTemplateInitContextParam;
 
 	public RestHolder(AndroidAnnotationsEnvironment environment, TypeElement annotatedElement) throws Exception {
 		super(environment, annotatedElement);
@@ -91,6 +110,9 @@ public class RestHolder extends BaseGeneratedClassHolder {
 
 		// error handler.
 		implementSetErrorHandler(methods);
+
+		// metrics
+		implementGetRestMetrics(methods);
 	}
 
 	private void implementGetRestTemplate(List<ExecutableElement> methods) {
@@ -206,6 +228,17 @@ public class RestHolder extends BaseGeneratedClassHolder {
 		}
 	}
 
+	private void implementGetRestMetrics(List<ExecutableElement> methods) {
+		// the class is referenced before its name so that both resolve to the
+		// same imported class
+		AbstractJClass restMetricsClass = getJClass(RestMetrics.class);
+		JMethod getRestMetricsMethod = codeModelHelper.implementMethod(this, methods, "getRestMetrics", restMetricsClass.fullName());
+
+		if (getRestMetricsMethod != null) {
+			getRestMetricsMethod.body()._return(getRestMetricsField());
+		}
+	}
+
 	public JMethod getInit() {
 		if (init == null) {
 			setInit();
@@ -245,7 +278,109 @@ public class RestHolder extends BaseGeneratedClassHolder {
 
 	private void setRestTemplateField() {
 		restTemplateField = getGeneratedClass().field(JMod.PRIVATE, getJClass(REST_TEMPLATE), "restTemplate");
-		getInit().body().assign(restTemplateField, _new(getJClass(REST_TEMPLATE)));
+		if (getAnnotatedElement().getAnnotation(Rest.class).sharedRestTemplate()) {
+			JMethod getSharedRestTemplateMethod = createGetSharedRestTemplateMethod();
+			getInit().body().assign(restTemplateField, JExpr.invoke(getSharedRestTemplateMethod).arg(getInitContextParam().invoke("getApplicationContext")));
+		} else {
+			getInit().body().assign(restTemplateField, _new(getJClass(REST_TEMPLATE)));
+			restTemplateInitBlock = getInit().body();
+			restTemplateInitRef = restTemplateField;
+			restTemplateInitContextParam = getInitContextParam();
+		}
+	}
+
+	private JMethod createGetSharedRestTemplateMethod() {
+		AbstractJClass restTemplateClass = getJClass(REST_TEMPLATE);
+		JFieldVar sharedRestTemplateField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.VOLATILE, restTemplateClass, "sharedRestTemplate" + generationSuffix());
+
+		JMethod getSharedRestTemplateMethod = getGeneratedClass().method(JMod.PRIVATE | JMod.STATIC, restTemplateClass, "getSharedRestTemplate" + generationSuffix());
+		restTemplateInitContextParam = getSharedRestTemplateMethod.param(getClasses().CONTEXT, "context");
+
+		JBlock body = getSharedRestTemplateMethod.body();
+		JVar sharedRestTemplate = body.decl(restTemplateClass, "sharedRestTemplate", sharedRestTemplateField);
+		JBlock synchronizedBlock = body._if(sharedRestTemplate.eq(JExpr._null()))._then().synchronizedBlock(getGeneratedClass().dotclass()).body();
+		synchronizedBlock.assign(sharedRestTemplate, sharedRestTemplateField);
+		restTemplateInitBlock = synchronizedBlock._if(sharedRestTemplate.eq(JExpr._null()))._then();
+		restTemplateInitBlock.assign(sharedRestTemplate, _new(restTemplateClass));
+		restTemplateInitRef = sharedRestTemplate;
+
+		// the template is only published once fully configured
+		restTemplateInitBlock.assign(sharedRestTemplateField, sharedRestTemplate);
+		restTemplateInitBlock.pos(restTemplateInitBlock.size() - 1);
+
+		body._return(sharedRestTemplate);
+		return getSharedRestTemplateMethod;
+	}
+
+	public JBlock getRestTemplateInitBlock() {
+		if (restTemplateField == null) {
+			setRestTemplateField();
+		}
+		return restTemplateInitBlock;
+	}
+
+	public JVar getRestTemplateInitRef() {
+		if (restTemplateField == null) {
+			setRestTemplateField();
+		}
+		return restTemplateInitRef;
+	}
+
+	public JVar getRestTemplateInitContextParam() {
+		if (restTemplateField == null) {
+			setRestTemplateField();
+		}
+		return restTemplateInitContextParam;
+	}
+
+	public JFieldVar getResponseCacheField() {
+		if (responseCacheField == null) {
+			setResponseCacheField();
+		}
+		return responseCacheField;
+	}
+
+	private void setResponseCacheField() {
+		AbstractJClass responseCacheClass = getJClass(RestResponseCache.class);
+		responseCacheField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, responseCacheClass, "responseCache" + generationSuffix(), _new(responseCacheClass));
+	}
+
+	public JFieldVar getSingleFlightField() {
+		if (singleFlightField == null) {
+			setSingleFlightField();
+		}
+		return singleFlightField;
+	}
+
+	private void setSingleFlightField() {
+		AbstractJClass singleFlightClass = getJClass(SingleFlight.class);
+		singleFlightField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, singleFlightClass, "singleFlight" + generationSuffix(), _new(singleFlightClass));
+	}
+
+	public JFieldVar getIoExecutorField() {
+		if (ioExecutorField == null) {
+			setIoExecutorField();
+		}
+		return ioExecutorField;
+	}
+
+	public JFieldVar getRestMetricsField() {
+		if (restMetricsField == null) {
+			setRestMetricsField();
+		}
+		return restMetricsField;
+	}
+
+	private void setRestMetricsField() {
+		AbstractJClass restMetricsClass = getJClass(RestMetrics.class);
+		restMetricsField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, restMetricsClass, "restMetrics" + generationSuffix(), _new(restMetricsClass));
+	}
+
+	private void setIoExecutorField() {
+		AbstractJClass ioExecutorClass = getJClass(RestIoExecutor.class);
+		Rest restAnnotation = getAnnotatedElement().getAnnotation(Rest.class);
+		IJExpression newIoExecutor = _new(ioExecutorClass).arg(getAnnotatedElement().getSimpleName().toString()).arg(lit(restAnnotation.ioThreads()));
+		ioExecutorField = getGeneratedClass().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, ioExecutorClass, "ioExecutor" + generationSuffix(), newIoExecutor);
 	}
 
 	public JFieldVar getAvailableHeadersField() {
@@ -256,10 +391,9 @@ public class RestHolder extends BaseGeneratedClassHolder {
 	}
 
 	private void setAvailableHeadersField() {
-		AbstractJClass stringClass = getClasses().STRING;
-		AbstractJClass mapClass = getClasses().HASH_MAP.narrow(stringClass, stringClass);
-		availableHeadersField = getGeneratedClass().field(JMod.PRIVATE, mapClass, "availableHeaders");
-		getInit().body().assign(availableHeadersField, _new(mapClass));
+		AbstractJClass storeClass = getJClass(ConcurrentValueStore.class);
+		availableHeadersField = getGeneratedClass().field(JMod.PRIVATE | JMod.FINAL, storeClass, "availableHeaders");
+		getInit().body().assign(availableHeadersField, _new(storeClass));
 	}
 
 	public JFieldVar getAvailableCookiesField() {
@@ -270,10 +404,27 @@ public class RestHolder extends BaseGeneratedClassHolder {
 	}
 
 	private void setAvailableCookiesField() {
-		AbstractJClass stringClass = getClasses().STRING;
-		AbstractJClass mapClass = getClasses().HASH_MAP.narrow(stringClass, stringClass);
-		availableCookiesField = getGeneratedClass().field(JMod.PRIVATE, mapClass, "availableCookies");
-		getInit().body().assign(availableCookiesField, _new(mapClass));
+		AbstractJClass storeClass = getJClass(ConcurrentValueStore.class);
+		availableCookiesField = getGeneratedClass().field(JMod.PRIVATE | JMod.FINAL, storeClass, "availableCookies");
+		getInit().body().assign(availableCookiesField, _new(storeClass));
+	}
+
+	public JFieldVar getCookieHeaderField(String[] cookies) {
+		List<String> cookieNames = Arrays.asList(cookies);
+		JFieldVar cookieHeaderField = cookieHeaderFields.get(cookieNames);
+		if (cookieHeaderField == null) {
+			JFieldVar availableCookies = getAvailableCookiesField();
+			String fieldName = "cookieHeader" + (cookieHeaderFields.isEmpty() ? "" : cookieHeaderFields.size());
+			cookieHeaderField = getGeneratedClass().field(JMod.PRIVATE | JMod.FINAL, getJClass(ConcurrentValueStore.CookieHeader.class), fieldName);
+
+			JInvocation cookieHeader = availableCookies.invoke("cookieHeader");
+			for (String cookie : cookies) {
+				cookieHeader.arg(cookie);
+			}
+			getInit().body().assign(cookieHeaderField, cookieHeader);
+			cookieHeaderFields.put(cookieNames, cookieHeaderField);
+		}
+		return cookieHeaderField;
 	}
 
 	public JFieldVar getAuthenticationField() {
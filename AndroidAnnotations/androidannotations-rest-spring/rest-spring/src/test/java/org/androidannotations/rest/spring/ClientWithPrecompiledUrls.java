@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed To in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.androidannotations.rest.spring;
+
+import org.androidannotations.rest.spring.annotations.Body;
+import org.androidannotations.rest.spring.annotations.Cacheable;
+import org.androidannotations.rest.spring.annotations.Get;
+import org.androidannotations.rest.spring.annotations.Path;
+import org.androidannotations.rest.spring.annotations.Post;
+import org.androidannotations.rest.spring.annotations.RequiresCookieInUrl;
+import org.androidannotations.rest.spring.annotations.Rest;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+
+@Rest(rootUrl = "http://company.com/ajax/services", converters = MappingJacksonHttpMessageConverter.class, precompileUrls = true)
+public interface ClientWithPrecompiledUrls {
+
+	@Get("/events/{year}/{location}?filter={filter}")
+	String getEvents(@Path int year, @Path String location, @Path String filter);
+
+	@Get("/events/{id}?session={session}")
+	@RequiresCookieInUrl("session")
+	@Cacheable
+	String getEvent(@Path long id);
+
+	@Get("http://company.com/status")
+	String getStatus();
+
+	@Post("/events/{id}")
+	void updateEvent(@Path long id, @Body String event);
+}
@@ -1,5 +1,6 @@
 /**
  * Copyright (C) 2010-2016 eBusiness Information, Excilys Group
+ * Copyright (C) 2016-2017 the AndroidAnnotations project
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not
  * use this file except in compliance with the License. You may obtain a copy of
@@ -178,4 +179,298 @@ public class RestTest extends AAProcessorTestHelper {
 		assertCompilationErrorOn(ClientWithWrongRequiresCookieInUrl.class, "@Post(\"/badNamedRequiresCookieInUrl/?myCookieInUrl={myCookieInUrl}\")", result);
 		assertCompilationErrorOn(ClientWithWrongRequiresCookieInUrl.class, "@Post(\"/noPlaceholderRequiresCookieInUrl\")", result);
 	}
+
+	@Test
+	public void clientWithSharedRestTemplateConfiguresItOnce() throws IOException {
+		CompileResult result = compileFiles(ClientWithSharedRestTemplate.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] constructor = { //
+				"    public ClientWithSharedRestTemplate_(Context context) {", //
+				"        rootUrl = \"http://company.com/ajax/services\";", //
+				"        restTemplate = getSharedRestTemplate_(context.getApplicationContext());", //
+				"    }", };
+
+		String[] sharedRestTemplate = { //
+				"    private static RestTemplate getSharedRestTemplate_(Context context) {", //
+				"        RestTemplate sharedRestTemplate = sharedRestTemplate_;", //
+				"        if (sharedRestTemplate == null) {", //
+				"            synchronized (ClientWithSharedRestTemplate_.class)", //
+				"            {", //
+				"                sharedRestTemplate = sharedRestTemplate_;", //
+				"                if (sharedRestTemplate == null) {", //
+				"                    sharedRestTemplate = new RestTemplate();", //
+				"                    sharedRestTemplate.getMessageConverters().clear();", //
+				"                    sharedRestTemplate.getMessageConverters().add(new MappingJacksonHttpMessageConverter());", //
+				"                    sharedRestTemplate.setInterceptors(new ArrayList<ClientHttpRequestInterceptor>());", //
+				"                    sharedRestTemplate.getInterceptors().add(new ValidInterceptor());", //
+				"                    sharedRestTemplate_ = sharedRestTemplate;", //
+				"                }", //
+				"            }", //
+				"        }", //
+				"        return sharedRestTemplate;", //
+				"    }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithSharedRestTemplate.class), constructor);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithSharedRestTemplate.class), sharedRestTemplate);
+	}
+
+	@Test
+	public void clientWithCacheableMethodsUsesResponseCache() throws IOException {
+		CompileResult result = compileFiles(ClientWithCacheableMethods.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] cachedMethod = { //
+				"        String cacheKey = responseCache_.key(\"getEvent\", rootUrl.concat(\"/events/{id}\"), urlVariables);", //
+				"        ResponseEntity<String> cachedResponse = responseCache_.getFresh(cacheKey);", //
+				"        if (cachedResponse!= null) {", //
+				"            return cachedResponse.getBody();", //
+				"        }", //
+				"        HttpHeaders httpHeaders = new HttpHeaders();", //
+				"        RestResponseCache.Entry cachedEntry = responseCache_.addConditionalHeaders(cacheKey, httpHeaders);", //
+				"        HttpEntity<Object> requestEntity = new HttpEntity<Object>(httpHeaders);", //
+				"        return responseCache_.update(cacheKey, cachedEntry, restTemplate.exchange(rootUrl.concat(\"/events/{id}\"), HttpMethod.GET, requestEntity, String.class, urlVariables), 60).getBody();", //
+				"    }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithCacheableMethods.class), cachedMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithCacheableMethods.class), new String[] { "    private final static RestResponseCache responseCache_ = new RestResponseCache();" });
+	}
+
+	@Test
+	public void clientWithCacheableNonGetMethodDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithWrongCacheableMethod.class);
+		assertCompilationErrorOn(ClientWithWrongCacheableMethod.class, "@Post", result);
+	}
+
+	@Test
+	public void clientWithCacheableMethodDependingOnCredentialsDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithCacheableAuthenticatedMethods.class);
+		assertCompilationErrorOn(ClientWithCacheableAuthenticatedMethods.class, "@Get(\"/events\")", result);
+		assertCompilationErrorOn(ClientWithCacheableAuthenticatedMethods.class, "@Get(\"/events/{id}\")", result);
+		assertCompilationErrorCount(2, result);
+	}
+
+	@Test
+	public void clientWithSingleFlightSharesInFlightRequests() throws IOException {
+		CompileResult result = compileFiles(ClientWithSingleFlight.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] singleFlightMethod = { //
+				"        SingleFlight.Flight<ResponseEntity<String>> flight = singleFlight_.join(\"getEvent\", rootUrl.concat(\"/events/{id}\"), urlVariables, null);", //
+				"        if (!flight.isLeader()) {", //
+				"            return flight.await().getBody();", //
+				"        }", //
+				"        try {", //
+				"            return flight.succeed(restTemplate.exchange(rootUrl.concat(\"/events/{id}\"), HttpMethod.GET, null, String.class, urlVariables)).getBody();", //
+				"        } catch (final RuntimeException e) {", //
+				"            throw flight.fail(e);", //
+				"        } catch (final Error e) {", //
+				"            throw flight.fail(e);", //
+				"        }", };
+
+		String[] voidMethod = { //
+				"    public void ping() {", //
+				"        restTemplate.exchange(rootUrl.concat(\"/ping\"), HttpMethod.GET, null, ((Class<Void> ) null));", //
+				"    }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithSingleFlight.class), singleFlightMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithSingleFlight.class), voidMethod);
+	}
+
+	@Test
+	public void clientWithSingleFlightVoidMethodDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithWrongSingleFlight.class);
+		assertCompilationErrorOn(ClientWithWrongSingleFlight.class, "@Get", result);
+	}
+
+	@Test
+	public void clientWithExtractorStreamsResponses() throws IOException {
+		CompileResult result = compileFiles(ClientWithExtractor.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] getMethod = { //
+				"        urlVariables.put(\"year\", year);", //
+				"        return restTemplate.execute(rootUrl.concat(\"/events/{year}\"), HttpMethod.GET, null, counter, urlVariables);", //
+				"    }", };
+
+		String[] postMethod = { //
+				"        HttpEntity<Entity> requestEntity = new HttpEntity<Entity>(query);", //
+				"        restTemplate.execute(rootUrl.concat(\"/events/search\"), HttpMethod.POST, new EntityRequestCallback(requestEntity, restTemplate.getMessageConverters()), streamer);", };
+
+		String[] deleteMethod = { //
+				"    public String deleteEvents(ResponseExtractor<String> extractor) {", //
+				"        return restTemplate.execute(rootUrl.concat(\"/events\"), HttpMethod.DELETE, null, extractor);", //
+				"    }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithExtractor.class), getMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithExtractor.class), postMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithExtractor.class), deleteMethod);
+	}
+
+	@Test
+	public void clientWithWrongExtractorDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithWrongExtractor.class);
+		assertCompilationErrorOn(ClientWithWrongExtractor.class, "@Get(\"/events\")", result);
+		assertCompilationErrorOn(ClientWithWrongExtractor.class, "@Extractor", result);
+		assertCompilationErrorOn(ClientWithWrongExtractor.class, "@Get(\"/events/count\")", result);
+		assertCompilationErrorOn(ClientWithWrongExtractor.class, "@Get(\"/events/names\")", result);
+		assertCompilationErrorCount(5, result);
+	}
+
+	@Test
+	public void clientWithAsyncMethodsSubmitsRequests() throws IOException {
+		CompileResult result = compileFiles(ClientWithAsyncMethods.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] ioExecutor = { //
+				"    private final static RestIoExecutor ioExecutor_ = new RestIoExecutor(\"ClientWithAsyncMethods\", 2);", };
+
+		String[] getMethod = { //
+				"    public Future<Entity> getEvent(final int id) {", //
+				"        return ioExecutor_.submit(new Callable<Entity>() {", //
+				"", //
+				"            @Override", //
+				"            public Entity call() {", //
+				"                HashMap<String, Object> urlVariables = new HashMap<String, Object>();", //
+				"                urlVariables.put(\"id\", id);", //
+				"                return restTemplate.exchange(rootUrl.concat(\"/events/{id}\"), HttpMethod.GET, null, Entity.class, urlVariables).getBody();", //
+				"            }", //
+				"        }", //
+				"        );", };
+
+		String[] voidMethod = { //
+				"            public Void call() {", //
+				"                HttpEntity<Entity> requestEntity = new HttpEntity<Entity>(event);", //
+				"                restTemplate.exchange(rootUrl.concat(\"/events\"), HttpMethod.POST, requestEntity, ((Class<Void> ) null));", //
+				"                return null;", //
+				"            }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithAsyncMethods.class), ioExecutor);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithAsyncMethods.class), getMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithAsyncMethods.class), voidMethod);
+	}
+
+	@Test
+	public void clientWithWrongAsyncMethodsDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithWrongAsyncMethods.class);
+		assertCompilationErrorOn(ClientWithWrongAsyncMethods.class, "@Rest", result);
+		assertCompilationErrorOn(ClientWithWrongAsyncMethods.class, "@Get", result);
+	}
+
+	@Test
+	public void clientWithMetricsRecordsRequests() throws IOException {
+		CompileResult result = compileFiles(ClientWithMetrics.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] interceptor = { //
+				"        restTemplate.setInterceptors(new ArrayList<ClientHttpRequestInterceptor>());", //
+				"        restTemplate.getInterceptors().add(restMetrics_.getInterceptor());", };
+
+		String[] getMethod = { //
+				"        try {", //
+				"            RestMetrics.Exchange metricsExchange = restMetrics_.start(\"getEvent\");", //
+				"            try {", //
+				"                return flight.succeed(metricsExchange.completed(restTemplate.exchange(rootUrl.concat(\"/events/{id}\"), HttpMethod.GET, null, String.class, urlVariables))).getBody();", //
+				"            } catch (final RuntimeException e) {", //
+				"                throw metricsExchange.failed(e);", //
+				"            } catch (final Error e) {", //
+				"                throw metricsExchange.failed(e);", //
+				"            }", //
+				"        } catch (final RuntimeException e) {", //
+				"            throw flight.fail(e);", //
+				"        } catch (final Error e) {", //
+				"            throw flight.fail(e);", //
+				"        }", };
+
+		String[] voidMethod = { //
+				"        RestMetrics.Exchange metricsExchange = restMetrics_.start(\"ping\");", //
+				"        try {", //
+				"            metricsExchange.completed(restTemplate.exchange(rootUrl.concat(\"/ping\"), HttpMethod.POST, requestEntity, ((Class<Void> ) null)));", //
+				"        } catch (final RuntimeException e) {", //
+				"            throw metricsExchange.failed(e);", //
+				"        } catch (final Error e) {", //
+				"            throw metricsExchange.failed(e);", //
+				"        }", };
+
+		String[] extractorMethod = { //
+				"            return metricsExchange.completed(restTemplate.execute(rootUrl.concat(\"/events\"), HttpMethod.GET, null, counter));", };
+
+		String[] getRestMetrics = { //
+				"    public RestMetrics getRestMetrics() {", //
+				"        return restMetrics_;", //
+				"    }", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithMetrics.class), interceptor);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithMetrics.class), getMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithMetrics.class), voidMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithMetrics.class), extractorMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithMetrics.class), getRestMetrics);
+	}
+
+	@Test
+	public void clientWithMetricsInterfaceWithoutMetricsDoesNotCompile() throws IOException {
+		CompileResult result = compileFiles(ClientWithWrongMetrics.class);
+		assertCompilationErrorOn(ClientWithWrongMetrics.class, "@Rest", result);
+	}
+
+	@Test
+	public void clientWithPrecompiledUrlsBuildsUris() throws IOException {
+		CompileResult result = compileFiles(ClientWithPrecompiledUrls.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] templateMethod = { //
+				"    public String getEvents(int year, String location, String filter) {", //
+				"        URI uri = URI.create(new StringBuilder(rootUrl).append(\"/events/\").append(UriComponentEncoder.encodePath(year)).append(\"/\").append(UriComponentEncoder.encodePath(location)).append(\"?filter=\").append(UriComponentEncoder.encodeQueryParam(filter)).toString());", //
+				"        return restTemplate.exchange(uri, HttpMethod.GET, null, String.class).getBody();", //
+				"    }", };
+
+		String[] absoluteUrlMethod = { //
+				"        URI uri = URI.create(\"http://company.com/status\");", //
+				"        return restTemplate.exchange(uri, HttpMethod.GET, null, String.class).getBody();", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithPrecompiledUrls.class), templateMethod);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithPrecompiledUrls.class), absoluteUrlMethod);
+	}
+
+	@Test
+	public void clientWithCookiesCachesCookieHeaders() throws IOException {
+		CompileResult result = compileFiles(ClientWithCookies.class);
+		assertCompilationSuccessful(result);
+
+		// CHECKSTYLE:OFF
+		String[] constructor = { //
+				"    public ClientWithCookies_(Context context) {", //
+				"        availableCookies = new ConcurrentValueStore();", //
+				"        availableHeaders = new ConcurrentValueStore();", //
+				"        rootUrl = \"http://company.com/ajax/services\";", //
+				"        restTemplate = new RestTemplate();", //
+				"        restTemplate.getMessageConverters().clear();", //
+				"        restTemplate.getMessageConverters().add(new MappingJacksonHttpMessageConverter());", //
+				"        cookieHeader = availableCookies.cookieHeader(\"session\", \"locale\");", //
+				"        cookieHeader1 = availableCookies.cookieHeader(\"session\");", //
+				"    }", };
+
+		String[] sharedCookieHeader = { //
+				"    public String getTodayEvents() {", //
+				"        HttpHeaders httpHeaders = new HttpHeaders();", //
+				"        httpHeaders.set(\"Cookie\", cookieHeader.value());", };
+		// CHECKSTYLE:ON
+
+		assertGeneratedClassContains(toGeneratedFile(ClientWithCookies.class), constructor);
+		assertGeneratedClassContains(toGeneratedFile(ClientWithCookies.class), sharedCookieHeader);
+	}
 }